@@ -0,0 +1,89 @@
+package benchmarks;
+
+import models.Autor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AutorDAOBenchmark {
+
+    private static final int TAMANO_LOTE = 100;
+    private static final String[] NACIONALIDADES = {"Argentina", "Colombiana", "Chilena"};
+
+    @Benchmark
+    public Autor buscarPorId(CatalogoState catalogo) {
+        return catalogo.autorDAO.buscarPorId(catalogo.autorAleatorio());
+    }
+
+    @Benchmark
+    public List<Autor> buscarTodos(CatalogoState catalogo) {
+        return catalogo.autorDAO.buscarTodos();
+    }
+
+    @Benchmark
+    public void streamTodos(CatalogoState catalogo, Blackhole bh) {
+        try (Stream<Autor> autores = catalogo.autorDAO.streamTodos()) {
+            autores.forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public List<Autor> buscarPorNombre(CatalogoState catalogo) {
+        return catalogo.autorDAO.buscarPorNombre("Nombre" + catalogo.autorAleatorio());
+    }
+
+    @Benchmark
+    public List<Autor> buscarPorNacionalidad(CatalogoState catalogo) {
+        return catalogo.autorDAO.buscarPorNacionalidad(
+                NACIONALIDADES[ThreadLocalRandom.current().nextInt(NACIONALIDADES.length)]);
+    }
+
+    @Benchmark
+    public boolean existe(CatalogoState catalogo) {
+        return catalogo.autorDAO.existe(catalogo.autorAleatorio());
+    }
+
+    @Benchmark
+    public void actualizar(CatalogoState catalogo) {
+        int id = catalogo.autorAleatorio();
+        catalogo.autorDAO.actualizar(new Autor(id, "Nombre" + id, "Apellido " + id,
+                NACIONALIDADES[id % NACIONALIDADES.length], LocalDate.of(1950, 1, 1)));
+    }
+
+    @Benchmark
+    public void insertarYEliminar(CatalogoState catalogo) {
+        Autor autor = nuevoAutor();
+        catalogo.autorDAO.insertar(autor);
+        catalogo.autorDAO.eliminar(autor.getId());
+    }
+
+    @Benchmark
+    public List<Integer> insertarLote(CatalogoState catalogo) {
+        List<Autor> lote = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 0; i < TAMANO_LOTE; i++) {
+            lote.add(nuevoAutor());
+        }
+        return catalogo.autorDAO.insertarLote(lote);
+    }
+
+    private static Autor nuevoAutor() {
+        return new Autor("Nuevo", "Autor", "Uruguaya", LocalDate.of(1960, 6, 15));
+    }
+}
@@ -0,0 +1,212 @@
+package benchmarks;
+
+import config.DatabaseConnection;
+import config.PoolConfig;
+import dao.AutorDAO;
+import dao.AutorDAOImpl;
+import dao.InMemoryAutorDAO;
+import dao.InMemoryLibroDAO;
+import dao.LibroDAO;
+import dao.LibroDAOImpl;
+import esquema.Migracion;
+import esquema.Migraciones;
+import models.Autor;
+import models.Libro;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Catálogo sembrado en H2 en memoria (modo MySQL), compartido por todos los hilos del benchmark
+@State(Scope.Benchmark)
+public class CatalogoState {
+
+    static final String[] GENEROS = {"Novela", "Cuentos", "Poesía", "Ensayo", "Realismo mágico",
+            "Ciencia ficción", "Fantasía", "Historia", "Biografía", "Teatro"};
+    static final String[] PALABRAS = {"Cien", "años", "soledad", "casa", "espíritus", "ficciones", "aleph",
+            "amor", "tiempos", "cólera", "crónica", "muerte", "anunciada", "laberinto", "general",
+            "noche", "ciudad", "perros", "rayuela", "pedro"};
+    static final int AÑO_MINIMO = 1900;
+    static final int AÑO_MAXIMO = 2020;
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamanoCatalogo;
+
+    // jdbc: LibroDAOImpl sobre H2; memoria: InMemoryLibroDAO con el mismo catálogo
+    // (EstadisticasBenchmark.agregadosEnServidor necesita jdbc)
+    @Param({"jdbc"})
+    public String motor;
+
+    public int totalAutores;
+    public LibroDAO libroDAO;
+    public AutorDAO autorDAO;
+
+    private final AtomicLong siguienteIsbn = new AtomicLong();
+    private String url;
+
+    @Setup(Level.Trial)
+    public void sembrar() throws SQLException {
+        url = "jdbc:h2:mem:catalogo_" + tamanoCatalogo
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        totalAutores = Math.max(10, tamanoCatalogo / 20);
+        siguienteIsbn.set(0);
+        if (motor.equals("memoria")) {
+            sembrarEnMemoria();
+            return;
+        }
+
+        try (Connection conn = DriverManager.getConnection(url, "sa", "")) {
+            crearTablas(conn);
+            sembrarAutores(conn);
+            sembrarLibros(conn);
+        }
+
+        PoolConfig config = new PoolConfig();
+        config.setMinSize(0);
+        config.setMaxSize(Runtime.getRuntime().availableProcessors() * 2);
+        config.setHousekeepingIntervalMs(0);
+        DatabaseConnection.usePool(DatabaseConnection.createPool(url, "sa", "", config));
+
+        autorDAO = new AutorDAOImpl();
+        libroDAO = new LibroDAOImpl(autorDAO);
+    }
+
+    @TearDown(Level.Trial)
+    public void liberar() throws SQLException {
+        if (motor.equals("memoria")) {
+            return;
+        }
+        DatabaseConnection.shutdown();
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+    }
+
+    // El esquema de la aplicación, con sus índices: las mismas migraciones, en orden, sobre H2
+    // (en modo MySQL, YEAR queda como SMALLINT y se lee igual con getInt)
+    private void crearTablas(Connection conn) throws SQLException {
+        for (Migracion migracion : Migraciones.todas()) {
+            migracion.aplicar(conn);
+        }
+    }
+
+    private void sembrarAutores(Connection conn) throws SQLException {
+        String sql = "INSERT INTO autores (nombre, apellido, nacionalidad, fecha_nacimiento) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= totalAutores; i++) {
+                pstmt.setString(1, "Nombre" + i);
+                pstmt.setString(2, PALABRAS[i % PALABRAS.length] + " " + i);
+                pstmt.setString(3, i % 3 == 0 ? "Argentina" : i % 3 == 1 ? "Colombiana" : "Chilena");
+                pstmt.setDate(4, Date.valueOf(LocalDate.of(1900 + i % 100, 1 + i % 12, 1 + i % 28)));
+                pstmt.addBatch();
+                if (i % 10_000 == 0) {
+                    pstmt.executeBatch();
+                }
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private void sembrarLibros(Connection conn) throws SQLException {
+        String sql = "INSERT INTO libros (titulo, isbn, genero, ano_publicacion, paginas, autor_id, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= tamanoCatalogo; i++) {
+                pstmt.setString(1, titulo(i));
+                pstmt.setString(2, isbnSembrado(i));
+                pstmt.setString(3, GENEROS[i % GENEROS.length]);
+                pstmt.setInt(4, AÑO_MINIMO + i % (AÑO_MAXIMO - AÑO_MINIMO + 1));
+                pstmt.setInt(5, 100 + i % 900);
+                pstmt.setInt(6, 1 + i % totalAutores);
+                pstmt.setTimestamp(7, ahora);
+                pstmt.addBatch();
+                if (i % 10_000 == 0) {
+                    pstmt.executeBatch();
+                }
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    // Mismos autores y libros que en H2; los IDs salen igual porque se insertan en el mismo orden
+    private void sembrarEnMemoria() {
+        InMemoryAutorDAO autores = new InMemoryAutorDAO();
+        InMemoryLibroDAO libros = new InMemoryLibroDAO(autores);
+        List<Autor> lote = new ArrayList<>(totalAutores);
+        for (int i = 1; i <= totalAutores; i++) {
+            lote.add(new Autor("Nombre" + i, PALABRAS[i % PALABRAS.length] + " " + i,
+                    i % 3 == 0 ? "Argentina" : i % 3 == 1 ? "Colombiana" : "Chilena",
+                    LocalDate.of(1900 + i % 100, 1 + i % 12, 1 + i % 28)));
+        }
+        autores.insertarLote(lote);
+
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Libro> bloque = new ArrayList<>(10_000);
+        for (int i = 1; i <= tamanoCatalogo; i++) {
+            Autor autor = new Autor();
+            autor.setId(1 + i % totalAutores);
+            bloque.add(new Libro(titulo(i), isbnSembrado(i), GENEROS[i % GENEROS.length],
+                    Year.of(AÑO_MINIMO + i % (AÑO_MAXIMO - AÑO_MINIMO + 1)), 100 + i % 900, ahora, autor));
+            if (bloque.size() == 10_000) {
+                libros.insertarLote(bloque);
+                bloque.clear();
+            }
+        }
+        libros.insertarLote(bloque);
+
+        autorDAO = autores;
+        libroDAO = libros;
+    }
+
+    static String titulo(int i) {
+        return PALABRAS[i % PALABRAS.length] + " " + PALABRAS[(i / PALABRAS.length) % PALABRAS.length] + " " + i;
+    }
+
+    static String isbnSembrado(int i) {
+        return String.format("978%010d", i);
+    }
+
+    // ISBN que no existe en el catálogo sembrado, único para cada alta del benchmark
+    String isbnNuevo() {
+        return String.format("979%010d", siguienteIsbn.incrementAndGet());
+    }
+
+    int libroAleatorio() {
+        return 1 + ThreadLocalRandom.current().nextInt(tamanoCatalogo);
+    }
+
+    int autorAleatorio() {
+        return 1 + ThreadLocalRandom.current().nextInt(totalAutores);
+    }
+
+    int añoAleatorio() {
+        return AÑO_MINIMO + ThreadLocalRandom.current().nextInt(AÑO_MAXIMO - AÑO_MINIMO + 1);
+    }
+
+    Libro libroNuevo() {
+        int i = libroAleatorio();
+        Autor autor = new Autor();
+        autor.setId(autorAleatorio());
+        return new Libro(titulo(i), isbnNuevo(), GENEROS[i % GENEROS.length],
+                Year.of(añoAleatorio()), 100 + i % 900, null, autor);
+    }
+}
@@ -0,0 +1,37 @@
+package benchmarks;
+
+import dao.EstadisticasDAOImpl;
+import models.Estadisticas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Pantalla de estadísticas: agregados en el servidor frente a traer las listas y contarlas
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EstadisticasBenchmark {
+
+    private final EstadisticasDAOImpl estadisticasDAO = new EstadisticasDAOImpl();
+
+    @Benchmark
+    public Estadisticas agregadosEnServidor(CatalogoState catalogo) {
+        return estadisticasDAO.obtener();
+    }
+
+    @Benchmark
+    public int contarListasCompletas(CatalogoState catalogo) {
+        return catalogo.autorDAO.buscarTodos().size() + catalogo.libroDAO.buscarTodos().size();
+    }
+}
@@ -0,0 +1,176 @@
+package benchmarks;
+
+import dao.PeticionPagina;
+import models.Autor;
+import models.Libro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Una operación de LibroDAO por benchmark; con -prof gc se obtiene también gc.alloc.rate.norm (bytes/op)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LibroDAOBenchmark {
+
+    private static final int TAMANO_PAGINA = 20;
+    private static final int TAMANO_LOTE = 100;
+
+    @Benchmark
+    public Libro buscarPorId(CatalogoState catalogo) {
+        return catalogo.libroDAO.buscarPorId(catalogo.libroAleatorio());
+    }
+
+    @Benchmark
+    public List<Libro> buscarPorIds(CatalogoState catalogo) {
+        return catalogo.libroDAO.buscarPorIds(idsAleatorios(catalogo));
+    }
+
+    // Lo mismo que buscarPorIds pero con un viaje por libro
+    @Benchmark
+    public void buscarPorIdUnoAUno(CatalogoState catalogo, Blackhole bh) {
+        for (Integer id : idsAleatorios(catalogo)) {
+            bh.consume(catalogo.libroDAO.buscarPorId(id));
+        }
+    }
+
+    @Benchmark
+    public Libro buscarPorIsbn(CatalogoState catalogo) {
+        return catalogo.libroDAO.buscarPorIsbn(CatalogoState.isbnSembrado(catalogo.libroAleatorio()));
+    }
+
+    @Benchmark
+    public List<Libro> buscarTodos(CatalogoState catalogo) {
+        return catalogo.libroDAO.buscarTodos();
+    }
+
+    @Benchmark
+    public void streamTodos(CatalogoState catalogo, Blackhole bh) {
+        try (Stream<Libro> libros = catalogo.libroDAO.streamTodos()) {
+            libros.forEach(bh::consume);
+        }
+    }
+
+    @Benchmark
+    public List<Libro> buscarPorTitulo(CatalogoState catalogo) {
+        String palabra = CatalogoState.PALABRAS[ThreadLocalRandom.current().nextInt(CatalogoState.PALABRAS.length)];
+        return catalogo.libroDAO.buscarPorTitulo(palabra);
+    }
+
+    @Benchmark
+    public List<Libro> buscarPorGenero(CatalogoState catalogo) {
+        return catalogo.libroDAO.buscarPorGenero(generoAleatorio());
+    }
+
+    @Benchmark
+    public List<Libro> buscarPorAño(CatalogoState catalogo) {
+        return catalogo.libroDAO.buscarPorAño(catalogo.añoAleatorio());
+    }
+
+    @Benchmark
+    public List<Libro> buscarPorAutor(CatalogoState catalogo) {
+        return catalogo.libroDAO.buscarPorAutor(catalogo.autorAleatorio());
+    }
+
+    @Benchmark
+    public List<Libro> buscarPorRangoAños(CatalogoState catalogo) {
+        int inicio = catalogo.añoAleatorio();
+        return catalogo.libroDAO.buscarPorRangoAños(inicio, inicio + 5);
+    }
+
+    @Benchmark
+    public int contarPorGenero(CatalogoState catalogo) {
+        return catalogo.libroDAO.contarPorGenero(generoAleatorio());
+    }
+
+    @Benchmark
+    public boolean existe(CatalogoState catalogo) {
+        return catalogo.libroDAO.existe(catalogo.libroAleatorio());
+    }
+
+    @Benchmark
+    public boolean existeIsbn(CatalogoState catalogo) {
+        return catalogo.libroDAO.existeIsbn(CatalogoState.isbnSembrado(catalogo.libroAleatorio()));
+    }
+
+    @Benchmark
+    public boolean existeIsbnInexistente(CatalogoState catalogo) {
+        return catalogo.libroDAO.existeIsbn(catalogo.isbnNuevo());
+    }
+
+    @Benchmark
+    public Object primeraPaginaPorTitulo(CatalogoState catalogo) {
+        return catalogo.libroDAO.buscarTodos(PeticionPagina.primera(TAMANO_PAGINA));
+    }
+
+    @Benchmark
+    public Object paginaProfundaPorGenero(CatalogoState catalogo) {
+        // Página que empieza en un libro cualquiera del catálogo: con keyset cuesta como la primera
+        Libro ancla = new Libro();
+        ancla.setId(catalogo.libroAleatorio());
+        ancla.setTitulo(CatalogoState.titulo(ancla.getId()));
+        ancla.setAnoPublicacion(Year.of(catalogo.añoAleatorio()));
+        return catalogo.libroDAO.buscarPorGenero(generoAleatorio(), PeticionPagina.despuesDe(ancla, TAMANO_PAGINA));
+    }
+
+    @Benchmark
+    public int insertar(CatalogoState catalogo) {
+        Libro libro = catalogo.libroNuevo();
+        catalogo.libroDAO.insertar(libro);
+        return libro.getId();
+    }
+
+    @Benchmark
+    public List<Integer> insertarLote(CatalogoState catalogo) {
+        List<Libro> lote = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 0; i < TAMANO_LOTE; i++) {
+            lote.add(catalogo.libroNuevo());
+        }
+        return catalogo.libroDAO.insertarLote(lote);
+    }
+
+    @Benchmark
+    public void actualizar(CatalogoState catalogo) {
+        int id = catalogo.libroAleatorio();
+        Autor autor = new Autor();
+        autor.setId(1 + id % catalogo.totalAutores);
+        Libro libro = new Libro(id, CatalogoState.titulo(id), CatalogoState.isbnSembrado(id),
+                CatalogoState.GENEROS[id % CatalogoState.GENEROS.length],
+                Year.of(CatalogoState.AÑO_MINIMO + id % (CatalogoState.AÑO_MAXIMO - CatalogoState.AÑO_MINIMO + 1)),
+                100 + id % 900, null, autor);
+        catalogo.libroDAO.actualizar(libro);
+    }
+
+    @Benchmark
+    public void insertarYEliminar(CatalogoState catalogo) {
+        Libro libro = catalogo.libroNuevo();
+        catalogo.libroDAO.insertar(libro);
+        catalogo.libroDAO.eliminar(libro.getId());
+    }
+
+    private static List<Integer> idsAleatorios(CatalogoState catalogo) {
+        List<Integer> ids = new ArrayList<>(TAMANO_LOTE);
+        for (int i = 0; i < TAMANO_LOTE; i++) {
+            ids.add(catalogo.libroAleatorio());
+        }
+        return ids;
+    }
+
+    private static String generoAleatorio() {
+        return CatalogoState.GENEROS[ThreadLocalRandom.current().nextInt(CatalogoState.GENEROS.length)];
+    }
+}
@@ -0,0 +1,172 @@
+package dao;
+
+import models.Autor;
+import models.Libro;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.concurrent.TimeUnit;
+
+// Mapeo de un listado de 500 libros de pocos autores, y de una búsqueda de una sola fila (buscarPorId):
+// etiquetas por fila (mapeo original) frente a MapeadorLibro. Correr con -prof gc y comparar
+// gc.alloc.rate.norm (bytes/op).
+// Está en el paquete dao porque MapeadorLibro es package-private.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MapeadorLibroBenchmark {
+
+    @Param({"500"})
+    public int filas;
+
+    @Param({"5"})
+    public int autores;
+
+    private Connection conn;
+    private PreparedStatement consulta;
+    private PreparedStatement consultaUna;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:mapeador;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE autores (id INT PRIMARY KEY, nombre VARCHAR(100), apellido VARCHAR(100), "
+                    + "nacionalidad VARCHAR(50), fecha_nacimiento DATE)");
+            stmt.execute("CREATE TABLE libros (id INT PRIMARY KEY, titulo VARCHAR(100), isbn VARCHAR(13), "
+                    + "genero VARCHAR(50), ano_publicacion SMALLINT, paginas INT, autor_id INT, created_at TIMESTAMP)");
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO autores VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= autores; i++) {
+                pstmt.setInt(1, i);
+                pstmt.setString(2, "Nombre" + i);
+                pstmt.setString(3, "Apellido" + i);
+                pstmt.setString(4, "Argentina");
+                pstmt.setDate(5, Date.valueOf(LocalDate.of(1900 + i, 1, 1)));
+                pstmt.executeUpdate();
+            }
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO libros VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= filas; i++) {
+                pstmt.setInt(1, i);
+                pstmt.setString(2, "Titulo " + i);
+                pstmt.setString(3, String.format("978%010d", i));
+                pstmt.setString(4, "Novela");
+                pstmt.setInt(5, 1950 + i % 70);
+                pstmt.setInt(6, 100 + i);
+                pstmt.setInt(7, 1 + i % autores);
+                pstmt.setTimestamp(8, Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 0, 0)));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+        consulta = conn.prepareStatement("""
+                SELECT l.id, l.titulo, l.isbn, l.genero, l.ano_publicacion, l.paginas, l.created_at,
+                       a.id as autor_id, a.nombre as autor_nombre, a.apellido as autor_apellido,
+                       a.nacionalidad as autor_nacionalidad, a.fecha_nacimiento as autor_fecha_nacimiento
+                FROM libros l
+                INNER JOIN autores a ON l.autor_id = a.id
+                ORDER BY l.id
+                """);
+        consultaUna = conn.prepareStatement("""
+                SELECT l.id, l.titulo, l.isbn, l.genero, l.ano_publicacion, l.paginas, l.created_at,
+                       a.id as autor_id, a.nombre as autor_nombre, a.apellido as autor_apellido,
+                       a.nacionalidad as autor_nacionalidad, a.fecha_nacimiento as autor_fecha_nacimiento
+                FROM libros l
+                INNER JOIN autores a ON l.autor_id = a.id
+                WHERE l.id = ?
+                """);
+        consultaUna.setInt(1, filas / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() throws SQLException {
+        conn.close();
+    }
+
+    @Benchmark
+    public void porEtiqueta(Blackhole bh) throws SQLException {
+        try (ResultSet rs = consulta.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(mapearPorEtiqueta(rs));
+            }
+        }
+    }
+
+    @Benchmark
+    public void mapeadorLibro(Blackhole bh) throws SQLException {
+        MapeadorLibro mapeador = new MapeadorLibro();
+        try (ResultSet rs = consulta.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(mapeador.mapear(rs));
+            }
+        }
+    }
+
+    @Benchmark
+    public Libro unaFilaPorEtiqueta() throws SQLException {
+        try (ResultSet rs = consultaUna.executeQuery()) {
+            return rs.next() ? mapearPorEtiqueta(rs) : null;
+        }
+    }
+
+    @Benchmark
+    public Libro unaFilaMapeadorLibro() throws SQLException {
+        try (ResultSet rs = consultaUna.executeQuery()) {
+            return rs.next() ? new MapeadorLibro().mapear(rs) : null;
+        }
+    }
+
+    // Copia del mapeo anterior de LibroDAOImpl, como referencia
+    private static Libro mapearPorEtiqueta(ResultSet rs) throws SQLException {
+        int libroId = rs.getInt("id");
+        String titulo = rs.getString("titulo");
+        String isbn = rs.getString("isbn");
+        String genero = rs.getString("genero");
+
+        int anoInt = rs.getInt("ano_publicacion");
+        Year anoPublicacion = rs.wasNull() ? null : Year.of(anoInt);
+
+        int paginas = rs.getInt("paginas");
+
+        Timestamp createdTimestamp = rs.getTimestamp("created_at");
+        LocalDateTime createdAt = createdTimestamp != null ? createdTimestamp.toLocalDateTime() : null;
+
+        int autorId = rs.getInt("autor_id");
+        String autorNombre = rs.getString("autor_nombre");
+        String autorApellido = rs.getString("autor_apellido");
+        String autorNacionalidad = rs.getString("autor_nacionalidad");
+
+        Date autorFechaNacimientoSQL = rs.getDate("autor_fecha_nacimiento");
+        LocalDate autorFechaNacimiento = autorFechaNacimientoSQL != null ?
+                autorFechaNacimientoSQL.toLocalDate() : null;
+
+        Autor autor = new Autor(autorId, autorNombre, autorApellido, autorNacionalidad, autorFechaNacimiento);
+        return new Libro(libroId, titulo, isbn, genero, anoPublicacion, paginas, createdAt, autor);
+    }
+}
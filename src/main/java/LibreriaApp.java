@@ -1,17 +1,27 @@
 
+import config.DatabaseConnection;
 import dao.*;
+import log.Log;
+import log.Nivel;
+import metricas.RegistroMetricas;
 import models.*;
 import java.time.LocalDate;
 import java.time.Year;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 
 public class LibreriaApp {
 
+    private static final int TAMANO_PAGINA = 20;
+
     private static AutorDAO autorDAO;
     private static LibroDAO libroDAO;
+    private static WriteBehindLibroDAO escrituraDiferida;
+    private static EstadisticasDAO estadisticasDAO;
     private static Scanner scanner;
+    private static final RegistroMetricas metricas = new RegistroMetricas();
 
     public static void main(String[] args) {
         inicializarSistema();
@@ -40,9 +50,45 @@ public class LibreriaApp {
         System.out.println("🚀 Inicializando Sistema de Librería...");
 
         try {
+            Log.setNivel(Nivel.valueOf(DatabaseConnection.getProperty("log.nivel", "INFO").trim().toUpperCase()));
+
             // Inicializar DAOs
-            autorDAO = new AutorDAOImpl();
-            libroDAO = new LibroDAOImpl(autorDAO);
+            // La caché queda por fuera: las métricas de AutorDAO son las que llegan a MySQL
+            long ventanaMicros = Long.parseLong(DatabaseConnection.getProperty("coalescencia.ventanaMicros", "0"));
+            int maxLote = Integer.parseInt(DatabaseConnection.getProperty("coalescencia.maxLote", "100"));
+            IndexadoAutorDAO autoresIndexados = new IndexadoAutorDAO(new CachingAutorDAO(new CoalescingAutorDAO(
+                    metricas.instrumentar(AutorDAO.class, new AutorDAOImpl()), ventanaMicros, maxLote)));
+            autorDAO = autoresIndexados;
+            LibroDAOImpl libroDAOImpl = new LibroDAOImpl(autorDAO);
+            libroDAOImpl.cargarFiltroIsbn();
+            ContadoresLibroDAO contadores = new ContadoresLibroDAO(new CoalescingLibroDAO(
+                    metricas.instrumentar(LibroDAO.class, libroDAOImpl), ventanaMicros, maxLote));
+            IndexadoLibroDAO librosIndexados = new IndexadoLibroDAO(contadores, autorDAO);
+            libroDAO = librosIndexados;
+            int colaDiferida = Integer.parseInt(DatabaseConnection.getProperty("escrituraDiferida.cola", "0"));
+            if (colaDiferida > 0) {
+                escrituraDiferida = new WriteBehindLibroDAO(librosIndexados,
+                        new AsignadorHiLo("libros",
+                                Integer.parseInt(DatabaseConnection.getProperty("escrituraDiferida.bloqueIds", "1000"))),
+                        colaDiferida,
+                        Integer.parseInt(DatabaseConnection.getProperty("escrituraDiferida.lote", "500")),
+                        Long.parseLong(DatabaseConnection.getProperty("escrituraDiferida.intervaloMs", "200")));
+                libroDAO = escrituraDiferida;
+            }
+            contadores.iniciarReconciliacion(
+                    Long.parseLong(DatabaseConnection.getProperty("contadores.reconciliacionSegundos", "300")));
+
+            // Hasta que terminen de cargar, las búsquedas por texto van a SQL
+            autoresIndexados.cargarIndiceEnSegundoPlano();
+            librosIndexados.cargarIndiceEnSegundoPlano();
+
+            if (Boolean.parseBoolean(DatabaseConnection.getProperty("metricas.jmx", "true"))) {
+                metricas.registrarJmx();
+            }
+            estadisticasDAO = metricas.instrumentar(EstadisticasDAO.class, new EstadisticasDAOImpl());
+
+            metricas.iniciarVolcado(Long.parseLong(DatabaseConnection.getProperty("metricas.volcadoSegundos", "0")),
+                    System.err);
             scanner = new Scanner(System.in);
 
             System.out.println("Sistema inicializado correctamente");
@@ -76,6 +122,9 @@ public class LibreriaApp {
         System.out.println("╚══════════════════════════════════════════════════════════════╝");
 
         // Cerrar resources
+        if (escrituraDiferida != null) {
+            escrituraDiferida.close();
+        }
         if (scanner != null) {
             scanner.close();
         }
@@ -112,6 +161,7 @@ public class LibreriaApp {
         System.out.println("  14. Estadísticas generales");
         System.out.println();
         System.out.println("🔧 SISTEMA:");
+        System.out.println("  15. Métricas de consultas");
         System.out.println("  0. Salir");
         System.out.println();
         System.out.println("═══════════════════════════════════════════════════════════════");
@@ -165,6 +215,9 @@ public class LibreriaApp {
                 break;
 
             // SISTEMA
+            case 15:
+                verMetricas();
+                break;
             case 0:
                 return false; // Salir
 
@@ -432,18 +485,24 @@ public class LibreriaApp {
         mostrarTitulo("TODOS LOS LIBROS");
 
         try {
-            List<Libro> libros = libroDAO.buscarTodos();
+            PeticionPagina peticion = PeticionPagina.primera(TAMANO_PAGINA);
+            int numeroPagina = 1;
 
-            if (libros.isEmpty()) {
-                System.out.println("📭 No hay libros registrados en el sistema.");
-            } else {
-                System.out.println("Encontrados " + libros.size() + " libros:");
+            while (true) {
+                Pagina<Libro> pagina = libroDAO.buscarTodos(peticion);
+
+                if (numeroPagina == 1 && pagina.getElementos().isEmpty()) {
+                    System.out.println("📭 No hay libros registrados en el sistema.");
+                    break;
+                }
+
+                System.out.println("Página " + numeroPagina + ":");
                 System.out.println();
                 System.out.printf("%-5s %-30s %-25s %-15s %-6s%n",
                         "ID", "TÍTULO", "AUTOR", "GÉNERO", "AÑO");
                 System.out.println("─".repeat(85));
 
-                for (Libro libro : libros) {
+                for (Libro libro : pagina.getElementos()) {
                     System.out.printf("%-5d %-30s %-25s %-15s %-6s%n",
                             libro.getId(),
                             truncar(libro.getTitulo(), 30),
@@ -452,6 +511,18 @@ public class LibreriaApp {
                             libro.getAnoPublicacion() != null ? libro.getAnoPublicacion().toString() : "N/A"
                     );
                 }
+
+                if (!pagina.hayMas()) {
+                    break;
+                }
+
+                System.out.print("\nENTER para la siguiente página, 'q' para terminar: ");
+                if (scanner.nextLine().trim().equalsIgnoreCase("q")) {
+                    break;
+                }
+                peticion = pagina.getSiguiente();
+                numeroPagina++;
+                System.out.println();
             }
 
         } catch (Exception e) {
@@ -821,12 +892,42 @@ public class LibreriaApp {
     private static void estadisticasGenerales() {
         mostrarTitulo("📊 ESTADÍSTICAS GENERALES");
 
-        int totalAutores = autorDAO.buscarTodos().size();
-        int totalLibros = libroDAO.buscarTodos().size();
+        Estadisticas estadisticas = estadisticasDAO.obtener();
+
+        System.out.println("👥 Total autores: " + estadisticas.getTotalAutores());
+        System.out.println("📚 Total libros: " + estadisticas.getTotalLibros());
+        System.out.printf("📄 Promedio de páginas: %.1f%n", estadisticas.getPromedioPaginas());
+
+        System.out.println();
+        System.out.println("Libros por género:");
+        for (Map.Entry<String, Integer> e : estadisticas.getLibrosPorGenero().entrySet()) {
+            System.out.println("  - " + e.getKey() + ": " + e.getValue());
+        }
+
+        System.out.println();
+        System.out.println("Autores por nacionalidad:");
+        for (Map.Entry<String, Integer> e : estadisticas.getAutoresPorNacionalidad().entrySet()) {
+            System.out.println("  - " + e.getKey() + ": " + e.getValue());
+        }
 
-        System.out.println("👥 Total autores: " + totalAutores);
-        System.out.println("📚 Total libros: " + totalLibros);
-        // Podés extender con más consultas: promedio de páginas, autores por país, etc.
+        System.out.println();
+        System.out.println("Libros por década:");
+        for (Map.Entry<Integer, Integer> e : estadisticas.getLibrosPorDecada().entrySet()) {
+            System.out.println("  - " + e.getKey() + "s: " + e.getValue());
+        }
+        if (estadisticas.getLibrosSinAño() > 0) {
+            System.out.println("  - Sin año: " + estadisticas.getLibrosSinAño());
+        }
+
+        pausar();
+    }
+
+    private static void verMetricas() {
+        mostrarTitulo("⏱️ MÉTRICAS DE CONSULTAS");
+
+        metricas.volcar(System.out);
+        System.out.println();
+        System.out.println("Pool: " + DatabaseConnection.getPoolStats());
 
         pausar();
     }
@@ -890,6 +991,8 @@ public class LibreriaApp {
     }
 
     public static void pausar() {
+        // Que los mensajes de los DAO salgan antes que el aviso
+        Log.vaciar();
         System.out.println("Presiona ENTER para continuar...");
         try {
             if (System.console() != null) {
@@ -1,22 +1,93 @@
 //TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
 // click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
 import config.DatabaseSetup;
+import dao.AutorDAO;
+import dao.AutorDAOImpl;
+import dao.LibroDAOImpl;
+import esquema.InformeExplain;
+import esquema.Migracion;
+import esquema.Migrador;
+import exportacion.ExportadorCatalogo;
+import exportacion.FormatoExportacion;
+import importacion.ImportadorCatalogo;
+import replica.ConstructorSnapshot;
 
+import java.nio.file.Path;
 import java.sql.SQLException;
 
+// Uso: Main [migrar | estado | explain | importar <archivo.csv|.jsonl> | exportar <archivo> [csv|jsonl|columnar] | snapshot <archivo>]
+//   migrar  (por defecto) crea la base de datos, aplica las migraciones pendientes y carga los datos de prueba
+//   estado  versión actual del esquema y migraciones pendientes
+//   explain plan de cada consulta de los DAO
+//   importar carga un catálogo de libros (CSV con cabecera o JSON por líneas)
+//   exportar vuelca libros y autores; sin formato se deduce de la extensión (.csv, .jsonl, .col)
+//   snapshot genera el archivo que sirve SnapshotLibroDAO en las réplicas de solo lectura
 public class Main {
     public static void main(String[] args) throws SQLException {
-        System.out.println("Iniciando setup");
+        String accion = args.length > 0 ? args[0] : "migrar";
 
-        //Crear base de datos
-        DatabaseSetup.createDatabase();
+        switch (accion) {
+            case "migrar":
+                System.out.println("Iniciando setup");
 
-        //Crear tablas
-        DatabaseSetup.createTables();
+                //Crear base de datos
+                DatabaseSetup.createDatabase();
 
-        //agregar datos de prueba
-        DatabaseSetup.insertSampleData();
+                //Crear tablas e índices
+                Migrador migrador = new Migrador();
+                System.out.println("Migraciones aplicadas: " + migrador.migrar().size() +
+                        " (versión del esquema: " + migrador.getVersionActual() + ")");
 
-        System.out.println("Listo");
+                //agregar datos de prueba
+                DatabaseSetup.insertSampleData();
+
+                System.out.println("Listo");
+                break;
+            case "estado":
+                Migrador consulta = new Migrador();
+                System.out.println("Versión del esquema: " + consulta.getVersionActual());
+                for (Migracion pendiente : consulta.getPendientes()) {
+                    System.out.println("Pendiente: " + pendiente);
+                }
+                break;
+            case "explain":
+                System.out.print(new InformeExplain().generar());
+                break;
+            case "importar":
+                if (args.length < 2) {
+                    System.err.println("Falta el archivo a importar");
+                    System.exit(1);
+                }
+                AutorDAO autores = new AutorDAOImpl();
+                LibroDAOImpl libros = new LibroDAOImpl(autores);
+                libros.cargarFiltroIsbn();
+                System.out.println(new ImportadorCatalogo(libros, autores).importar(Path.of(args[1])));
+                break;
+            case "exportar":
+                if (args.length < 2) {
+                    System.err.println("Falta el archivo de destino");
+                    System.exit(1);
+                }
+                Path destino = Path.of(args[1]);
+                FormatoExportacion formato = args.length > 2
+                        ? FormatoExportacion.valueOf(args[2].trim().toUpperCase())
+                        : FormatoExportacion.deArchivo(destino);
+                long exportados = new ExportadorCatalogo(new LibroDAOImpl(new AutorDAOImpl())).exportar(destino, formato);
+                System.out.println("Libros exportados: " + exportados + " -> " + destino);
+                break;
+            case "snapshot":
+                if (args.length < 2) {
+                    System.err.println("Falta el archivo de destino");
+                    System.exit(1);
+                }
+                AutorDAO autoresSnapshot = new AutorDAOImpl();
+                int enSnapshot = new ConstructorSnapshot(autoresSnapshot, new LibroDAOImpl(autoresSnapshot))
+                        .generar(Path.of(args[1]));
+                System.out.println("Libros en el snapshot: " + enSnapshot + " -> " + args[1]);
+                break;
+            default:
+                System.err.println("Acción desconocida: " + accion + " (migrar, estado, explain, importar, exportar o snapshot)");
+                System.exit(1);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,306 @@
+package config;
+
+import log.Log;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Log LOG = Log.de(ConnectionPool.class);
+
+    // Permite enchufar DriverManager en producción o un JDBC en memoria en los tests
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final PoolConfig config;
+
+    // LIFO: se reutiliza primero la conexión usada más recientemente
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger total = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder borrows = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder statementHits = new LongAdder();
+    private final LongAdder statementMisses = new LongAdder();
+
+    public ConnectionPool(ConnectionFactory factory, PoolConfig config) {
+        config.validar();
+        this.factory = factory;
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long intervalo = config.getHousekeepingIntervalMs();
+        if (intervalo > 0) {
+            housekeeper.scheduleWithFixedDelay(this::housekeep, 0, intervalo, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("El pool de conexiones está cerrado");
+        }
+
+        long inicio = System.nanoTime();
+        boolean adquirido;
+        try {
+            adquirido = permits.tryAcquire(config.getBorrowTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido esperando una conexión del pool", e);
+        }
+        waitNanos.add(System.nanoTime() - inicio);
+
+        if (!adquirido) {
+            timeouts.increment();
+            throw new SQLTimeoutException("No hay conexiones libres tras " + config.getBorrowTimeoutMs()
+                    + " ms (maxSize=" + config.getMaxSize() + ")");
+        }
+
+        try {
+            PooledConnection pooled = takeIdleOrCreate();
+            borrows.increment();
+            return lease(pooled);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeIdleOrCreate() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isExpired(pooled, System.currentTimeMillis())) {
+                destroy(pooled);
+                continue;
+            }
+            if (config.isValidateOnBorrow() && !isValid(pooled)) {
+                validationFailures.increment();
+                destroy(pooled);
+                continue;
+            }
+            return pooled;
+        }
+        return create();
+    }
+
+    private PooledConnection create() throws SQLException {
+        total.incrementAndGet();
+        try {
+            Connection physical = factory.create();
+            StatementCache cache = config.getStatementCacheSize() > 0
+                    ? new StatementCache(physical, config.getStatementCacheSize(), statementHits, statementMisses)
+                    : null;
+            PooledConnection pooled = new PooledConnection(physical, cache);
+            created.increment();
+            return pooled;
+        } catch (SQLException | RuntimeException e) {
+            total.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private boolean isValid(PooledConnection pooled) {
+        try {
+            return pooled.physical.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(PooledConnection pooled, long ahora) {
+        return config.getMaxLifetimeMs() > 0 && ahora - pooled.createdAt >= config.getMaxLifetimeMs();
+    }
+
+    private void destroy(PooledConnection pooled) {
+        total.decrementAndGet();
+        destroyed.increment();
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            LOG.error("Error cerrando conexión del pool: {}", e.getMessage());
+        }
+    }
+
+    // Llamado cuando el cliente hace close() sobre la conexión prestada
+    private void giveBack(PooledConnection pooled) {
+        try {
+            if (!pooled.broken && !pooled.physical.getAutoCommit()) {
+                // Nunca devolver al pool una transacción a medias
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            pooled.broken = true;
+        }
+
+        pooled.lastUsed = System.currentTimeMillis();
+        if (closed || pooled.broken || isExpired(pooled, pooled.lastUsed)) {
+            destroy(pooled);
+        } else {
+            idle.offerFirst(pooled);
+        }
+        permits.release();
+    }
+
+    // Expulsa conexiones ociosas o caducadas y mantiene el mínimo configurado
+    void housekeep() {
+        if (closed) {
+            return;
+        }
+        long ahora = System.currentTimeMillis();
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext()) {
+            PooledConnection pooled = it.next();
+            boolean ociosa = config.getIdleTimeoutMs() > 0
+                    && ahora - pooled.lastUsed >= config.getIdleTimeoutMs()
+                    && total.get() > config.getMinSize();
+            if ((ociosa || isExpired(pooled, ahora)) && idle.remove(pooled)) {
+                destroy(pooled);
+            }
+        }
+
+        // El relleno también toma un permiso para no superar nunca maxSize
+        while (total.get() < config.getMinSize() && !closed && permits.tryAcquire()) {
+            try {
+                idle.offerLast(create());
+            } catch (SQLException e) {
+                LOG.error("No se pudo precalentar el pool: {}", e.getMessage());
+                break;
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    public PoolStats getStats() {
+        long prestamos = borrows.sum() + timeouts.sum();
+        double esperaMediaMs = prestamos == 0 ? 0 : waitNanos.sum() / 1_000_000.0 / prestamos;
+        int libres = idle.size();
+        int totales = total.get();
+        return new PoolStats(totales, Math.max(0, totales - libres), libres, permits.getQueueLength(),
+                created.sum(), destroyed.sum(), borrows.sum(), timeouts.sum(),
+                validationFailures.sum(), esperaMediaMs, statementHits.sum(), statementMisses.sum());
+    }
+
+    public PoolConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    private Connection lease(PooledConnection pooled) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new LeaseHandler(pooled));
+    }
+
+    private static final class PooledConnection {
+        final Connection physical;
+        final StatementCache statements;
+        final long createdAt;
+        volatile long lastUsed;
+        volatile boolean broken;
+
+        PooledConnection(Connection physical, StatementCache statements) {
+            this.physical = physical;
+            this.statements = statements;
+            this.createdAt = System.currentTimeMillis();
+            this.lastUsed = createdAt;
+        }
+    }
+
+    // Envoltorio que ve el DAO: close() devuelve la conexión al pool en lugar de cerrarla
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean released;
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        giveBack(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+
+            if (released) {
+                throw new SQLException("La conexión ya fue devuelta al pool");
+            }
+
+            try {
+                if (pooled.statements != null && "prepareStatement".equals(method.getName())) {
+                    Class<?>[] tipos = method.getParameterTypes();
+                    if (tipos.length == 1) {
+                        return pooled.statements.prepare((String) args[0], Statement.NO_GENERATED_KEYS);
+                    }
+                    if (tipos.length == 2 && tipos[1] == int.class) {
+                        return pooled.statements.prepare((String) args[0], (Integer) args[1]);
+                    }
+                }
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException | SQLException e) {
+                Throwable causa = e instanceof InvocationTargetException ? e.getCause() : e;
+                if (causa instanceof SQLException) {
+                    String estado = ((SQLException) causa).getSQLState();
+                    // Clase 08: errores de conexión, la conexión física ya no es reutilizable
+                    if (estado != null && estado.startsWith("08")) {
+                        pooled.broken = true;
+                    }
+                }
+                throw causa;
+            }
+        }
+    }
+}
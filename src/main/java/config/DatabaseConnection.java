@@ -1,19 +1,29 @@
 package config;
 
+import log.Log;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class DatabaseConnection {
 
+  private static final Log LOG = Log.de(DatabaseConnection.class);
   private static final Properties properties = new Properties();
   private static final String DB_URL;
   private static final String DB_USER;
   private static final String DB_PASSWORD;
 
+  private static volatile ConnectionPool pool;
+
+  // Se cierran en shutdown() antes que el pool: p. ej. las escrituras diferidas que aún no han llegado a la base de datos
+  private static final List<AutoCloseable> beforeShutdown = new CopyOnWriteArrayList<>();
+
   static {
     try (InputStream input = DatabaseConnection.class.getClassLoader()
         .getResourceAsStream("application.properties")) {
@@ -22,6 +32,12 @@ public class DatabaseConnection {
         throw new RuntimeException("Sorry, unable to find application.properties");
       }
       properties.load(input);
+      // -Ddb.url=... (y el resto de claves) tiene prioridad sobre el fichero
+      for (String key : System.getProperties().stringPropertyNames()) {
+        if (key.startsWith("db.")) {
+          properties.setProperty(key, System.getProperty(key));
+        }
+      }
       DB_URL = properties.getProperty("db.url");
       DB_USER = properties.getProperty("db.user");
       DB_PASSWORD = properties.getProperty("db.password");
@@ -30,13 +46,76 @@ public class DatabaseConnection {
     }
   }
 
+  // Claves de application.properties que no son de conexión (métricas, etc.)
+  public static String getProperty(String key, String defaultValue) {
+    return properties.getProperty(key, defaultValue);
+  }
+
   public static Connection getConnectionForSetup() throws SQLException {
     int lastSlash = DB_URL.lastIndexOf('/');
     String setupUrl = DB_URL.substring(0, lastSlash + 1);
     return DriverManager.getConnection(setupUrl, DB_USER, DB_PASSWORD);
   }
 
+  // Conexión prestada por el pool: close() la devuelve en lugar de cerrar el socket.
+  // Con una UnitOfWork abierta en este hilo se devuelve la suya.
   public static Connection getConnection() throws SQLException {
-    return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+    Connection enUnidad = UnitOfWork.currentConnection();
+    return enUnidad != null ? enUnidad : getPool().borrow();
+  }
+
+  public static PoolStats getPoolStats() {
+    return getPool().getStats();
+  }
+
+  public static ConnectionPool getPool() {
+    ConnectionPool actual = pool;
+    if (actual == null) {
+      synchronized (DatabaseConnection.class) {
+        actual = pool;
+        if (actual == null) {
+          actual = createPool(DB_URL, DB_USER, DB_PASSWORD, PoolConfig.fromProperties(properties));
+          pool = actual;
+          Runtime.getRuntime().addShutdownHook(new Thread(DatabaseConnection::shutdown, "connection-pool-shutdown"));
+        }
+      }
+    }
+    return actual;
+  }
+
+  // Sustituye el pool (p. ej. por uno contra una base de datos en memoria en los tests)
+  public static synchronized void usePool(ConnectionPool nuevo) {
+    ConnectionPool anterior = pool;
+    pool = nuevo;
+    if (anterior != null && anterior != nuevo) {
+      anterior.close();
+    }
+  }
+
+  public static ConnectionPool createPool(String url, String user, String password, PoolConfig config) {
+    return new ConnectionPool(() -> DriverManager.getConnection(url, user, password), config);
+  }
+
+  public static void registerBeforeShutdown(AutoCloseable resource) {
+    beforeShutdown.add(resource);
+  }
+
+  public static void unregisterBeforeShutdown(AutoCloseable resource) {
+    beforeShutdown.remove(resource);
+  }
+
+  public static synchronized void shutdown() {
+    for (AutoCloseable resource : beforeShutdown) {
+      try {
+        resource.close();
+      } catch (Exception e) {
+        LOG.error("Error cerrando un recurso antes que el pool: {}", e.getMessage());
+      }
+    }
+    beforeShutdown.clear();
+    if (pool != null) {
+      pool.close();
+      pool = null;
+    }
   }
 }
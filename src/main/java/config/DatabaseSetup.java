@@ -18,44 +18,7 @@ public class DatabaseSetup {
             System.err.println("Error: " + e.getMessage());
         }
     }
-    public static void createTables() {
-        try (Connection conn = DatabaseConnection.getConnection();
-            Statement stmt = conn.createStatement()) {
-
-            String createAutores = """
-                    CREATE TABLE IF NOT EXISTS autores (
-                        id INT PRIMARY KEY AUTO_INCREMENT,
-                        nombre VARCHAR(100) NOT NULL,
-                        apellido VARCHAR(100) NOT NULL,
-                        nacionalidad VARCHAR(50),
-                        fecha_nacimiento DATE,
-                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-                    )
-                    """;
-            stmt.execute(createAutores);
-            System.out.println("Tabla de autores creada");
-
-            String createLibros = """
-                    CREATE TABLE IF NOT EXISTS libros (
-                        id INT PRIMARY KEY AUTO_INCREMENT,
-                        titulo VARCHAR(100) NOT NULL,
-                        isbn VARCHAR(13) UNIQUE,
-                        genero VARCHAR(50),
-                        ano_publicacion YEAR,
-                        paginas INT,
-                        autor_id INT NOT NULL,
-                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                        FOREIGN KEY (autor_id) REFERENCES autores(id)
-                    )
-                    """;
-            stmt.execute(createLibros);
-            System.out.println("Tabla de libros creada");
-
-
-        } catch (SQLException e) {
-            System.err.println("Error creando tabla: " + e.getMessage());
-        }
-    }
+    // Las tablas y los índices los crea esquema.Migrador
     public static void insertSampleData() {
         try (Connection conn = DatabaseConnection.getConnection();
              Statement stmt = conn.createStatement()) {
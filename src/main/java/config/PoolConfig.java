@@ -0,0 +1,116 @@
+package config;
+
+import java.util.Properties;
+
+public class PoolConfig {
+
+    private int minSize = 2;
+    private int maxSize = 10;
+    private long idleTimeoutMs = 600_000;
+    private long maxLifetimeMs = 1_800_000;
+    private boolean validateOnBorrow = true;
+    private int validationTimeoutSeconds = 2;
+    private long borrowTimeoutMs = 30_000;
+    private long housekeepingIntervalMs = 30_000;
+    private int statementCacheSize = 50;
+
+    public PoolConfig() {
+    }
+
+    // Lee las claves db.pool.* de application.properties; las ausentes quedan con su valor por defecto
+    public static PoolConfig fromProperties(Properties props) {
+        PoolConfig config = new PoolConfig();
+        config.minSize = intProp(props, "db.pool.minSize", config.minSize);
+        config.maxSize = intProp(props, "db.pool.maxSize", config.maxSize);
+        config.idleTimeoutMs = longProp(props, "db.pool.idleTimeoutMs", config.idleTimeoutMs);
+        config.maxLifetimeMs = longProp(props, "db.pool.maxLifetimeMs", config.maxLifetimeMs);
+        config.validateOnBorrow = Boolean.parseBoolean(
+                props.getProperty("db.pool.validateOnBorrow", String.valueOf(config.validateOnBorrow)).trim());
+        config.validationTimeoutSeconds = intProp(props, "db.pool.validationTimeoutSeconds", config.validationTimeoutSeconds);
+        config.borrowTimeoutMs = longProp(props, "db.pool.borrowTimeoutMs", config.borrowTimeoutMs);
+        config.housekeepingIntervalMs = longProp(props, "db.pool.housekeepingIntervalMs", config.housekeepingIntervalMs);
+        config.statementCacheSize = intProp(props, "db.pool.statementCacheSize", config.statementCacheSize);
+        config.validar();
+        return config;
+    }
+
+    private static int intProp(Properties props, String key, int defecto) {
+        String valor = props.getProperty(key);
+        return valor == null || valor.trim().isEmpty() ? defecto : Integer.parseInt(valor.trim());
+    }
+
+    private static long longProp(Properties props, String key, long defecto) {
+        String valor = props.getProperty(key);
+        return valor == null || valor.trim().isEmpty() ? defecto : Long.parseLong(valor.trim());
+    }
+
+    void validar() {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("db.pool.maxSize debe ser mayor que 0");
+        }
+        if (minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("db.pool.minSize debe estar entre 0 y db.pool.maxSize");
+        }
+        if (borrowTimeoutMs < 0 || idleTimeoutMs < 0 || maxLifetimeMs < 0) {
+            throw new IllegalArgumentException("Los tiempos del pool no pueden ser negativos");
+        }
+        if (statementCacheSize < 0) {
+            throw new IllegalArgumentException("db.pool.statementCacheSize no puede ser negativo");
+        }
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+    public void setMinSize(int minSize) {
+        this.minSize = minSize;
+    }
+    public int getMaxSize() {
+        return maxSize;
+    }
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+    public long getIdleTimeoutMs() {
+        return idleTimeoutMs;
+    }
+    public void setIdleTimeoutMs(long idleTimeoutMs) {
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+    public long getMaxLifetimeMs() {
+        return maxLifetimeMs;
+    }
+    public void setMaxLifetimeMs(long maxLifetimeMs) {
+        this.maxLifetimeMs = maxLifetimeMs;
+    }
+    public boolean isValidateOnBorrow() {
+        return validateOnBorrow;
+    }
+    public void setValidateOnBorrow(boolean validateOnBorrow) {
+        this.validateOnBorrow = validateOnBorrow;
+    }
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+    public long getBorrowTimeoutMs() {
+        return borrowTimeoutMs;
+    }
+    public void setBorrowTimeoutMs(long borrowTimeoutMs) {
+        this.borrowTimeoutMs = borrowTimeoutMs;
+    }
+    public long getHousekeepingIntervalMs() {
+        return housekeepingIntervalMs;
+    }
+    public void setHousekeepingIntervalMs(long housekeepingIntervalMs) {
+        this.housekeepingIntervalMs = housekeepingIntervalMs;
+    }
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+}
@@ -0,0 +1,84 @@
+package config;
+
+// Foto instantánea del estado del pool, pensada para dimensionar min/max
+public class PoolStats {
+
+    private final int total;
+    private final int active;
+    private final int idle;
+    private final int waiting;
+    private final long created;
+    private final long destroyed;
+    private final long borrows;
+    private final long timeouts;
+    private final long validationFailures;
+    private final double avgWaitMs;
+    private final long statementHits;
+    private final long statementMisses;
+
+    public PoolStats(int total, int active, int idle, int waiting, long created, long destroyed,
+                     long borrows, long timeouts, long validationFailures, double avgWaitMs,
+                     long statementHits, long statementMisses) {
+        this.total = total;
+        this.active = active;
+        this.idle = idle;
+        this.waiting = waiting;
+        this.created = created;
+        this.destroyed = destroyed;
+        this.borrows = borrows;
+        this.timeouts = timeouts;
+        this.validationFailures = validationFailures;
+        this.avgWaitMs = avgWaitMs;
+        this.statementHits = statementHits;
+        this.statementMisses = statementMisses;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+    public int getActive() {
+        return active;
+    }
+    public int getIdle() {
+        return idle;
+    }
+    public int getWaiting() {
+        return waiting;
+    }
+    public long getCreated() {
+        return created;
+    }
+    public long getDestroyed() {
+        return destroyed;
+    }
+    public long getBorrows() {
+        return borrows;
+    }
+    public long getTimeouts() {
+        return timeouts;
+    }
+    public long getValidationFailures() {
+        return validationFailures;
+    }
+    public double getAvgWaitMs() {
+        return avgWaitMs;
+    }
+    public long getStatementHits() {
+        return statementHits;
+    }
+    public long getStatementMisses() {
+        return statementMisses;
+    }
+    public double getStatementHitRatio() {
+        long consultas = statementHits + statementMisses;
+        return consultas == 0 ? 0 : (double) statementHits / consultas;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PoolStats{total=%d, active=%d, idle=%d, waiting=%d, created=%d, destroyed=%d, " +
+                        "borrows=%d, timeouts=%d, validationFailures=%d, avgWaitMs=%.3f, statementHits=%d, statementMisses=%d}",
+                total, active, idle, waiting, created, destroyed, borrows, timeouts, validationFailures, avgWaitMs,
+                statementHits, statementMisses);
+    }
+}
@@ -0,0 +1,174 @@
+package config;
+
+import log.Log;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Caché LRU de PreparedStatement de una conexión física, indexada por el texto SQL.
+// Solo la usa el hilo que tiene la conexión prestada, por eso no necesita sincronización.
+class StatementCache {
+
+    private static final Log LOG = Log.de(StatementCache.class);
+
+    private final Connection physical;
+    private final int capacity;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LinkedHashMap<Key, CachedStatement> statements;
+
+    StatementCache(Connection physical, int capacity, LongAdder hits, LongAdder misses) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, CachedStatement> eldest) {
+                if (size() <= StatementCache.this.capacity) {
+                    return false;
+                }
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        CachedStatement cached = statements.get(key);
+        if (cached != null && cached.evicted) {
+            statements.remove(key);
+            cached = null;
+        }
+
+        if (cached != null && !cached.inUse) {
+            hits.increment();
+            return cached.lease();
+        }
+
+        misses.increment();
+        PreparedStatement real = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS
+                ? physical.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                : physical.prepareStatement(sql);
+
+        if (cached != null) {
+            // La misma SQL ya está abierta en esta conexión: se usa una sentencia sin cachear
+            return real;
+        }
+        CachedStatement nuevo = new CachedStatement(real);
+        statements.put(key, nuevo);
+        return nuevo.lease();
+    }
+
+    private static final class Key {
+        final String sql;
+        final int autoGeneratedKeys;
+
+        Key(String sql, int autoGeneratedKeys) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key otra = (Key) o;
+            return autoGeneratedKeys == otra.autoGeneratedKeys && sql.equals(otra.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return sql.hashCode() * 31 + autoGeneratedKeys;
+        }
+    }
+
+    private static final class CachedStatement {
+        final PreparedStatement real;
+        boolean inUse;
+        boolean evicted;
+
+        CachedStatement(PreparedStatement real) {
+            this.real = real;
+        }
+
+        PreparedStatement lease() {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new LeaseHandler());
+        }
+
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                real.close();
+            } catch (SQLException e) {
+                LOG.error("Error cerrando sentencia cacheada: {}", e.getMessage());
+            }
+        }
+
+        // close() deja la sentencia preparada en el servidor y solo limpia los parámetros
+        private final class LeaseHandler implements InvocationHandler {
+            private boolean released;
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!released) {
+                            released = true;
+                            release();
+                        }
+                        return null;
+                    case "isClosed":
+                        return released || real.isClosed();
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        break;
+                }
+                if (released) {
+                    throw new SQLException("La sentencia ya fue cerrada");
+                }
+                try {
+                    return method.invoke(real, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }
+
+            private void release() {
+                inUse = false;
+                if (evicted) {
+                    closeQuietly();
+                    return;
+                }
+                try {
+                    real.clearParameters();
+                    real.clearBatch();
+                } catch (SQLException e) {
+                    evicted = true;
+                    closeQuietly();
+                }
+            }
+        }
+    }
+}
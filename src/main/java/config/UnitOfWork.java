@@ -0,0 +1,240 @@
+package config;
+
+import log.Log;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Transacción que abarca varias llamadas a los DAO del mismo hilo:
+//
+//   try (UnitOfWork uow = UnitOfWork.begin()) {
+//       autorDAO.insertar(autor);
+//       libroDAO.insertarLote(libros);
+//       uow.commit();
+//   }
+//
+// Mientras está abierta, DatabaseConnection.getConnection() devuelve siempre la misma conexión y sus
+// close()/commit() no hacen nada: se confirma una sola vez al final. Si se cierra sin commit(), o si un
+// DAO llamó a rollback() por un error, se deshace todo. Un begin() dentro de otra unidad se une a ella.
+// La conexión va ligada al hilo: lo que se lance en otros hilos (AsyncLibroDAO...) queda fuera.
+public final class UnitOfWork implements AutoCloseable {
+
+    private static final Log LOG = Log.de(UnitOfWork.class);
+
+    private static final ThreadLocal<Transaction> CURRENT = new ThreadLocal<>();
+
+    private final Transaction tx;
+    private final boolean owner;
+    private boolean done;
+
+    private UnitOfWork(Transaction tx, boolean owner) {
+        this.tx = tx;
+        this.owner = owner;
+    }
+
+    public static UnitOfWork begin() {
+        Transaction actual = CURRENT.get();
+        if (actual != null) {
+            return new UnitOfWork(actual, false);
+        }
+        try {
+            Connection leased = DatabaseConnection.getPool().borrow();
+            try {
+                leased.setAutoCommit(false);
+            } catch (SQLException e) {
+                leased.close();
+                throw e;
+            }
+            Transaction tx = new Transaction(leased);
+            CURRENT.set(tx);
+            return new UnitOfWork(tx, true);
+        } catch (SQLException e) {
+            throw new RuntimeException("Error en base de datos", e);
+        }
+    }
+
+    // Ejecuta el trabajo en una unidad y confirma si termina sin excepción
+    public static <T> T call(Supplier<T> trabajo) {
+        try (UnitOfWork uow = begin()) {
+            T resultado = trabajo.get();
+            uow.commit();
+            return resultado;
+        }
+    }
+
+    public static void run(Runnable trabajo) {
+        try (UnitOfWork uow = begin()) {
+            trabajo.run();
+            uow.commit();
+        }
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    // Conexión de la unidad abierta en este hilo, o null
+    static Connection currentConnection() {
+        Transaction actual = CURRENT.get();
+        return actual != null ? actual.view : null;
+    }
+
+    // Sin unidad abierta se ejecuta enseguida; con ella, solo si se confirma (p. ej. actualizar
+    // índices o contadores en memoria, que no deben ver datos que luego se deshacen)
+    public static void afterCommit(Runnable accion) {
+        Transaction actual = CURRENT.get();
+        if (actual == null) {
+            accion.run();
+        } else {
+            actual.afterCommit.add(accion);
+        }
+    }
+
+    // Igual que afterCommit, pero también tras deshacer (p. ej. invalidar una caché)
+    public static void afterCompletion(Runnable accion) {
+        Transaction actual = CURRENT.get();
+        if (actual == null) {
+            accion.run();
+        } else {
+            actual.afterCompletion.add(accion);
+        }
+    }
+
+    public void commit() {
+        if (done) {
+            throw new IllegalStateException("La unidad de trabajo ya terminó");
+        }
+        done = true;
+        if (!owner) {
+            return;  // confirma la unidad exterior
+        }
+        if (tx.rollbackOnly) {
+            finish(false);
+            throw new IllegalStateException("La unidad de trabajo se deshizo: un DAO falló dentro de ella");
+        }
+        try {
+            tx.leased.commit();
+        } catch (SQLException e) {
+            finish(false);
+            throw new RuntimeException("Error en base de datos", e);
+        }
+        finish(true);
+    }
+
+    public void rollback() {
+        if (done) {
+            return;
+        }
+        done = true;
+        if (owner) {
+            finish(false);
+        } else {
+            tx.rollbackOnly = true;
+        }
+    }
+
+    @Override
+    public void close() {
+        rollback();
+    }
+
+    private void finish(boolean committed) {
+        CURRENT.remove();
+        tx.finished = true;
+        try {
+            if (!committed) {
+                tx.leased.rollback();
+            }
+            tx.leased.setAutoCommit(true);
+        } catch (SQLException e) {
+            LOG.error("Error cerrando unidad de trabajo: {}", e.getMessage());
+        } finally {
+            try {
+                tx.leased.close();
+            } catch (SQLException e) {
+                LOG.error("Error devolviendo la conexión de la unidad de trabajo: {}", e.getMessage());
+            }
+        }
+
+        if (committed) {
+            runAll(tx.afterCommit);
+        }
+        runAll(tx.afterCompletion);
+    }
+
+    private static void runAll(List<Runnable> acciones) {
+        for (Runnable accion : acciones) {
+            try {
+                accion.run();
+            } catch (RuntimeException e) {
+                LOG.error("Error en acción posterior a la unidad de trabajo", e);
+            }
+        }
+    }
+
+    private static final class Transaction {
+        final Connection leased;
+        final Connection view;
+        final List<Runnable> afterCommit = new ArrayList<>();
+        final List<Runnable> afterCompletion = new ArrayList<>();
+        boolean rollbackOnly;
+        boolean finished;
+
+        Transaction(Connection leased) {
+            this.leased = leased;
+            this.view = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new SharedHandler(this));
+        }
+    }
+
+    // Lo que ven los DAO: no pueden cerrar, confirmar ni cambiar el autocommit de la unidad
+    private static final class SharedHandler implements InvocationHandler {
+        private final Transaction tx;
+
+        SharedHandler(Transaction tx) {
+            this.tx = tx;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                case "commit":
+                case "setAutoCommit":
+                    return null;
+                case "rollback":
+                    if (args == null) {
+                        tx.rollbackOnly = true;
+                        return null;
+                    }
+                    break;
+                case "isClosed":
+                    return tx.finished;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "UnitOfWork[" + tx.leased + "]";
+                default:
+                    break;
+            }
+
+            if (tx.finished) {
+                throw new SQLException("La unidad de trabajo ya terminó");
+            }
+            try {
+                return method.invoke(tx.leased, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package dao;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+// Micro-lotes: junta los IDs distintos que se piden durante una ventana corta (o hasta maxLote)
+// y los resuelve con una sola consulta IN a través de buscarPorIds.
+final class AgrupadorIds<T> implements AutoCloseable {
+
+    private final Function<Collection<Integer>, List<T>> cargaLote;
+    private final ToIntFunction<T> idDe;
+    private final long ventanaMicros;
+    private final int maxLote;
+    private final ScheduledExecutorService temporizador;
+
+    private Map<Integer, CompletableFuture<T>> pendientes;
+
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder pedidos = new LongAdder();
+
+    AgrupadorIds(String nombre, Function<Collection<Integer>, List<T>> cargaLote, ToIntFunction<T> idDe,
+                 long ventanaMicros, int maxLote) {
+        if (ventanaMicros <= 0 || maxLote <= 0) {
+            throw new IllegalArgumentException("La ventana y el tamaño máximo del lote deben ser mayores que 0");
+        }
+        this.cargaLote = cargaLote;
+        this.idDe = idDe;
+        this.ventanaMicros = ventanaMicros;
+        this.maxLote = Math.min(maxLote, UtilSQL.TAMANO_BLOQUE);
+        // Un solo hilo: mientras corre un lote, las peticiones siguientes se acumulan en el próximo
+        this.temporizador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "agrupador-" + nombre);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    T pedir(int id) {
+        CompletableFuture<T> futuro;
+        Map<Integer, CompletableFuture<T>> lleno = null;
+        synchronized (this) {
+            if (pendientes == null) {
+                Map<Integer, CompletableFuture<T>> nuevo = new LinkedHashMap<>();
+                pendientes = nuevo;
+                // El temporizador es de este lote: si se llena antes, no debe adelantar el siguiente
+                temporizador.schedule(() -> despachar(nuevo), ventanaMicros, TimeUnit.MICROSECONDS);
+            }
+            futuro = pendientes.computeIfAbsent(id, k -> new CompletableFuture<>());
+            if (pendientes.size() >= maxLote) {
+                lleno = pendientes;
+                pendientes = null;
+            }
+        }
+        pedidos.increment();
+        if (lleno != null) {
+            // El lote se llenó antes de la ventana: lo ejecuta quien lo completó
+            ejecutar(lleno);
+        }
+        return SingleFlight.esperar(futuro);
+    }
+
+    private void despachar(Map<Integer, CompletableFuture<T>> lote) {
+        synchronized (this) {
+            if (lote == null || pendientes != lote) {
+                // Ya lo ejecutó quien lo llenó
+                return;
+            }
+            pendientes = null;
+        }
+        ejecutar(lote);
+    }
+
+    private void ejecutar(Map<Integer, CompletableFuture<T>> lote) {
+        lotes.increment();
+        try {
+            Map<Integer, T> encontrados = new HashMap<>();
+            for (T fila : cargaLote.apply(lote.keySet())) {
+                encontrados.put(idDe.applyAsInt(fila), fila);
+            }
+            // Los que no aparecen no existen: se completan con null como buscarPorId
+            lote.forEach((id, futuro) -> futuro.complete(encontrados.get(id)));
+        } catch (RuntimeException e) {
+            lote.values().forEach(futuro -> futuro.completeExceptionally(e));
+        }
+    }
+
+    long getLotes() {
+        return lotes.sum();
+    }
+
+    long getPedidos() {
+        return pedidos.sum();
+    }
+
+    @Override
+    public void close() {
+        Map<Integer, CompletableFuture<T>> lote;
+        synchronized (this) {
+            lote = pendientes;
+        }
+        despachar(lote);
+        temporizador.shutdown();
+    }
+}
@@ -0,0 +1,164 @@
+package dao;
+
+import config.DatabaseConnection;
+import log.Log;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.IntSupplier;
+import java.util.regex.Pattern;
+
+// IDs para filas que todavía no se han insertado (WriteBehindLibroDAO): reserva bloques
+// de tamanoBloque en la tabla secuencias (migración 4) y los reparte desde memoria, así solo
+// hay un viaje a la base de datos cada tamanoBloque IDs. Los IDs de un bloque que no llega
+// a usarse (reinicio, cierre) se pierden: quedan huecos, igual que con AUTO_INCREMENT.
+// Cada bloque empieza tras el MAX(id) de la tabla y, al reservarlo, el AUTO_INCREMENT de la tabla
+// pasa al final del bloque: los INSERT sin ID (importación, otras instancias, a mano) no pueden
+// tomar un ID reservado y aún en cola.
+public class AsignadorHiLo implements IntSupplier {
+
+    private static final Log LOG = Log.de(AsignadorHiLo.class);
+
+    private static final Pattern NOMBRE_TABLA = Pattern.compile("[a-z_]+");
+
+    // Las instancias que reservan a la vez se turnan, como en Migrador: así los ALTER llegan en orden
+    private static final int ESPERA_CERROJO_S = 30;
+    // Lo que espera el ALTER a que terminen las transacciones abiertas sobre la tabla; mientras espera,
+    // las consultas nuevas sobre ella también esperan, así que mejor fallar pronto (p. ej. tras una exportación larga)
+    private static final int ESPERA_ALTER_S = 5;
+
+    private static final String SQL_CREAR_SECUENCIA =
+            "INSERT INTO secuencias (nombre, siguiente) VALUES (?, 1) ON DUPLICATE KEY UPDATE nombre = nombre";
+    private static final String SQL_LEER_SECUENCIA =
+            "SELECT siguiente FROM secuencias WHERE nombre = ?";
+    private static final String SQL_AVANZAR_SECUENCIA =
+            "UPDATE secuencias SET siguiente = ? WHERE nombre = ?";
+
+    private final String tabla;
+    private final int tamanoBloque;
+    private final String sqlMaximo;
+    private final String sqlAutoIncremento;
+    private final String cerrojo;
+
+    // Siguiente ID a entregar y primero fuera del bloque reservado
+    private long siguiente;
+    private long limite;
+
+    public AsignadorHiLo(String tabla, int tamanoBloque) {
+        if (tabla == null || !NOMBRE_TABLA.matcher(tabla).matches()) {
+            throw new IllegalArgumentException("Nombre de tabla no válido: " + tabla);
+        }
+        if (tamanoBloque <= 0) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser positivo");
+        }
+        this.tabla = tabla;
+        this.tamanoBloque = tamanoBloque;
+        this.sqlMaximo = "SELECT COALESCE(MAX(id), 0) FROM " + tabla;
+        this.sqlAutoIncremento = "ALTER TABLE " + tabla + " AUTO_INCREMENT = ";
+        this.cerrojo = "libreria_ids_" + tabla;
+    }
+
+    @Override
+    public synchronized int getAsInt() {
+        if (siguiente >= limite) {
+            reservarBloque();
+        }
+        return (int) siguiente++;
+    }
+
+    // El bloque se reserva en su propia conexión, aunque haya una UnitOfWork abierta en este hilo:
+    // si la unidad se revierte, los IDs ya entregados no deben volver a repartirse.
+    private void reservarBloque() {
+        try (Connection conn = DatabaseConnection.getPool().borrow()) {
+            tomarCerrojo(conn);
+            try {
+                try (PreparedStatement pstmt = conn.prepareStatement(SQL_CREAR_SECUENCIA)) {
+                    pstmt.setString(1, tabla);
+                    pstmt.executeUpdate();
+                }
+
+                long inicio;
+                try (PreparedStatement pstmt = conn.prepareStatement(SQL_LEER_SECUENCIA)) {
+                    pstmt.setString(1, tabla);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        rs.next();
+                        inicio = rs.getLong(1);
+                    }
+                }
+                inicio = Math.max(inicio, maximoId(conn) + 1);
+
+                // El ALTER espera a que acaben las transacciones abiertas sobre la tabla: después MAX(id)
+                // ya ve los IDs que tomó un INSERT sin ID antes de mover el AUTO_INCREMENT
+                long fin;
+                while (true) {
+                    fin = inicio + tamanoBloque;
+                    if (fin > Integer.MAX_VALUE) {
+                        throw new SQLException("Secuencia de " + tabla + " agotada");
+                    }
+                    moverAutoIncremento(conn, fin);
+                    long maximo = maximoId(conn);
+                    if (maximo < inicio) {
+                        break;
+                    }
+                    inicio = maximo + 1;
+                }
+
+                try (PreparedStatement pstmt = conn.prepareStatement(SQL_AVANZAR_SECUENCIA)) {
+                    pstmt.setLong(1, fin);
+                    pstmt.setString(2, tabla);
+                    pstmt.executeUpdate();
+                }
+
+                siguiente = inicio;
+                limite = fin;
+                LOG.debug("Reservados IDs de {} del {} al {}", tabla, inicio, limite - 1);
+            } finally {
+                soltarCerrojo(conn);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error reservando IDs: {}", e.getMessage());
+            throw new RuntimeException("Error en base de datos al reservar IDs", e);
+        }
+    }
+
+    private long maximoId(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sqlMaximo);
+             ResultSet rs = pstmt.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private void moverAutoIncremento(Connection conn, long valor) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SET SESSION lock_wait_timeout = " + ESPERA_ALTER_S);
+            try {
+                stmt.execute(sqlAutoIncremento + valor);
+            } finally {
+                stmt.execute("SET SESSION lock_wait_timeout = DEFAULT");
+            }
+        }
+    }
+
+    private void tomarCerrojo(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstmt.setString(1, cerrojo);
+            pstmt.setInt(2, ESPERA_CERROJO_S);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("No se pudo tomar el cerrojo de IDs de " + tabla + " en " + ESPERA_CERROJO_S + " s");
+                }
+            }
+        }
+    }
+
+    private void soltarCerrojo(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstmt.setString(1, cerrojo);
+            pstmt.executeQuery().close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package dao;
+
+import models.Autor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Versión asíncrona de AutorDAO: cada llamada se ejecuta en el EjecutorDAO y devuelve un CompletableFuture.
+// Los errores del DAO llegan como excepción del futuro (CompletionException con la causa original).
+public class AsyncAutorDAO {
+
+    private final AutorDAO autorDAO;
+    private final EjecutorDAO ejecutor;
+
+    public AsyncAutorDAO(AutorDAO autorDAO, EjecutorDAO ejecutor) {
+        this.autorDAO = autorDAO;
+        this.ejecutor = ejecutor;
+    }
+
+    public CompletableFuture<Void> insertar(Autor autor) {
+        return ejecutor.ejecutar(() -> autorDAO.insertar(autor));
+    }
+
+    public CompletableFuture<List<Integer>> insertarLote(List<Autor> autores) {
+        return ejecutor.ejecutar(() -> autorDAO.insertarLote(autores));
+    }
+
+    public CompletableFuture<Autor> buscarPorId(int id) {
+        return ejecutor.ejecutar(() -> autorDAO.buscarPorId(id));
+    }
+
+    public CompletableFuture<List<Autor>> buscarPorIds(Collection<Integer> ids) {
+        return ejecutor.ejecutar(() -> autorDAO.buscarPorIds(ids));
+    }
+
+    public CompletableFuture<List<Autor>> buscarTodos() {
+        return ejecutor.ejecutar(autorDAO::buscarTodos);
+    }
+
+    public CompletableFuture<List<Autor>> buscarPorNombre(String nombre) {
+        return ejecutor.ejecutar(() -> autorDAO.buscarPorNombre(nombre));
+    }
+
+    public CompletableFuture<List<Autor>> buscarPorNacionalidad(String nacionalidad) {
+        return ejecutor.ejecutar(() -> autorDAO.buscarPorNacionalidad(nacionalidad));
+    }
+
+    public CompletableFuture<Boolean> actualizar(Autor autor) {
+        return ejecutor.ejecutar(() -> autorDAO.actualizar(autor));
+    }
+
+    public CompletableFuture<Void> eliminar(int id) {
+        return ejecutor.ejecutar(() -> autorDAO.eliminar(id));
+    }
+
+    public CompletableFuture<Boolean> existe(int id) {
+        return ejecutor.ejecutar(() -> autorDAO.existe(id));
+    }
+
+    public AutorDAO getSincrono() {
+        return autorDAO;
+    }
+}
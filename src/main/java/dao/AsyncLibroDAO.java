@@ -0,0 +1,122 @@
+package dao;
+
+import models.Autor;
+import models.Libro;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+// Versión asíncrona de LibroDAO. streamTodos() no tiene equivalente: el cursor está atado
+// a una conexión y debe consumirse en el mismo hilo, así que se usa el DAO síncrono.
+public class AsyncLibroDAO {
+
+    private final LibroDAO libroDAO;
+    private final EjecutorDAO ejecutor;
+
+    public AsyncLibroDAO(LibroDAO libroDAO, EjecutorDAO ejecutor) {
+        this.libroDAO = libroDAO;
+        this.ejecutor = ejecutor;
+    }
+
+    public CompletableFuture<Void> insertar(Libro libro) {
+        return ejecutor.ejecutar(() -> libroDAO.insertar(libro));
+    }
+
+    public CompletableFuture<List<Integer>> insertarLote(List<Libro> libros) {
+        return ejecutor.ejecutar(() -> libroDAO.insertarLote(libros));
+    }
+
+    public CompletableFuture<Libro> buscarPorId(int id) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorId(id));
+    }
+
+    public CompletableFuture<List<Libro>> buscarPorIds(Collection<Integer> ids) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorIds(ids));
+    }
+
+    public CompletableFuture<List<Libro>> buscarTodos() {
+        return ejecutor.ejecutar(() -> libroDAO.buscarTodos());
+    }
+
+    public CompletableFuture<Libro> buscarPorIsbn(String isbn) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorIsbn(isbn));
+    }
+
+    public CompletableFuture<List<Libro>> buscarPorTitulo(String titulo) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorTitulo(titulo));
+    }
+
+    public CompletableFuture<List<Libro>> buscarPorGenero(String genero) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorGenero(genero));
+    }
+
+    public CompletableFuture<List<Libro>> buscarPorAño(int año) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorAño(año));
+    }
+
+    public CompletableFuture<List<Libro>> buscarPorAutor(int autorId) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorAutor(autorId));
+    }
+
+    public CompletableFuture<List<Libro>> buscarPorAutor(Autor autor) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorAutor(autor));
+    }
+
+    public CompletableFuture<Void> actualizar(Libro libro) {
+        return ejecutor.ejecutar(() -> libroDAO.actualizar(libro));
+    }
+
+    public CompletableFuture<Void> eliminar(int id) {
+        return ejecutor.ejecutar(() -> libroDAO.eliminar(id));
+    }
+
+    public CompletableFuture<Boolean> existe(int id) {
+        return ejecutor.ejecutar(() -> libroDAO.existe(id));
+    }
+
+    public CompletableFuture<Boolean> existeIsbn(String isbn) {
+        return ejecutor.ejecutar(() -> libroDAO.existeIsbn(isbn));
+    }
+
+    public CompletableFuture<Set<String>> existenIsbns(Collection<String> isbns) {
+        return ejecutor.ejecutar(() -> libroDAO.existenIsbns(isbns));
+    }
+
+    public CompletableFuture<List<Libro>> buscarPorRangoAños(int añoInicio, int añoFin) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorRangoAños(añoInicio, añoFin));
+    }
+
+    public CompletableFuture<Integer> contarPorGenero(String genero) {
+        return ejecutor.ejecutar(() -> libroDAO.contarPorGenero(genero));
+    }
+
+    public CompletableFuture<Pagina<Libro>> buscarTodos(PeticionPagina peticion) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarTodos(peticion));
+    }
+
+    public CompletableFuture<Pagina<Libro>> buscarPorTitulo(String titulo, PeticionPagina peticion) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorTitulo(titulo, peticion));
+    }
+
+    public CompletableFuture<Pagina<Libro>> buscarPorGenero(String genero, PeticionPagina peticion) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorGenero(genero, peticion));
+    }
+
+    public CompletableFuture<Pagina<Libro>> buscarPorAño(int año, PeticionPagina peticion) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorAño(año, peticion));
+    }
+
+    public CompletableFuture<Pagina<Libro>> buscarPorAutor(int autorId, PeticionPagina peticion) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorAutor(autorId, peticion));
+    }
+
+    public CompletableFuture<Pagina<Libro>> buscarPorRangoAños(int añoInicio, int añoFin, PeticionPagina peticion) {
+        return ejecutor.ejecutar(() -> libroDAO.buscarPorRangoAños(añoInicio, añoFin, peticion));
+    }
+
+    public LibroDAO getSincrono() {
+        return libroDAO;
+    }
+}
@@ -1,21 +1,28 @@
 package dao;
 
 import models.Autor;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface AutorDAO {
 
     // CREATE - Insertar autor nuevo
     void insertar(Autor autor);
+    List<Integer> insertarLote(List<Autor> autores);
 
     // READ - Consultas
     Autor buscarPorId(int id);
+    // Sin repetidos y en el orden pedido; los IDs que no existen se omiten
+    List<Autor> buscarPorIds(Collection<Integer> ids);
     List<Autor> buscarTodos();
+    // Recorre la tabla con un cursor: memoria constante, cerrar el Stream con try-with-resources
+    Stream<Autor> streamTodos();
     List<Autor> buscarPorNombre(String nombre);
     List<Autor> buscarPorNacionalidad(String nacionalidad);
 
-    // UPDATE - Modificar autor existente
-    void actualizar(Autor autor);
+    // UPDATE - Modificar autor existente; false si no hay autor con ese ID (no es un error)
+    boolean actualizar(Autor autor);
 
     // DELETE - Eliminar autor
     void eliminar(int id);
@@ -0,0 +1,76 @@
+package dao;
+
+import models.Autor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Base para los DAO que envuelven a otro AutorDAO (caché, métricas...):
+// delega todo y cada decorador sobrescribe solo lo que necesita
+public abstract class AutorDAODecorador implements AutorDAO {
+
+    protected final AutorDAO delegado;
+
+    protected AutorDAODecorador(AutorDAO delegado) {
+        if (delegado == null) {
+            throw new IllegalArgumentException("El DAO decorado no puede ser null");
+        }
+        this.delegado = delegado;
+    }
+
+    @Override
+    public void insertar(Autor autor) {
+        delegado.insertar(autor);
+    }
+
+    @Override
+    public List<Integer> insertarLote(List<Autor> autores) {
+        return delegado.insertarLote(autores);
+    }
+
+    @Override
+    public Autor buscarPorId(int id) {
+        return delegado.buscarPorId(id);
+    }
+
+    @Override
+    public List<Autor> buscarPorIds(Collection<Integer> ids) {
+        return delegado.buscarPorIds(ids);
+    }
+
+    @Override
+    public List<Autor> buscarTodos() {
+        return delegado.buscarTodos();
+    }
+
+    @Override
+    public Stream<Autor> streamTodos() {
+        return delegado.streamTodos();
+    }
+
+    @Override
+    public List<Autor> buscarPorNombre(String nombre) {
+        return delegado.buscarPorNombre(nombre);
+    }
+
+    @Override
+    public List<Autor> buscarPorNacionalidad(String nacionalidad) {
+        return delegado.buscarPorNacionalidad(nacionalidad);
+    }
+
+    @Override
+    public boolean actualizar(Autor autor) {
+        return delegado.actualizar(autor);
+    }
+
+    @Override
+    public void eliminar(int id) {
+        delegado.eliminar(id);
+    }
+
+    @Override
+    public boolean existe(int id) {
+        return delegado.existe(id);
+    }
+}
@@ -1,45 +1,112 @@
 package dao;
 
+import log.Log;
 import config.DatabaseConnection;
 import models.Autor;
 
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public class AutorDAOImpl implements AutorDAO {
 
+    private static final Log LOG = Log.de(AutorDAOImpl.class);
+
+    private static final String SQL_INSERTAR =
+            "INSERT INTO autores (nombre, apellido, nacionalidad, fecha_nacimiento) VALUES (?, ?, ?, ?)";
+
+    // Consultas fijas; ConsultasDAO las reúne para revisar sus planes con EXPLAIN
+    static final String SELECT_AUTOR = "SELECT id, nombre, apellido, nacionalidad, fecha_nacimiento FROM autores ";
+    static final String SQL_POR_ID = SELECT_AUTOR + "WHERE id = ?";
+    static final String SQL_TODOS = SELECT_AUTOR + "ORDER BY apellido, nombre";
+    static final String SQL_POR_NOMBRE = SELECT_AUTOR + "WHERE nombre LIKE ? OR apellido LIKE ? ORDER BY apellido";
+    static final String SQL_POR_NACIONALIDAD = SELECT_AUTOR + "WHERE nacionalidad = ? ORDER BY apellido";
+
     @Override
     public void insertar(Autor autor) {
-        String sql = "INSERT INTO autores (nombre, apellido, nacionalidad, fecha_nacimiento) VALUES (?, ?, ?, ?)";
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, autor.getNombre());
-            pstmt.setString(2, autor.getApellido());
-            pstmt.setString(3, autor.getNacionalidad());
-            pstmt.setDate(4, autor.getFechaNacimiento() != null ?
-                    Date.valueOf(autor.getFechaNacimiento()) : null);
+             PreparedStatement pstmt = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+            asignarParametrosInsercion(pstmt, autor);
 
             int filasAfectadas = pstmt.executeUpdate();
             if (filasAfectadas > 0) {
                 try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
                         autor.setId(generatedKeys.getInt(1));
-                        System.out.println("Autor insertado con ID: " + autor.getId());
+                        LOG.info("Autor insertado con ID: {}", autor.getId());
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("Error agregando autor: {}", e.getMessage());
+            throw new RuntimeException("Error en base de datos", e);
+        }
+    }
+    // Un batch JDBC y una transacción por bloque; devuelve los IDs en el mismo orden
+    @Override
+    public List<Integer> insertarLote(List<Autor> autores) {
+        List<Integer> ids = new ArrayList<>();
+        if (autores == null || autores.isEmpty()) {
+            return ids;
+        }
+
+        for (int inicio = 0; inicio < autores.size(); inicio += UtilSQL.TAMANO_BLOQUE) {
+            List<Autor> bloque = autores.subList(inicio, Math.min(inicio + UtilSQL.TAMANO_BLOQUE, autores.size()));
+            ids.addAll(insertarBloque(bloque));
+        }
+
+        LOG.debug("Insertados {} autores en lote", ids.size());
+        return ids;
+    }
+
+    private List<Integer> insertarBloque(List<Autor> bloque) {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Integer> generados = new ArrayList<>(bloque.size());
+                try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Autor autor : bloque) {
+                        asignarParametrosInsercion(pstmt, autor);
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+
+                    try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                        while (generatedKeys.next()) {
+                            generados.add(generatedKeys.getInt(1));
+                        }
                     }
                 }
+                if (generados.size() != bloque.size()) {
+                    throw new SQLException("Se esperaban " + bloque.size() + " IDs generados y llegaron " + generados.size());
+                }
+
+                conn.commit();
+
+                for (int i = 0; i < bloque.size(); i++) {
+                    bloque.get(i).setId(generados.get(i));
+                }
+                return generados;
+
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
         } catch (SQLException e) {
-            System.err.println("Error agregando autor: " + e.getMessage());
+            LOG.error("Error insertando lote de autores: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
     }
+
     @Override
     public Autor buscarPorId(int id) {
-        String sql = "SELECT id, nombre, apellido, nacionalidad, fecha_nacimiento FROM autores WHERE id = ?";
         try(Connection conn = DatabaseConnection.getConnection();
-        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        PreparedStatement pstmt = conn.prepareStatement(SQL_POR_ID)) {
             pstmt.setInt(1, id);
             try(ResultSet rs = pstmt.executeQuery()) {
                 if(rs.next()) {
@@ -47,19 +114,25 @@ public class AutorDAOImpl implements AutorDAO {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error buscando autor: " + e.getMessage());
+            LOG.error("Error buscando autor: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
         return null;
     }
 
+    @Override
+    public List<Autor> buscarPorIds(Collection<Integer> ids) {
+        return UtilSQL.buscarPorIds(
+                SELECT_AUTOR + "WHERE id IN",
+                ids, this::mapearResultSetAAutor, Autor::getId);
+    }
+
     @Override
     public List<Autor> buscarTodos() {
         List<Autor> autores = new ArrayList<>();
-        String sql = "SELECT id, nombre, apellido, nacionalidad, fecha_nacimiento FROM autores ORDER BY apellido, nombre";
 
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
+             PreparedStatement pstmt = conn.prepareStatement(SQL_TODOS);
              ResultSet rs = pstmt.executeQuery()) {
 
             while (rs.next()) {
@@ -67,21 +140,24 @@ public class AutorDAOImpl implements AutorDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error listando autores: " + e.getMessage());
+            LOG.error("Error listando autores: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
 
         return autores;
     }
 
+    @Override
+    public Stream<Autor> streamTodos() {
+        return UtilSQL.streamConsulta(SQL_TODOS, this::mapearResultSetAAutor);
+    }
+
     @Override
     public List<Autor> buscarPorNombre(String nombre) {
         List<Autor> autores = new ArrayList<>();
-        String sql = "SELECT id, nombre, apellido, nacionalidad, fecha_nacimiento " +
-                "FROM autores WHERE nombre LIKE ? OR apellido LIKE ? ORDER BY apellido";
 
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SQL_POR_NOMBRE)) {
 
             String patron = "%" + nombre + "%";
             pstmt.setString(1, patron);
@@ -94,7 +170,7 @@ public class AutorDAOImpl implements AutorDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error buscando por nombre: " + e.getMessage());
+            LOG.error("Error buscando por nombre: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
 
@@ -104,11 +180,9 @@ public class AutorDAOImpl implements AutorDAO {
     @Override
     public List<Autor> buscarPorNacionalidad(String nacionalidad) {
         List<Autor> autores = new ArrayList<>();
-        String sql = "SELECT id, nombre, apellido, nacionalidad, fecha_nacimiento " +
-                "FROM autores WHERE nacionalidad = ? ORDER BY apellido";
 
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SQL_POR_NACIONALIDAD)) {
 
             pstmt.setString(1, nacionalidad);
 
@@ -119,7 +193,7 @@ public class AutorDAOImpl implements AutorDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error buscando por nacionalidad: " + e.getMessage());
+            LOG.error("Error buscando por nacionalidad: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
 
@@ -127,7 +201,7 @@ public class AutorDAOImpl implements AutorDAO {
     }
 
     @Override
-    public void actualizar(Autor autor) {
+    public boolean actualizar(Autor autor) {
         String sql = "UPDATE autores SET nombre = ?, apellido = ?, nacionalidad = ?, fecha_nacimiento = ? WHERE id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -143,13 +217,14 @@ public class AutorDAOImpl implements AutorDAO {
             int filasAfectadas = pstmt.executeUpdate();
 
             if (filasAfectadas > 0) {
-                System.out.println("Autor actualizado: " + autor.getNombreCompleto());
-            } else {
-                System.out.println("No se encontró autor con ID: " + autor.getId());
+                LOG.info("Autor actualizado: {} {}", autor.getNombre(), autor.getApellido());
+                return true;
             }
+            LOG.warn("No se encontró autor con ID: {}", autor.getId());
+            return false;
 
         } catch (SQLException e) {
-            System.err.println("Error actualizando autor: " + e.getMessage());
+            LOG.error("Error actualizando autor: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
     }
@@ -166,16 +241,15 @@ public class AutorDAOImpl implements AutorDAO {
             int filasAfectadas = pstmt.executeUpdate();
 
             if (filasAfectadas > 0) {
-                System.out.println("Autor eliminado con ID: " + id);
+                LOG.info("Autor eliminado con ID: {}", id);
             } else {
-                System.out.println("No se encontró autor con ID: " + id);
+                LOG.warn("No se encontró autor con ID: {}", id);
             }
 
         } catch (SQLException e) {
-            System.err.println("Error eliminando autor: " + e.getMessage());
-
+            LOG.error("Error eliminando autor: {}", e.getMessage());
             // Manejar error de Foreign Key
-            if (e.getMessage().contains("foreign key constraint")) {
+            if (UtilSQL.esReferenciaEnUso(e)) {
                 throw new RuntimeException("No se puede eliminar: el autor tiene libros asociados", e);
             } else {
                 throw new RuntimeException("Error en base de datos", e);
@@ -199,12 +273,20 @@ public class AutorDAOImpl implements AutorDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error verificando existencia: " + e.getMessage());
+            LOG.error("Error verificando existencia: {}", e.getMessage());
         }
 
         return false;
     }
 
+    private void asignarParametrosInsercion(PreparedStatement pstmt, Autor autor) throws SQLException {
+        pstmt.setString(1, autor.getNombre());
+        pstmt.setString(2, autor.getApellido());
+        pstmt.setString(3, autor.getNacionalidad());
+        pstmt.setDate(4, autor.getFechaNacimiento() != null ?
+                Date.valueOf(autor.getFechaNacimiento()) : null);
+    }
+
     private Autor mapearResultSetAAutor(ResultSet rs) throws SQLException {
         int id = rs.getInt("id");
         String nombre = rs.getString("nombre");
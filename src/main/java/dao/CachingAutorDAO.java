@@ -0,0 +1,265 @@
+package dao;
+
+import config.UnitOfWork;
+import models.Autor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Caché de lectura para autores: buscarPorId y existe se sirven de memoria.
+// LRU acotada con caducidad (TTL); las escrituras hechas a través de este DAO la invalidan.
+// También recuerda los IDs inexistentes para que las validaciones negativas no vayan a MySQL.
+// Dentro de una UnitOfWork se lee siempre de la base de datos, que ve lo aún no confirmado, y no se
+// guarda nada: la caché es compartida y solo debe tener datos confirmados.
+public class CachingAutorDAO extends AutorDAODecorador {
+
+    public static final int CAPACIDAD_POR_DEFECTO = 10_000;
+    public static final Duration TTL_POR_DEFECTO = Duration.ofMinutes(5);
+
+    private final int capacidad;
+    private final long ttlNanos;
+    private final LinkedHashMap<Integer, Entrada> entradas;
+
+    // Cambia con cada invalidación: una carga que empezó antes no puede reinsertar un dato viejo
+    private long generacion;
+
+    private final LongAdder aciertos = new LongAdder();
+    private final LongAdder fallos = new LongAdder();
+    private final LongAdder expulsiones = new LongAdder();
+
+    public CachingAutorDAO(AutorDAO delegado) {
+        this(delegado, CAPACIDAD_POR_DEFECTO, TTL_POR_DEFECTO);
+    }
+
+    public CachingAutorDAO(AutorDAO delegado, int capacidad, Duration ttl) {
+        super(delegado);
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser mayor que 0");
+        }
+        this.capacidad = capacidad;
+        this.ttlNanos = ttl.toNanos();
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entrada> eldest) {
+                boolean expulsar = size() > CachingAutorDAO.this.capacidad;
+                if (expulsar) {
+                    expulsiones.increment();
+                }
+                return expulsar;
+            }
+        };
+    }
+
+    @Override
+    public Autor buscarPorId(int id) {
+        if (UnitOfWork.isActive()) {
+            return delegado.buscarPorId(id);
+        }
+        Entrada entrada = obtener(id);
+        if (entrada != null) {
+            return entrada.autor != null ? new Autor(entrada.autor) : null;
+        }
+        return cargar(id);
+    }
+
+    // Primero la caché; solo los fallos van a la base de datos, todos juntos en un buscarPorIds
+    @Override
+    public List<Autor> buscarPorIds(Collection<Integer> ids) {
+        if (UnitOfWork.isActive()) {
+            return delegado.buscarPorIds(ids);
+        }
+        LinkedHashSet<Integer> pedidos = new LinkedHashSet<>();
+        if (ids != null) {
+            for (Integer id : ids) {
+                if (id != null && id > 0) {
+                    pedidos.add(id);
+                }
+            }
+        }
+
+        Map<Integer, Autor> encontrados = new HashMap<>();
+        List<Integer> fallos = new ArrayList<>();
+        for (Integer id : pedidos) {
+            Entrada entrada = obtener(id);
+            if (entrada == null) {
+                fallos.add(id);
+            } else if (entrada.autor != null) {
+                encontrados.put(id, new Autor(entrada.autor));
+            }
+        }
+
+        if (!fallos.isEmpty()) {
+            long generacionInicial;
+            synchronized (entradas) {
+                generacionInicial = generacion;
+            }
+
+            Map<Integer, Autor> cargados = new HashMap<>();
+            for (Autor autor : delegado.buscarPorIds(fallos)) {
+                cargados.put(autor.getId(), autor);
+            }
+
+            synchronized (entradas) {
+                if (generacion == generacionInicial) {
+                    long ahora = System.nanoTime();
+                    for (Integer id : fallos) {
+                        Autor autor = cargados.get(id);
+                        entradas.put(id, new Entrada(autor != null ? new Autor(autor) : null, ahora));
+                    }
+                }
+            }
+            encontrados.putAll(cargados);
+        }
+
+        List<Autor> resultado = new ArrayList<>(encontrados.size());
+        for (Integer id : pedidos) {
+            Autor autor = encontrados.get(id);
+            if (autor != null) {
+                resultado.add(autor);
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public boolean existe(int id) {
+        if (id <= 0) {
+            return false;
+        }
+        if (UnitOfWork.isActive()) {
+            return delegado.existe(id);
+        }
+        Entrada entrada = obtener(id);
+        if (entrada != null) {
+            return entrada.autor != null;
+        }
+        return cargar(id) != null;
+    }
+
+    @Override
+    public void insertar(Autor autor) {
+        delegado.insertar(autor);
+        invalidar(autor.getId());
+    }
+
+    @Override
+    public List<Integer> insertarLote(List<Autor> autores) {
+        List<Integer> ids = delegado.insertarLote(autores);
+        for (Integer id : ids) {
+            invalidar(id);
+        }
+        return ids;
+    }
+
+    @Override
+    public boolean actualizar(Autor autor) {
+        try {
+            return delegado.actualizar(autor);
+        } finally {
+            invalidar(autor.getId());
+        }
+    }
+
+    @Override
+    public void eliminar(int id) {
+        try {
+            delegado.eliminar(id);
+        } finally {
+            invalidar(id);
+        }
+    }
+
+    private Entrada obtener(int id) {
+        synchronized (entradas) {
+            Entrada entrada = entradas.get(id);
+            if (entrada != null && System.nanoTime() - entrada.cargadaEn < ttlNanos) {
+                aciertos.increment();
+                return entrada;
+            }
+            if (entrada != null) {
+                entradas.remove(id);
+            }
+        }
+        fallos.increment();
+        return null;
+    }
+
+    private Autor cargar(int id) {
+        long generacionInicial;
+        synchronized (entradas) {
+            generacionInicial = generacion;
+        }
+
+        Autor autor = delegado.buscarPorId(id);
+
+        synchronized (entradas) {
+            if (generacion == generacionInicial) {
+                entradas.put(id, new Entrada(autor != null ? new Autor(autor) : null, System.nanoTime()));
+            }
+        }
+        return autor;
+    }
+
+    public void invalidar(int id) {
+        synchronized (entradas) {
+            generacion++;
+            entradas.remove(id);
+        }
+        // Otro hilo pudo volver a cargar el valor viejo antes de que la unidad confirmara
+        if (UnitOfWork.isActive()) {
+            UnitOfWork.afterCompletion(() -> {
+                synchronized (entradas) {
+                    generacion++;
+                    entradas.remove(id);
+                }
+            });
+        }
+    }
+
+    public void invalidarTodo() {
+        synchronized (entradas) {
+            generacion++;
+            entradas.clear();
+        }
+    }
+
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    public long getExpulsiones() {
+        return expulsiones.sum();
+    }
+
+    public double getTasaAciertos() {
+        long total = aciertos.sum() + fallos.sum();
+        return total == 0 ? 0 : (double) aciertos.sum() / total;
+    }
+
+    public int getTamano() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    private static final class Entrada {
+        final Autor autor;  // null = se sabe que el autor no existe
+        final long cargadaEn;
+
+        Entrada(Autor autor, long cargadaEn) {
+            this.autor = autor;
+            this.cargadaEn = cargadaEn;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package dao;
+
+import config.UnitOfWork;
+import models.Autor;
+
+import java.util.List;
+
+// Igual que CoalescingLibroDAO para autores: una sola consulta por ID aunque lo pidan muchos hilos
+// a la vez y, con ventana > 0, micro-lotes de IDs distintos resueltos con buscarPorIds.
+// Dentro de una UnitOfWork no se une ni comparte nada: su conexión ve datos sin confirmar.
+// Las escrituras olvidan las consultas en vuelo de ese ID, para que la siguiente lectura las vea.
+public class CoalescingAutorDAO extends AutorDAODecorador implements AutoCloseable {
+
+    private final SingleFlight<Integer, Autor> porId = new SingleFlight<>();
+    private final SingleFlight<Integer, Boolean> existencia = new SingleFlight<>();
+    private final AgrupadorIds<Autor> agrupador;
+
+    public CoalescingAutorDAO(AutorDAO delegado) {
+        this(delegado, 0, 0);
+    }
+
+    // ventanaMicros = 0 desactiva los micro-lotes
+    public CoalescingAutorDAO(AutorDAO delegado, long ventanaMicros, int maxLote) {
+        super(delegado);
+        this.agrupador = ventanaMicros > 0
+                ? new AgrupadorIds<>("autores", delegado::buscarPorIds, Autor::getId, ventanaMicros, maxLote)
+                : null;
+    }
+
+    @Override
+    public Autor buscarPorId(int id) {
+        if (UnitOfWork.isActive()) {
+            return delegado.buscarPorId(id);
+        }
+        Autor autor = agrupador != null && id > 0
+                ? agrupador.pedir(id)
+                : porId.ejecutar(id, () -> delegado.buscarPorId(id));
+        return autor != null ? new Autor(autor) : null;
+    }
+
+    @Override
+    public boolean existe(int id) {
+        if (UnitOfWork.isActive()) {
+            return delegado.existe(id);
+        }
+        return existencia.ejecutar(id, () -> delegado.existe(id));
+    }
+
+    @Override
+    public void insertar(Autor autor) {
+        delegado.insertar(autor);
+        olvidar(autor.getId());
+    }
+
+    @Override
+    public List<Integer> insertarLote(List<Autor> autores) {
+        List<Integer> ids = delegado.insertarLote(autores);
+        ids.forEach(this::olvidar);
+        return ids;
+    }
+
+    @Override
+    public boolean actualizar(Autor autor) {
+        boolean actualizado = delegado.actualizar(autor);
+        olvidar(autor.getId());
+        return actualizado;
+    }
+
+    @Override
+    public void eliminar(int id) {
+        delegado.eliminar(id);
+        olvidar(id);
+    }
+
+    // Con una UnitOfWork, al terminarla: hasta entonces los demás hilos leen lo de antes
+    private void olvidar(int id) {
+        Runnable olvidar = () -> {
+            porId.olvidar(id);
+            existencia.olvidar(id);
+        };
+        UnitOfWork.afterCompletion(olvidar);
+    }
+
+    public long getConsultasCompartidas() {
+        return porId.getCompartidas() + existencia.getCompartidas();
+    }
+
+    public long getLotes() {
+        return agrupador != null ? agrupador.getLotes() : 0;
+    }
+
+    @Override
+    public void close() {
+        if (agrupador != null) {
+            agrupador.close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package dao;
+
+import config.UnitOfWork;
+import models.Libro;
+
+import java.util.List;
+
+// Une las búsquedas idénticas que están en curso a la vez: si cien hilos piden el mismo libro,
+// va una sola consulta a MySQL. Con ventana > 0 además agrupa los buscarPorId de IDs distintos
+// que llegan dentro de la ventana en un único buscarPorIds.
+// Cada hilo recibe su propia copia del libro, como si hubiera hecho la consulta él solo.
+// Dentro de una UnitOfWork no se une ni comparte nada: su conexión ve datos sin confirmar.
+// Las escrituras olvidan las consultas en vuelo de lo que tocan, para que la siguiente lectura las vea.
+public class CoalescingLibroDAO extends LibroDAODecorador implements AutoCloseable {
+
+    private final SingleFlight<Integer, Libro> porId = new SingleFlight<>();
+    private final SingleFlight<String, Libro> porIsbn = new SingleFlight<>();
+    private final AgrupadorIds<Libro> agrupador;
+
+    public CoalescingLibroDAO(LibroDAO delegado) {
+        this(delegado, 0, 0);
+    }
+
+    // ventanaMicros = 0 desactiva los micro-lotes
+    public CoalescingLibroDAO(LibroDAO delegado, long ventanaMicros, int maxLote) {
+        super(delegado);
+        this.agrupador = ventanaMicros > 0
+                ? new AgrupadorIds<>("libros", delegado::buscarPorIds, Libro::getId, ventanaMicros, maxLote)
+                : null;
+    }
+
+    @Override
+    public Libro buscarPorId(int id) {
+        if (UnitOfWork.isActive()) {
+            return delegado.buscarPorId(id);
+        }
+        Libro libro = agrupador != null && id > 0
+                ? agrupador.pedir(id)
+                : porId.ejecutar(id, () -> delegado.buscarPorId(id));
+        return libro != null ? new Libro(libro) : null;
+    }
+
+    @Override
+    public Libro buscarPorIsbn(String isbn) {
+        if (isbn == null || UnitOfWork.isActive()) {
+            return delegado.buscarPorIsbn(isbn);
+        }
+        Libro libro = porIsbn.ejecutar(isbn, () -> delegado.buscarPorIsbn(isbn));
+        return libro != null ? new Libro(libro) : null;
+    }
+
+    @Override
+    public void insertar(Libro libro) {
+        delegado.insertar(libro);
+        olvidar(libro.getId());
+    }
+
+    @Override
+    public List<Integer> insertarLote(List<Libro> libros) {
+        List<Integer> ids = delegado.insertarLote(libros);
+        ids.forEach(this::olvidar);
+        return ids;
+    }
+
+    @Override
+    public void actualizar(Libro libro) {
+        delegado.actualizar(libro);
+        olvidar(libro.getId());
+    }
+
+    @Override
+    public void eliminar(int id) {
+        delegado.eliminar(id);
+        olvidar(id);
+    }
+
+    // Con una UnitOfWork, al terminarla: hasta entonces los demás hilos leen lo de antes.
+    // Las de ISBN se olvidan todas: el ISBN puede haber cambiado y el de antes no se conoce.
+    private void olvidar(int id) {
+        Runnable olvidar = () -> {
+            porId.olvidar(id);
+            porIsbn.olvidarTodas();
+        };
+        UnitOfWork.afterCompletion(olvidar);
+    }
+
+    public long getConsultasCompartidas() {
+        return porId.getCompartidas() + porIsbn.getCompartidas();
+    }
+
+    public long getLotes() {
+        return agrupador != null ? agrupador.getLotes() : 0;
+    }
+
+    @Override
+    public void close() {
+        if (agrupador != null) {
+            agrupador.close();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dao;
+
+import java.util.List;
+
+// Catálogo de las consultas que lanzan los DAO, con parámetros de ejemplo, para poder pedir su plan
+// (EXPLAIN) sin ejecutar la aplicación. Usa las mismas constantes que las implementaciones.
+public final class ConsultasDAO {
+
+    private ConsultasDAO() {
+    }
+
+    public static List<Consulta> todas() {
+        return List.of(
+                new Consulta("LibroDAO.buscarPorId", LibroDAOImpl.SQL_POR_ID, 1),
+                new Consulta("LibroDAO.buscarPorIsbn", LibroDAOImpl.SQL_POR_ISBN, "9788497592208"),
+                new Consulta("LibroDAO.buscarTodos", LibroDAOImpl.SQL_TODOS),
+                new Consulta("LibroDAO.buscarPorTitulo", LibroDAOImpl.SQL_POR_TITULO, "%soledad%"),
+                new Consulta("LibroDAO.buscarPorGenero", LibroDAOImpl.SQL_POR_GENERO, "Realismo mágico"),
+                new Consulta("LibroDAO.buscarPorAutor", LibroDAOImpl.SQL_POR_AUTOR, 1),
+                new Consulta("LibroDAO.buscarPorRangoAños", LibroDAOImpl.SQL_POR_RANGO_AÑOS, 1950, 2000),
+                new Consulta("LibroDAO.buscarPorAño", LibroDAOImpl.SQL_POR_AÑO, 1967),
+                new Consulta("LibroDAO.contarPorGenero", LibroDAOImpl.SQL_CONTAR_POR_GENERO, "Realismo mágico"),
+                new Consulta("LibroDAO.buscarPagina (siguiente)",
+                        LibroDAOImpl.sqlPagina(List.of(LibroDAOImpl.DESPUES_DEL_TITULO), LibroDAOImpl.Orden.POR_TITULO),
+                        "M", "M", 1, 21),
+                new Consulta("LibroDAO.buscarPaginaPorGenero (siguiente)",
+                        LibroDAOImpl.sqlPagina(List.of("l.genero = ?", LibroDAOImpl.DESPUES_DEL_AÑO),
+                                LibroDAOImpl.Orden.POR_AÑO_DESC),
+                        "Realismo mágico", 1980, 1980, "M", "M", 1, 21),
+                new Consulta("LibroDAO.buscarPaginaPorAño (siguiente)",
+                        LibroDAOImpl.sqlPagina(List.of("l.ano_publicacion = ?", LibroDAOImpl.DESPUES_DEL_TITULO),
+                                LibroDAOImpl.Orden.POR_TITULO),
+                        1967, "M", "M", 1, 21),
+                new Consulta("LibroDAO.buscarPaginaPorAutor (siguiente)",
+                        LibroDAOImpl.sqlPagina(List.of("l.autor_id = ?", LibroDAOImpl.DESPUES_DEL_AÑO),
+                                LibroDAOImpl.Orden.POR_AÑO_DESC),
+                        1, 1980, 1980, "M", "M", 1, 21),
+                new Consulta("AutorDAO.buscarPorId", AutorDAOImpl.SQL_POR_ID, 1),
+                new Consulta("AutorDAO.buscarTodos", AutorDAOImpl.SQL_TODOS),
+                new Consulta("AutorDAO.buscarPorNombre", AutorDAOImpl.SQL_POR_NOMBRE, "%Borges%", "%Borges%"),
+                new Consulta("AutorDAO.buscarPorNacionalidad", AutorDAOImpl.SQL_POR_NACIONALIDAD, "Argentina"),
+                new Consulta("EstadisticasDAO.obtener", EstadisticasDAOImpl.SQL_ESTADISTICAS));
+    }
+
+    public static final class Consulta {
+        private final String nombre;
+        private final String sql;
+        private final List<Object> parametros;
+
+        Consulta(String nombre, String sql, Object... parametros) {
+            this.nombre = nombre;
+            this.sql = sql;
+            this.parametros = List.of(parametros);
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public List<Object> getParametros() {
+            return parametros;
+        }
+    }
+}
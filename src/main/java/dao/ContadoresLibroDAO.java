@@ -0,0 +1,306 @@
+package dao;
+
+import config.UnitOfWork;
+import log.Log;
+import models.Libro;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Vista materializada en memoria de los conteos por género, año y autor.
+// Se construye una vez desde la base de datos y se mantiene con cada escritura que pasa por este DAO,
+// así contarPorGenero y compañía son O(1) sin ir a MySQL. Una reconciliación periódica la reconstruye
+// para recoger cambios hechos por fuera (otra aplicación, SQL a mano...).
+public class ContadoresLibroDAO extends LibroDAODecorador implements AutoCloseable {
+
+    private static final Log LOG = Log.de(ContadoresLibroDAO.class);
+
+    private static final int NUM_CERROJOS = 64;
+
+    private volatile Vista vista;
+
+    // Durante una reconstrucción las escrituras se anotan para reaplicarlas sobre la vista nueva
+    private List<Runnable> pendientes;
+
+    private ScheduledExecutorService reconciliador;
+
+    // Dos actualizaciones del mismo ID deben llegar a la vista en el mismo orden en que se
+    // confirmaron: cada escritura y su cambio en la vista van bajo el cerrojo de su ID
+    private final Object[] cerrojos = new Object[NUM_CERROJOS];
+
+    public ContadoresLibroDAO(LibroDAO delegado) {
+        super(delegado);
+        for (int i = 0; i < cerrojos.length; i++) {
+            cerrojos[i] = new Object();
+        }
+    }
+
+    // Carga inicial o reconciliación: recorre la tabla y sustituye la vista de golpe
+    public void cargar() {
+        synchronized (this) {
+            if (pendientes != null) {
+                return;
+            }
+            pendientes = new ArrayList<>();
+        }
+
+        Vista nueva = new Vista();
+        boolean completa = false;
+        try (Stream<Libro> libros = delegado.streamTodos()) {
+            libros.forEach(libro -> nueva.poner(libro.getId(), Clave.de(libro)));
+            completa = true;
+        } finally {
+            synchronized (this) {
+                if (completa) {
+                    // Poner/quitar fijan el estado final de una fila: reaplicarlos es correcto
+                    // tanto si el cursor vio la versión anterior como la nueva
+                    Vista anterior = vista;
+                    vista = nueva;
+                    for (Runnable operacion : pendientes) {
+                        operacion.run();
+                    }
+                    if (anterior != null && anterior.total.get() != nueva.total.get()) {
+                        LOG.info("Conteos reconciliados: {} -> {} libros", anterior.total.get(), nueva.total.get());
+                    }
+                }
+                pendientes = null;
+            }
+        }
+    }
+
+    // La primera ejecución, inmediata y en segundo plano, hace la carga inicial
+    public synchronized void iniciarReconciliacion(long intervaloSegundos) {
+        if (reconciliador != null || intervaloSegundos <= 0) {
+            return;
+        }
+        reconciliador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "contadores-reconciliacion");
+            t.setDaemon(true);
+            return t;
+        });
+        reconciliador.scheduleWithFixedDelay(() -> {
+            try {
+                cargar();
+            } catch (RuntimeException e) {
+                LOG.error("Error reconciliando conteos: {}", e.getMessage());
+            }
+        }, 0, intervaloSegundos, TimeUnit.SECONDS);
+    }
+
+    public boolean isCargado() {
+        return vista != null;
+    }
+
+    @Override
+    public int contarPorGenero(String genero) {
+        Vista actual = vista;
+        if (actual == null || UnitOfWork.isActive() || genero == null || genero.trim().isEmpty()) {
+            return delegado.contarPorGenero(genero);
+        }
+        return leer(actual.porGenero, Clave.normalizarGenero(genero));
+    }
+
+    public int contarPorAño(int año) {
+        Vista actual = vistaCargada();
+        return leer(actual.porAño, año);
+    }
+
+    public int contarPorAutor(int autorId) {
+        Vista actual = vistaCargada();
+        return leer(actual.porAutor, autorId);
+    }
+
+    public int getTotal() {
+        return vistaCargada().total.get();
+    }
+
+    // Copia de los conteos por género (clave normalizada: sin tildes y en minúsculas)
+    public Map<String, Integer> getConteosPorGenero() {
+        Map<String, Integer> copia = new HashMap<>();
+        vistaCargada().porGenero.forEach((genero, cantidad) -> {
+            if (cantidad.get() > 0) {
+                copia.put(genero, cantidad.get());
+            }
+        });
+        return copia;
+    }
+
+    @Override
+    public void insertar(Libro libro) {
+        delegado.insertar(libro);
+        poner(libro);
+    }
+
+    @Override
+    public List<Integer> insertarLote(List<Libro> libros) {
+        try {
+            return delegado.insertarLote(libros);
+        } finally {
+            // Si falla a mitad, los bloques ya confirmados tienen ID y también cuentan
+            for (Libro libro : libros) {
+                if (libro.getId() > 0) {
+                    poner(libro);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void actualizar(Libro libro) {
+        if (UnitOfWork.isActive()) {
+            delegado.actualizar(libro);
+            releerAlConfirmar(libro.getId());
+            return;
+        }
+        synchronized (cerrojo(libro.getId())) {
+            delegado.actualizar(libro);
+            poner(libro);
+        }
+    }
+
+    @Override
+    public void eliminar(int id) {
+        if (UnitOfWork.isActive()) {
+            delegado.eliminar(id);
+            releerAlConfirmar(id);
+            return;
+        }
+        synchronized (cerrojo(id)) {
+            delegado.eliminar(id);
+            quitar(id);
+        }
+    }
+
+    // Dentro de una UnitOfWork la confirmación, y con ella el orden, se decide después: al confirmar
+    // se lee la fila ya confirmada y la vista queda como esté en la base de datos, sea cual sea el
+    // orden en que terminen las unidades
+    private void releerAlConfirmar(int id) {
+        UnitOfWork.afterCommit(() -> {
+            synchronized (cerrojo(id)) {
+                Libro actual = delegado.buscarPorId(id);
+                if (actual != null) {
+                    Clave clave = Clave.de(actual);
+                    aplicar(() -> vista.poner(id, clave));
+                } else {
+                    aplicar(() -> vista.quitar(id));
+                }
+            }
+        });
+    }
+
+    private Object cerrojo(int id) {
+        return cerrojos[Math.floorMod(id, cerrojos.length)];
+    }
+
+    // Dentro de una UnitOfWork los conteos cambian solo si se confirma
+    private void poner(Libro libro) {
+        int id = libro.getId();
+        Clave clave = Clave.de(libro);
+        UnitOfWork.afterCommit(() -> aplicar(() -> vista.poner(id, clave)));
+    }
+
+    private void quitar(int id) {
+        UnitOfWork.afterCommit(() -> aplicar(() -> vista.quitar(id)));
+    }
+
+    private synchronized void aplicar(Runnable operacion) {
+        if (vista != null) {
+            operacion.run();
+        }
+        if (pendientes != null) {
+            pendientes.add(operacion);
+        }
+    }
+
+    private Vista vistaCargada() {
+        Vista actual = vista;
+        if (actual == null) {
+            throw new IllegalStateException("Los contadores no están cargados; llamar antes a cargar()");
+        }
+        return actual;
+    }
+
+    private static <K> int leer(Map<K, AtomicInteger> conteos, K clave) {
+        AtomicInteger cantidad = conteos.get(clave);
+        return cantidad != null ? cantidad.get() : 0;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (reconciliador != null) {
+            reconciliador.shutdownNow();
+            reconciliador = null;
+        }
+    }
+
+    // Lo mínimo de cada libro para poder descontarlo al actualizarlo o borrarlo
+    private static final class Clave {
+        final String genero;
+        final int año;      // 0 = sin año
+        final int autorId;
+
+        Clave(String genero, int año, int autorId) {
+            this.genero = genero;
+            this.año = año;
+            this.autorId = autorId;
+        }
+
+        static Clave de(Libro libro) {
+            return new Clave(libro.getGenero() != null ? normalizarGenero(libro.getGenero()) : null,
+                    libro.getAnoPublicacion() != null ? libro.getAnoPublicacion().getValue() : 0,
+                    libro.getAutor() != null ? libro.getAutor().getId() : 0);
+        }
+
+        // La columna compara sin distinguir mayúsculas ni tildes (collation _ci)
+        static String normalizarGenero(String genero) {
+            return IndiceTexto.normalizar(genero.trim());
+        }
+    }
+
+    // Las escrituras llegan serializadas (synchronized en el DAO); las lecturas no toman cerrojo
+    private static final class Vista {
+        final Map<Integer, Clave> filas = new ConcurrentHashMap<>();
+        final Map<String, AtomicInteger> porGenero = new ConcurrentHashMap<>();
+        final Map<Integer, AtomicInteger> porAño = new ConcurrentHashMap<>();
+        final Map<Integer, AtomicInteger> porAutor = new ConcurrentHashMap<>();
+        final AtomicInteger total = new AtomicInteger();
+
+        void poner(int id, Clave clave) {
+            Clave anterior = filas.put(id, clave);
+            if (anterior != null) {
+                sumar(anterior, -1);
+            } else {
+                total.incrementAndGet();
+            }
+            sumar(clave, 1);
+        }
+
+        void quitar(int id) {
+            Clave anterior = filas.remove(id);
+            if (anterior != null) {
+                sumar(anterior, -1);
+                total.decrementAndGet();
+            }
+        }
+
+        private void sumar(Clave clave, int delta) {
+            if (clave.genero != null) {
+                porGenero.computeIfAbsent(clave.genero, g -> new AtomicInteger()).addAndGet(delta);
+            }
+            if (clave.año != 0) {
+                porAño.computeIfAbsent(clave.año, a -> new AtomicInteger()).addAndGet(delta);
+            }
+            if (clave.autorId != 0) {
+                porAutor.computeIfAbsent(clave.autorId, a -> new AtomicInteger()).addAndGet(delta);
+            }
+        }
+    }
+}
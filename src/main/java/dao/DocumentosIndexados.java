@@ -0,0 +1,126 @@
+package dao;
+
+import config.UnitOfWork;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+// Copias en memoria de las filas más su índice de texto, compartido por IndexadoLibroDAO e IndexadoAutorDAO.
+// La carga inicial corre mientras el DAO sigue aceptando escrituras: las filas que se escriben
+// durante la carga se marcan y la carga no las pisa con la versión (más vieja) que leyó el cursor.
+final class DocumentosIndexados<T> {
+
+    private final IndiceTexto indice = new IndiceTexto();
+    private final Map<Integer, T> documentos = new ConcurrentHashMap<>();
+    private final ToIntFunction<T> id;
+    private final Function<T, String> texto;
+    private final UnaryOperator<T> copiar;
+    private final Comparator<T> orden;
+
+    private final Set<Integer> tocadosDuranteCarga = new HashSet<>();
+    private boolean cargando;
+    private volatile boolean listo;
+
+    DocumentosIndexados(ToIntFunction<T> id, Function<T, String> texto, UnaryOperator<T> copiar, Comparator<T> orden) {
+        this.id = id;
+        this.texto = texto;
+        this.copiar = copiar;
+        this.orden = orden;
+    }
+
+    boolean isListo() {
+        return listo;
+    }
+
+    void cargar(Stream<T> filas) {
+        synchronized (this) {
+            if (cargando) {
+                return;
+            }
+            cargando = true;
+            listo = false;
+            tocadosDuranteCarga.clear();
+            indice.vaciar();
+            documentos.clear();
+        }
+        boolean completa = false;
+        try (filas) {
+            filas.forEach(fila -> {
+                synchronized (this) {
+                    if (!tocadosDuranteCarga.contains(id.applyAsInt(fila))) {
+                        guardar(fila);
+                    }
+                }
+            });
+            completa = true;
+        } finally {
+            synchronized (this) {
+                cargando = false;
+                tocadosDuranteCarga.clear();
+                listo = completa;
+            }
+        }
+    }
+
+    synchronized void poner(T fila) {
+        if (cargando) {
+            tocadosDuranteCarga.add(id.applyAsInt(fila));
+        }
+        guardar(copiar.apply(fila));
+    }
+
+    // Dentro de una UnitOfWork el cambio espera a la confirmación: un rollback no deja rastro en el índice
+    void ponerAlConfirmar(T fila) {
+        T copia = copiar.apply(fila);
+        UnitOfWork.afterCommit(() -> poner(copia));
+    }
+
+    void quitarAlConfirmar(int clave) {
+        UnitOfWork.afterCommit(() -> quitar(clave));
+    }
+
+    synchronized void quitar(int clave) {
+        if (cargando) {
+            tocadosDuranteCarga.add(clave);
+        }
+        indice.quitar(clave);
+        documentos.remove(clave);
+    }
+
+    private void guardar(T fila) {
+        int clave = id.applyAsInt(fila);
+        documentos.put(clave, fila);
+        indice.indexar(clave, texto.apply(fila));
+    }
+
+    // Copias ordenadas de los documentos que coinciden con la consulta
+    List<T> buscar(String consulta) {
+        Set<Integer> ids = indice.buscar(consulta);
+        List<T> resultado = new ArrayList<>(ids.size());
+        for (Integer clave : ids) {
+            T documento = documentos.get(clave);
+            if (documento != null) {
+                resultado.add(copiar.apply(documento));
+            }
+        }
+        resultado.sort(orden);
+        return resultado;
+    }
+
+    int getTamano() {
+        return documentos.size();
+    }
+
+    IndiceTexto getIndice() {
+        return indice;
+    }
+}
@@ -0,0 +1,92 @@
+package dao;
+
+import config.DatabaseConnection;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Ejecutor de las consultas asíncronas. Con Java 21+ usa un hilo virtual por tarea;
+// en JVMs anteriores cae a un pool fijo de hilos de plataforma del mismo tamaño que el límite.
+// En ambos casos nunca hay más consultas en vuelo que conexiones tiene el pool.
+public final class EjecutorDAO implements AutoCloseable {
+
+    private final ExecutorService ejecutor;
+    private final Semaphore enVuelo;
+    private final boolean hilosVirtuales;
+
+    // Límite = tamaño máximo del pool de conexiones
+    public EjecutorDAO() {
+        this(DatabaseConnection.getPool().getConfig().getMaxSize());
+    }
+
+    public EjecutorDAO(int maxConcurrentes) {
+        if (maxConcurrentes <= 0) {
+            throw new IllegalArgumentException("El máximo de consultas concurrentes debe ser mayor que 0");
+        }
+        this.enVuelo = new Semaphore(maxConcurrentes);
+        ExecutorService virtual = crearEjecutorVirtual();
+        this.hilosVirtuales = virtual != null;
+        this.ejecutor = virtual != null ? virtual : crearEjecutorFijo(maxConcurrentes);
+    }
+
+    public <T> CompletableFuture<T> ejecutar(Supplier<T> consulta) {
+        return CompletableFuture.supplyAsync(() -> {
+            // Un hilo virtual bloqueado aquí no ocupa un hilo del sistema
+            try {
+                enVuelo.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+            try {
+                return consulta.get();
+            } finally {
+                enVuelo.release();
+            }
+        }, ejecutor);
+    }
+
+    public CompletableFuture<Void> ejecutar(Runnable operacion) {
+        return ejecutar(() -> {
+            operacion.run();
+            return null;
+        });
+    }
+
+    public boolean usaHilosVirtuales() {
+        return hilosVirtuales;
+    }
+
+    public int getConsultasEnEspera() {
+        return enVuelo.getQueueLength();
+    }
+
+    @Override
+    public void close() {
+        ejecutor.shutdown();
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() existe desde Java 21; se busca por reflexión
+    // para que el proyecto siga compilando y funcionando con Java 17
+    private static ExecutorService crearEjecutorVirtual() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ExecutorService crearEjecutorFijo(int hilos) {
+        AtomicInteger contador = new AtomicInteger();
+        return Executors.newFixedThreadPool(hilos, r -> {
+            Thread t = new Thread(r, "dao-async-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
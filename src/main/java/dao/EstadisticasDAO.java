@@ -0,0 +1,9 @@
+package dao;
+
+import models.Estadisticas;
+
+public interface EstadisticasDAO {
+
+    // Todos los agregados del catálogo en un solo viaje a la base de datos
+    Estadisticas obtener();
+}
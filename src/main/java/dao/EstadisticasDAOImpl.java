@@ -0,0 +1,93 @@
+package dao;
+
+import log.Log;
+import config.DatabaseConnection;
+import models.Estadisticas;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class EstadisticasDAOImpl implements EstadisticasDAO {
+
+    private static final Log LOG = Log.de(EstadisticasDAOImpl.class);
+
+    // Una fila por agregado: (tipo, clave, cantidad, valor). Cada rama la resuelve el servidor
+    // con COUNT/AVG/GROUP BY, así que viajan unas decenas de filas y no la tabla entera.
+    // La década va en la columna numérica 'valor' (como el promedio): un CAST a texto en 'clave' lleva
+    // la collation de la conexión y MySQL rechaza unirlo con genero/nacionalidad si la tabla usa otra.
+    static final String SQL_ESTADISTICAS = """
+            SELECT 'autores' AS tipo, NULL AS clave, COUNT(*) AS cantidad, NULL AS valor FROM autores
+            UNION ALL
+            SELECT 'libros', NULL, COUNT(*), AVG(paginas) FROM libros
+            UNION ALL
+            SELECT 'genero', genero, COUNT(*), NULL FROM libros GROUP BY genero
+            UNION ALL
+            SELECT 'nacionalidad', nacionalidad, COUNT(*), NULL FROM autores GROUP BY nacionalidad
+            UNION ALL
+            SELECT 'decada', NULL, COUNT(*), FLOOR(ano_publicacion / 10) * 10
+            FROM libros GROUP BY FLOOR(ano_publicacion / 10)
+            ORDER BY tipo, cantidad DESC, clave
+            """;
+
+    private static final String SIN_DATO = "(sin especificar)";
+
+    @Override
+    public Estadisticas obtener() {
+        int totalAutores = 0;
+        int totalLibros = 0;
+        double promedioPaginas = 0;
+        int sinAño = 0;
+        Map<String, Integer> porGenero = new LinkedHashMap<>();
+        Map<String, Integer> porNacionalidad = new LinkedHashMap<>();
+        Map<Integer, Integer> porDecada = new TreeMap<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_ESTADISTICAS);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                String tipo = rs.getString(1);
+                String clave = rs.getString(2);
+                int cantidad = rs.getInt(3);
+
+                switch (tipo) {
+                    case "autores":
+                        totalAutores = cantidad;
+                        break;
+                    case "libros":
+                        totalLibros = cantidad;
+                        promedioPaginas = rs.getDouble(4);
+                        break;
+                    case "genero":
+                        porGenero.merge(clave != null ? clave : SIN_DATO, cantidad, Integer::sum);
+                        break;
+                    case "nacionalidad":
+                        porNacionalidad.merge(clave != null ? clave : SIN_DATO, cantidad, Integer::sum);
+                        break;
+                    case "decada":
+                        int decada = rs.getInt(4);
+                        if (rs.wasNull()) {
+                            sinAño = cantidad;
+                        } else {
+                            porDecada.put(decada, cantidad);
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+        } catch (SQLException e) {
+            LOG.error("Error calculando estadísticas: {}", e.getMessage());
+            throw new RuntimeException("Error en base de datos", e);
+        }
+
+        return new Estadisticas(totalAutores, totalLibros, promedioPaginas,
+                porGenero, porNacionalidad, porDecada, sinAño);
+    }
+}
@@ -0,0 +1,154 @@
+package dao;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.LongAdder;
+
+// Filtro de Bloom para cadenas (ISBN). Los bits viven en un ByteBuffer directo, fuera del heap,
+// y se escriben con CAS sobre palabras de 64 bits para admitir altas concurrentes.
+// "No" es definitivo; "quizás" hay que confirmarlo contra la base de datos.
+public class FiltroBloom {
+
+    private static final VarHandle PALABRAS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer bits;
+    private final long numBits;
+    private final int numHashes;
+    private final long capacidad;
+    private final double tasaObjetivo;
+
+    private final LongAdder elementos = new LongAdder();
+    private final LongAdder eliminados = new LongAdder();
+    private final LongAdder negativos = new LongAdder();
+    private final LongAdder positivosProbables = new LongAdder();
+    private final LongAdder falsosPositivos = new LongAdder();
+
+    public FiltroBloom(long capacidad, double tasaObjetivo) {
+        if (capacidad <= 0 || tasaObjetivo <= 0 || tasaObjetivo >= 1) {
+            throw new IllegalArgumentException("Capacidad o tasa de falsos positivos inválida");
+        }
+        this.capacidad = capacidad;
+        this.tasaObjetivo = tasaObjetivo;
+
+        // m = -n ln p / (ln 2)^2,  k = m/n ln 2
+        long m = (long) Math.ceil(-capacidad * Math.log(tasaObjetivo) / (Math.log(2) * Math.log(2)));
+        long palabras = Math.max(1, (m + 63) / 64);
+        if (palabras * 8 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacidad demasiado grande para un único buffer");
+        }
+        this.numBits = palabras * 64;
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / capacidad * Math.log(2)));
+        this.bits = ByteBuffer.allocateDirect((int) (palabras * 8));
+    }
+
+    public void agregar(String valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+            int offset = (int) (bit >>> 6) * 8;
+            long mascara = 1L << (bit & 63);
+            long actual;
+            do {
+                actual = (long) PALABRAS.getVolatile(bits, offset);
+                if ((actual & mascara) != 0) {
+                    break;
+                }
+            } while (!PALABRAS.compareAndSet(bits, offset, actual, actual | mascara));
+        }
+        elementos.increment();
+    }
+
+    public boolean puedeContener(String valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+            long palabra = (long) PALABRAS.getVolatile(bits, (int) (bit >>> 6) * 8);
+            if ((palabra & (1L << (bit & 63))) == 0) {
+                negativos.increment();
+                return false;
+            }
+        }
+        positivosProbables.increment();
+        return true;
+    }
+
+    // El filtro dijo "quizás" pero la base de datos dijo que no
+    public void registrarFalsoPositivo() {
+        falsosPositivos.increment();
+    }
+
+    // Un Bloom no admite bajas: el bit queda puesto y solo cuesta alguna consulta de más
+    public void registrarEliminacion() {
+        eliminados.increment();
+    }
+
+    // Conviene reconstruir si se superó la capacidad o si muchas bajas dejaron bits obsoletos
+    public boolean necesitaReconstruccion() {
+        long n = elementos.sum();
+        return n > capacidad || eliminados.sum() > Math.max(1_000, n / 5);
+    }
+
+    // Tasa teórica con los elementos actuales: (1 - e^(-k n / m))^k
+    public double getTasaEstimada() {
+        return Math.pow(1 - Math.exp(-(double) numHashes * elementos.sum() / numBits), numHashes);
+    }
+
+    // Tasa observada: falsos positivos / (falsos positivos + negativos del filtro)
+    public double getTasaMedida() {
+        long fp = falsosPositivos.sum();
+        long total = fp + negativos.sum();
+        return total == 0 ? 0 : (double) fp / total;
+    }
+
+    public double getTasaObjetivo() {
+        return tasaObjetivo;
+    }
+    public long getElementos() {
+        return elementos.sum();
+    }
+    public long getNegativos() {
+        return negativos.sum();
+    }
+    public long getPositivosProbables() {
+        return positivosProbables.sum();
+    }
+    public long getFalsosPositivos() {
+        return falsosPositivos.sum();
+    }
+    public long getNumBits() {
+        return numBits;
+    }
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    // FNV-1a de 64 bits sobre los caracteres, seguido de la mezcla final de MurmurHash3
+    private static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mezclar(h);
+    }
+
+    private static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FiltroBloom{elementos=%d, bits=%d, hashes=%d, tasaEstimada=%.4f, tasaMedida=%.4f}",
+                elementos.sum(), numBits, numHashes, getTasaEstimada(), getTasaMedida());
+    }
+}
@@ -0,0 +1,35 @@
+package dao;
+
+import models.Libro;
+
+import java.util.List;
+
+// Altas con el ID ya reservado (AsignadorHiLo): solo las usa WriteBehindLibroDAO. LibroDAO.insertarLote
+// ignora el ID que traigan los libros, como insertar. Este camino se marca en el hilo, como la
+// transacción de UnitOfWork, para que atraviese los decoradores (índices, contadores, métricas)
+// hasta LibroDAOImpl o InMemoryLibroDAO sin cambiar la interfaz.
+final class IdsReservados {
+
+    private static final ThreadLocal<Boolean> ACTIVO = new ThreadLocal<>();
+
+    private IdsReservados() {
+    }
+
+    static List<Integer> insertarLoteConIds(LibroDAO dao, List<Libro> libros) {
+        for (Libro libro : libros) {
+            if (libro.getId() <= 0) {
+                throw new IllegalArgumentException("El libro no tiene ID reservado: " + libro.getTitulo());
+            }
+        }
+        ACTIVO.set(Boolean.TRUE);
+        try {
+            return dao.insertarLote(libros);
+        } finally {
+            ACTIVO.remove();
+        }
+    }
+
+    static boolean activo() {
+        return ACTIVO.get() != null;
+    }
+}
@@ -0,0 +1,213 @@
+package dao;
+
+import log.Log;
+import models.Autor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// AutorDAO sin base de datos, para pruebas, demos y cachés de borde. Los datos se guardan como copias:
+// nadie fuera del DAO puede modificarlos. Lecturas sin bloqueo sobre mapas concurrentes;
+// las escrituras se serializan para mantener los índices coherentes entre sí.
+public class InMemoryAutorDAO implements AutorDAO {
+
+    private static final Log LOG = Log.de(InMemoryAutorDAO.class);
+
+    // Mismo orden que SQL_TODOS / SQL_POR_NOMBRE de AutorDAOImpl, con la colación _ci de la tabla
+    static final Comparator<Autor> POR_APELLIDO = Comparator
+            .comparing((Autor a) -> colacion(a.getApellido()), Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(a -> colacion(a.getNombre()), Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparingInt(Autor::getId);
+
+    private final Map<Integer, Autor> porId = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> porNacionalidad = new ConcurrentHashMap<>();
+    private final AtomicInteger secuencia = new AtomicInteger();
+    // Compartido con InMemoryLibroDAO: altas de libros y bajas de autores no se cruzan
+    final Object escritura = new Object();
+
+    // Para la FK libros.autor_id: lo fija InMemoryLibroDAO al crearse
+    private volatile InMemoryLibroDAO libros;
+
+    void vincular(InMemoryLibroDAO libros) {
+        this.libros = libros;
+    }
+
+    @Override
+    public void insertar(Autor autor) {
+        synchronized (escritura) {
+            autor.setId(secuencia.incrementAndGet());
+            guardar(new Autor(autor));
+        }
+        LOG.debug("Autor insertado con ID: {}", autor.getId());
+    }
+
+    @Override
+    public List<Integer> insertarLote(List<Autor> autores) {
+        List<Integer> ids = new ArrayList<>();
+        if (autores == null || autores.isEmpty()) {
+            return ids;
+        }
+        synchronized (escritura) {
+            for (Autor autor : autores) {
+                autor.setId(secuencia.incrementAndGet());
+                guardar(new Autor(autor));
+                ids.add(autor.getId());
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public Autor buscarPorId(int id) {
+        return copia(id);
+    }
+
+    @Override
+    public List<Autor> buscarPorIds(Collection<Integer> ids) {
+        List<Autor> autores = new ArrayList<>();
+        if (ids == null) {
+            return autores;
+        }
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            Autor autor = id != null ? copia(id) : null;
+            if (autor != null) {
+                autores.add(autor);
+            }
+        }
+        return autores;
+    }
+
+    @Override
+    public List<Autor> buscarTodos() {
+        List<Autor> autores = new ArrayList<>(porId.size());
+        for (Autor autor : porId.values()) {
+            autores.add(new Autor(autor));
+        }
+        autores.sort(POR_APELLIDO);
+        return autores;
+    }
+
+    @Override
+    public Stream<Autor> streamTodos() {
+        return buscarTodos().stream();
+    }
+
+    // LIKE '%nombre%' sobre nombre o apellido, sin distinguir mayúsculas
+    @Override
+    public List<Autor> buscarPorNombre(String nombre) {
+        List<Autor> autores = new ArrayList<>();
+        if (nombre == null) {
+            return autores;
+        }
+        String patron = IndiceTexto.normalizar(nombre);
+        for (Autor autor : porId.values()) {
+            if (contiene(autor.getNombre(), patron) || contiene(autor.getApellido(), patron)) {
+                autores.add(new Autor(autor));
+            }
+        }
+        autores.sort(POR_APELLIDO);
+        return autores;
+    }
+
+    @Override
+    public List<Autor> buscarPorNacionalidad(String nacionalidad) {
+        List<Autor> autores = new ArrayList<>();
+        if (nacionalidad == null) {
+            return autores;
+        }
+        Set<Integer> ids = porNacionalidad.get(clave(nacionalidad));
+        if (ids != null) {
+            for (int id : ids) {
+                Autor autor = copia(id);
+                if (autor != null) {
+                    autores.add(autor);
+                }
+            }
+        }
+        autores.sort(POR_APELLIDO);
+        return autores;
+    }
+
+    @Override
+    public boolean actualizar(Autor autor) {
+        synchronized (escritura) {
+            Autor anterior = porId.get(autor.getId());
+            if (anterior == null) {
+                LOG.warn("No se encontró autor con ID: {}", autor.getId());
+                return false;
+            }
+            // put reemplaza sin dejar un instante en que el autor no exista
+            guardar(new Autor(autor));
+            if (anterior.getNacionalidad() != null && (autor.getNacionalidad() == null
+                    || !clave(anterior.getNacionalidad()).equals(clave(autor.getNacionalidad())))) {
+                porNacionalidad.get(clave(anterior.getNacionalidad())).remove(autor.getId());
+            }
+        }
+        LOG.debug("Autor actualizado: {} {}", autor.getNombre(), autor.getApellido());
+        return true;
+    }
+
+    @Override
+    public void eliminar(int id) {
+        synchronized (escritura) {
+            InMemoryLibroDAO vinculado = libros;
+            if (vinculado != null && vinculado.tieneLibrosDe(id)) {
+                throw new RuntimeException("No se puede eliminar: el autor tiene libros asociados");
+            }
+            if (quitar(id) == null) {
+                LOG.warn("No se encontró autor con ID: {}", id);
+            }
+        }
+    }
+
+    @Override
+    public boolean existe(int id) {
+        return porId.containsKey(id);
+    }
+
+    // Copia del autor para componer los libros (el JOIN de LibroDAOImpl)
+    Autor copia(int id) {
+        Autor autor = porId.get(id);
+        return autor != null ? new Autor(autor) : null;
+    }
+
+    private void guardar(Autor autor) {
+        porId.put(autor.getId(), autor);
+        if (autor.getNacionalidad() != null) {
+            porNacionalidad.computeIfAbsent(clave(autor.getNacionalidad()), n -> ConcurrentHashMap.newKeySet())
+                    .add(autor.getId());
+        }
+    }
+
+    private Autor quitar(int id) {
+        Autor anterior = porId.remove(id);
+        if (anterior != null && anterior.getNacionalidad() != null) {
+            Set<Integer> ids = porNacionalidad.get(clave(anterior.getNacionalidad()));
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+        return anterior;
+    }
+
+    private static boolean contiene(String valor, String patron) {
+        return valor != null && IndiceTexto.normalizar(valor).contains(patron);
+    }
+
+    // Como la colación _ci de MySQL (y ContadoresLibroDAO): sin distinguir mayúsculas ni tildes
+    static String clave(String valor) {
+        return IndiceTexto.normalizar(valor.trim());
+    }
+
+    static String colacion(String valor) {
+        return valor != null ? IndiceTexto.normalizar(valor) : null;
+    }
+}
@@ -0,0 +1,518 @@
+package dao;
+
+import log.Log;
+import models.Autor;
+import models.Libro;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// LibroDAO sin base de datos sobre InMemoryAutorDAO, con el mismo contrato que LibroDAOImpl
+// (mismos órdenes, mismas validaciones y excepciones). Índices:
+//   id e ISBN            -> ConcurrentHashMap
+//   título               -> skip list por título, id (listados y páginas por título)
+//   año                  -> skip list por año DESC, título, id: un año o un rango es un subSet
+//   género y autor       -> una skip list por año DESC, título, id para cada clave
+// Las filas son inmutables: actualizar sustituye la fila en todos los índices, así un orden nunca
+// cambia bajo los pies de la skip list. Las lecturas no bloquean; las escrituras se serializan, y un
+// lector concurrente puede ver una escritura en un índice un instante antes que en otro.
+// Títulos, géneros y búsquedas comparan como la colación _ci de MySQL: sin mayúsculas ni tildes.
+// insertarLote confirma por bloques de UtilSQL.TAMANO_BLOQUE, como LibroDAOImpl.
+public class InMemoryLibroDAO implements LibroDAO {
+
+    private static final Log LOG = Log.de(InMemoryLibroDAO.class);
+
+    private static final Comparator<Fila> POR_TITULO = Comparator
+            .comparing((Fila f) -> f.claveTitulo, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparingInt(f -> f.id);
+    // En DESC MySQL deja los años NULL al final
+    private static final Comparator<Fila> POR_AÑO_DESC = Comparator
+            .comparing((Fila f) -> f.año, Comparator.nullsLast(Comparator.<Integer>reverseOrder()))
+            .thenComparing(POR_TITULO);
+
+    private final InMemoryAutorDAO autores;
+
+    private final Map<Integer, Fila> porId = new ConcurrentHashMap<>();
+    private final Map<String, Integer> porIsbn = new ConcurrentHashMap<>();
+    private final NavigableSet<Fila> porTitulo = new ConcurrentSkipListSet<>(POR_TITULO);
+    private final NavigableSet<Fila> porAño = new ConcurrentSkipListSet<>(POR_AÑO_DESC);
+    private final Map<String, NavigableSet<Fila>> porGenero = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> conteoGenero = new ConcurrentHashMap<>();
+    private final Map<Integer, NavigableSet<Fila>> porAutor = new ConcurrentHashMap<>();
+    private final AtomicInteger secuencia = new AtomicInteger();
+    private final Object escritura;
+
+    public InMemoryLibroDAO(InMemoryAutorDAO autores) {
+        this.autores = autores;
+        this.escritura = autores.escritura;
+        autores.vincular(this);
+    }
+
+    @Override
+    public void insertar(Libro libro) {
+        validarLibroParaInsertar(libro);
+        synchronized (escritura) {
+            verificarAutor(libro.getAutor().getId(), "El autor con ID " + libro.getAutor().getId() + " no existe");
+            if (tieneIsbn(libro) && porIsbn.containsKey(libro.getIsbn().trim())) {
+                throw new IllegalArgumentException("Ya existe un libro con ISBN: " + libro.getIsbn());
+            }
+            libro.setId(secuencia.incrementAndGet());
+            guardar(new Fila(libro, creadoEn(libro)));
+        }
+        LOG.debug("Libro insertado: {} (ID: {})", libro.getTitulo(), libro.getId());
+    }
+
+    // Como LibroDAOImpl: el lote entero se valida antes de empezar y luego se guarda por bloques
+    // de UtilSQL.TAMANO_BLOQUE, cada uno todo o nada. Si un bloque falla, los anteriores quedan
+    // guardados y con ID. Los IDs que traigan los libros se ignoran, salvo con IdsReservados.
+    @Override
+    public List<Integer> insertarLote(List<Libro> libros) {
+        List<Integer> ids = new ArrayList<>();
+        if (libros == null || libros.isEmpty()) {
+            return ids;
+        }
+
+        boolean conId = IdsReservados.activo();
+        Set<String> isbnsDelLote = new HashSet<>();
+        for (Libro libro : libros) {
+            validarLibroParaInsertar(libro);
+            if (tieneIsbn(libro) && !isbnsDelLote.add(libro.getIsbn().trim())) {
+                throw new IllegalArgumentException("ISBN repetido en el lote: " + libro.getIsbn());
+            }
+        }
+
+        for (int inicio = 0; inicio < libros.size(); inicio += UtilSQL.TAMANO_BLOQUE) {
+            List<Libro> bloque = libros.subList(inicio, Math.min(inicio + UtilSQL.TAMANO_BLOQUE, libros.size()));
+            ids.addAll(insertarBloque(bloque, conId));
+        }
+        LOG.debug("Insertados {} libros en lote", ids.size());
+        return ids;
+    }
+
+    private List<Integer> insertarBloque(List<Libro> bloque, boolean conId) {
+        List<Integer> ids = new ArrayList<>(bloque.size());
+        synchronized (escritura) {
+            for (Libro libro : bloque) {
+                verificarAutor(libro.getAutor().getId(), "El autor con ID " + libro.getAutor().getId() + " no existe");
+                if (tieneIsbn(libro) && porIsbn.containsKey(libro.getIsbn().trim())) {
+                    throw new IllegalArgumentException("Ya existe un libro con ISBN: " + libro.getIsbn());
+                }
+            }
+            if (conId) {
+                Set<Integer> idsDelBloque = new HashSet<>();
+                for (Libro libro : bloque) {
+                    if (porId.containsKey(libro.getId()) || !idsDelBloque.add(libro.getId())) {
+                        throw new IllegalArgumentException("Ya existe un libro con ID: " + libro.getId());
+                    }
+                }
+            }
+            for (Libro libro : bloque) {
+                if (conId) {
+                    // Los siguientes insertar sin ID no deben pisar los reservados
+                    secuencia.accumulateAndGet(libro.getId(), Math::max);
+                } else {
+                    libro.setId(secuencia.incrementAndGet());
+                }
+                guardar(new Fila(libro, creadoEn(libro)));
+                ids.add(libro.getId());
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public Libro buscarPorId(int id) {
+        Fila fila = porId.get(id);
+        return fila != null ? libro(fila) : null;
+    }
+
+    @Override
+    public List<Libro> buscarPorIds(Collection<Integer> ids) {
+        List<Libro> libros = new ArrayList<>();
+        if (ids == null) {
+            return libros;
+        }
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            Libro libro = id != null ? buscarPorId(id) : null;
+            if (libro != null) {
+                libros.add(libro);
+            }
+        }
+        return libros;
+    }
+
+    @Override
+    public List<Libro> buscarTodos() {
+        return libros(porTitulo, null);
+    }
+
+    @Override
+    public Stream<Libro> streamTodos() {
+        return porTitulo.stream().map(this::libro).filter(libro -> libro != null);
+    }
+
+    @Override
+    public Libro buscarPorIsbn(String isbn) {
+        if (isbn == null || isbn.trim().isEmpty()) {
+            return null;
+        }
+        Integer id = porIsbn.get(isbn.trim());
+        return id != null ? buscarPorId(id) : null;
+    }
+
+    @Override
+    public List<Libro> buscarPorTitulo(String titulo) {
+        if (titulo == null || titulo.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        return libros(porTitulo, filtroTitulo(titulo));
+    }
+
+    @Override
+    public List<Libro> buscarPorGenero(String genero) {
+        if (genero == null || genero.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        NavigableSet<Fila> delGenero = porGenero.get(InMemoryAutorDAO.clave(genero));
+        return delGenero != null ? libros(delGenero, null) : new ArrayList<>();
+    }
+
+    @Override
+    public List<Libro> buscarPorAño(int año) {
+        if (año < 1000 || año > 3000) {
+            LOG.warn("Año inválido: {}", año);
+            return new ArrayList<>();
+        }
+        return libros(rangoAños(año, año), null);
+    }
+
+    @Override
+    public List<Libro> buscarPorAutor(int autorId) {
+        if (autorId <= 0) {
+            LOG.warn("ID de autor inválido: {}", autorId);
+            return new ArrayList<>();
+        }
+        NavigableSet<Fila> delAutor = porAutor.get(autorId);
+        return delAutor != null ? libros(delAutor, null) : new ArrayList<>();
+    }
+
+    @Override
+    public List<Libro> buscarPorAutor(Autor autor) {
+        if (autor == null) {
+            return new ArrayList<>();
+        }
+        return buscarPorAutor(autor.getId());
+    }
+
+    @Override
+    public void actualizar(Libro libro) {
+        if (libro == null || libro.getId() <= 0) {
+            throw new IllegalArgumentException("Libro inválido o sin ID para actualizar");
+        }
+        if (libro.getAutor() == null || libro.getAutor().getId() <= 0) {
+            throw new IllegalArgumentException("El libro debe tener un autor válido");
+        }
+
+        synchronized (escritura) {
+            Fila anterior = porId.get(libro.getId());
+            if (anterior == null) {
+                throw new IllegalArgumentException("No existe libro con ID: " + libro.getId());
+            }
+            verificarAutor(libro.getAutor().getId(), "No existe autor con ID: " + libro.getAutor().getId());
+            if (tieneIsbn(libro)) {
+                Integer otro = porIsbn.get(libro.getIsbn().trim());
+                if (otro != null && otro != libro.getId()) {
+                    throw new IllegalArgumentException("Ya existe otro libro con ISBN: " + libro.getIsbn());
+                }
+            }
+            // Como el UPDATE de LibroDAOImpl, created_at no cambia
+            quitar(anterior);
+            guardar(new Fila(libro, anterior.creadoEn));
+        }
+        LOG.debug("Libro actualizado: {}", libro.getTitulo());
+    }
+
+    @Override
+    public void eliminar(int id) {
+        if (id <= 0) {
+            throw new IllegalArgumentException("ID inválido para eliminar: " + id);
+        }
+        synchronized (escritura) {
+            Fila anterior = porId.get(id);
+            if (anterior == null) {
+                LOG.warn("No existe libro con ID: {}", id);
+                return;
+            }
+            quitar(anterior);
+        }
+        LOG.debug("Libro eliminado con ID: {}", id);
+    }
+
+    @Override
+    public boolean existe(int id) {
+        return id > 0 && porId.containsKey(id);
+    }
+
+    @Override
+    public boolean existeIsbn(String isbn) {
+        return isbn != null && !isbn.trim().isEmpty() && porIsbn.containsKey(isbn.trim());
+    }
+
+    @Override
+    public Set<String> existenIsbns(Collection<String> isbns) {
+        Set<String> existentes = new HashSet<>();
+        if (isbns == null) {
+            return existentes;
+        }
+        for (String isbn : isbns) {
+            if (isbn != null && !isbn.trim().isEmpty() && porIsbn.containsKey(isbn.trim())) {
+                existentes.add(isbn.trim());
+            }
+        }
+        return existentes;
+    }
+
+    @Override
+    public List<Libro> buscarPorRangoAños(int añoInicio, int añoFin) {
+        if (añoInicio > añoFin || añoInicio < 1000 || añoFin > 3000) {
+            LOG.warn("Rango de años inválido: {} - {}", añoInicio, añoFin);
+            return new ArrayList<>();
+        }
+        return libros(rangoAños(añoInicio, añoFin), null);
+    }
+
+    // Contador por género: O(1), sin recorrer la skip list
+    @Override
+    public int contarPorGenero(String genero) {
+        if (genero == null || genero.trim().isEmpty()) {
+            return 0;
+        }
+        AtomicInteger conteo = conteoGenero.get(InMemoryAutorDAO.clave(genero));
+        return conteo != null ? conteo.get() : 0;
+    }
+
+    @Override
+    public Pagina<Libro> buscarTodos(PeticionPagina peticion) {
+        return pagina(porTitulo, null, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorTitulo(String titulo, PeticionPagina peticion) {
+        if (titulo == null || titulo.trim().isEmpty()) {
+            return Pagina.vacia();
+        }
+        return pagina(porTitulo, filtroTitulo(titulo), peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorGenero(String genero, PeticionPagina peticion) {
+        if (genero == null || genero.trim().isEmpty()) {
+            return Pagina.vacia();
+        }
+        NavigableSet<Fila> delGenero = porGenero.get(InMemoryAutorDAO.clave(genero));
+        return delGenero != null ? pagina(delGenero, null, peticion) : Pagina.vacia();
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorAño(int año, PeticionPagina peticion) {
+        if (año < 1000 || año > 3000) {
+            LOG.warn("Año inválido: {}", año);
+            return Pagina.vacia();
+        }
+        return pagina(rangoAños(año, año), null, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorAutor(int autorId, PeticionPagina peticion) {
+        if (autorId <= 0) {
+            LOG.warn("ID de autor inválido: {}", autorId);
+            return Pagina.vacia();
+        }
+        NavigableSet<Fila> delAutor = porAutor.get(autorId);
+        return delAutor != null ? pagina(delAutor, null, peticion) : Pagina.vacia();
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorRangoAños(int añoInicio, int añoFin, PeticionPagina peticion) {
+        if (añoInicio > añoFin || añoInicio < 1000 || añoFin > 3000) {
+            LOG.warn("Rango de años inválido: {} - {}", añoInicio, añoFin);
+            return Pagina.vacia();
+        }
+        return pagina(rangoAños(añoInicio, añoFin), null, peticion);
+    }
+
+    boolean tieneLibrosDe(int autorId) {
+        NavigableSet<Fila> delAutor = porAutor.get(autorId);
+        return delAutor != null && !delAutor.isEmpty();
+    }
+
+    // Año DESC: el rango va de (añoFin, primero) a (añoInicio - 1, primero) sin incluir
+    private NavigableSet<Fila> rangoAños(int añoInicio, int añoFin) {
+        return porAño.subSet(Fila.sonda(añoFin, null, Integer.MIN_VALUE), true,
+                Fila.sonda(añoInicio - 1, null, Integer.MIN_VALUE), false);
+    }
+
+    private static Predicate<Fila> filtroTitulo(String titulo) {
+        String patron = IndiceTexto.normalizar(titulo.trim());
+        return fila -> fila.claveTitulo != null && fila.claveTitulo.contains(patron);
+    }
+
+    private List<Libro> libros(NavigableSet<Fila> filas, Predicate<Fila> filtro) {
+        List<Libro> libros = new ArrayList<>();
+        for (Fila fila : filas) {
+            if (filtro == null || filtro.test(fila)) {
+                Libro libro = libro(fila);
+                if (libro != null) {
+                    libros.add(libro);
+                }
+            }
+        }
+        return libros;
+    }
+
+    // Keyset: la página sigue a la última fila vista, que se busca en la skip list en O(log n)
+    private Pagina<Libro> pagina(NavigableSet<Fila> filas, Predicate<Fila> filtro, PeticionPagina peticion) {
+        NavigableSet<Fila> vista = peticion.esPrimera() ? filas
+                : filas.tailSet(Fila.sonda(peticion.getUltimoAno(), peticion.getUltimoTitulo(), peticion.getUltimoId()), false);
+
+        List<Libro> libros = new ArrayList<>(peticion.getTamano());
+        boolean hayMas = false;
+        Iterator<Fila> it = vista.iterator();
+        while (it.hasNext()) {
+            Fila fila = it.next();
+            if (filtro != null && !filtro.test(fila)) {
+                continue;
+            }
+            Libro libro = libro(fila);
+            if (libro == null) {
+                continue;
+            }
+            if (libros.size() == peticion.getTamano()) {
+                hayMas = true;
+                break;
+            }
+            libros.add(libro);
+        }
+
+        PeticionPagina siguiente = hayMas
+                ? PeticionPagina.despuesDe(libros.get(libros.size() - 1), peticion.getTamano())
+                : null;
+        return new Pagina<>(libros, siguiente);
+    }
+
+    // INNER JOIN con autores: sin autor (borrado en paralelo) la fila no se devuelve
+    private Libro libro(Fila fila) {
+        Autor autor = autores.copia(fila.autorId);
+        if (autor == null) {
+            return null;
+        }
+        return new Libro(fila.id, fila.titulo, fila.isbn, fila.genero, fila.año != null ? Year.of(fila.año) : null,
+                fila.paginas, fila.creadoEn, autor);
+    }
+
+    private void guardar(Fila fila) {
+        porId.put(fila.id, fila);
+        if (fila.isbn != null && !fila.isbn.trim().isEmpty()) {
+            porIsbn.put(fila.isbn.trim(), fila.id);
+        }
+        porTitulo.add(fila);
+        porAño.add(fila);
+        if (fila.genero != null) {
+            String clave = InMemoryAutorDAO.clave(fila.genero);
+            porGenero.computeIfAbsent(clave, g -> new ConcurrentSkipListSet<>(POR_AÑO_DESC)).add(fila);
+            conteoGenero.computeIfAbsent(clave, g -> new AtomicInteger()).incrementAndGet();
+        }
+        porAutor.computeIfAbsent(fila.autorId, a -> new ConcurrentSkipListSet<>(POR_AÑO_DESC)).add(fila);
+    }
+
+    private void quitar(Fila fila) {
+        porId.remove(fila.id);
+        if (fila.isbn != null && !fila.isbn.trim().isEmpty()) {
+            porIsbn.remove(fila.isbn.trim(), fila.id);
+        }
+        porTitulo.remove(fila);
+        porAño.remove(fila);
+        if (fila.genero != null) {
+            String clave = InMemoryAutorDAO.clave(fila.genero);
+            porGenero.get(clave).remove(fila);
+            conteoGenero.get(clave).decrementAndGet();
+        }
+        porAutor.get(fila.autorId).remove(fila);
+    }
+
+    private void verificarAutor(int autorId, String mensaje) {
+        if (!autores.existe(autorId)) {
+            throw new IllegalArgumentException(mensaje);
+        }
+    }
+
+    private static LocalDateTime creadoEn(Libro libro) {
+        return libro.getCreatedAt() != null ? libro.getCreatedAt() : LocalDateTime.now();
+    }
+
+    private void validarLibroParaInsertar(Libro libro) {
+        if (libro.getAutor() == null) {
+            throw new IllegalArgumentException("El libro debe tener un autor");
+        }
+
+        if (libro.getAutor().getId() <= 0) {
+            throw new IllegalArgumentException("El autor debe tener un ID válido");
+        }
+    }
+
+    private boolean tieneIsbn(Libro libro) {
+        return libro.getIsbn() != null && !libro.getIsbn().trim().isEmpty();
+    }
+
+    // Copia inmutable de un libro; del autor solo se guarda el id
+    private static final class Fila {
+        final int id;
+        final String titulo;
+        final String claveTitulo;
+        final String isbn;
+        final String genero;
+        final Integer año;
+        final int paginas;
+        final LocalDateTime creadoEn;
+        final int autorId;
+
+        Fila(Libro libro, LocalDateTime creadoEn) {
+            this(libro.getId(), libro.getTitulo(), libro.getIsbn(), libro.getGenero(),
+                    libro.getAnoPublicacion() != null ? libro.getAnoPublicacion().getValue() : null,
+                    libro.getPaginas(), creadoEn, libro.getAutor().getId());
+        }
+
+        private Fila(int id, String titulo, String isbn, String genero, Integer año, int paginas,
+                     LocalDateTime creadoEn, int autorId) {
+            this.id = id;
+            this.titulo = titulo;
+            this.claveTitulo = InMemoryAutorDAO.colacion(titulo);
+            this.isbn = isbn;
+            this.genero = genero;
+            this.año = año;
+            this.paginas = paginas;
+            this.creadoEn = creadoEn;
+            this.autorId = autorId;
+        }
+
+        // Fila ficticia con solo la clave de orden, para posicionarse en las skip lists
+        static Fila sonda(Integer año, String titulo, int id) {
+            return new Fila(id, titulo, null, null, año, 0, null, 0);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package dao;
+
+import config.UnitOfWork;
+import log.Log;
+import models.Autor;
+
+import java.util.Comparator;
+import java.util.List;
+
+// buscarPorNombre servido desde un índice invertido en memoria en lugar de LIKE '%x%'.
+// Mientras el índice no está cargado (arranque en frío) las búsquedas van a SQL.
+public class IndexadoAutorDAO extends AutorDAODecorador {
+
+    private static final Log LOG = Log.de(IndexadoAutorDAO.class);
+
+    private static final Comparator<Autor> POR_APELLIDO = Comparator
+            .comparing((Autor a) -> IndiceTexto.normalizar(nulo(a.getApellido())))
+            .thenComparingInt(Autor::getId);
+
+    private final DocumentosIndexados<Autor> autores = new DocumentosIndexados<>(
+            Autor::getId, a -> nulo(a.getNombre()) + " " + nulo(a.getApellido()), Autor::new, POR_APELLIDO);
+
+    public IndexadoAutorDAO(AutorDAO delegado) {
+        super(delegado);
+    }
+
+    public void cargarIndice() {
+        autores.cargar(delegado.streamTodos());
+    }
+
+    public void cargarIndiceEnSegundoPlano() {
+        Thread t = new Thread(() -> {
+            try {
+                cargarIndice();
+            } catch (RuntimeException e) {
+                LOG.error("Error cargando índice de autores: {}", e.getMessage());
+            }
+        }, "indice-autores");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public boolean isIndiceListo() {
+        return autores.isListo();
+    }
+
+    @Override
+    public List<Autor> buscarPorNombre(String nombre) {
+        if (!autores.isListo() || UnitOfWork.isActive() || nombre == null || nombre.isBlank()) {
+            return delegado.buscarPorNombre(nombre);
+        }
+        return autores.buscar(nombre);
+    }
+
+    @Override
+    public void insertar(Autor autor) {
+        delegado.insertar(autor);
+        autores.ponerAlConfirmar(autor);
+    }
+
+    @Override
+    public List<Integer> insertarLote(List<Autor> lote) {
+        try {
+            return delegado.insertarLote(lote);
+        } finally {
+            // Si falla a mitad, los bloques ya confirmados tienen ID y también se indexan
+            for (Autor autor : lote) {
+                if (autor.getId() > 0) {
+                    autores.ponerAlConfirmar(autor);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean actualizar(Autor autor) {
+        // AutorDAO.actualizar no falla si el ID no existe: solo se indexa si de verdad hay fila
+        boolean actualizado = delegado.actualizar(autor);
+        if (actualizado) {
+            autores.ponerAlConfirmar(autor);
+        }
+        return actualizado;
+    }
+
+    @Override
+    public void eliminar(int id) {
+        delegado.eliminar(id);
+        autores.quitarAlConfirmar(id);
+    }
+
+    private static String nulo(String s) {
+        return s != null ? s : "";
+    }
+}
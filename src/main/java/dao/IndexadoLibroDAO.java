@@ -0,0 +1,144 @@
+package dao;
+
+import config.UnitOfWork;
+import log.Log;
+import models.Autor;
+import models.Libro;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// buscarPorTitulo servido desde un índice invertido en memoria en lugar de LIKE '%x%'.
+// Se guardan copias de los libros; el autor de cada resultado se resuelve con el AutorDAO
+// (conviene pasarle el CachingAutorDAO) para no devolver nombres de autor desactualizados.
+// Mientras el índice no está cargado (arranque en frío) las búsquedas van a SQL.
+public class IndexadoLibroDAO extends LibroDAODecorador {
+
+    private static final Log LOG = Log.de(IndexadoLibroDAO.class);
+
+    private static final Comparator<Libro> POR_TITULO = Comparator
+            .comparing((Libro l) -> IndiceTexto.normalizar(l.getTitulo()))
+            .thenComparingInt(Libro::getId);
+
+    private final AutorDAO autorDAO;
+    private final DocumentosIndexados<Libro> libros = new DocumentosIndexados<>(
+            Libro::getId, Libro::getTitulo, Libro::new, POR_TITULO);
+
+    public IndexadoLibroDAO(LibroDAO delegado, AutorDAO autorDAO) {
+        super(delegado);
+        this.autorDAO = autorDAO;
+    }
+
+    public void cargarIndice() {
+        libros.cargar(delegado.streamTodos());
+    }
+
+    public void cargarIndiceEnSegundoPlano() {
+        Thread t = new Thread(() -> {
+            try {
+                cargarIndice();
+            } catch (RuntimeException e) {
+                LOG.error("Error cargando índice de títulos: {}", e.getMessage());
+            }
+        }, "indice-libros");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public boolean isIndiceListo() {
+        return libros.isListo();
+    }
+
+    @Override
+    public List<Libro> buscarPorTitulo(String titulo) {
+        if (!libros.isListo() || UnitOfWork.isActive() || titulo == null || titulo.isBlank()) {
+            return delegado.buscarPorTitulo(titulo);
+        }
+        return conAutores(libros.buscar(titulo));
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorTitulo(String titulo, PeticionPagina peticion) {
+        if (!libros.isListo() || UnitOfWork.isActive() || titulo == null || titulo.isBlank()) {
+            return delegado.buscarPorTitulo(titulo, peticion);
+        }
+
+        List<Libro> encontrados = libros.buscar(titulo);
+        int desde = 0;
+        if (!peticion.esPrimera()) {
+            Libro ultimo = new Libro();
+            ultimo.setId(peticion.getUltimoId());
+            ultimo.setTitulo(peticion.getUltimoTitulo());
+            while (desde < encontrados.size() && POR_TITULO.compare(encontrados.get(desde), ultimo) <= 0) {
+                desde++;
+            }
+        }
+
+        int hasta = Math.min(encontrados.size(), desde + peticion.getTamano());
+        List<Libro> pagina = conAutores(new ArrayList<>(encontrados.subList(desde, hasta)));
+        PeticionPagina siguiente = hasta < encontrados.size() && !pagina.isEmpty()
+                ? PeticionPagina.despuesDe(pagina.get(pagina.size() - 1), peticion.getTamano())
+                : null;
+        return new Pagina<>(pagina, siguiente);
+    }
+
+    @Override
+    public void insertar(Libro libro) {
+        delegado.insertar(libro);
+        libros.ponerAlConfirmar(libro);
+    }
+
+    @Override
+    public List<Integer> insertarLote(List<Libro> lote) {
+        try {
+            return delegado.insertarLote(lote);
+        } finally {
+            // Si falla a mitad, los bloques ya confirmados tienen ID y también se indexan
+            for (Libro libro : lote) {
+                if (libro.getId() > 0) {
+                    libros.ponerAlConfirmar(libro);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void actualizar(Libro libro) {
+        delegado.actualizar(libro);
+        libros.ponerAlConfirmar(libro);
+    }
+
+    @Override
+    public void eliminar(int id) {
+        delegado.eliminar(id);
+        libros.quitarAlConfirmar(id);
+    }
+
+    // Todos los autores del resultado en un solo buscarPorIds
+    private List<Libro> conAutores(List<Libro> resultado) {
+        Set<Integer> autorIds = new HashSet<>();
+        for (Libro libro : resultado) {
+            if (libro.getAutor() != null) {
+                autorIds.add(libro.getAutor().getId());
+            }
+        }
+        Map<Integer, Autor> autores = new HashMap<>();
+        for (Autor autor : autorDAO.buscarPorIds(autorIds)) {
+            autores.put(autor.getId(), autor);
+        }
+        for (Libro libro : resultado) {
+            if (libro.getAutor() != null) {
+                Autor autor = autores.get(libro.getAutor().getId());
+                if (autor != null) {
+                    libro.setAutor(autor);
+                }
+            }
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,125 @@
+package dao;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+// Índice invertido en memoria: palabra normalizada -> IDs que la contienen.
+// Normaliza sin tildes ni mayúsculas ("Cien Años" -> "cien", "anos") y cada palabra
+// de la consulta se busca como prefijo, así "cien añ" ya encuentra "Cien años de soledad".
+// Las palabras de una consulta se combinan con AND.
+public class IndiceTexto {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Ordenado para poder recorrer todas las palabras que empiezan por un prefijo
+    private final ConcurrentSkipListMap<String, Set<Integer>> palabras = new ConcurrentSkipListMap<>();
+    private final Map<Integer, List<String>> palabrasPorId = new ConcurrentHashMap<>();
+
+    public void indexar(int id, String texto) {
+        List<String> nuevas = tokenizar(texto);
+        synchronized (this) {
+            quitarPalabras(id, palabrasPorId.put(id, nuevas));
+            for (String palabra : nuevas) {
+                palabras.computeIfAbsent(palabra, p -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+    }
+
+    public synchronized void quitar(int id) {
+        quitarPalabras(id, palabrasPorId.remove(id));
+    }
+
+    private void quitarPalabras(int id, List<String> anteriores) {
+        if (anteriores == null) {
+            return;
+        }
+        for (String palabra : anteriores) {
+            Set<Integer> ids = palabras.get(palabra);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    palabras.remove(palabra, ids);
+                }
+            }
+        }
+    }
+
+    // Las lecturas no toman el cerrojo: ven el índice justo antes o justo después de cada escritura
+    public Set<Integer> buscar(String consulta) {
+        List<String> terminos = tokenizar(consulta);
+        if (terminos.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        List<Set<Integer>> candidatos = new ArrayList<>(terminos.size());
+        for (String termino : terminos) {
+            Set<Integer> ids = buscarPrefijo(termino);
+            if (ids.isEmpty()) {
+                return Collections.emptySet();
+            }
+            candidatos.add(ids);
+        }
+
+        // Intersección empezando por el conjunto más pequeño
+        candidatos.sort((a, b) -> Integer.compare(a.size(), b.size()));
+        Set<Integer> resultado = new HashSet<>(candidatos.get(0));
+        for (int i = 1; i < candidatos.size() && !resultado.isEmpty(); i++) {
+            resultado.retainAll(candidatos.get(i));
+        }
+        return resultado;
+    }
+
+    private Set<Integer> buscarPrefijo(String prefijo) {
+        NavigableMap<String, Set<Integer>> rango = palabras.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false);
+        if (rango.size() == 1) {
+            return rango.firstEntry().getValue();
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (Set<Integer> conjunto : rango.values()) {
+            ids.addAll(conjunto);
+        }
+        return ids;
+    }
+
+    public int getDocumentos() {
+        return palabrasPorId.size();
+    }
+
+    public int getPalabras() {
+        return palabras.size();
+    }
+
+    public synchronized void vaciar() {
+        palabras.clear();
+        palabrasPorId.clear();
+    }
+
+    public static String normalizar(String texto) {
+        String sinMarcas = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return sinMarcas.toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizar(texto))) {
+            if (!token.isEmpty() && !tokens.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
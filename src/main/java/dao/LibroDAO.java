@@ -2,14 +2,22 @@ package dao;
 
 import models.Libro;
 import models.Autor;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.Set;
 
 public interface LibroDAO {
 
     void insertar(Libro libro);
+    List<Integer> insertarLote(List<Libro> libros);
 
     Libro buscarPorId(int id);
+    // Sin repetidos y en el orden pedido; los IDs que no existen se omiten
+    List<Libro> buscarPorIds(Collection<Integer> ids);
     List<Libro> buscarTodos();
+    // Recorre la tabla con un cursor: memoria constante, cerrar el Stream con try-with-resources
+    Stream<Libro> streamTodos();
     Libro buscarPorIsbn(String isbn);
     List<Libro> buscarPorTitulo(String titulo);
     List<Libro> buscarPorGenero(String genero);
@@ -23,7 +31,16 @@ public interface LibroDAO {
 
     boolean existe(int id);
     boolean existeIsbn(String isbn);
+    Set<String> existenIsbns(Collection<String> isbns);
 
     List<Libro> buscarPorRangoAños(int añoInicio, int añoFin);
     int contarPorGenero(String genero);
+
+    // Variantes paginadas (keyset) con el mismo orden que las consultas completas
+    Pagina<Libro> buscarTodos(PeticionPagina peticion);
+    Pagina<Libro> buscarPorTitulo(String titulo, PeticionPagina peticion);
+    Pagina<Libro> buscarPorGenero(String genero, PeticionPagina peticion);
+    Pagina<Libro> buscarPorAño(int año, PeticionPagina peticion);
+    Pagina<Libro> buscarPorAutor(int autorId, PeticionPagina peticion);
+    Pagina<Libro> buscarPorRangoAños(int añoInicio, int añoFin, PeticionPagina peticion);
 }
\ No newline at end of file
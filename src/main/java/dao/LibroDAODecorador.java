@@ -0,0 +1,148 @@
+package dao;
+
+import models.Autor;
+import models.Libro;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Base para los DAO que envuelven a otro LibroDAO (índices, cachés...):
+// delega todo y cada decorador sobrescribe solo lo que necesita
+public abstract class LibroDAODecorador implements LibroDAO {
+
+    protected final LibroDAO delegado;
+
+    protected LibroDAODecorador(LibroDAO delegado) {
+        if (delegado == null) {
+            throw new IllegalArgumentException("El DAO decorado no puede ser null");
+        }
+        this.delegado = delegado;
+    }
+
+    @Override
+    public void insertar(Libro libro) {
+        delegado.insertar(libro);
+    }
+
+    @Override
+    public List<Integer> insertarLote(List<Libro> libros) {
+        return delegado.insertarLote(libros);
+    }
+
+    @Override
+    public Libro buscarPorId(int id) {
+        return delegado.buscarPorId(id);
+    }
+
+    @Override
+    public List<Libro> buscarPorIds(Collection<Integer> ids) {
+        return delegado.buscarPorIds(ids);
+    }
+
+    @Override
+    public List<Libro> buscarTodos() {
+        return delegado.buscarTodos();
+    }
+
+    @Override
+    public Stream<Libro> streamTodos() {
+        return delegado.streamTodos();
+    }
+
+    @Override
+    public Libro buscarPorIsbn(String isbn) {
+        return delegado.buscarPorIsbn(isbn);
+    }
+
+    @Override
+    public List<Libro> buscarPorTitulo(String titulo) {
+        return delegado.buscarPorTitulo(titulo);
+    }
+
+    @Override
+    public List<Libro> buscarPorGenero(String genero) {
+        return delegado.buscarPorGenero(genero);
+    }
+
+    @Override
+    public List<Libro> buscarPorAño(int año) {
+        return delegado.buscarPorAño(año);
+    }
+
+    @Override
+    public List<Libro> buscarPorAutor(int autorId) {
+        return delegado.buscarPorAutor(autorId);
+    }
+
+    @Override
+    public List<Libro> buscarPorAutor(Autor autor) {
+        return delegado.buscarPorAutor(autor);
+    }
+
+    @Override
+    public void actualizar(Libro libro) {
+        delegado.actualizar(libro);
+    }
+
+    @Override
+    public void eliminar(int id) {
+        delegado.eliminar(id);
+    }
+
+    @Override
+    public boolean existe(int id) {
+        return delegado.existe(id);
+    }
+
+    @Override
+    public boolean existeIsbn(String isbn) {
+        return delegado.existeIsbn(isbn);
+    }
+
+    @Override
+    public Set<String> existenIsbns(Collection<String> isbns) {
+        return delegado.existenIsbns(isbns);
+    }
+
+    @Override
+    public List<Libro> buscarPorRangoAños(int añoInicio, int añoFin) {
+        return delegado.buscarPorRangoAños(añoInicio, añoFin);
+    }
+
+    @Override
+    public int contarPorGenero(String genero) {
+        return delegado.contarPorGenero(genero);
+    }
+
+    @Override
+    public Pagina<Libro> buscarTodos(PeticionPagina peticion) {
+        return delegado.buscarTodos(peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorTitulo(String titulo, PeticionPagina peticion) {
+        return delegado.buscarPorTitulo(titulo, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorGenero(String genero, PeticionPagina peticion) {
+        return delegado.buscarPorGenero(genero, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorAño(int año, PeticionPagina peticion) {
+        return delegado.buscarPorAño(año, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorAutor(int autorId, PeticionPagina peticion) {
+        return delegado.buscarPorAutor(autorId, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorRangoAños(int añoInicio, int añoFin, PeticionPagina peticion) {
+        return delegado.buscarPorRangoAños(añoInicio, añoFin, peticion);
+    }
+}
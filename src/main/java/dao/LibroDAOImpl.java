@@ -1,20 +1,86 @@
 package dao;
 
+import log.Log;
 import config.DatabaseConnection;
 import models.Libro;
 import models.Autor;
 
 import java.sql.*;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.Year;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 public class LibroDAOImpl implements LibroDAO {
 
+    private static final Log LOG = Log.de(LibroDAOImpl.class);
+
+    private static final String SQL_INSERTAR =
+            "INSERT INTO libros (titulo, isbn, genero, ano_publicacion, paginas, autor_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // IDs ya reservados (AsignadorHiLo): el lote llega con libro.getId() fijado
+    private static final String SQL_INSERTAR_CON_ID =
+            "INSERT INTO libros (titulo, isbn, genero, ano_publicacion, paginas, autor_id, created_at, id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String SELECT_LIBRO_COMPLETO = """
+            SELECT l.id, l.titulo, l.isbn, l.genero, l.ano_publicacion, l.paginas, l.created_at,
+                   a.id as autor_id, a.nombre as autor_nombre, a.apellido as autor_apellido,
+                   a.nacionalidad as autor_nacionalidad, a.fecha_nacimiento as autor_fecha_nacimiento
+            FROM libros l
+            INNER JOIN autores a ON l.autor_id = a.id
+            """;
+
+    // Consultas fijas; ConsultasDAO las reúne para revisar sus planes con EXPLAIN
+    static final String SQL_POR_ID = SELECT_LIBRO_COMPLETO + "WHERE l.id = ?";
+    static final String SQL_TODOS = SELECT_LIBRO_COMPLETO + "ORDER BY l.titulo, l.id";
+    static final String SQL_POR_ISBN = SELECT_LIBRO_COMPLETO + "WHERE l.isbn = ?";
+    static final String SQL_POR_TITULO = SELECT_LIBRO_COMPLETO + "WHERE l.titulo LIKE ?\n" +
+            "ORDER BY l.titulo, l.id";
+    static final String SQL_POR_GENERO = SELECT_LIBRO_COMPLETO + "WHERE l.genero = ?\n" +
+            "ORDER BY l.ano_publicacion DESC, l.titulo, l.id";
+    static final String SQL_POR_AUTOR = SELECT_LIBRO_COMPLETO + "WHERE l.autor_id = ?\n" +
+            "ORDER BY l.ano_publicacion DESC, l.titulo, l.id";
+    static final String SQL_POR_RANGO_AÑOS = SELECT_LIBRO_COMPLETO + "WHERE l.ano_publicacion BETWEEN ? AND ?\n" +
+            "ORDER BY l.ano_publicacion DESC, l.titulo, l.id";
+    static final String SQL_POR_AÑO = SELECT_LIBRO_COMPLETO + "WHERE l.ano_publicacion = ?\n" +
+            "ORDER BY l.titulo, l.id";
+    static final String SQL_CONTAR_POR_GENERO = "SELECT COUNT(*) FROM libros WHERE genero = ?";
+
+    // Condiciones de seek de las páginas siguientes (ver buscarPagina)
+    static final String DESPUES_DEL_TITULO = "(l.titulo > ? OR (l.titulo = ? AND l.id > ?))";
+    static final String DESPUES_DEL_AÑO = "(l.ano_publicacion < ? OR l.ano_publicacion IS NULL OR " +
+            "(l.ano_publicacion = ? AND " + DESPUES_DEL_TITULO + "))";
+
+    // Órdenes de las consultas de listado; el id desempata para que la clave sea única
+    enum Orden {
+        POR_TITULO("ORDER BY l.titulo, l.id"),
+        POR_AÑO_DESC("ORDER BY l.ano_publicacion DESC, l.titulo, l.id");
+
+        private final String orderBy;
+
+        Orden(String orderBy) {
+            this.orderBy = orderBy;
+        }
+    }
+
+    // Capacidad mínima y tasa objetivo del filtro de Bloom de ISBN
+    private static final long CAPACIDAD_MINIMA_FILTRO = 10_000;
+    private static final double TASA_FALSOS_POSITIVOS = 0.01;
+
     private AutorDAO autorDAO;
 
+    // null hasta llamar a cargarFiltroIsbn(); mientras se reconstruye, las altas van a ambos
+    private volatile FiltroBloom filtroIsbn;
+    private volatile FiltroBloom filtroIsbnEnCarga;
+    private final AtomicBoolean reconstruyendoFiltro = new AtomicBoolean();
+
     public LibroDAOImpl() {
         this.autorDAO = new AutorDAOImpl();  // ← Composición de DAOs
     }
@@ -24,53 +90,22 @@ public class LibroDAOImpl implements LibroDAO {
     }
     @Override
     public void insertar(Libro libro) {
-        if (libro.getAutor() == null) {
-            throw new IllegalArgumentException("El libro debe tener un autor");
-        }
-
-        if (libro.getAutor().getId() <= 0) {
-            throw new IllegalArgumentException("El autor debe tener un ID válido");
-        }
-
-        if (!autorDAO.existe(libro.getAutor().getId())) {
-            throw new IllegalArgumentException("El autor con ID " + libro.getAutor().getId() + " no existe");
-        }
-
-        if (libro.getIsbn() != null && !libro.getIsbn().trim().isEmpty()) {
-            if (existeIsbn(libro.getIsbn())) {
-                throw new IllegalArgumentException("Ya existe un libro con ISBN: " + libro.getIsbn());
-            }
-        }
-
-        String sql = "INSERT INTO libros (titulo, isbn, genero, ano_publicacion, paginas, autor_id, created_at) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        validarLibroParaInsertar(libro);
 
+        // Autor inexistente e ISBN repetido los detectan la FK y el índice único en el propio INSERT
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement pstmt = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
 
-            pstmt.setString(1, libro.getTitulo());
-            pstmt.setString(2, libro.getIsbn());
-            pstmt.setString(3, libro.getGenero());
-
-            if (libro.getAnoPublicacion() != null) {
-                pstmt.setInt(4, libro.getAnoPublicacion().getValue());
-            } else {
-                pstmt.setNull(4, Types.INTEGER);
-            }
-
-            pstmt.setInt(5, libro.getPaginas());
-            pstmt.setInt(6, libro.getAutor().getId());  // ← Foreign Key
-
-            LocalDateTime now = libro.getCreatedAt() != null ? libro.getCreatedAt() : LocalDateTime.now();
-            pstmt.setTimestamp(7, Timestamp.valueOf(now));
+            asignarParametrosInsercion(pstmt, libro);
 
             int filasAfectadas = pstmt.executeUpdate();
 
             if (filasAfectadas > 0) {
+                registrarIsbn(libro.getIsbn());
                 try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
                     if (generatedKeys.next()) {
                         libro.setId(generatedKeys.getInt(1));
-                        System.out.println("Libro insertado: " + libro.getTitulo() + " (ID: " + libro.getId() + ")");
+                        LOG.info("Libro insertado: {} (ID: {})", libro.getTitulo(), libro.getId());
                     }
                 }
             } else {
@@ -78,99 +113,232 @@ public class LibroDAOImpl implements LibroDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error insertando libro: " + e.getMessage());
+            registrarSiRepetido(e, libro.getIsbn());
+            lanzarSiViolacion(e, "Ya existe un libro con ISBN: " + libro.getIsbn(),
+                    "El autor con ID " + libro.getAutor().getId() + " no existe");
+            LOG.error("Error insertando libro: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos al insertar libro", e);
         }
     }
+    // Inserta en bloques de UtilSQL.TAMANO_BLOQUE: cada bloque valida autores e ISBN con una
+    // consulta IN y se inserta con un batch JDBC dentro de su propia transacción.
+    // Si un bloque falla se revierte solo ese bloque; los anteriores quedan confirmados.
+    // Como insertar, usa AUTO_INCREMENT aunque los libros traigan ID; solo las altas de
+    // WriteBehindLibroDAO (IdsReservados) se insertan con el ID que ya tienen.
     @Override
-    public Libro buscarPorId(int id) {
-        String sql = """
-        SELECT l.id, l.titulo, l.isbn, l.genero, l.ano_publicacion, l.paginas, l.created_at,
-               a.id as autor_id, a.nombre as autor_nombre, a.apellido as autor_apellido, 
-               a.nacionalidad as autor_nacionalidad, a.fecha_nacimiento as autor_fecha_nacimiento
-        FROM libros l
-        INNER JOIN autores a ON l.autor_id = a.id
-        WHERE l.id = ?
-        """;
+    public List<Integer> insertarLote(List<Libro> libros) {
+        List<Integer> ids = new ArrayList<>();
+        if (libros == null || libros.isEmpty()) {
+            return ids;
+        }
+
+        boolean conId = IdsReservados.activo();
+        Set<String> isbnsDelLote = new HashSet<>();
+        for (Libro libro : libros) {
+            validarLibroParaInsertar(libro);
+            if (tieneIsbn(libro) && !isbnsDelLote.add(libro.getIsbn().trim())) {
+                throw new IllegalArgumentException("ISBN repetido en el lote: " + libro.getIsbn());
+            }
+        }
+
+        for (int inicio = 0; inicio < libros.size(); inicio += UtilSQL.TAMANO_BLOQUE) {
+            List<Libro> bloque = libros.subList(inicio, Math.min(inicio + UtilSQL.TAMANO_BLOQUE, libros.size()));
+            ids.addAll(insertarBloque(bloque, conId));
+        }
+
+        LOG.debug("Insertados {} libros en lote", ids.size());
+        return ids;
+    }
+
+    private List<Integer> insertarBloque(List<Libro> bloque, boolean conId) {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Integer> generados = new ArrayList<>(bloque.size());
+                if (conId) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERTAR_CON_ID)) {
+                        for (Libro libro : bloque) {
+                            asignarParametrosInsercion(pstmt, libro);
+                            pstmt.setInt(8, libro.getId());
+                            pstmt.addBatch();
+                            generados.add(libro.getId());
+                        }
+                        pstmt.executeBatch();
+                    }
+                } else {
+                    try (PreparedStatement pstmt = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+                        for (Libro libro : bloque) {
+                            asignarParametrosInsercion(pstmt, libro);
+                            pstmt.addBatch();
+                        }
+                        pstmt.executeBatch();
+
+                        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                            while (generatedKeys.next()) {
+                                generados.add(generatedKeys.getInt(1));
+                            }
+                        }
+                    }
+                }
+                if (generados.size() != bloque.size()) {
+                    throw new SQLException("Se esperaban " + bloque.size() + " IDs generados y llegaron " + generados.size());
+                }
+
+                conn.commit();
+
+                // Los IDs solo se asignan una vez confirmada la transacción
+                for (int i = 0; i < bloque.size(); i++) {
+                    bloque.get(i).setId(generados.get(i));
+                    registrarIsbn(bloque.get(i).getIsbn());
+                }
+                return generados;
+
+            } catch (SQLException e) {
+                conn.rollback();
+                if (UtilSQL.esClaveDuplicada(e) || UtilSQL.esReferenciaInexistente(e)) {
+                    // Solo en el camino de error se averigua qué fila violó la restricción
+                    diagnosticarBloque(conn, bloque);
+                }
+                throw e;
+            } catch (RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error insertando lote de libros: {}", e.getMessage());
+            throw new RuntimeException("Error en base de datos al insertar lote de libros", e);
+        }
+    }
+
+    private void diagnosticarBloque(Connection conn, List<Libro> bloque) throws SQLException {
+        verificarAutoresExisten(conn, bloque);
+
+        List<String> isbns = new ArrayList<>();
+        for (Libro libro : bloque) {
+            if (tieneIsbn(libro)) {
+                isbns.add(libro.getIsbn().trim());
+            }
+        }
+        // Sin filtro: el índice único ya dijo que hay un repetido, aunque el filtro no lo conozca
+        Set<String> repetidos = buscarIsbnsExistentes(conn, isbns, null);
+        repetidos.forEach(this::registrarIsbn);
+        if (!repetidos.isEmpty()) {
+            throw new IllegalArgumentException("Ya existe un libro con ISBN: " + repetidos.iterator().next());
+        }
+    }
+
+    // Traduce las violaciones de restricción a los mismos errores que daban las comprobaciones previas
+    private static void lanzarSiViolacion(SQLException e, String mensajeIsbn, String mensajeAutor) {
+        if (UtilSQL.esClaveDuplicada(e)) {
+            throw new IllegalArgumentException(mensajeIsbn, e);
+        }
+        if (UtilSQL.esReferenciaInexistente(e)) {
+            throw new IllegalArgumentException(mensajeAutor, e);
+        }
+    }
 
+    private void verificarAutoresExisten(Connection conn, List<Libro> bloque) throws SQLException {
+        Set<Integer> autorIds = new LinkedHashSet<>();
+        for (Libro libro : bloque) {
+            autorIds.add(libro.getAutor().getId());
+        }
+
+        List<Integer> pendientes = new ArrayList<>(autorIds);
+        int tamano = UtilSQL.tamanoConRelleno(pendientes.size());
+        String sql = "SELECT id FROM autores WHERE id IN (" + UtilSQL.marcadores(tamano) + ")";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < tamano; i++) {
+                pstmt.setInt(i + 1, pendientes.get(Math.min(i, pendientes.size() - 1)));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    autorIds.remove(rs.getInt(1));
+                }
+            }
+        }
+
+        if (!autorIds.isEmpty()) {
+            throw new IllegalArgumentException("El autor con ID " + autorIds.iterator().next() + " no existe");
+        }
+    }
+
+    @Override
+    public Libro buscarPorId(int id) {
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SQL_POR_ID)) {
 
             pstmt.setInt(1, id);
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapearResultSetALibroCompleto(rs);
+                    return new MapeadorLibro().mapear(rs);
                 }
             }
 
         } catch (SQLException e) {
-            System.err.println("Error buscando libro por ID: " + e.getMessage());
+            LOG.error("Error buscando libro por ID: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
 
         return null;
     }
 
+    // Un IN por bloque en lugar de un buscarPorId (y una conexión) por libro
+    @Override
+    public List<Libro> buscarPorIds(Collection<Integer> ids) {
+        return UtilSQL.buscarPorIds(SELECT_LIBRO_COMPLETO + "WHERE l.id IN", ids,
+                new MapeadorLibro(), Libro::getId);
+    }
+
     @Override
     public List<Libro> buscarTodos() {
         List<Libro> libros = new ArrayList<>();
 
-        String sql = """
-        SELECT l.id, l.titulo, l.isbn, l.genero, l.ano_publicacion, l.paginas, l.created_at,
-               a.id as autor_id, a.nombre as autor_nombre, a.apellido as autor_apellido, 
-               a.nacionalidad as autor_nacionalidad, a.fecha_nacimiento as autor_fecha_nacimiento
-        FROM libros l
-        INNER JOIN autores a ON l.autor_id = a.id
-        ORDER BY l.titulo
-        """;
-
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql);
+             PreparedStatement pstmt = conn.prepareStatement(SQL_TODOS);
              ResultSet rs = pstmt.executeQuery()) {
 
+            MapeadorLibro mapeador = new MapeadorLibro();
             while (rs.next()) {
-                libros.add(mapearResultSetALibroCompleto(rs));
+                libros.add(mapeador.mapear(rs));
             }
 
-            System.out.println("Encontrados " + libros.size() + " libros");
-
+            LOG.debug("Encontrados {} libros", libros.size());
         } catch (SQLException e) {
-            System.err.println("Error listando todos los libros: " + e.getMessage());
+            LOG.error("Error listando todos los libros: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
 
         return libros;
     }
 
+    @Override
+    public Stream<Libro> streamTodos() {
+        return UtilSQL.streamConsulta(SQL_TODOS, new MapeadorLibro());
+    }
+
     @Override
     public Libro buscarPorIsbn(String isbn) {
         if (isbn == null || isbn.trim().isEmpty()) {
             return null; // ISBN inválido
         }
 
-        String sql = """
-        SELECT l.id, l.titulo, l.isbn, l.genero, l.ano_publicacion, l.paginas, l.created_at,
-               a.id as autor_id, a.nombre as autor_nombre, a.apellido as autor_apellido, 
-               a.nacionalidad as autor_nacionalidad, a.fecha_nacimiento as autor_fecha_nacimiento
-        FROM libros l
-        INNER JOIN autores a ON l.autor_id = a.id
-        WHERE l.isbn = ?
-        """;
-
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SQL_POR_ISBN)) {
 
             pstmt.setString(1, isbn.trim());
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapearResultSetALibroCompleto(rs);
+                    return new MapeadorLibro().mapear(rs);
                 }
             }
 
         } catch (SQLException e) {
-            System.err.println("Error buscando libro por ISBN: " + e.getMessage());
+            LOG.error("Error buscando libro por ISBN: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
 
@@ -185,32 +353,23 @@ public class LibroDAOImpl implements LibroDAO {
             return libros;
         }
 
-        String sql = """
-        SELECT l.id, l.titulo, l.isbn, l.genero, l.ano_publicacion, l.paginas, l.created_at,
-               a.id as autor_id, a.nombre as autor_nombre, a.apellido as autor_apellido, 
-               a.nacionalidad as autor_nacionalidad, a.fecha_nacimiento as autor_fecha_nacimiento
-        FROM libros l
-        INNER JOIN autores a ON l.autor_id = a.id
-        WHERE l.titulo LIKE ?
-        ORDER BY l.titulo
-        """;
-
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SQL_POR_TITULO)) {
 
             String patron = "%" + titulo.trim() + "%";
             pstmt.setString(1, patron);
 
+            MapeadorLibro mapeador = new MapeadorLibro();
+
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    libros.add(mapearResultSetALibroCompleto(rs));
+                    libros.add(mapeador.mapear(rs));
                 }
             }
 
-            System.out.println("Encontrados " + libros.size() + " libros con título '" + titulo + "'");
-
+            LOG.debug("Encontrados {} libros con título '{}'", libros.size(), titulo);
         } catch (SQLException e) {
-            System.err.println("Error buscando libros por título: " + e.getMessage());
+            LOG.error("Error buscando libros por título: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
 
@@ -225,31 +384,22 @@ public class LibroDAOImpl implements LibroDAO {
             return libros;
         }
 
-        String sql = """
-        SELECT l.id, l.titulo, l.isbn, l.genero, l.ano_publicacion, l.paginas, l.created_at,
-               a.id as autor_id, a.nombre as autor_nombre, a.apellido as autor_apellido, 
-               a.nacionalidad as autor_nacionalidad, a.fecha_nacimiento as autor_fecha_nacimiento
-        FROM libros l
-        INNER JOIN autores a ON l.autor_id = a.id
-        WHERE l.genero = ?
-        ORDER BY l.ano_publicacion DESC, l.titulo
-        """;
-
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SQL_POR_GENERO)) {
 
             pstmt.setString(1, genero.trim());
 
+            MapeadorLibro mapeador = new MapeadorLibro();
+
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    libros.add(mapearResultSetALibroCompleto(rs));
+                    libros.add(mapeador.mapear(rs));
                 }
             }
 
-            System.out.println("Encontrados " + libros.size() + " libros de género '" + genero + "'");
-
+            LOG.debug("Encontrados {} libros de género '{}'", libros.size(), genero);
         } catch (SQLException e) {
-            System.err.println("Error buscando libros por género: " + e.getMessage());
+            LOG.error("Error buscando libros por género: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
 
@@ -262,33 +412,25 @@ public class LibroDAOImpl implements LibroDAO {
 
         // VALIDACIÓN: Verificar que el autor existe
         if (autorId <= 0) {
-            System.out.println("ID de autor inválido: " + autorId);
+            LOG.warn("ID de autor inválido: {}", autorId);
             return libros;
         }
 
         if (!autorDAO.existe(autorId)) {
-            System.out.println("Autor con ID " + autorId + " no existe");
+            LOG.warn("Autor con ID {} no existe", autorId);
             return libros; // Lista vacía
         }
 
-        String sql = """
-        SELECT l.id, l.titulo, l.isbn, l.genero, l.ano_publicacion, l.paginas, l.created_at,
-               a.id as autor_id, a.nombre as autor_nombre, a.apellido as autor_apellido, 
-               a.nacionalidad as autor_nacionalidad, a.fecha_nacimiento as autor_fecha_nacimiento
-        FROM libros l
-        INNER JOIN autores a ON l.autor_id = a.id
-        WHERE l.autor_id = ?
-        ORDER BY l.ano_publicacion DESC, l.titulo
-        """;
-
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SQL_POR_AUTOR)) {
 
             pstmt.setInt(1, autorId);
 
+            MapeadorLibro mapeador = new MapeadorLibro();
+
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    libros.add(mapearResultSetALibroCompleto(rs));
+                    libros.add(mapeador.mapear(rs));
                 }
             }
 
@@ -298,10 +440,9 @@ public class LibroDAOImpl implements LibroDAO {
                 nombreAutor = libros.get(0).getAutor().getNombreCompleto();
             }
 
-            System.out.println("Encontrados " + libros.size() + " libros de " + nombreAutor);
-
+            LOG.debug("Encontrados {} libros de {}", libros.size(), nombreAutor);
         } catch (SQLException e) {
-            System.err.println("Error buscando libros por autor ID: " + e.getMessage());
+            LOG.error("Error buscando libros por autor ID: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
 
@@ -312,12 +453,12 @@ public class LibroDAOImpl implements LibroDAO {
     public List<Libro> buscarPorAutor(Autor autor) {
         // Validaciones
         if (autor == null) {
-            System.out.println("Autor es null");
+            LOG.warn("Autor es null");
             return new ArrayList<>();
         }
 
         if (autor.getId() <= 0) {
-            System.out.println("Autor sin ID válido: " + autor.getNombreCompleto());
+            LOG.warn("Autor sin ID válido: {} {}", autor.getNombre(), autor.getApellido());
             return new ArrayList<>();
         }
 
@@ -330,41 +471,32 @@ public class LibroDAOImpl implements LibroDAO {
 
         // Validaciones
         if (añoInicio > añoFin) {
-            System.out.println("Rango de años inválido: " + añoInicio + " - " + añoFin);
+            LOG.warn("Rango de años inválido: {} - {}", añoInicio, añoFin);
             return libros;
         }
 
         if (añoInicio < 1000 || añoFin > 3000) {
-            System.out.println("Años fuera de rango válido: " + añoInicio + " - " + añoFin);
+            LOG.warn("Años fuera de rango válido: {} - {}", añoInicio, añoFin);
             return libros;
         }
 
-        String sql = """
-        SELECT l.id, l.titulo, l.isbn, l.genero, l.ano_publicacion, l.paginas, l.created_at,
-               a.id as autor_id, a.nombre as autor_nombre, a.apellido as autor_apellido, 
-               a.nacionalidad as autor_nacionalidad, a.fecha_nacimiento as autor_fecha_nacimiento
-        FROM libros l
-        INNER JOIN autores a ON l.autor_id = a.id
-        WHERE l.ano_publicacion BETWEEN ? AND ?
-        ORDER BY l.ano_publicacion DESC, l.titulo
-        """;
-
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SQL_POR_RANGO_AÑOS)) {
 
             pstmt.setInt(1, añoInicio);
             pstmt.setInt(2, añoFin);
 
+            MapeadorLibro mapeador = new MapeadorLibro();
+
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    libros.add(mapearResultSetALibroCompleto(rs));
+                    libros.add(mapeador.mapear(rs));
                 }
             }
 
-            System.out.println("Encontrados " + libros.size() + " libros entre " + añoInicio + " y " + añoFin);
-
+            LOG.debug("Encontrados {} libros entre {} y {}", libros.size(), añoInicio, añoFin);
         } catch (SQLException e) {
-            System.err.println("Error buscando libros por rango de años: " + e.getMessage());
+            LOG.error("Error buscando libros por rango de años: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
 
@@ -374,27 +506,25 @@ public class LibroDAOImpl implements LibroDAO {
     @Override
     public int contarPorGenero(String genero) {
         if (genero == null || genero.trim().isEmpty()) {
-            System.out.println("Género inválido o vacío");
+            LOG.warn("Género inválido o vacío");
             return 0;
         }
 
-        String sql = "SELECT COUNT(*) FROM libros WHERE genero = ?";
-
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SQL_CONTAR_POR_GENERO)) {
 
             pstmt.setString(1, genero.trim());
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
                     int cantidad = rs.getInt(1);
-                    System.out.println("Encontrados " + cantidad + " libros de género '" + genero + "'");
+                    LOG.debug("Encontrados {} libros de género '{}'", cantidad, genero);
                     return cantidad;
                 }
             }
 
         } catch (SQLException e) {
-            System.err.println("Error contando libros por género: " + e.getMessage());
+            LOG.error("Error contando libros por género: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
 
@@ -405,35 +535,26 @@ public class LibroDAOImpl implements LibroDAO {
         List<Libro> libros = new ArrayList<>();
 
         if (año < 1000 || año > 3000) {
-            System.out.println("Año inválido: " + año);
+            LOG.warn("Año inválido: {}", año);
             return libros;
         }
 
-        String sql = """
-        SELECT l.id, l.titulo, l.isbn, l.genero, l.ano_publicacion, l.paginas, l.created_at,
-               a.id as autor_id, a.nombre as autor_nombre, a.apellido as autor_apellido, 
-               a.nacionalidad as autor_nacionalidad, a.fecha_nacimiento as autor_fecha_nacimiento
-        FROM libros l
-        INNER JOIN autores a ON l.autor_id = a.id
-        WHERE l.ano_publicacion = ?
-        ORDER BY l.titulo
-        """;
-
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+             PreparedStatement pstmt = conn.prepareStatement(SQL_POR_AÑO)) {
 
             pstmt.setInt(1, año);
 
+            MapeadorLibro mapeador = new MapeadorLibro();
+
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    libros.add(mapearResultSetALibroCompleto(rs));
+                    libros.add(mapeador.mapear(rs));
                 }
             }
 
-            System.out.println("Encontrados " + libros.size() + " libros del año " + año);
-
+            LOG.debug("Encontrados {} libros del año {}", libros.size(), año);
         } catch (SQLException e) {
-            System.err.println("Error buscando libros por año: " + e.getMessage());
+            LOG.error("Error buscando libros por año: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos", e);
         }
 
@@ -450,21 +571,8 @@ public class LibroDAOImpl implements LibroDAO {
             throw new IllegalArgumentException("El libro debe tener un autor válido");
         }
 
-        if (!existe(libro.getId())) {
-            throw new IllegalArgumentException("No existe libro con ID: " + libro.getId());
-        }
-
-        if (!autorDAO.existe(libro.getAutor().getId())) {
-            throw new IllegalArgumentException("No existe autor con ID: " + libro.getAutor().getId());
-        }
-
-        if (libro.getIsbn() != null && !libro.getIsbn().trim().isEmpty()) {
-            Libro libroConMismoISBN = buscarPorIsbn(libro.getIsbn());
-            if (libroConMismoISBN != null && libroConMismoISBN.getId() != libro.getId()) {
-                throw new IllegalArgumentException("Ya existe otro libro con ISBN: " + libro.getIsbn());
-            }
-        }
-
+        // Un solo UPDATE: libro inexistente = 0 filas (MySQL cuenta filas encontradas, no cambiadas);
+        // autor inexistente e ISBN repetido llegan como violación de FK / índice único
         String sql = "UPDATE libros SET titulo = ?, isbn = ?, genero = ?, ano_publicacion = ?, paginas = ?, autor_id = ? WHERE id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -486,14 +594,16 @@ public class LibroDAOImpl implements LibroDAO {
 
             int filasAfectadas = pstmt.executeUpdate();
 
-            if (filasAfectadas > 0) {
-                System.out.println("Libro actualizado: " + libro.getTitulo());
-            } else {
-                System.out.println("No se actualizó ningún libro con ID: " + libro.getId());
+            if (filasAfectadas == 0) {
+                throw new IllegalArgumentException("No existe libro con ID: " + libro.getId());
             }
-
+            registrarIsbn(libro.getIsbn());
+            LOG.info("Libro actualizado: {}", libro.getTitulo());
         } catch (SQLException e) {
-            System.err.println("Error actualizando libro: " + e.getMessage());
+            registrarSiRepetido(e, libro.getIsbn());
+            lanzarSiViolacion(e, "Ya existe otro libro con ISBN: " + libro.getIsbn(),
+                    "No existe autor con ID: " + libro.getAutor().getId());
+            LOG.error("Error actualizando libro: {}", e.getMessage());
             throw new RuntimeException("Error en base de datos al actualizar libro", e);
         }
     }
@@ -504,10 +614,7 @@ public class LibroDAOImpl implements LibroDAO {
             throw new IllegalArgumentException("ID inválido para eliminar: " + id);
         }
 
-        if (!existe(id)) {
-            System.out.println("No existe libro con ID: " + id);
-            return;
-        }
+        // Sin consulta previa: 0 filas afectadas = no existía
         String sql = "DELETE FROM libros WHERE id = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -518,15 +625,19 @@ public class LibroDAOImpl implements LibroDAO {
             int filasAfectadas = pstmt.executeUpdate();
 
             if (filasAfectadas > 0) {
-                System.out.println("Libro eliminado con ID: " + id);
+                FiltroBloom filtro = filtroIsbn;
+                if (filtro != null) {
+                    filtro.registrarEliminacion();
+                    revisarFiltroIsbn();
+                }
+                LOG.info("Libro eliminado con ID: {}", id);
             } else {
-                System.out.println("No se eliminó ningún libro con ID: " + id);
+                LOG.warn("No existe libro con ID: {}", id);
             }
 
         } catch (SQLException e) {
-            System.err.println("Error eliminando libro: " + e.getMessage());
-
-            if (e.getMessage().contains("foreign key constraint")) {
+            LOG.error("Error eliminando libro: {}", e.getMessage());
+            if (UtilSQL.esReferenciaEnUso(e)) {
                 throw new RuntimeException("No se puede eliminar: el libro tiene préstamos asociados", e);
             } else {
                 throw new RuntimeException("Error en base de datos al eliminar libro", e);
@@ -554,7 +665,7 @@ public class LibroDAOImpl implements LibroDAO {
             }
 
         } catch (SQLException e) {
-            System.err.println("Error verificando existencia de libro: " + e.getMessage());
+            LOG.error("Error verificando existencia de libro: {}", e.getMessage());
         }
 
         return false;
@@ -566,6 +677,12 @@ public class LibroDAOImpl implements LibroDAO {
             return false;
         }
 
+        // Camino rápido: si el filtro dice que no, el ISBN seguro que no existe
+        FiltroBloom filtro = filtroIsbn;
+        if (filtro != null && !filtro.puedeContener(claveFiltro(isbn))) {
+            return false;
+        }
+
         String sql = "SELECT COUNT(*) FROM libros WHERE isbn = ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -575,45 +692,305 @@ public class LibroDAOImpl implements LibroDAO {
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getInt(1) > 0;
+                    boolean existe = rs.getInt(1) > 0;
+                    if (!existe && filtro != null) {
+                        filtro.registrarFalsoPositivo();
+                    }
+                    return existe;
                 }
             }
 
         } catch (SQLException e) {
-            System.err.println("Error verificando existencia de ISBN: " + e.getMessage());
+            LOG.error("Error verificando existencia de ISBN: {}", e.getMessage());
         }
 
         return false;
     }
 
-    private Libro mapearResultSetALibroCompleto(ResultSet rs) throws SQLException {
+    @Override
+    public Set<String> existenIsbns(Collection<String> isbns) {
+        List<String> validos = new ArrayList<>();
+        if (isbns != null) {
+            for (String isbn : isbns) {
+                if (isbn != null && !isbn.trim().isEmpty()) {
+                    validos.add(isbn.trim());
+                }
+            }
+        }
+        if (validos.isEmpty()) {
+            return new HashSet<>();
+        }
 
-        int libroId = rs.getInt("id");
-        String titulo = rs.getString("titulo");
-        String isbn = rs.getString("isbn");
-        String genero = rs.getString("genero");
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            return buscarIsbnsExistentes(conn, validos, filtroIsbn);
+        } catch (SQLException e) {
+            LOG.error("Error verificando existencia de ISBNs: {}", e.getMessage());
+            throw new RuntimeException("Error en base de datos", e);
+        }
+    }
 
-        int anoInt = rs.getInt("ano_publicacion");
-        Year anoPublicacion = rs.wasNull() ? null : Year.of(anoInt);
+    private Set<String> buscarIsbnsExistentes(Connection conn, List<String> todos, FiltroBloom filtro) throws SQLException {
+        Set<String> existentes = new HashSet<>();
 
-        int paginas = rs.getInt("paginas");
+        // Solo se consultan los ISBN que el filtro no puede descartar
+        List<String> isbns = todos;
+        if (filtro != null) {
+            isbns = new ArrayList<>();
+            for (String isbn : todos) {
+                if (filtro.puedeContener(claveFiltro(isbn))) {
+                    isbns.add(isbn);
+                }
+            }
+        }
 
-        Timestamp createdTimestamp = rs.getTimestamp("created_at");
-        LocalDateTime createdAt = createdTimestamp != null ? createdTimestamp.toLocalDateTime() : null;
+        for (int inicio = 0; inicio < isbns.size(); inicio += UtilSQL.TAMANO_BLOQUE) {
+            List<String> bloque = isbns.subList(inicio, Math.min(inicio + UtilSQL.TAMANO_BLOQUE, isbns.size()));
+            int tamano = UtilSQL.tamanoConRelleno(bloque.size());
+            String sql = "SELECT isbn FROM libros WHERE isbn IN (" + UtilSQL.marcadores(tamano) + ")";
 
-        int autorId = rs.getInt("autor_id");
-        String autorNombre = rs.getString("autor_nombre");
-        String autorApellido = rs.getString("autor_apellido");
-        String autorNacionalidad = rs.getString("autor_nacionalidad");
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < tamano; i++) {
+                    pstmt.setString(i + 1, bloque.get(Math.min(i, bloque.size() - 1)));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        existentes.add(rs.getString(1));
+                    }
+                }
+            }
+        }
 
-        Date autorFechaNacimientoSQL = rs.getDate("autor_fecha_nacimiento");
-        LocalDate autorFechaNacimiento = autorFechaNacimientoSQL != null ?
-                autorFechaNacimientoSQL.toLocalDate() : null;
+        if (filtro != null) {
+            for (int i = existentes.size(); i < isbns.size(); i++) {
+                filtro.registrarFalsoPositivo();
+            }
+        }
+        return existentes;
+    }
+
+    // Carga (o reconstruye) el filtro de Bloom con todos los ISBN de la tabla.
+    // El filtro nuevo recibe las altas concurrentes desde antes de leer la tabla,
+    // así no se pierde ningún ISBN y el filtro nunca da un falso negativo.
+    public synchronized void cargarFiltroIsbn() {
+        long total;
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM libros WHERE isbn IS NOT NULL");
+             ResultSet rs = pstmt.executeQuery()) {
+            total = rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            LOG.error("Error contando ISBNs: {}", e.getMessage());
+            throw new RuntimeException("Error en base de datos", e);
+        }
+
+        FiltroBloom nuevo = new FiltroBloom(Math.max(CAPACIDAD_MINIMA_FILTRO, total * 2), TASA_FALSOS_POSITIVOS);
+        filtroIsbnEnCarga = nuevo;
+        try (Stream<String> isbns = UtilSQL.streamConsulta(
+                "SELECT isbn FROM libros WHERE isbn IS NOT NULL", rs -> rs.getString(1))) {
+            isbns.forEach(isbn -> nuevo.agregar(claveFiltro(isbn)));
+            filtroIsbn = nuevo;
+        } finally {
+            filtroIsbnEnCarga = null;
+        }
+
+        LOG.info("Filtro de ISBN cargado: {}", nuevo);
+    }
+
+    public FiltroBloom getFiltroIsbn() {
+        return filtroIsbn;
+    }
+
+    private void registrarIsbn(String isbn) {
+        if (isbn == null || isbn.trim().isEmpty()) {
+            return;
+        }
+        FiltroBloom enCarga = filtroIsbnEnCarga;
+        if (enCarga != null) {
+            enCarga.agregar(claveFiltro(isbn));
+        }
+        FiltroBloom filtro = filtroIsbn;
+        if (filtro != null) {
+            filtro.agregar(claveFiltro(isbn));
+            revisarFiltroIsbn();
+        }
+    }
+
+    // Un ISBN repetido está en la tabla aunque el filtro no lo sepa (lo dio de alta otra instancia
+    // después de cargarlo): se añade para que existeIsbn no vuelva a responder que no
+    private void registrarSiRepetido(SQLException e, String isbn) {
+        if (UtilSQL.esClaveDuplicada(e)) {
+            registrarIsbn(isbn);
+        }
+    }
+
+    // La columna usa una collation que no distingue mayúsculas (p. ej. el dígito de control 'X')
+    private static String claveFiltro(String isbn) {
+        return isbn.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Reconstruye en segundo plano cuando el filtro se llenó o acumula demasiadas bajas
+    private void revisarFiltroIsbn() {
+        FiltroBloom filtro = filtroIsbn;
+        if (filtro == null || !filtro.necesitaReconstruccion() || !reconstruyendoFiltro.compareAndSet(false, true)) {
+            return;
+        }
+        Thread hilo = new Thread(() -> {
+            try {
+                cargarFiltroIsbn();
+            } catch (RuntimeException e) {
+                LOG.error("Error reconstruyendo filtro de ISBN: {}", e.getMessage());
+            } finally {
+                reconstruyendoFiltro.set(false);
+            }
+        }, "reconstruccion-filtro-isbn");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    @Override
+    public Pagina<Libro> buscarTodos(PeticionPagina peticion) {
+        return buscarPagina(null, List.of(), Orden.POR_TITULO, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorTitulo(String titulo, PeticionPagina peticion) {
+        if (titulo == null || titulo.trim().isEmpty()) {
+            return Pagina.vacia();
+        }
+        return buscarPagina("l.titulo LIKE ?", List.of("%" + titulo.trim() + "%"), Orden.POR_TITULO, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorGenero(String genero, PeticionPagina peticion) {
+        if (genero == null || genero.trim().isEmpty()) {
+            return Pagina.vacia();
+        }
+        return buscarPagina("l.genero = ?", List.of(genero.trim()), Orden.POR_AÑO_DESC, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorAño(int año, PeticionPagina peticion) {
+        if (año < 1000 || año > 3000) {
+            LOG.warn("Año inválido: {}", año);
+            return Pagina.vacia();
+        }
+        return buscarPagina("l.ano_publicacion = ?", List.of(año), Orden.POR_TITULO, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorAutor(int autorId, PeticionPagina peticion) {
+        if (autorId <= 0) {
+            LOG.warn("ID de autor inválido: {}", autorId);
+            return Pagina.vacia();
+        }
+        return buscarPagina("l.autor_id = ?", List.of(autorId), Orden.POR_AÑO_DESC, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorRangoAños(int añoInicio, int añoFin, PeticionPagina peticion) {
+        if (añoInicio > añoFin || añoInicio < 1000 || añoFin > 3000) {
+            LOG.warn("Rango de años inválido: {} - {}", añoInicio, añoFin);
+            return Pagina.vacia();
+        }
+        return buscarPagina("l.ano_publicacion BETWEEN ? AND ?", List.of(añoInicio, añoFin),
+                Orden.POR_AÑO_DESC, peticion);
+    }
+
+    // Seek: WHERE <filtro> AND <clave de orden después de la última vista> ... LIMIT tamaño + 1.
+    // La fila extra solo sirve para saber si hay otra página.
+    private Pagina<Libro> buscarPagina(String filtro, List<Object> parametros, Orden orden, PeticionPagina peticion) {
+        List<String> condiciones = new ArrayList<>();
+        List<Object> valores = new ArrayList<>();
+        if (filtro != null) {
+            condiciones.add(filtro);
+            valores.addAll(parametros);
+        }
+
+        if (!peticion.esPrimera()) {
+            List<Object> valoresTitulo = List.of(peticion.getUltimoTitulo(), peticion.getUltimoTitulo(),
+                    peticion.getUltimoId());
+
+            if (orden == Orden.POR_TITULO) {
+                condiciones.add(DESPUES_DEL_TITULO);
+                valores.addAll(valoresTitulo);
+            } else if (peticion.getUltimoAno() != null) {
+                // En DESC MySQL deja los años NULL al final
+                condiciones.add(DESPUES_DEL_AÑO);
+                valores.add(peticion.getUltimoAno());
+                valores.add(peticion.getUltimoAno());
+                valores.addAll(valoresTitulo);
+            } else {
+                condiciones.add("(l.ano_publicacion IS NULL AND " + DESPUES_DEL_TITULO + ")");
+                valores.addAll(valoresTitulo);
+            }
+        }
+
+        String sql = sqlPagina(condiciones, orden);
+        valores.add(peticion.getTamano() + 1);
+
+        List<Libro> libros = new ArrayList<>(peticion.getTamano() + 1);
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < valores.size(); i++) {
+                pstmt.setObject(i + 1, valores.get(i));
+            }
+
+            MapeadorLibro mapeador = new MapeadorLibro();
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    libros.add(mapeador.mapear(rs));
+                }
+            }
+
+        } catch (SQLException e) {
+            LOG.error("Error buscando página de libros: {}", e.getMessage());
+            throw new RuntimeException("Error en base de datos", e);
+        }
+
+        PeticionPagina siguiente = null;
+        if (libros.size() > peticion.getTamano()) {
+            libros.remove(libros.size() - 1);
+            siguiente = PeticionPagina.despuesDe(libros.get(libros.size() - 1), peticion.getTamano());
+        }
+        return new Pagina<>(libros, siguiente);
+    }
+
+    static String sqlPagina(List<String> condiciones, Orden orden) {
+        return SELECT_LIBRO_COMPLETO
+                + (condiciones.isEmpty() ? "" : "WHERE " + String.join(" AND ", condiciones) + "\n")
+                + orden.orderBy + "\nLIMIT ?";
+    }
+
+    private void validarLibroParaInsertar(Libro libro) {
+        if (libro.getAutor() == null) {
+            throw new IllegalArgumentException("El libro debe tener un autor");
+        }
+
+        if (libro.getAutor().getId() <= 0) {
+            throw new IllegalArgumentException("El autor debe tener un ID válido");
+        }
+    }
+
+    private boolean tieneIsbn(Libro libro) {
+        return libro.getIsbn() != null && !libro.getIsbn().trim().isEmpty();
+    }
+
+    private void asignarParametrosInsercion(PreparedStatement pstmt, Libro libro) throws SQLException {
+        pstmt.setString(1, libro.getTitulo());
+        pstmt.setString(2, libro.getIsbn());
+        pstmt.setString(3, libro.getGenero());
+
+        if (libro.getAnoPublicacion() != null) {
+            pstmt.setInt(4, libro.getAnoPublicacion().getValue());
+        } else {
+            pstmt.setNull(4, Types.INTEGER);
+        }
 
-        Autor autor = new Autor(autorId, autorNombre, autorApellido,
-                autorNacionalidad, autorFechaNacimiento);
+        pstmt.setInt(5, libro.getPaginas());
+        pstmt.setInt(6, libro.getAutor().getId());  // ← Foreign Key
 
-        return new Libro(libroId, titulo, isbn, genero, anoPublicacion,
-                paginas, createdAt, autor);
+        LocalDateTime now = libro.getCreatedAt() != null ? libro.getCreatedAt() : LocalDateTime.now();
+        pstmt.setTimestamp(7, Timestamp.valueOf(now));
     }
 }
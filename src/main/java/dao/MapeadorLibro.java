@@ -0,0 +1,134 @@
+package dao;
+
+import models.Autor;
+import models.Libro;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+
+// Mapeador de filas de SELECT_LIBRO_COMPLETO pensado para listados grandes:
+// - resuelve los índices de columna una vez por ResultSet en lugar de buscar cada etiqueta en cada fila
+// - reutiliza el mismo Autor para todos los libros de ese autor dentro de la consulta
+// - lee fechas con getObject(LocalDate/LocalDateTime) sin pasar por java.sql.Date/Timestamp
+// - comparte las instancias de Year (inmutables) y no encajona los IDs de autor
+// Una instancia por consulta; no es thread-safe.
+final class MapeadorLibro implements UtilSQL.MapeadorFila<Libro> {
+
+    private static final int AÑO_MINIMO_CACHE = 1000;
+    private static final Year[] AÑOS = new Year[2100 - AÑO_MINIMO_CACHE + 1];
+
+    static {
+        for (int i = 0; i < AÑOS.length; i++) {
+            AÑOS[i] = Year.of(AÑO_MINIMO_CACHE + i);
+        }
+    }
+
+    private ResultSet resuelto;
+    private int colId, colTitulo, colIsbn, colGenero, colAno, colPaginas, colCreatedAt;
+    private int colAutorId, colAutorNombre, colAutorApellido, colAutorNacionalidad, colAutorFecha;
+
+    // El primer autor va aparte: una búsqueda de una sola fila no llega a reservar la tabla
+    private Autor primerAutor;
+
+    // Tabla hash abierta autorId -> Autor (sin Integer ni Map.Entry por fila), desde el segundo autor
+    private int[] autorIds;
+    private Autor[] autores;
+    private int numAutores;
+
+    @Override
+    public Libro mapear(ResultSet rs) throws SQLException {
+        if (rs != resuelto) {
+            resolverColumnas(rs);
+        }
+
+        Autor autor = autor(rs, rs.getInt(colAutorId));
+
+        int anoInt = rs.getInt(colAno);
+        Year anoPublicacion = rs.wasNull() ? null : año(anoInt);
+
+        return new Libro(rs.getInt(colId), rs.getString(colTitulo), rs.getString(colIsbn), rs.getString(colGenero),
+                anoPublicacion, rs.getInt(colPaginas), rs.getObject(colCreatedAt, LocalDateTime.class), autor);
+    }
+
+    private void resolverColumnas(ResultSet rs) throws SQLException {
+        colId = rs.findColumn("id");
+        colTitulo = rs.findColumn("titulo");
+        colIsbn = rs.findColumn("isbn");
+        colGenero = rs.findColumn("genero");
+        colAno = rs.findColumn("ano_publicacion");
+        colPaginas = rs.findColumn("paginas");
+        colCreatedAt = rs.findColumn("created_at");
+        colAutorId = rs.findColumn("autor_id");
+        colAutorNombre = rs.findColumn("autor_nombre");
+        colAutorApellido = rs.findColumn("autor_apellido");
+        colAutorNacionalidad = rs.findColumn("autor_nacionalidad");
+        colAutorFecha = rs.findColumn("autor_fecha_nacimiento");
+        resuelto = rs;
+    }
+
+    private Autor autor(ResultSet rs, int autorId) throws SQLException {
+        if (primerAutor != null && primerAutor.getId() == autorId) {
+            return primerAutor;
+        }
+        if (autores == null && primerAutor != null) {
+            autorIds = new int[16];
+            autores = new Autor[16];
+        }
+
+        int i = 0;
+        if (autores != null) {
+            int mascara = autorIds.length - 1;
+            i = mezclar(autorId) & mascara;
+            while (autores[i] != null) {
+                if (autorIds[i] == autorId) {
+                    return autores[i];
+                }
+                i = (i + 1) & mascara;
+            }
+        }
+
+        Autor autor = new Autor(autorId, rs.getString(colAutorNombre), rs.getString(colAutorApellido),
+                rs.getString(colAutorNacionalidad), rs.getObject(colAutorFecha, LocalDate.class));
+        if (primerAutor == null) {
+            primerAutor = autor;
+            return autor;
+        }
+        autorIds[i] = autorId;
+        autores[i] = autor;
+        if (++numAutores * 2 > autorIds.length) {
+            crecer();
+        }
+        return autor;
+    }
+
+    private void crecer() {
+        int[] idsViejos = autorIds;
+        Autor[] autoresViejos = autores;
+        autorIds = new int[idsViejos.length * 2];
+        autores = new Autor[idsViejos.length * 2];
+        int mascara = autorIds.length - 1;
+        for (int j = 0; j < idsViejos.length; j++) {
+            if (autoresViejos[j] != null) {
+                int i = mezclar(idsViejos[j]) & mascara;
+                while (autores[i] != null) {
+                    i = (i + 1) & mascara;
+                }
+                autorIds[i] = idsViejos[j];
+                autores[i] = autoresViejos[j];
+            }
+        }
+    }
+
+    private static int mezclar(int x) {
+        x *= 0x9E3779B9;
+        return x ^ (x >>> 16);
+    }
+
+    static Year año(int valor) {
+        int i = valor - AÑO_MINIMO_CACHE;
+        return i >= 0 && i < AÑOS.length ? AÑOS[i] : Year.of(valor);
+    }
+}
@@ -0,0 +1,32 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class Pagina<T> {
+
+    private final List<T> elementos;
+    private final PeticionPagina siguiente;
+
+    public Pagina(List<T> elementos, PeticionPagina siguiente) {
+        this.elementos = elementos;
+        this.siguiente = siguiente;
+    }
+
+    public static <T> Pagina<T> vacia() {
+        return new Pagina<>(new ArrayList<>(), null);
+    }
+
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    // null cuando no quedan más páginas
+    public PeticionPagina getSiguiente() {
+        return siguiente;
+    }
+
+    public boolean hayMas() {
+        return siguiente != null;
+    }
+}
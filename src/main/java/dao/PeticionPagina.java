@@ -0,0 +1,49 @@
+package dao;
+
+import models.Libro;
+
+// Paginación por clave (keyset): en vez de OFFSET se recuerda la clave de orden
+// del último libro visto, así cualquier página cuesta lo mismo que la primera
+public class PeticionPagina {
+
+    private final int tamano;
+    private final int ultimoId;
+    private final String ultimoTitulo;
+    private final Integer ultimoAno;
+
+    private PeticionPagina(int tamano, int ultimoId, String ultimoTitulo, Integer ultimoAno) {
+        if (tamano <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor que 0");
+        }
+        this.tamano = tamano;
+        this.ultimoId = ultimoId;
+        this.ultimoTitulo = ultimoTitulo;
+        this.ultimoAno = ultimoAno;
+    }
+
+    public static PeticionPagina primera(int tamano) {
+        return new PeticionPagina(tamano, 0, null, null);
+    }
+
+    public static PeticionPagina despuesDe(Libro ultimo, int tamano) {
+        Integer ano = ultimo.getAnoPublicacion() != null ? ultimo.getAnoPublicacion().getValue() : null;
+        return new PeticionPagina(tamano, ultimo.getId(), ultimo.getTitulo(), ano);
+    }
+
+    public boolean esPrimera() {
+        return ultimoId <= 0;
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+    public int getUltimoId() {
+        return ultimoId;
+    }
+    public String getUltimoTitulo() {
+        return ultimoTitulo;
+    }
+    public Integer getUltimoAno() {
+        return ultimoAno;
+    }
+}
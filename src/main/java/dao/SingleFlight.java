@@ -0,0 +1,77 @@
+package dao;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Si varios hilos piden la misma clave a la vez, solo el primero ejecuta la carga
+// y los demás esperan y reciben el mismo resultado (o la misma excepción).
+// No es una caché: en cuanto la carga termina, la clave se olvida.
+// Tras una escritura hay que olvidarla también: quien llegue después no debe unirse a una
+// carga que empezó antes y puede devolver la fila de antes.
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> enVuelo = new ConcurrentHashMap<>();
+    private final LongAdder ejecutadas = new LongAdder();
+    private final LongAdder compartidas = new LongAdder();
+
+    public V ejecutar(K clave, Supplier<V> carga) {
+        CompletableFuture<V> nuevo = new CompletableFuture<>();
+        CompletableFuture<V> existente = enVuelo.putIfAbsent(clave, nuevo);
+        if (existente != null) {
+            compartidas.increment();
+            return esperar(existente);
+        }
+
+        ejecutadas.increment();
+        try {
+            V valor = carga.get();
+            nuevo.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            nuevo.completeExceptionally(e);
+            throw e;
+        } finally {
+            enVuelo.remove(clave, nuevo);
+        }
+    }
+
+    // Quien ya espera recibe el resultado de la carga en curso; el siguiente lanza otra
+    public void olvidar(K clave) {
+        enVuelo.remove(clave);
+    }
+
+    public void olvidarTodas() {
+        enVuelo.clear();
+    }
+
+    static <V> V esperar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            // Se relanza la excepción original del DAO para conservar su tipo y mensaje
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public long getEjecutadas() {
+        return ejecutadas.sum();
+    }
+
+    public long getCompartidas() {
+        return compartidas.sum();
+    }
+
+    public int getEnVuelo() {
+        return enVuelo.size();
+    }
+}
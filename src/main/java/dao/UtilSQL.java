@@ -0,0 +1,210 @@
+package dao;
+
+import log.Log;
+import config.DatabaseConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class UtilSQL {
+
+    private static final Log LOG = Log.de(UtilSQL.class);
+
+    // Tamaño máximo de las listas IN (...) y de cada bloque de inserción por lotes
+    static final int TAMANO_BLOQUE = 500;
+
+    // Filas pedidas al servidor en cada viaje cuando se recorre un cursor
+    static final int TAMANO_FETCH = 1000;
+
+    @FunctionalInterface
+    interface MapeadorFila<T> {
+        T mapear(ResultSet rs) throws SQLException;
+    }
+
+    private UtilSQL() {
+    }
+
+    // Ejecuta la consulta con un cursor de solo avance y devuelve un Stream perezoso.
+    // La conexión queda tomada hasta cerrar el Stream (o hasta agotarlo).
+    static <T> Stream<T> streamConsulta(String sql, MapeadorFila<T> mapeador) {
+        Connection conn = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        try {
+            conn = DatabaseConnection.getConnection();
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(TAMANO_FETCH);
+            rs = pstmt.executeQuery();
+        } catch (SQLException e) {
+            cerrar(rs, pstmt, conn);
+            LOG.error("Error abriendo cursor: {}", e.getMessage());
+            throw new RuntimeException("Error en base de datos", e);
+        }
+
+        Cursor<T> cursor = new Cursor<>(conn, pstmt, rs, mapeador);
+        return StreamSupport.stream(cursor, false).onClose(cursor::cerrar);
+    }
+
+    // Multi-get por ID: "<sqlHastaIn> (?, ?, ...)" en bloques de TAMANO_BLOQUE sobre una sola conexión.
+    // Quita repetidos e IDs no válidos, omite los que no existen y respeta el orden pedido.
+    static <T> List<T> buscarPorIds(String sqlHastaIn, Collection<Integer> ids,
+                                    MapeadorFila<T> mapeador, ToIntFunction<T> idDe) {
+        LinkedHashSet<Integer> pedidos = new LinkedHashSet<>();
+        if (ids != null) {
+            for (Integer id : ids) {
+                if (id != null && id > 0) {
+                    pedidos.add(id);
+                }
+            }
+        }
+        if (pedidos.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> pendientes = new ArrayList<>(pedidos);
+        Map<Integer, T> encontrados = new HashMap<>(pendientes.size() * 2);
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (int inicio = 0; inicio < pendientes.size(); inicio += TAMANO_BLOQUE) {
+                List<Integer> bloque = pendientes.subList(inicio, Math.min(inicio + TAMANO_BLOQUE, pendientes.size()));
+                int tamano = tamanoConRelleno(bloque.size());
+                try (PreparedStatement pstmt = conn.prepareStatement(sqlHastaIn + " (" + marcadores(tamano) + ")")) {
+                    for (int i = 0; i < tamano; i++) {
+                        pstmt.setInt(i + 1, bloque.get(Math.min(i, bloque.size() - 1)));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            T fila = mapeador.mapear(rs);
+                            encontrados.put(idDe.applyAsInt(fila), fila);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            LOG.error("Error buscando por IDs: {}", e.getMessage());
+            throw new RuntimeException("Error en base de datos", e);
+        }
+
+        List<T> resultado = new ArrayList<>(encontrados.size());
+        for (Integer id : pedidos) {
+            T fila = encontrados.get(id);
+            if (fila != null) {
+                resultado.add(fila);
+            }
+        }
+        return resultado;
+    }
+
+    private static void cerrar(AutoCloseable... recursos) {
+        for (AutoCloseable recurso : recursos) {
+            if (recurso == null) {
+                continue;
+            }
+            try {
+                recurso.close();
+            } catch (Exception e) {
+                LOG.error("Error cerrando recurso: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static final class Cursor<T> extends Spliterators.AbstractSpliterator<T> {
+        private final Connection conn;
+        private final PreparedStatement pstmt;
+        private final ResultSet rs;
+        private final MapeadorFila<T> mapeador;
+        private boolean cerrado;
+
+        Cursor(Connection conn, PreparedStatement pstmt, ResultSet rs, MapeadorFila<T> mapeador) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.conn = conn;
+            this.pstmt = pstmt;
+            this.rs = rs;
+            this.mapeador = mapeador;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> accion) {
+            if (cerrado) {
+                return false;
+            }
+            try {
+                if (!rs.next()) {
+                    cerrar();
+                    return false;
+                }
+                accion.accept(mapeador.mapear(rs));
+                return true;
+            } catch (SQLException e) {
+                cerrar();
+                LOG.error("Error recorriendo cursor: {}", e.getMessage());
+                throw new RuntimeException("Error en base de datos", e);
+            }
+        }
+
+        void cerrar() {
+            if (!cerrado) {
+                cerrado = true;
+                UtilSQL.cerrar(rs, pstmt, conn);
+            }
+        }
+    }
+
+    // "?, ?, ?" para construir cláusulas IN con n parámetros
+    static String marcadores(int n) {
+        return String.join(", ", Collections.nCopies(n, "?"));
+    }
+
+    // Redondea a potencia de 2 para que las listas IN generen pocos textos SQL distintos
+    // y aprovechen la caché de sentencias (el hueco se rellena repitiendo el último valor)
+    static int tamanoConRelleno(int n) {
+        int tamano = Integer.highestOneBit(Math.max(1, n));
+        if (tamano < n) {
+            tamano <<= 1;
+        }
+        return Math.min(tamano, Math.max(n, TAMANO_BLOQUE));
+    }
+
+    // Violaciones de restricción: código de error de MySQL o SQLState estándar (H2 y otros)
+    static boolean esClaveDuplicada(SQLException e) {
+        return tieneError(e, 1062, "23505");
+    }
+
+    // La fila hija apunta a un padre que no existe (FK al insertar/actualizar)
+    static boolean esReferenciaInexistente(SQLException e) {
+        return tieneError(e, 1452, "23506");
+    }
+
+    // El padre todavía tiene filas hijas (FK al borrar)
+    static boolean esReferenciaEnUso(SQLException e) {
+        return tieneError(e, 1451, "23503");
+    }
+
+    // Revisa también las causas y las excepciones encadenadas de un batch
+    private static boolean tieneError(SQLException e, int codigoMySQL, String estado) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException) {
+                for (SQLException s = (SQLException) t; s != null; s = s.getNextException()) {
+                    if (s.getErrorCode() == codigoMySQL || estado.equals(s.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,476 @@
+package dao;
+
+import config.DatabaseConnection;
+import config.UnitOfWork;
+import log.Log;
+import models.Libro;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntSupplier;
+
+// Escritura diferida de altas: insertar deja el libro en una cola acotada y vuelve enseguida,
+// con el ID ya asignado (AsignadorHiLo). Un hilo aparte lo escribe con insertarLote cuando
+// se juntan tamanoLote libros o pasan intervaloMs. Con la cola llena insertar espera (contrapresión).
+// Lo que queda en la cola se escribe en close(), que también se llama al apagar la JVM antes de cerrar el pool.
+// Dentro de una UnitOfWork el alta se escribe en el acto, en la transacción.
+//
+// Lo aceptado y aún no escrito se ve por ID e ISBN; los listados, búsquedas y conteos
+// lo verán tras escribirse. Un libro que la base de datos rechaza al escribirse (p. ej. su autor
+// no existe) ya no puede devolver el error a quien lo insertó: se registra y cuenta en getFallidos().
+public class WriteBehindLibroDAO extends LibroDAODecorador implements AutoCloseable {
+
+    private static final Log LOG = Log.de(WriteBehindLibroDAO.class);
+
+    // Tras un error de conexión el lote se reintenta con esperas crecientes; al cerrar, solo unas pocas veces
+    private static final long ESPERA_MAXIMA_MS = 5000;
+    private static final int REINTENTOS_AL_CERRAR = 3;
+    // Con la cola llena, cada cuánto vuelve a mirar insertar si se ha cerrado
+    private static final long ESPERA_COLA_MS = 100;
+
+    private final IntSupplier ids;
+    private final int tamanoLote;
+    private final long intervaloNanos;
+
+    private final BlockingQueue<Libro> cola;
+    private final Map<Integer, Libro> pendientes = new ConcurrentHashMap<>();
+    private final Map<String, Integer> isbnsPendientes = new ConcurrentHashMap<>();
+
+    // insertar toma la de lectura para encolar; close marca cerrado y después toma la de escritura,
+    // así espera a quien esté encolando y nada entra tras cerrar
+    private final ReentrantReadWriteLock cierre = new ReentrantReadWriteLock();
+    private volatile boolean cerrado;
+    // Lo pone close() con la de escritura ya tomada: desde entonces nadie más encola y el escritor puede acabar
+    private volatile boolean sinProductores;
+    // Solo el hilo escritor: al cerrar sin base de datos, los lotes restantes se intentan una vez
+    private boolean sinConexionAlCerrar;
+
+    // Hilos esperando en vaciar(): mientras haya alguno no se espera a completar lotes
+    private final AtomicInteger urgentes = new AtomicInteger();
+    private final Object escrito = new Object();
+
+    private final AtomicLong escritos = new AtomicLong();
+    private final AtomicLong fallidos = new AtomicLong();
+
+    private final Thread escritor;
+
+    public WriteBehindLibroDAO(LibroDAO delegado, IntSupplier ids, int capacidadCola, int tamanoLote, long intervaloMs) {
+        super(delegado);
+        if (ids == null) {
+            throw new IllegalArgumentException("Hace falta un asignador de IDs");
+        }
+        if (capacidadCola <= 0 || tamanoLote <= 0 || intervaloMs <= 0) {
+            throw new IllegalArgumentException("Capacidad de cola, tamaño de lote e intervalo deben ser positivos");
+        }
+        this.ids = ids;
+        this.tamanoLote = tamanoLote;
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        this.cola = new ArrayBlockingQueue<>(capacidadCola);
+
+        escritor = new Thread(this::escribirEnBucle, "libros-escritura-diferida");
+        escritor.setDaemon(true);
+        escritor.start();
+        DatabaseConnection.registerBeforeShutdown(this);
+    }
+
+    @Override
+    public void insertar(Libro libro) {
+        validarLibroParaInsertar(libro);
+        if (UnitOfWork.isActive()) {
+            insertarEnUnidad(List.of(libro));
+            return;
+        }
+        String isbn = tieneIsbn(libro) ? libro.getIsbn().trim() : null;
+
+        cierre.readLock().lock();
+        try {
+            if (cerrado) {
+                throw new IllegalStateException("La escritura diferida de libros está cerrada");
+            }
+            int id = ids.getAsInt();
+            Libro copia = new Libro(libro);
+            copia.setId(id);
+            if (copia.getCreatedAt() == null) {
+                copia.setCreatedAt(LocalDateTime.now());
+            }
+            // putIfAbsent reserva el ISBN: dos altas concurrentes del mismo no pueden pasar las dos
+            if (isbn != null && isbnsPendientes.putIfAbsent(isbn, id) != null) {
+                throw new IllegalArgumentException("Ya existe un libro con ISBN: " + libro.getIsbn());
+            }
+            // Si algo falla antes de quedar en cola (también existeIsbn con la base caída), se suelta la reserva
+            boolean encolado = false;
+            try {
+                if (isbn != null && delegado.existeIsbn(isbn)) {
+                    throw new IllegalArgumentException("Ya existe un libro con ISBN: " + libro.getIsbn());
+                }
+                pendientes.put(id, copia);
+                // Cola llena: se espera por tramos para no quedarse aquí si close() llega mientras tanto
+                while (!cola.offer(copia, ESPERA_COLA_MS, TimeUnit.MILLISECONDS)) {
+                    if (cerrado) {
+                        throw new IllegalStateException("La escritura diferida de libros está cerrada");
+                    }
+                }
+                encolado = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrumpido esperando sitio en la cola de escritura", e);
+            } finally {
+                if (!encolado) {
+                    olvidar(copia);
+                }
+            }
+            libro.setId(id);
+        } finally {
+            cierre.readLock().unlock();
+        }
+        LOG.debug("Libro aceptado para escritura diferida: {} (ID: {})", libro.getTitulo(), libro.getId());
+    }
+
+    // Cada libro se acepta como con insertar; si uno se rechaza, los anteriores ya están en cola
+    @Override
+    public List<Integer> insertarLote(List<Libro> libros) {
+        List<Integer> ids = new ArrayList<>();
+        if (libros == null || libros.isEmpty()) {
+            return ids;
+        }
+        Set<String> isbnsDelLote = new HashSet<>();
+        for (Libro libro : libros) {
+            validarLibroParaInsertar(libro);
+            if (tieneIsbn(libro) && !isbnsDelLote.add(libro.getIsbn().trim())) {
+                throw new IllegalArgumentException("ISBN repetido en el lote: " + libro.getIsbn());
+            }
+        }
+        if (UnitOfWork.isActive()) {
+            return insertarEnUnidad(libros);
+        }
+        for (Libro libro : libros) {
+            insertar(libro);
+            ids.add(libro.getId());
+        }
+        return ids;
+    }
+
+    // Dentro de una UnitOfWork el alta va en su transacción con el AUTO_INCREMENT de siempre: AsignadorHiLo
+    // lo deja tras cada bloque reservado, y reservar uno aquí esperaría a que acabe esta misma transacción
+    private List<Integer> insertarEnUnidad(List<Libro> libros) {
+        for (Libro libro : libros) {
+            if (tieneIsbn(libro) && isbnsPendientes.containsKey(libro.getIsbn().trim())) {
+                throw new IllegalArgumentException("Ya existe un libro con ISBN: " + libro.getIsbn());
+            }
+        }
+        return delegado.insertarLote(libros);
+    }
+
+    @Override
+    public Libro buscarPorId(int id) {
+        Libro pendiente = pendientes.get(id);
+        return pendiente != null ? new Libro(pendiente) : delegado.buscarPorId(id);
+    }
+
+    @Override
+    public List<Libro> buscarPorIds(Collection<Integer> ids) {
+        if (ids == null || pendientes.isEmpty()) {
+            return delegado.buscarPorIds(ids);
+        }
+        Set<Integer> enBase = new HashSet<>();
+        for (Integer id : ids) {
+            if (id != null && !pendientes.containsKey(id)) {
+                enBase.add(id);
+            }
+        }
+        Map<Integer, Libro> encontrados = new HashMap<>();
+        for (Libro libro : delegado.buscarPorIds(enBase)) {
+            encontrados.put(libro.getId(), libro);
+        }
+
+        List<Libro> libros = new ArrayList<>();
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            Libro libro = id != null ? encontrados.get(id) : null;
+            if (libro == null && id != null && !enBase.contains(id)) {
+                // Si se escribió entre la comprobación y ahora ya no está en pendientes: se lee de la base
+                libro = buscarPendiente(id);
+            }
+            if (libro != null) {
+                libros.add(libro);
+            }
+        }
+        return libros;
+    }
+
+    @Override
+    public Libro buscarPorIsbn(String isbn) {
+        if (isbn != null) {
+            Integer id = isbnsPendientes.get(isbn.trim());
+            Libro pendiente = id != null ? buscarPendiente(id) : null;
+            if (pendiente != null) {
+                return pendiente;
+            }
+        }
+        return delegado.buscarPorIsbn(isbn);
+    }
+
+    // Un libro pendiente no se modifica ni se borra hasta que está escrito
+    @Override
+    public void actualizar(Libro libro) {
+        if (pendientes.containsKey(libro.getId())) {
+            vaciar();
+        }
+        delegado.actualizar(libro);
+    }
+
+    @Override
+    public void eliminar(int id) {
+        if (pendientes.containsKey(id)) {
+            vaciar();
+        }
+        delegado.eliminar(id);
+    }
+
+    @Override
+    public boolean existe(int id) {
+        return pendientes.containsKey(id) || delegado.existe(id);
+    }
+
+    @Override
+    public boolean existeIsbn(String isbn) {
+        return (isbn != null && isbnsPendientes.containsKey(isbn.trim())) || delegado.existeIsbn(isbn);
+    }
+
+    @Override
+    public Set<String> existenIsbns(Collection<String> isbns) {
+        Set<String> existentes = new HashSet<>(delegado.existenIsbns(isbns));
+        if (isbns != null) {
+            for (String isbn : isbns) {
+                if (isbn != null && isbnsPendientes.containsKey(isbn.trim())) {
+                    existentes.add(isbn.trim());
+                }
+            }
+        }
+        return existentes;
+    }
+
+    // Espera a que esté escrito (o descartado) todo lo aceptado hasta ahora, sin esperar a completar lotes
+    public void vaciar() {
+        Set<Integer> esperados = new HashSet<>(pendientes.keySet());
+        if (esperados.isEmpty()) {
+            return;
+        }
+        urgentes.incrementAndGet();
+        try {
+            synchronized (escrito) {
+                while (pendientes.keySet().stream().anyMatch(esperados::contains) && escritor.isAlive()) {
+                    escrito.wait(100);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            urgentes.decrementAndGet();
+        }
+    }
+
+    public int getPendientes() {
+        return pendientes.size();
+    }
+
+    public long getEscritos() {
+        return escritos.get();
+    }
+
+    public long getFallidos() {
+        return fallidos.get();
+    }
+
+    // Deja de aceptar altas y espera a que se escriba lo que queda en la cola. Termina aunque
+    // la base de datos no responda: tras unos reintentos lo pendiente se descarta (getFallidos)
+    @Override
+    public synchronized void close() {
+        if (cerrado) {
+            return;
+        }
+        // Antes del cerrojo: quien espera sitio en la cola lo ve y suelta la de lectura
+        cerrado = true;
+        synchronized (escrito) {
+            escrito.notifyAll();
+        }
+        cierre.writeLock().lock();
+        try {
+            sinProductores = true;
+        } finally {
+            cierre.writeLock().unlock();
+        }
+        DatabaseConnection.unregisterBeforeShutdown(this);
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LOG.info("Escritura diferida cerrada: {} libros escritos, {} descartados", escritos.get(), fallidos.get());
+    }
+
+    private void escribirEnBucle() {
+        List<Libro> lote = new ArrayList<>(tamanoLote);
+        while (true) {
+            try {
+                // Se lee antes del poll: si ya no había productores y la cola está vacía, no queda nada por llegar
+                boolean ultimaVuelta = sinProductores;
+                Libro primero = cola.poll(cerrado ? TimeUnit.MILLISECONDS.toNanos(10) : intervaloNanos,
+                        TimeUnit.NANOSECONDS);
+                if (primero == null) {
+                    if (ultimaVuelta) {
+                        return;
+                    }
+                    continue;
+                }
+                lote.add(primero);
+                long limite = System.nanoTime() + intervaloNanos;
+                while (lote.size() < tamanoLote) {
+                    cola.drainTo(lote, tamanoLote - lote.size());
+                    long resta = limite - System.nanoTime();
+                    if (lote.size() >= tamanoLote || resta <= 0 || cerrado || urgentes.get() > 0) {
+                        break;
+                    }
+                    Libro siguiente = cola.poll(Math.min(resta, TimeUnit.MILLISECONDS.toNanos(10)), TimeUnit.NANOSECONDS);
+                    if (siguiente != null) {
+                        lote.add(siguiente);
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Nadie debería interrumpir este hilo: se escribe lo ya sacado de la cola y se sigue
+                LOG.warn("Hilo de escritura diferida interrumpido");
+            }
+
+            if (!lote.isEmpty()) {
+                try {
+                    escribir(lote);
+                } catch (RuntimeException e) {
+                    LOG.error("Error inesperado en la escritura diferida", e);
+                    for (Libro libro : lote) {
+                        descartar(libro);
+                    }
+                }
+                lote.clear();
+            }
+        }
+    }
+
+    private void escribir(List<Libro> lote) {
+        long espera = TimeUnit.NANOSECONDS.toMillis(intervaloNanos);
+        for (int intento = 1; ; intento++) {
+            try {
+                IdsReservados.insertarLoteConIds(delegado, lote);
+                for (Libro libro : lote) {
+                    confirmar(libro);
+                }
+                return;
+            } catch (IllegalArgumentException e) {
+                // Una fila inválida (autor inexistente, ISBN o ID ya escrito...) revierte su bloque entero:
+                // se reintenta de uno en uno para escribir las demás
+                LOG.warn("Lote de {} libros rechazado, se escribe de uno en uno: {}", lote.size(), e.getMessage());
+                escribirUnoAUno(lote);
+                return;
+            } catch (RuntimeException e) {
+                if (cerrado && (sinConexionAlCerrar || intento >= REINTENTOS_AL_CERRAR)) {
+                    sinConexionAlCerrar = true;
+                    LOG.error("No se pudieron escribir al cerrar; libros descartados: {}", lote.size());
+                    for (Libro libro : lote) {
+                        descartar(libro);
+                    }
+                    return;
+                }
+                // Base de datos caída o pool agotado: el lote se conserva y la cola llena frena a insertar
+                LOG.warn("Error escribiendo un lote de {} libros, se reintenta: {}", lote.size(), e.getMessage());
+                try {
+                    // close() la despierta para no esperar la pausa entera
+                    synchronized (escrito) {
+                        if (!cerrado) {
+                            escrito.wait(espera);
+                        }
+                    }
+                } catch (InterruptedException ie) {
+                    LOG.warn("Hilo de escritura diferida interrumpido");
+                }
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_MS);
+            }
+        }
+    }
+
+    private void escribirUnoAUno(List<Libro> lote) {
+        for (Libro libro : lote) {
+            try {
+                // insertarLote de LibroDAOImpl confirma por bloques: parte del lote pudo quedar escrita.
+                // Solo cuenta como escrito si la fila con ese ID es este libro y no otro que lo ocupó
+                Libro enBase = delegado.buscarPorId(libro.getId());
+                if (enBase == null) {
+                    IdsReservados.insertarLoteConIds(delegado, List.of(libro));
+                } else if (!mismoLibro(enBase, libro)) {
+                    throw new IllegalArgumentException("El ID " + libro.getId() + " ya lo tiene otro libro");
+                }
+                confirmar(libro);
+            } catch (RuntimeException e) {
+                LOG.warn("Libro {} descartado en la escritura diferida: {}", libro.getId(), e.getMessage());
+                descartar(libro);
+            }
+        }
+    }
+
+    private void confirmar(Libro libro) {
+        escritos.incrementAndGet();
+        olvidar(libro);
+    }
+
+    private void descartar(Libro libro) {
+        fallidos.incrementAndGet();
+        olvidar(libro);
+    }
+
+    private void olvidar(Libro libro) {
+        pendientes.remove(libro.getId(), libro);
+        if (tieneIsbn(libro)) {
+            isbnsPendientes.remove(libro.getIsbn().trim(), libro.getId());
+        }
+        synchronized (escrito) {
+            escrito.notifyAll();
+        }
+    }
+
+    private static boolean mismoLibro(Libro enBase, Libro libro) {
+        String isbnBase = tieneIsbn(enBase) ? enBase.getIsbn().trim() : null;
+        String isbn = tieneIsbn(libro) ? libro.getIsbn().trim() : null;
+        return Objects.equals(isbnBase, isbn) && Objects.equals(enBase.getTitulo(), libro.getTitulo())
+                && enBase.getAutor() != null && enBase.getAutor().getId() == libro.getAutor().getId();
+    }
+
+    private Libro buscarPendiente(int id) {
+        Libro pendiente = pendientes.get(id);
+        return pendiente != null ? new Libro(pendiente) : delegado.buscarPorId(id);
+    }
+
+    private static void validarLibroParaInsertar(Libro libro) {
+        if (libro.getAutor() == null) {
+            throw new IllegalArgumentException("El libro debe tener un autor");
+        }
+        if (libro.getAutor().getId() <= 0) {
+            throw new IllegalArgumentException("El autor debe tener un ID válido");
+        }
+    }
+
+    private static boolean tieneIsbn(Libro libro) {
+        return libro.getIsbn() != null && !libro.getIsbn().trim().isEmpty();
+    }
+}
@@ -0,0 +1,94 @@
+package esquema;
+
+import config.DatabaseConnection;
+import dao.ConsultasDAO;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+// Pide el plan (EXPLAIN) de cada consulta de ConsultasDAO y marca lo que suele indicar un índice que
+// falta: recorridos completos de tabla y ordenaciones en memoria (filesort).
+// LIKE '%texto%' no puede usar un índice B-tree; esas búsquedas las sirve el índice en memoria.
+public class InformeExplain {
+
+    // Columnas del EXPLAIN de MySQL que interesan; con otros motores se muestran todas
+    private static final List<String> COLUMNAS = List.of("table", "type", "key", "rows", "filtered", "Extra");
+
+    private int avisos;
+
+    public String generar() {
+        StringBuilder informe = new StringBuilder();
+        avisos = 0;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (ConsultasDAO.Consulta consulta : ConsultasDAO.todas()) {
+                informe.append("== ").append(consulta.getNombre()).append('\n');
+                explicar(conn, consulta, informe);
+                informe.append('\n');
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Error en base de datos", e);
+        }
+        informe.append(avisos == 0 ? "Sin avisos" : avisos + " aviso(s)").append('\n');
+        return informe.toString();
+    }
+
+    public int getAvisos() {
+        return avisos;
+    }
+
+    private void explicar(Connection conn, ConsultasDAO.Consulta consulta, StringBuilder informe) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + consulta.getSql())) {
+            List<Object> parametros = consulta.getParametros();
+            for (int i = 0; i < parametros.size(); i++) {
+                pstmt.setObject(i + 1, parametros.get(i));
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                while (rs.next()) {
+                    String tipo = null;
+                    String clave = null;
+                    String extra = null;
+                    StringBuilder fila = new StringBuilder("  ");
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        String columna = meta.getColumnLabel(i);
+                        String valor = rs.getString(i);
+                        if (columna.equalsIgnoreCase("type")) {
+                            tipo = valor;
+                        } else if (columna.equalsIgnoreCase("key")) {
+                            clave = valor;
+                        } else if (columna.equalsIgnoreCase("Extra")) {
+                            extra = valor;
+                        }
+                        if (meta.getColumnCount() == 1 || contiene(columna)) {
+                            fila.append(columna).append('=').append(valor).append("  ");
+                        }
+                    }
+                    informe.append(fila.toString().stripTrailing()).append('\n');
+
+                    if ("ALL".equalsIgnoreCase(tipo) && clave == null) {
+                        avisos++;
+                        informe.append("  ! recorrido completo de la tabla\n");
+                    }
+                    if (extra != null && extra.contains("Using filesort")) {
+                        avisos++;
+                        informe.append("  ! ordenación en memoria (filesort)\n");
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean contiene(String columna) {
+        for (String c : COLUMNAS) {
+            if (c.equalsIgnoreCase(columna)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,94 @@
+package esquema;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// Un cambio de esquema con número de versión. En MySQL cada DDL se confirma por su cuenta, así que
+// si una migración falla a medias se vuelve a lanzar entera: los índices que ya existen se saltan.
+public final class Migracion {
+
+    private final int version;
+    private final String descripcion;
+    private final List<Paso> pasos = new ArrayList<>();
+
+    public Migracion(int version, String descripcion) {
+        if (version <= 0) {
+            throw new IllegalArgumentException("La versión de una migración debe ser mayor que 0");
+        }
+        this.version = version;
+        this.descripcion = descripcion;
+    }
+
+    public Migracion sql(String sentencia) {
+        pasos.add(new Paso(null, null, sentencia));
+        return this;
+    }
+
+    public Migracion indice(String nombre, String tabla, String columnas) {
+        pasos.add(new Paso(nombre, tabla, "CREATE INDEX " + nombre + " ON " + tabla + " (" + columnas + ")"));
+        return this;
+    }
+
+    public void aplicar(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (Paso paso : pasos) {
+                if (paso.indice == null || !existeIndice(conn, paso.tabla, paso.indice)) {
+                    stmt.execute(paso.sentencia);
+                }
+            }
+        }
+    }
+
+    private static boolean existeIndice(Connection conn, String tabla, String indice) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        // H2 guarda los nombres en mayúsculas y MySQL tal cual
+        for (String nombreTabla : new String[]{tabla, tabla.toUpperCase()}) {
+            try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), null, nombreTabla, false, true)) {
+                while (rs.next()) {
+                    if (indice.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    public List<String> getSentencias() {
+        List<String> sentencias = new ArrayList<>(pasos.size());
+        for (Paso paso : pasos) {
+            sentencias.add(paso.sentencia);
+        }
+        return sentencias;
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " - " + descripcion;
+    }
+
+    private static final class Paso {
+        final String indice;  // null = sentencia que se ejecuta siempre
+        final String tabla;
+        final String sentencia;
+
+        Paso(String indice, String tabla, String sentencia) {
+            this.indice = indice;
+            this.tabla = tabla;
+            this.sentencia = sentencia;
+        }
+    }
+}
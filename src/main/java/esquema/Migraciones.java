@@ -0,0 +1,70 @@
+package esquema;
+
+import java.util.List;
+
+// Historia del esquema, en orden. Una migración ya publicada no se edita: los cambios van en una nueva.
+public final class Migraciones {
+
+    private Migraciones() {
+    }
+
+    public static List<Migracion> todas() {
+        return List.of(
+                // Las mismas tablas que creaba DatabaseSetup; IF NOT EXISTS para las bases ya creadas así
+                new Migracion(1, "Tablas autores y libros")
+                        .sql("""
+                                CREATE TABLE IF NOT EXISTS autores (
+                                    id INT PRIMARY KEY AUTO_INCREMENT,
+                                    nombre VARCHAR(100) NOT NULL,
+                                    apellido VARCHAR(100) NOT NULL,
+                                    nacionalidad VARCHAR(50),
+                                    fecha_nacimiento DATE,
+                                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                                )
+                                """)
+                        .sql("""
+                                CREATE TABLE IF NOT EXISTS libros (
+                                    id INT PRIMARY KEY AUTO_INCREMENT,
+                                    titulo VARCHAR(100) NOT NULL,
+                                    isbn VARCHAR(13) UNIQUE,
+                                    genero VARCHAR(50),
+                                    ano_publicacion YEAR,
+                                    paginas INT,
+                                    autor_id INT NOT NULL,
+                                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                                    FOREIGN KEY (autor_id) REFERENCES autores(id)
+                                )
+                                """),
+
+                // Cada índice sigue el filtro y después el ORDER BY de su consulta, con el id al final
+                // como desempate de la paginación por seek: MySQL lee en orden y se ahorra el filesort.
+                // buscarPorGenero, contarPorGenero y el GROUP BY genero de las estadísticas
+                new Migracion(2, "Índices de libros para filtros y ordenación")
+                        .indice("idx_libros_genero_ano_titulo", "libros", "genero, ano_publicacion DESC, titulo, id")
+                        // buscarPorAutor; también sirve a la clave foránea: InnoDB borra solo el índice que creó
+                        // implícitamente para ella en cuanto existe otro que empieza por autor_id
+                        .indice("idx_libros_autor_ano_titulo", "libros", "autor_id, ano_publicacion DESC, titulo, id")
+                        // buscarPorAño, buscarPorRangoAños y las décadas de las estadísticas
+                        .indice("idx_libros_ano_titulo", "libros", "ano_publicacion DESC, titulo, id")
+                        // buscarTodos, streamTodos y las páginas por título
+                        .indice("idx_libros_titulo", "libros", "titulo, id"),
+
+                // buscarPorNacionalidad (y su GROUP BY en estadísticas) y el listado por apellido, nombre
+                new Migracion(3, "Índices de autores por nacionalidad y apellido")
+                        .indice("idx_autores_nacionalidad_apellido", "autores", "nacionalidad, apellido, nombre")
+                        .indice("idx_autores_apellido_nombre", "autores", "apellido, nombre"),
+
+                // AsignadorHiLo reserva bloques de IDs aquí; la fila de libros arranca tras el último existente
+                new Migracion(4, "Tabla de secuencias para reservar IDs de libros")
+                        .sql("""
+                                CREATE TABLE IF NOT EXISTS secuencias (
+                                    nombre VARCHAR(50) PRIMARY KEY,
+                                    siguiente BIGINT NOT NULL
+                                )
+                                """)
+                        .sql("""
+                                INSERT IGNORE INTO secuencias (nombre, siguiente)
+                                SELECT 'libros', COALESCE(MAX(id), 0) + 1 FROM libros
+                                """));
+    }
+}
@@ -0,0 +1,159 @@
+package esquema;
+
+import config.DatabaseConnection;
+import log.Log;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Aplica en orden las migraciones que faltan y apunta cada una en schema_version al terminarla.
+// Dos instancias que arrancan a la vez se turnan con GET_LOCK: la segunda lee las versiones
+// cuando la primera ya ha terminado y no vuelve a aplicar ninguna.
+public class Migrador {
+
+    private static final Log LOG = Log.de(Migrador.class);
+
+    static final String CERROJO = "libreria_migraciones";
+    private static final int ESPERA_CERROJO_S = 60;
+
+    static final String SQL_CREAR_TABLA_VERSIONES = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INT PRIMARY KEY,
+                descripcion VARCHAR(200) NOT NULL,
+                duracion_ms BIGINT NOT NULL,
+                aplicada_en TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )
+            """;
+
+    private final List<Migracion> migraciones;
+
+    public Migrador() {
+        this(Migraciones.todas());
+    }
+
+    public Migrador(List<Migracion> migraciones) {
+        int anterior = 0;
+        for (Migracion migracion : migraciones) {
+            if (migracion.getVersion() <= anterior) {
+                throw new IllegalArgumentException("Migraciones desordenadas o repetidas en la versión " +
+                        migracion.getVersion());
+            }
+            anterior = migracion.getVersion();
+        }
+        this.migraciones = List.copyOf(migraciones);
+    }
+
+    public List<Migracion> migrar() {
+        List<Migracion> aplicadas = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            tomarCerrojo(conn);
+            try {
+                crearTablaVersiones(conn);
+                Set<Integer> hechas = versionesAplicadas(conn);
+
+                for (Migracion migracion : migraciones) {
+                    if (hechas.contains(migracion.getVersion())) {
+                        continue;
+                    }
+                    long inicio = System.nanoTime();
+                    migracion.aplicar(conn);
+                    long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+                    registrar(conn, migracion, duracionMs);
+                    aplicadas.add(migracion);
+                    LOG.info("Migración aplicada: {} ({} ms)", migracion, duracionMs);
+                }
+            } finally {
+                soltarCerrojo(conn);
+            }
+        } catch (SQLException e) {
+            LOG.error("Error aplicando migraciones: {}", e.getMessage());
+            throw new RuntimeException("Error en base de datos", e);
+        }
+        return aplicadas;
+    }
+
+    public List<Migracion> getPendientes() {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            crearTablaVersiones(conn);
+            Set<Integer> hechas = versionesAplicadas(conn);
+            List<Migracion> pendientes = new ArrayList<>();
+            for (Migracion migracion : migraciones) {
+                if (!hechas.contains(migracion.getVersion())) {
+                    pendientes.add(migracion);
+                }
+            }
+            return pendientes;
+        } catch (SQLException e) {
+            LOG.error("Error leyendo versiones del esquema: {}", e.getMessage());
+            throw new RuntimeException("Error en base de datos", e);
+        }
+    }
+
+    public int getVersionActual() {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            crearTablaVersiones(conn);
+            int actual = 0;
+            for (int version : versionesAplicadas(conn)) {
+                actual = Math.max(actual, version);
+            }
+            return actual;
+        } catch (SQLException e) {
+            LOG.error("Error leyendo versiones del esquema: {}", e.getMessage());
+            throw new RuntimeException("Error en base de datos", e);
+        }
+    }
+
+    // El cerrojo es de la sesión: se toma y se suelta en la misma conexión que aplica las migraciones
+    private static void tomarCerrojo(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstmt.setString(1, CERROJO);
+            pstmt.setInt(2, ESPERA_CERROJO_S);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("No se pudo tomar el cerrojo de migraciones en " + ESPERA_CERROJO_S + " s");
+                }
+            }
+        }
+    }
+
+    private static void soltarCerrojo(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstmt.setString(1, CERROJO);
+            pstmt.executeQuery().close();
+        }
+    }
+
+    private static void crearTablaVersiones(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(SQL_CREAR_TABLA_VERSIONES);
+        }
+    }
+
+    private static Set<Integer> versionesAplicadas(Connection conn) throws SQLException {
+        Set<Integer> versiones = new HashSet<>();
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT version FROM schema_version");
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                versiones.add(rs.getInt(1));
+            }
+        }
+        return versiones;
+    }
+
+    private static void registrar(Connection conn, Migracion migracion, long duracionMs) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO schema_version (version, descripcion, duracion_ms) VALUES (?, ?, ?)")) {
+            pstmt.setInt(1, migracion.getVersion());
+            pstmt.setString(2, migracion.getDescripcion());
+            pstmt.setLong(3, duracionMs);
+            pstmt.executeUpdate();
+        }
+    }
+}
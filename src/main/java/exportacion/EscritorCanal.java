@@ -0,0 +1,139 @@
+package exportacion;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+// Escritura secuencial a un FileChannel a través de un único ByteBuffer directo: el texto se codifica
+// a UTF-8 directamente en el buffer (sin String ni byte[] intermedios) y el canal recibe bloques grandes.
+// No es seguro entre hilos.
+final class EscritorCanal implements Closeable {
+
+    static final int TAMANO_BUFFER = 1 << 20;
+
+    private final FileChannel canal;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANO_BUFFER);
+    private final CharsetEncoder utf8 = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final byte[] digitos = new byte[20];
+    private long escritos;
+
+    EscritorCanal(FileChannel canal) {
+        this.canal = canal;
+    }
+
+    void texto(CharSequence texto) throws IOException {
+        int n = texto.length();
+        int i = 0;
+        // Camino rápido para ASCII, que es casi todo el catálogo
+        while (i < n) {
+            char c = texto.charAt(i);
+            if (c >= 0x80) {
+                break;
+            }
+            asegurar(1);
+            buffer.put((byte) c);
+            i++;
+        }
+        if (i == n) {
+            return;
+        }
+        CharBuffer resto = CharBuffer.wrap(texto, i, n);
+        utf8.reset();
+        while (true) {
+            CoderResult resultado = utf8.encode(resto, buffer, true);
+            if (resultado.isOverflow()) {
+                vaciar();
+            } else {
+                break;
+            }
+        }
+        while (utf8.flush(buffer).isOverflow()) {
+            vaciar();
+        }
+    }
+
+    void caracter(char c) throws IOException {
+        if (c < 0x80) {
+            asegurar(1);
+            buffer.put((byte) c);
+        } else {
+            texto(String.valueOf(c));
+        }
+    }
+
+    // Número en decimal ASCII sin pasar por Long.toString
+    void numero(long valor) throws IOException {
+        if (valor == Long.MIN_VALUE) {
+            texto(Long.toString(valor));
+            return;
+        }
+        asegurar(digitos.length + 1);
+        if (valor < 0) {
+            buffer.put((byte) '-');
+            valor = -valor;
+        }
+        int pos = digitos.length;
+        do {
+            digitos[--pos] = (byte) ('0' + valor % 10);
+            valor /= 10;
+        } while (valor != 0);
+        buffer.put(digitos, pos, digitos.length - pos);
+    }
+
+    void int32(int valor) throws IOException {
+        asegurar(4);
+        buffer.putInt(valor);
+    }
+
+    void int64(long valor) throws IOException {
+        asegurar(8);
+        buffer.putLong(valor);
+    }
+
+    void bytes(byte[] datos, int desde, int longitud) throws IOException {
+        while (longitud > 0) {
+            if (!buffer.hasRemaining()) {
+                vaciar();
+            }
+            int trozo = Math.min(longitud, buffer.remaining());
+            buffer.put(datos, desde, trozo);
+            desde += trozo;
+            longitud -= trozo;
+        }
+    }
+
+    long getBytesEscritos() {
+        return escritos + buffer.position();
+    }
+
+    private void asegurar(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            vaciar();
+        }
+    }
+
+    void vaciar() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            escritos += canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            vaciar();
+        } finally {
+            canal.close();
+        }
+    }
+}
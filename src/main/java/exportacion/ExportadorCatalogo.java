@@ -0,0 +1,356 @@
+package exportacion;
+
+import dao.LibroDAO;
+import log.Log;
+import models.Autor;
+import models.Libro;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Exporta libros JOIN autores recorriendo streamTodos (cursor con fetch size) y escribiendo cada fila
+// según llega a un FileChannel: la memoria no depende del tamaño de la tabla.
+// Se escribe en "<destino>.tmp" y solo al terminar se renombra, así un fallo no deja un archivo a medias.
+//
+// Columnas (CSV con cabecera, JSON por líneas con las mismas claves; el importador las reconoce):
+//   id, titulo, isbn, genero, ano_publicacion, paginas, created_at,
+//   autor_id, autor_nombre, autor_apellido, autor_nacionalidad, autor_fecha_nacimiento
+//
+// Formato COLUMNAR (big-endian):
+//   "LIBCOL01"  int numColumnas  { int tipo (1 = int32, 2 = int64, 3 = texto)  int len  bytes nombre }*
+//   grupos:     int filas (> 0), y por cada columna en orden sus 'filas' valores seguidos:
+//                 int32 / int64 -> el valor, nulo = Integer.MIN_VALUE / Long.MIN_VALUE
+//                 texto         -> 'filas' longitudes int32 en bytes (-1 = nulo) y después los bytes UTF-8
+//   fin:        int 0  long totalFilas  "LIBCOL01"
+//   created_at va en milisegundos desde 1970 (hora local tomada como UTC); autor_fecha_nacimiento en días.
+public class ExportadorCatalogo {
+
+    private static final Log LOG = Log.de(ExportadorCatalogo.class);
+
+    public static final int FILAS_POR_GRUPO = 65_536;
+    static final byte[] MAGIA = "LIBCOL01".getBytes(StandardCharsets.US_ASCII);
+    static final int INT32 = 1;
+    static final int INT64 = 2;
+    static final int TEXTO = 3;
+
+    static final String[] COLUMNAS = {"id", "titulo", "isbn", "genero", "ano_publicacion", "paginas", "created_at",
+            "autor_id", "autor_nombre", "autor_apellido", "autor_nacionalidad", "autor_fecha_nacimiento"};
+    static final int[] TIPOS = {INT32, TEXTO, TEXTO, TEXTO, INT32, INT32, INT64,
+            INT32, TEXTO, TEXTO, TEXTO, INT32};
+
+    private final LibroDAO libroDAO;
+
+    public ExportadorCatalogo(LibroDAO libroDAO) {
+        this.libroDAO = libroDAO;
+    }
+
+    public long exportar(Path destino) {
+        return exportar(destino, FormatoExportacion.deArchivo(destino));
+    }
+
+    // Devuelve el número de libros exportados
+    public long exportar(Path destino, FormatoExportacion formato) {
+        long inicio = System.nanoTime();
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        long filas = 0;
+        long bytes;
+        try (EscritorCanal salida = new EscritorCanal(FileChannel.open(temporal, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+             Stream<Libro> libros = libroDAO.streamTodos()) {
+
+            Iterator<Libro> it = libros.iterator();
+            switch (formato) {
+                case CSV:
+                    for (int i = 0; i < COLUMNAS.length; i++) {
+                        salida.texto(i == 0 ? COLUMNAS[i] : "," + COLUMNAS[i]);
+                    }
+                    salida.caracter('\n');
+                    while (it.hasNext()) {
+                        filaCsv(salida, it.next());
+                        filas++;
+                    }
+                    break;
+                case JSONL:
+                    while (it.hasNext()) {
+                        filaJson(salida, it.next());
+                        filas++;
+                    }
+                    break;
+                case COLUMNAR:
+                    filas = columnar(salida, it);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Formato no soportado: " + formato);
+            }
+            bytes = salida.getBytesEscritos();
+        } catch (IOException e) {
+            borrar(temporal);
+            throw new RuntimeException("Error escribiendo la exportación", e);
+        } catch (RuntimeException e) {
+            borrar(temporal);
+            throw e;
+        }
+
+        try {
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            borrar(temporal);
+            throw new RuntimeException("Error escribiendo la exportación", e);
+        }
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        LOG.info("Exportados {} libros ({} bytes) en {} ms", filas, bytes, (long) (segundos * 1000));
+        return filas;
+    }
+
+    private static void borrar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            LOG.warn("No se pudo borrar {}: {}", archivo, e.getMessage());
+        }
+    }
+
+    private static void filaCsv(EscritorCanal salida, Libro libro) throws IOException {
+        Autor autor = libro.getAutor();
+        salida.numero(libro.getId());
+        salida.caracter(',');
+        textoCsv(salida, libro.getTitulo());
+        salida.caracter(',');
+        textoCsv(salida, libro.getIsbn());
+        salida.caracter(',');
+        textoCsv(salida, libro.getGenero());
+        salida.caracter(',');
+        if (libro.getAnoPublicacion() != null) {
+            salida.numero(libro.getAnoPublicacion().getValue());
+        }
+        salida.caracter(',');
+        salida.numero(libro.getPaginas());
+        salida.caracter(',');
+        if (libro.getCreatedAt() != null) {
+            salida.texto(libro.getCreatedAt().toString());
+        }
+        salida.caracter(',');
+        if (autor != null) {
+            salida.numero(autor.getId());
+            salida.caracter(',');
+            textoCsv(salida, autor.getNombre());
+            salida.caracter(',');
+            textoCsv(salida, autor.getApellido());
+            salida.caracter(',');
+            textoCsv(salida, autor.getNacionalidad());
+            salida.caracter(',');
+            if (autor.getFechaNacimiento() != null) {
+                salida.texto(autor.getFechaNacimiento().toString());
+            }
+        } else {
+            salida.texto(",,,,");
+        }
+        salida.caracter('\n');
+    }
+
+    // Entre comillas solo si hace falta (coma, comillas o salto de línea)
+    private static void textoCsv(EscritorCanal salida, String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        boolean comillas = false;
+        for (int i = 0; i < valor.length() && !comillas; i++) {
+            char c = valor.charAt(i);
+            comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!comillas) {
+            salida.texto(valor);
+            return;
+        }
+        salida.caracter('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') {
+                salida.caracter('"');
+            }
+            salida.caracter(c);
+        }
+        salida.caracter('"');
+    }
+
+    private static void filaJson(EscritorCanal salida, Libro libro) throws IOException {
+        Autor autor = libro.getAutor();
+        salida.texto("{\"id\":");
+        salida.numero(libro.getId());
+        salida.texto(",\"titulo\":");
+        textoJson(salida, libro.getTitulo());
+        salida.texto(",\"isbn\":");
+        textoJson(salida, libro.getIsbn());
+        salida.texto(",\"genero\":");
+        textoJson(salida, libro.getGenero());
+        salida.texto(",\"ano_publicacion\":");
+        if (libro.getAnoPublicacion() != null) {
+            salida.numero(libro.getAnoPublicacion().getValue());
+        } else {
+            salida.texto("null");
+        }
+        salida.texto(",\"paginas\":");
+        salida.numero(libro.getPaginas());
+        salida.texto(",\"created_at\":");
+        textoJson(salida, libro.getCreatedAt() != null ? libro.getCreatedAt().toString() : null);
+        salida.texto(",\"autor_id\":");
+        if (autor != null) {
+            salida.numero(autor.getId());
+        } else {
+            salida.texto("null");
+        }
+        salida.texto(",\"autor_nombre\":");
+        textoJson(salida, autor != null ? autor.getNombre() : null);
+        salida.texto(",\"autor_apellido\":");
+        textoJson(salida, autor != null ? autor.getApellido() : null);
+        salida.texto(",\"autor_nacionalidad\":");
+        textoJson(salida, autor != null ? autor.getNacionalidad() : null);
+        salida.texto(",\"autor_fecha_nacimiento\":");
+        textoJson(salida, autor != null && autor.getFechaNacimiento() != null
+                ? autor.getFechaNacimiento().toString() : null);
+        salida.texto("}\n");
+    }
+
+    private static void textoJson(EscritorCanal salida, String valor) throws IOException {
+        if (valor == null) {
+            salida.texto("null");
+            return;
+        }
+        salida.caracter('"');
+        int desde = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                continue;
+            }
+            if (i > desde) {
+                salida.texto(valor.substring(desde, i));
+            }
+            switch (c) {
+                case '"': salida.texto("\\\""); break;
+                case '\\': salida.texto("\\\\"); break;
+                case '\n': salida.texto("\\n"); break;
+                case '\r': salida.texto("\\r"); break;
+                case '\t': salida.texto("\\t"); break;
+                default: salida.texto(String.format("\\u%04x", (int) c));
+            }
+            desde = i + 1;
+        }
+        if (desde == 0) {
+            salida.texto(valor);
+        } else if (desde < valor.length()) {
+            salida.texto(valor.substring(desde));
+        }
+        salida.caracter('"');
+    }
+
+    private static long columnar(EscritorCanal salida, Iterator<Libro> libros) throws IOException {
+        salida.bytes(MAGIA, 0, MAGIA.length);
+        salida.int32(COLUMNAS.length);
+        for (int i = 0; i < COLUMNAS.length; i++) {
+            byte[] nombre = COLUMNAS[i].getBytes(StandardCharsets.UTF_8);
+            salida.int32(TIPOS[i]);
+            salida.int32(nombre.length);
+            salida.bytes(nombre, 0, nombre.length);
+        }
+
+        GrupoColumnas grupo = new GrupoColumnas(FILAS_POR_GRUPO);
+        long total = 0;
+        while (libros.hasNext()) {
+            grupo.agregar(libros.next());
+            total++;
+            if (grupo.filas == FILAS_POR_GRUPO) {
+                grupo.escribir(salida);
+            }
+        }
+        if (grupo.filas > 0) {
+            grupo.escribir(salida);
+        }
+
+        salida.int32(0);
+        salida.int64(total);
+        salida.bytes(MAGIA, 0, MAGIA.length);
+        return total;
+    }
+
+    // Un grupo de filas en memoria, columna a columna; se reutiliza entre grupos
+    private static final class GrupoColumnas {
+        final int[][] enteros;
+        final long[] creados;
+        final String[][] textos;
+        int filas;
+
+        GrupoColumnas(int capacidad) {
+            enteros = new int[COLUMNAS.length][];
+            textos = new String[COLUMNAS.length][];
+            for (int c = 0; c < COLUMNAS.length; c++) {
+                if (TIPOS[c] == INT32) {
+                    enteros[c] = new int[capacidad];
+                } else if (TIPOS[c] == TEXTO) {
+                    textos[c] = new String[capacidad];
+                }
+            }
+            creados = new long[capacidad];
+        }
+
+        void agregar(Libro libro) {
+            Autor autor = libro.getAutor();
+            int f = filas++;
+            enteros[0][f] = libro.getId();
+            textos[1][f] = libro.getTitulo();
+            textos[2][f] = libro.getIsbn();
+            textos[3][f] = libro.getGenero();
+            enteros[4][f] = libro.getAnoPublicacion() != null ? libro.getAnoPublicacion().getValue() : Integer.MIN_VALUE;
+            enteros[5][f] = libro.getPaginas();
+            creados[f] = libro.getCreatedAt() != null
+                    ? libro.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : Long.MIN_VALUE;
+            enteros[7][f] = autor != null ? autor.getId() : Integer.MIN_VALUE;
+            textos[8][f] = autor != null ? autor.getNombre() : null;
+            textos[9][f] = autor != null ? autor.getApellido() : null;
+            textos[10][f] = autor != null ? autor.getNacionalidad() : null;
+            enteros[11][f] = autor != null && autor.getFechaNacimiento() != null
+                    ? (int) autor.getFechaNacimiento().toEpochDay() : Integer.MIN_VALUE;
+        }
+
+        void escribir(EscritorCanal salida) throws IOException {
+            salida.int32(filas);
+            byte[][] codificados = new byte[filas][];
+            for (int c = 0; c < COLUMNAS.length; c++) {
+                switch (TIPOS[c]) {
+                    case INT32:
+                        for (int f = 0; f < filas; f++) {
+                            salida.int32(enteros[c][f]);
+                        }
+                        break;
+                    case INT64:
+                        for (int f = 0; f < filas; f++) {
+                            salida.int64(creados[f]);
+                        }
+                        break;
+                    default:
+                        for (int f = 0; f < filas; f++) {
+                            String valor = textos[c][f];
+                            codificados[f] = valor != null ? valor.getBytes(StandardCharsets.UTF_8) : null;
+                            salida.int32(valor != null ? codificados[f].length : -1);
+                        }
+                        for (int f = 0; f < filas; f++) {
+                            if (codificados[f] != null) {
+                                salida.bytes(codificados[f], 0, codificados[f].length);
+                            }
+                            textos[c][f] = null;
+                        }
+                }
+            }
+            filas = 0;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package exportacion;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+public enum FormatoExportacion {
+    CSV,
+    JSONL,
+    // Binario por columnas en grupos de filas, ver ExportadorCatalogo
+    COLUMNAR;
+
+    // Por la extensión: .csv, .jsonl/.ndjson o .col
+    public static FormatoExportacion deArchivo(Path archivo) {
+        String nombre = archivo.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (nombre.endsWith(".csv")) {
+            return CSV;
+        }
+        if (nombre.endsWith(".jsonl") || nombre.endsWith(".ndjson")) {
+            return JSONL;
+        }
+        if (nombre.endsWith(".col")) {
+            return COLUMNAR;
+        }
+        throw new IllegalArgumentException("Formato de exportación desconocido: " + archivo.getFileName());
+    }
+}
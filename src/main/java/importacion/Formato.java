@@ -0,0 +1,21 @@
+package importacion;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+public enum Formato {
+    CSV,
+    JSONL;
+
+    // Por la extensión: .csv, .jsonl o .ndjson
+    public static Formato deArchivo(Path archivo) {
+        String nombre = archivo.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (nombre.endsWith(".csv")) {
+            return CSV;
+        }
+        if (nombre.endsWith(".jsonl") || nombre.endsWith(".ndjson")) {
+            return JSONL;
+        }
+        throw new IllegalArgumentException("Formato de importación desconocido: " + archivo.getFileName());
+    }
+}
@@ -0,0 +1,399 @@
+package importacion;
+
+import dao.AutorDAO;
+import dao.LibroDAO;
+import log.Log;
+import models.Autor;
+import models.Libro;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+// Importa un catálogo (CSV con cabecera o JSON por líneas) en tres etapas unidas por colas acotadas:
+//   lector (1 hilo)  ->  parseo (N hilos)  ->  escritura (el hilo que llama)
+// Si la base de datos va más lenta que el parseo, las colas se llenan y el lector espera: la memoria
+// queda acotada a unos pocos bloques en vuelo, no al tamaño del archivo.
+// La escritura es de un solo hilo y por bloques, en el orden del archivo aunque se parseen en paralelo:
+// resuelve los autores por nombre con un mapa local (los que faltan se crean con un insertarLote),
+// descarta los ISBN repetidos en el archivo (se queda el primero) o ya existentes y guarda los
+// libros con insertarLote. Así el mismo archivo importa siempre las mismas filas.
+public class ImportadorCatalogo {
+
+    private static final Log LOG = Log.de(ImportadorCatalogo.class);
+
+    public static final int TAMANO_BLOQUE_POR_DEFECTO = 1_000;
+    private static final long PROGRESO_CADA = 50_000;
+    private static final int AVISOS_MAXIMOS = 20;
+    // Un registro CSV con una comilla sin cerrar no puede tragarse el resto del archivo
+    static final int MAX_LINEAS_REGISTRO = 50;
+
+    private static final Bloque FIN = new Bloque(0, List.of());
+
+    private final LibroDAO libroDAO;
+    private final AutorDAO autorDAO;
+    private final int hilosParseo;
+    private final int tamanoBloque;
+
+    public ImportadorCatalogo(LibroDAO libroDAO, AutorDAO autorDAO) {
+        this(libroDAO, autorDAO, Runtime.getRuntime().availableProcessors(), TAMANO_BLOQUE_POR_DEFECTO);
+    }
+
+    public ImportadorCatalogo(LibroDAO libroDAO, AutorDAO autorDAO, int hilosParseo, int tamanoBloque) {
+        if (hilosParseo <= 0 || tamanoBloque <= 0) {
+            throw new IllegalArgumentException("Hilos de parseo y tamaño de bloque deben ser mayores que 0");
+        }
+        this.libroDAO = libroDAO;
+        this.autorDAO = autorDAO;
+        this.hilosParseo = hilosParseo;
+        this.tamanoBloque = tamanoBloque;
+    }
+
+    public ResumenImportacion importar(Path archivo) {
+        return importar(archivo, Formato.deArchivo(archivo));
+    }
+
+    public ResumenImportacion importar(Path archivo, Formato formato) {
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            return importar(lector, formato);
+        } catch (IOException e) {
+            throw new RuntimeException("Error leyendo el archivo de importación", e);
+        }
+    }
+
+    public ResumenImportacion importar(BufferedReader lector, Formato formato) throws IOException {
+        long inicio = System.nanoTime();
+        ParserFilas parser;
+        if (formato == Formato.CSV) {
+            String cabecera = lector.readLine();
+            if (cabecera == null) {
+                return new ResumenImportacion(0, 0, 0, 0, 0, 0, System.nanoTime() - inicio);
+            }
+            parser = ParserFilas.csv(cabecera);
+        } else {
+            parser = ParserFilas.jsonl();
+        }
+
+        BlockingQueue<Bloque> crudos = new ArrayBlockingQueue<>(hilosParseo * 2);
+        BlockingQueue<Bloque> parseados = new ArrayBlockingQueue<>(hilosParseo * 2);
+        AtomicReference<Throwable> fallo = new AtomicReference<>();
+        AtomicInteger avisos = new AtomicInteger();
+        // Bloques leídos y aún sin escribir: acota también los que esperan turno para escribirse en orden
+        Semaphore enVuelo = new Semaphore(hilosParseo * 6);
+
+        AtomicInteger numeroHilo = new AtomicInteger();
+        ExecutorService hilos = Executors.newFixedThreadPool(hilosParseo + 1, r -> {
+            Thread t = new Thread(r, "importacion-" + numeroHilo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        Escritor escritor = new Escritor(inicio, avisos);
+        try {
+            hilos.execute(() -> leer(lector, formato, crudos, enVuelo, fallo));
+            for (int i = 0; i < hilosParseo; i++) {
+                hilos.execute(() -> parsear(parser, crudos, parseados, fallo, avisos));
+            }
+
+            // Mientras se carga el mapa de autores los parsers ya van llenando la cola
+            escritor.cargarAutores();
+            Map<Long, Bloque> enEspera = new HashMap<>();
+            long siguiente = 1;
+            int terminados = 0;
+            while (terminados < hilosParseo) {
+                Bloque bloque = parseados.take();
+                if (fallo.get() != null) {
+                    // Puede faltar un bloque que ya no llegará: no se espera a los demás
+                    break;
+                }
+                if (bloque == FIN) {
+                    terminados++;
+                    continue;
+                }
+                enEspera.put(bloque.primerRegistro, bloque);
+                while ((bloque = enEspera.remove(siguiente)) != null) {
+                    escritor.escribir(bloque);
+                    siguiente += bloque.registros.size();
+                    enVuelo.release();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Importación interrumpida", e);
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        Throwable error = fallo.get();
+        if (error instanceof IOException) {
+            throw (IOException) error;
+        }
+        if (error != null) {
+            throw new RuntimeException("Error parseando el archivo de importación", error);
+        }
+
+        ResumenImportacion resumen = escritor.resumen(System.nanoTime() - inicio);
+        LOG.info("{}", resumen);
+        return resumen;
+    }
+
+    private void leer(BufferedReader lector, Formato formato, BlockingQueue<Bloque> crudos, Semaphore enVuelo,
+                      AtomicReference<Throwable> fallo) {
+        try {
+            try {
+                long numero = 1;
+                List<String> registros = new ArrayList<>(tamanoBloque);
+                // Líneas que se vuelven a leer tras descartar un registro sin cerrar
+                Deque<String> devueltas = new ArrayDeque<>();
+                String linea;
+                while ((linea = siguienteLinea(lector, devueltas)) != null) {
+                    // Un campo CSV entre comillas puede contener saltos de línea
+                    if (formato == Formato.CSV && ParserFilas.comillasAbiertas(linea)) {
+                        List<String> partes = new ArrayList<>();
+                        partes.add(linea);
+                        StringBuilder registro = new StringBuilder(linea);
+                        String mas;
+                        while (ParserFilas.comillasAbiertas(registro) && partes.size() < MAX_LINEAS_REGISTRO
+                                && (mas = siguienteLinea(lector, devueltas)) != null) {
+                            partes.add(mas);
+                            registro.append('\n').append(mas);
+                        }
+                        if (ParserFilas.comillasAbiertas(registro)) {
+                            // Sin cerrar en MAX_LINEAS_REGISTRO líneas o al final: solo la primera es inválida
+                            // (el parser la rechazará) y las demás se vuelven a leer como registros propios
+                            for (int i = partes.size() - 1; i > 0; i--) {
+                                devueltas.addFirst(partes.get(i));
+                            }
+                        } else {
+                            linea = registro.toString();
+                        }
+                    }
+                    if (linea.isBlank()) {
+                        continue;
+                    }
+                    registros.add(linea);
+                    if (registros.size() == tamanoBloque) {
+                        enVuelo.acquire();
+                        crudos.put(new Bloque(numero, registros));
+                        numero += registros.size();
+                        registros = new ArrayList<>(tamanoBloque);
+                    }
+                }
+                if (!registros.isEmpty()) {
+                    enVuelo.acquire();
+                    crudos.put(new Bloque(numero, registros));
+                }
+            } catch (IOException | RuntimeException e) {
+                fallo.compareAndSet(null, e);
+            }
+            for (int i = 0; i < hilosParseo; i++) {
+                crudos.put(FIN);
+            }
+        } catch (InterruptedException e) {
+            // La escritura falló y se están parando todos los hilos
+        }
+    }
+
+    private static String siguienteLinea(BufferedReader lector, Deque<String> devueltas) throws IOException {
+        return devueltas.isEmpty() ? lector.readLine() : devueltas.pollFirst();
+    }
+
+    private static void parsear(ParserFilas parser, BlockingQueue<Bloque> crudos, BlockingQueue<Bloque> parseados,
+                                AtomicReference<Throwable> fallo, AtomicInteger avisos) {
+        try {
+            try {
+                Bloque bloque;
+                while ((bloque = crudos.take()) != FIN) {
+                    for (int i = 0; i < bloque.registros.size(); i++) {
+                        try {
+                            bloque.libros.add(parser.parsear(bloque.registros.get(i)));
+                        } catch (IllegalArgumentException e) {
+                            bloque.invalidas++;
+                            if (avisos.incrementAndGet() <= AVISOS_MAXIMOS) {
+                                LOG.warn("Registro {} inválido: {}", bloque.primerRegistro + i, e.getMessage());
+                            }
+                        }
+                    }
+                    parseados.put(bloque);
+                }
+            } catch (RuntimeException e) {
+                fallo.compareAndSet(null, e);
+            }
+            parseados.put(FIN);
+        } catch (InterruptedException e) {
+            // La escritura falló y se están parando todos los hilos
+        }
+    }
+
+    private static String clave(Autor autor) {
+        return autor.getNombre().trim().toLowerCase(Locale.ROOT) + '\u0001' +
+                autor.getApellido().trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Bloque {
+        final long primerRegistro;
+        final List<String> registros;
+        final List<Libro> libros;
+        int invalidas;
+
+        Bloque(long primerRegistro, List<String> registros) {
+            this.primerRegistro = primerRegistro;
+            this.registros = registros;
+            this.libros = new ArrayList<>(registros.size());
+        }
+    }
+
+    // Solo la usa el hilo que llama a importar
+    private final class Escritor {
+        private final long inicio;
+        private final AtomicInteger avisos;
+        private final Map<String, Integer> autores = new HashMap<>();
+        private final Set<String> isbnsVistos = new HashSet<>();
+
+        private long leidas;
+        private long insertadas;
+        private long duplicadas;
+        private long invalidas;
+        private long rechazadas;
+        private long autoresCreados;
+        private long siguienteProgreso = PROGRESO_CADA;
+
+        Escritor(long inicio, AtomicInteger avisos) {
+            this.inicio = inicio;
+            this.avisos = avisos;
+        }
+
+        void cargarAutores() {
+            try (Stream<Autor> todos = autorDAO.streamTodos()) {
+                todos.forEach(autor -> autores.putIfAbsent(clave(autor), autor.getId()));
+            }
+        }
+
+        void escribir(Bloque bloque) {
+            leidas += bloque.registros.size();
+            invalidas += bloque.invalidas;
+
+            // Primero los ISBN repetidos dentro del archivo (gana el de la línea más baja: los bloques llegan
+            // en orden), luego los ya guardados
+            List<Libro> candidatos = new ArrayList<>(bloque.libros.size());
+            List<String> isbns = new ArrayList<>(bloque.libros.size());
+            for (Libro libro : bloque.libros) {
+                if (libro.getIsbn() != null) {
+                    if (!isbnsVistos.add(libro.getIsbn())) {
+                        duplicadas++;
+                        continue;
+                    }
+                    isbns.add(libro.getIsbn());
+                }
+                candidatos.add(libro);
+            }
+            Set<String> existentes = isbns.isEmpty() ? Set.of() : libroDAO.existenIsbns(isbns);
+            List<Libro> nuevos = new ArrayList<>(candidatos.size());
+            for (Libro libro : candidatos) {
+                if (libro.getIsbn() != null && existentes.contains(libro.getIsbn())) {
+                    duplicadas++;
+                } else {
+                    nuevos.add(libro);
+                }
+            }
+
+            if (!nuevos.isEmpty()) {
+                List<Libro> resueltos = resolverAutores(nuevos);
+                if (!resueltos.isEmpty()) {
+                    insertar(resueltos);
+                }
+            }
+
+            if (leidas >= siguienteProgreso) {
+                siguienteProgreso += PROGRESO_CADA;
+                double segundos = (System.nanoTime() - inicio) / 1e9;
+                LOG.info("Importadas {} filas ({} filas/s)", leidas, (long) (leidas / segundos));
+            }
+        }
+
+        // Devuelve los libros cuyo autor quedó resuelto: si crear autores falla a mitad, los bloques
+        // ya confirmados tienen ID y el resto de sus libros se rechaza en vez de guardarse con autor 0
+        private List<Libro> resolverAutores(List<Libro> libros) {
+            Map<String, Autor> porCrear = new LinkedHashMap<>();
+            for (Libro libro : libros) {
+                String clave = clave(libro.getAutor());
+                if (!autores.containsKey(clave)) {
+                    porCrear.putIfAbsent(clave, libro.getAutor());
+                }
+            }
+            if (!porCrear.isEmpty()) {
+                List<Autor> lote = new ArrayList<>(porCrear.values());
+                try {
+                    autorDAO.insertarLote(lote);
+                } catch (RuntimeException e) {
+                    LOG.warn("No se pudieron crear todos los autores del bloque: {}", e.getMessage());
+                }
+                for (Autor autor : lote) {
+                    if (autor.getId() > 0) {
+                        autores.put(clave(autor), autor.getId());
+                        autoresCreados++;
+                    }
+                }
+            }
+            List<Libro> resueltos = new ArrayList<>(libros.size());
+            for (Libro libro : libros) {
+                Integer id = autores.get(clave(libro.getAutor()));
+                if (id == null) {
+                    rechazadas++;
+                    continue;
+                }
+                libro.getAutor().setId(id);
+                resueltos.add(libro);
+            }
+            return resueltos;
+        }
+
+        private void insertar(List<Libro> libros) {
+            try {
+                insertadas += libroDAO.insertarLote(libros).size();
+            } catch (IllegalArgumentException e) {
+                // Alguien insertó a la vez un ISBN del bloque: los bloques ya confirmados tienen ID,
+                // el resto se reintenta uno a uno para aislar las filas que chocan
+                for (Libro libro : libros) {
+                    if (libro.getId() > 0) {
+                        insertadas++;
+                        continue;
+                    }
+                    try {
+                        libroDAO.insertar(libro);
+                        insertadas++;
+                    } catch (IllegalArgumentException rechazo) {
+                        rechazadas++;
+                        if (avisos.incrementAndGet() <= AVISOS_MAXIMOS) {
+                            LOG.warn("Libro rechazado '{}': {}", libro.getTitulo(), rechazo.getMessage());
+                        }
+                    }
+                }
+            }
+        }
+
+        ResumenImportacion resumen(long nanos) {
+            return new ResumenImportacion(leidas, insertadas, duplicadas, invalidas, rechazadas, autoresCreados, nanos);
+        }
+    }
+}
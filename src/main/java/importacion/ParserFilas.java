@@ -0,0 +1,318 @@
+package importacion;
+
+import models.Autor;
+import models.Libro;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Convierte un registro del archivo (línea CSV u objeto JSON) en un Libro con su Autor sin ID.
+// Inmutable: la comparten todos los hilos de parseo.
+final class ParserFilas {
+
+    static final int TITULO = 0;
+    static final int ISBN = 1;
+    static final int GENERO = 2;
+    static final int AÑO = 3;
+    static final int PAGINAS = 4;
+    static final int AUTOR_NOMBRE = 5;
+    static final int AUTOR_APELLIDO = 6;
+    static final int AUTOR_NACIONALIDAD = 7;
+    private static final int COLUMNAS = 8;
+
+    // Nombres admitidos para cada columna, en minúsculas
+    private static final String[][] NOMBRES = {
+            {"titulo", "título"},
+            {"isbn"},
+            {"genero", "género"},
+            {"ano_publicacion", "año", "ano", "anio"},
+            {"paginas", "páginas"},
+            {"autor_nombre"},
+            {"autor_apellido"},
+            {"autor_nacionalidad", "nacionalidad"}
+    };
+
+    private final Formato formato;
+    private final int[] columnaCsv;  // posición en el registro CSV de cada columna canónica, -1 = no está
+
+    private ParserFilas(Formato formato, int[] columnaCsv) {
+        this.formato = formato;
+        this.columnaCsv = columnaCsv;
+    }
+
+    static ParserFilas jsonl() {
+        return new ParserFilas(Formato.JSONL, null);
+    }
+
+    // La cabecera decide el orden de las columnas; las desconocidas se ignoran
+    static ParserFilas csv(String cabecera) {
+        int[] posiciones = new int[COLUMNAS];
+        Arrays.fill(posiciones, -1);
+        List<String> nombres = camposCsv(cabecera);
+        for (int i = 0; i < nombres.size(); i++) {
+            int columna = columnaCanonica(nombres.get(i));
+            if (columna >= 0) {
+                posiciones[columna] = i;
+            }
+        }
+        for (int obligatoria : new int[]{TITULO, AUTOR_NOMBRE, AUTOR_APELLIDO}) {
+            if (posiciones[obligatoria] < 0) {
+                throw new IllegalArgumentException("Falta la columna obligatoria '" + NOMBRES[obligatoria][0] +
+                        "' en la cabecera CSV");
+            }
+        }
+        return new ParserFilas(Formato.CSV, posiciones);
+    }
+
+    private static int columnaCanonica(String nombre) {
+        String buscado = nombre.trim().toLowerCase(Locale.ROOT);
+        if (!buscado.isEmpty() && buscado.charAt(0) == '\uFEFF') {
+            buscado = buscado.substring(1);  // BOM de los CSV exportados por Excel
+        }
+        for (int i = 0; i < NOMBRES.length; i++) {
+            for (String alias : NOMBRES[i]) {
+                if (alias.equals(buscado)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    Libro parsear(String registro) {
+        String[] valores = formato == Formato.CSV ? valoresCsv(registro) : valoresJson(registro);
+
+        String titulo = texto(valores[TITULO], "titulo", 100, true);
+        String nombre = texto(valores[AUTOR_NOMBRE], "autor_nombre", 100, true);
+        String apellido = texto(valores[AUTOR_APELLIDO], "autor_apellido", 100, true);
+        String genero = texto(valores[GENERO], "genero", 50, false);
+        String nacionalidad = texto(valores[AUTOR_NACIONALIDAD], "autor_nacionalidad", 50, false);
+
+        String isbn = valores[ISBN];
+        if (isbn != null) {
+            isbn = isbn.replace("-", "").replace(" ", "");
+            if (isbn.isEmpty()) {
+                isbn = null;
+            } else if (isbn.length() > 13) {
+                throw new IllegalArgumentException("ISBN demasiado largo: " + valores[ISBN]);
+            }
+        }
+
+        Year año = null;
+        Integer valorAño = entero(valores[AÑO], "ano_publicacion");
+        if (valorAño != null) {
+            if (valorAño < 1000 || valorAño > 3000) {
+                throw new IllegalArgumentException("Año fuera de rango: " + valorAño);
+            }
+            año = Year.of(valorAño);
+        }
+        Integer paginas = entero(valores[PAGINAS], "paginas");
+        if (paginas != null && paginas < 0) {
+            throw new IllegalArgumentException("Páginas negativas: " + paginas);
+        }
+
+        Autor autor = new Autor(nombre, apellido, nacionalidad, null);
+        return new Libro(titulo, isbn, genero, año, paginas != null ? paginas : 0, null, autor);
+    }
+
+    private static String texto(String valor, String columna, int maximo, boolean obligatorio) {
+        String limpio = valor != null ? valor.trim() : null;
+        if (limpio == null || limpio.isEmpty()) {
+            if (obligatorio) {
+                throw new IllegalArgumentException("Falta " + columna);
+            }
+            return null;
+        }
+        if (limpio.length() > maximo) {
+            throw new IllegalArgumentException(columna + " supera " + maximo + " caracteres");
+        }
+        return limpio;
+    }
+
+    private static Integer entero(String valor, String columna) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(columna + " no es un número: " + valor);
+        }
+    }
+
+    private String[] valoresCsv(String registro) {
+        List<String> campos = camposCsv(registro);
+        String[] valores = new String[COLUMNAS];
+        for (int i = 0; i < COLUMNAS; i++) {
+            int posicion = columnaCsv[i];
+            valores[i] = posicion >= 0 && posicion < campos.size() ? campos.get(posicion) : null;
+        }
+        return valores;
+    }
+
+    // RFC 4180: separador coma, campos entre comillas dobles con "" como comilla escapada
+    static List<String> camposCsv(String registro) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < registro.length(); i++) {
+            char c = registro.charAt(i);
+            if (entreComillas) {
+                if (c == '"') {
+                    if (i + 1 < registro.length() && registro.charAt(i + 1) == '"') {
+                        campo.append('"');
+                        i++;
+                    } else {
+                        entreComillas = false;
+                    }
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c != '\r') {
+                campo.append(c);
+            }
+        }
+        if (entreComillas) {
+            throw new IllegalArgumentException("Comillas sin cerrar");
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    // Un registro CSV sigue en la línea siguiente mientras tenga comillas abiertas
+    static boolean comillasAbiertas(CharSequence registro) {
+        int comillas = 0;
+        for (int i = 0; i < registro.length(); i++) {
+            if (registro.charAt(i) == '"') {
+                comillas++;
+            }
+        }
+        return (comillas & 1) == 1;
+    }
+
+    // Objeto JSON plano: {"clave": "texto" | número | true | false | null, ...}
+    static String[] valoresJson(String linea) {
+        String[] valores = new String[COLUMNAS];
+        LectorJson lector = new LectorJson(linea);
+        lector.esperar('{');
+        if (!lector.siguienteEs('}')) {
+            do {
+                String clave = lector.cadena();
+                lector.esperar(':');
+                String valor = lector.valor();
+                int columna = columnaCanonica(clave);
+                if (columna >= 0) {
+                    valores[columna] = valor;
+                }
+            } while (lector.siguienteEs(','));
+            lector.esperar('}');
+        }
+        lector.fin();
+        return valores;
+    }
+
+    private static final class LectorJson {
+        private final String texto;
+        private int pos;
+
+        LectorJson(String texto) {
+            this.texto = texto;
+        }
+
+        void esperar(char c) {
+            saltarEspacios();
+            if (pos >= texto.length() || texto.charAt(pos) != c) {
+                throw new IllegalArgumentException("JSON inválido: se esperaba '" + c + "' en la posición " + pos);
+            }
+            pos++;
+        }
+
+        boolean siguienteEs(char c) {
+            saltarEspacios();
+            if (pos < texto.length() && texto.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void fin() {
+            saltarEspacios();
+            if (pos != texto.length()) {
+                throw new IllegalArgumentException("JSON inválido: sobra texto en la posición " + pos);
+            }
+        }
+
+        String valor() {
+            saltarEspacios();
+            if (pos >= texto.length()) {
+                throw new IllegalArgumentException("JSON inválido: falta un valor");
+            }
+            char c = texto.charAt(pos);
+            if (c == '"') {
+                return cadena();
+            }
+            if (c == '{' || c == '[') {
+                throw new IllegalArgumentException("JSON inválido: solo se admiten objetos planos");
+            }
+            int inicio = pos;
+            while (pos < texto.length() && ",} \t".indexOf(texto.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = texto.substring(inicio, pos);
+            if (literal.equals("null")) {
+                return null;
+            }
+            return literal;
+        }
+
+        String cadena() {
+            esperar('"');
+            StringBuilder sb = new StringBuilder();
+            while (pos < texto.length()) {
+                char c = texto.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= texto.length()) {
+                    break;
+                }
+                char escape = texto.charAt(pos++);
+                switch (escape) {
+                    case 'n': sb.append('\n'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > texto.length()) {
+                            throw new IllegalArgumentException("JSON inválido: escape \\u incompleto");
+                        }
+                        sb.append((char) Integer.parseInt(texto.substring(pos, pos + 4), 16));
+                        pos += 4;
+                        break;
+                    default: sb.append(escape);
+                }
+            }
+            throw new IllegalArgumentException("JSON inválido: cadena sin cerrar");
+        }
+
+        private void saltarEspacios() {
+            while (pos < texto.length() && Character.isWhitespace(texto.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package importacion;
+
+public class ResumenImportacion {
+
+    private final long leidas;
+    private final long insertadas;
+    private final long duplicadas;
+    private final long invalidas;
+    private final long rechazadas;
+    private final long autoresCreados;
+    private final long nanos;
+
+    public ResumenImportacion(long leidas, long insertadas, long duplicadas, long invalidas, long rechazadas,
+                              long autoresCreados, long nanos) {
+        this.leidas = leidas;
+        this.insertadas = insertadas;
+        this.duplicadas = duplicadas;
+        this.invalidas = invalidas;
+        this.rechazadas = rechazadas;
+        this.autoresCreados = autoresCreados;
+        this.nanos = nanos;
+    }
+
+    public long getLeidas() {
+        return leidas;
+    }
+    public long getInsertadas() {
+        return insertadas;
+    }
+    // ISBN repetido en el archivo o ya existente en la base de datos
+    public long getDuplicadas() {
+        return duplicadas;
+    }
+    // No se pudieron parsear o no pasaron la validación
+    public long getInvalidas() {
+        return invalidas;
+    }
+    // Parseadas bien pero la base de datos no las aceptó
+    public long getRechazadas() {
+        return rechazadas;
+    }
+    public long getAutoresCreados() {
+        return autoresCreados;
+    }
+    public double getSegundos() {
+        return nanos / 1e9;
+    }
+    public double getFilasPorSegundo() {
+        return nanos == 0 ? 0 : leidas / getSegundos();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Importación: %d leídas, %d insertadas, %d duplicadas, %d inválidas, %d rechazadas, " +
+                        "%d autores nuevos en %.1f s (%.0f filas/s)",
+                leidas, insertadas, duplicadas, invalidas, rechazadas, autoresCreados, getSegundos(),
+                getFilasPorSegundo());
+    }
+}
@@ -0,0 +1,189 @@
+package log;
+
+import java.io.PrintStream;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Búfer circular acotado de varios productores y un consumidor, sin cerrojos (cola de Vyukov):
+// cada hueco lleva un número de secuencia que dice si está libre para escribir o listo para leer.
+// Los hilos que registran solo reservan un hueco con un CAS y copian referencias; el formateo y la
+// escritura en consola los hace un hilo propio. Si el anillo está lleno el evento se descarta
+// (y se cuenta): quien registra no se bloquea esperando a la consola. Los ERROR no se descartan
+// nunca: esperan a que el consumidor libere un hueco.
+final class AnilloAsincrono {
+
+    private final int mascara;
+    private final Evento[] eventos;
+    private final AtomicLongArray secuencias;
+    private final AtomicLong cola = new AtomicLong();
+    private final AtomicLong cabeza = new AtomicLong();  // solo la escribe el consumidor
+    private final LongAdder descartados = new LongAdder();
+
+    private final PrintStream salida;
+    private final PrintStream salidaErrores;
+    private final StringBuilder linea = new StringBuilder(256);
+    private final SimpleDateFormat formatoFecha = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+    private final Date fecha = new Date();
+
+    AnilloAsincrono(int capacidad, PrintStream salida, PrintStream salidaErrores) {
+        int tamano = Integer.highestOneBit(Math.max(2, capacidad - 1)) << 1;
+        this.mascara = tamano - 1;
+        this.eventos = new Evento[tamano];
+        this.secuencias = new AtomicLongArray(tamano);
+        for (int i = 0; i < tamano; i++) {
+            eventos[i] = new Evento();
+            secuencias.set(i, i);
+        }
+        this.salida = salida;
+        this.salidaErrores = salidaErrores;
+
+        Thread consumidor = new Thread(this::consumir, "log-async");
+        consumidor.setDaemon(true);
+        consumidor.start();
+    }
+
+    boolean publicar(Nivel nivel, String origen, String plantilla, Object a, Object b, Object c, int numArgs, Throwable error) {
+        long posicion;
+        int indice;
+        while (true) {
+            posicion = cola.get();
+            indice = (int) posicion & mascara;
+            long diferencia = secuencias.get(indice) - posicion;
+            if (diferencia == 0) {
+                if (cola.compareAndSet(posicion, posicion + 1)) {
+                    break;
+                }
+            } else if (diferencia < 0) {
+                if (nivel != Nivel.ERROR) {
+                    descartados.increment();
+                    return false;
+                }
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            }
+            // diferencia > 0: otro productor ya tomó este hueco, se reintenta con la nueva cola
+        }
+
+        Evento evento = eventos[indice];
+        evento.instante = System.currentTimeMillis();
+        evento.hilo = Thread.currentThread().getName();
+        evento.nivel = nivel;
+        evento.origen = origen;
+        evento.plantilla = plantilla;
+        evento.a = a;
+        evento.b = b;
+        evento.c = c;
+        evento.numArgs = numArgs;
+        evento.error = error;
+        secuencias.set(indice, posicion + 1);  // publicado: visible para el consumidor
+        return true;
+    }
+
+    private void consumir() {
+        while (true) {
+            if (!procesarSiguiente()) {
+                salida.flush();
+                salidaErrores.flush();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+    }
+
+    private boolean procesarSiguiente() {
+        long posicion = cabeza.get();
+        int indice = (int) posicion & mascara;
+        if (secuencias.get(indice) != posicion + 1) {
+            return false;
+        }
+
+        Evento evento = eventos[indice];
+        try {
+            escribir(evento);
+        } catch (RuntimeException e) {
+            // Un toString() que falla no debe tumbar al consumidor: se pierde solo ese evento
+            salidaErrores.println("Error escribiendo un evento de log: " + e);
+        }
+        evento.limpiar();
+        secuencias.set(indice, posicion + mascara + 1);  // libre para la siguiente vuelta
+        cabeza.set(posicion + 1);
+        return true;
+    }
+
+    private void escribir(Evento evento) {
+        linea.setLength(0);
+        fecha.setTime(evento.instante);
+        linea.append(formatoFecha.format(fecha)).append(' ');
+        linea.append(evento.nivel);
+        for (int i = evento.nivel.name().length(); i < 5; i++) {
+            linea.append(' ');
+        }
+        linea.append(" [").append(evento.hilo).append("] ").append(evento.origen).append(" - ");
+        formatear(linea, evento);
+        PrintStream destino = evento.nivel.compareTo(Nivel.WARN) >= 0 ? salidaErrores : salida;
+        destino.println(linea);
+        if (evento.error != null) {
+            evento.error.printStackTrace(destino);
+        }
+    }
+
+    // Sustituye cada {} por el siguiente argumento
+    private static void formatear(StringBuilder destino, Evento evento) {
+        String plantilla = evento.plantilla;
+        int arg = 0;
+        int desde = 0;
+        int marca;
+        while (arg < evento.numArgs && (marca = plantilla.indexOf("{}", desde)) >= 0) {
+            destino.append(plantilla, desde, marca);
+            destino.append(arg == 0 ? evento.a : arg == 1 ? evento.b : evento.c);
+            arg++;
+            desde = marca + 2;
+        }
+        destino.append(plantilla, desde, plantilla.length());
+    }
+
+    // Espera a que el consumidor escriba todo lo publicado hasta ahora
+    boolean vaciar(long timeoutMs) {
+        long objetivo = cola.get();
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (cabeza.get() < objetivo) {
+            if (System.nanoTime() > limite) {
+                return false;
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        salida.flush();
+        salidaErrores.flush();
+        return true;
+    }
+
+    long getDescartados() {
+        return descartados.sum();
+    }
+
+    private static final class Evento {
+        long instante;
+        String hilo;
+        Nivel nivel;
+        String origen;
+        String plantilla;
+        Object a;
+        Object b;
+        Object c;
+        int numArgs;
+        Throwable error;
+
+        void limpiar() {
+            hilo = null;
+            origen = null;
+            plantilla = null;
+            a = null;
+            b = null;
+            c = null;
+            error = null;
+        }
+    }
+}
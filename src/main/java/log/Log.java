@@ -0,0 +1,120 @@
+package log;
+
+// Registro con niveles para los DAO. Uso:
+//   private static final Log LOG = Log.de(LibroDAOImpl.class);
+//   LOG.debug("Encontrados {} libros de género '{}'", libros.size(), genero);
+// Si el nivel está desactivado la llamada vuelve enseguida: no se concatena ni se formatea nada.
+// Los mensajes activos se formatean y escriben en un hilo aparte (ver AnilloAsincrono),
+// así que los argumentos deberían ser valores que ya no cambien (textos, números, objetos
+// inmutables): se pasan tal cual y su toString() lo llama ese hilo, no quien registra.
+// Con error(mensaje, excepción) se escribe también la traza.
+public final class Log {
+
+    private static final int CAPACIDAD_ANILLO = 8192;
+
+    private static volatile Nivel nivelGlobal = Nivel.INFO;
+    private static final AnilloAsincrono ANILLO = new AnilloAsincrono(CAPACIDAD_ANILLO, System.out, System.err);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> ANILLO.vaciar(1000), "log-vaciado"));
+    }
+
+    private final String origen;
+
+    private Log(String origen) {
+        this.origen = origen;
+    }
+
+    public static Log de(Class<?> clase) {
+        return new Log(clase.getSimpleName());
+    }
+
+    public static void setNivel(Nivel nivel) {
+        nivelGlobal = nivel;
+    }
+
+    public static Nivel getNivel() {
+        return nivelGlobal;
+    }
+
+    // Espera a que se escriba lo pendiente (p. ej. antes de pedir una entrada por consola)
+    public static boolean vaciar() {
+        return ANILLO.vaciar(500);
+    }
+
+    // Mensajes perdidos porque el anillo estaba lleno
+    public static long getDescartados() {
+        return ANILLO.getDescartados();
+    }
+
+    public boolean isActivo(Nivel nivel) {
+        return nivel.compareTo(nivelGlobal) >= 0 && nivel != Nivel.OFF;
+    }
+
+    public boolean isDebug() {
+        return isActivo(Nivel.DEBUG);
+    }
+
+    public void debug(String mensaje) {
+        registrar(Nivel.DEBUG, mensaje, null, null, null, 0, null);
+    }
+
+    public void debug(String plantilla, Object a) {
+        registrar(Nivel.DEBUG, plantilla, a, null, null, 1, null);
+    }
+
+    public void debug(String plantilla, Object a, Object b) {
+        registrar(Nivel.DEBUG, plantilla, a, b, null, 2, null);
+    }
+
+    public void debug(String plantilla, Object a, Object b, Object c) {
+        registrar(Nivel.DEBUG, plantilla, a, b, c, 3, null);
+    }
+
+    public void info(String mensaje) {
+        registrar(Nivel.INFO, mensaje, null, null, null, 0, null);
+    }
+
+    public void info(String plantilla, Object a) {
+        registrar(Nivel.INFO, plantilla, a, null, null, 1, null);
+    }
+
+    public void info(String plantilla, Object a, Object b) {
+        registrar(Nivel.INFO, plantilla, a, b, null, 2, null);
+    }
+
+    public void info(String plantilla, Object a, Object b, Object c) {
+        registrar(Nivel.INFO, plantilla, a, b, c, 3, null);
+    }
+
+    public void warn(String mensaje) {
+        registrar(Nivel.WARN, mensaje, null, null, null, 0, null);
+    }
+
+    public void warn(String plantilla, Object a) {
+        registrar(Nivel.WARN, plantilla, a, null, null, 1, null);
+    }
+
+    public void warn(String plantilla, Object a, Object b) {
+        registrar(Nivel.WARN, plantilla, a, b, null, 2, null);
+    }
+
+    public void error(String mensaje) {
+        registrar(Nivel.ERROR, mensaje, null, null, null, 0, null);
+    }
+
+    public void error(String plantilla, Object a) {
+        registrar(Nivel.ERROR, plantilla, a, null, null, 1, null);
+    }
+
+    public void error(String mensaje, Throwable error) {
+        registrar(Nivel.ERROR, mensaje, null, null, null, 0, error);
+    }
+
+    private void registrar(Nivel nivel, String plantilla, Object a, Object b, Object c, int numArgs, Throwable error) {
+        if (nivel.compareTo(nivelGlobal) < 0) {
+            return;
+        }
+        ANILLO.publicar(nivel, origen, plantilla, a, b, c, numArgs, error);
+    }
+}
@@ -0,0 +1,5 @@
+package log;
+
+public enum Nivel {
+    DEBUG, INFO, WARN, ERROR, OFF
+}
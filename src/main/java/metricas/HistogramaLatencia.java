@@ -0,0 +1,92 @@
+package metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histograma log-lineal de latencias en nanosegundos, al estilo de HdrHistogram:
+// cada potencia de 2 se divide en 32 cubetas, así que el error relativo es como mucho ~3%.
+// Registrar un valor es un cálculo de índice y un incremento atómico, sin reservar memoria.
+public class HistogramaLatencia {
+
+    private static final int BITS_SUBCUBETA = 5;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    // Índice máximo: desplazamiento 57 (valores de 63 bits) -> 57 * 32 + 63
+    private static final int NUM_CUBETAS = (63 - BITS_SUBCUBETA) * SUBCUBETAS + 2 * SUBCUBETAS;
+
+    private final AtomicLongArray cubetas = new AtomicLongArray(NUM_CUBETAS);
+    private final LongAdder cuenta = new LongAdder();
+    private final LongAdder suma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    public void registrar(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        cubetas.incrementAndGet(indice(nanos));
+        cuenta.increment();
+        suma.add(nanos);
+        long actual = maximo.get();
+        while (nanos > actual && !maximo.compareAndSet(actual, nanos)) {
+            actual = maximo.get();
+        }
+    }
+
+    // Percentil (0-100) en nanosegundos; devuelve el límite superior de la cubeta
+    public long percentil(double p) {
+        long total = cuenta.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+        long acumulado = 0;
+        for (int i = 0; i < NUM_CUBETAS; i++) {
+            acumulado += cubetas.get(i);
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    public long getCuenta() {
+        return cuenta.sum();
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    public double getMedia() {
+        long total = cuenta.sum();
+        return total == 0 ? 0 : (double) suma.sum() / total;
+    }
+
+    public long getSuma() {
+        return suma.sum();
+    }
+
+    public void reiniciar() {
+        for (int i = 0; i < NUM_CUBETAS; i++) {
+            cubetas.set(i, 0);
+        }
+        cuenta.reset();
+        suma.reset();
+        maximo.set(0);
+    }
+
+    // Valores < 64 van cada uno a su cubeta; a partir de ahí se guardan los 6 bits más altos
+    static int indice(long valor) {
+        int desplazamiento = Math.max(0, 63 - Long.numberOfLeadingZeros(valor) - BITS_SUBCUBETA);
+        return desplazamiento * SUBCUBETAS + (int) (valor >>> desplazamiento);
+    }
+
+    static long limiteSuperior(int indice) {
+        if (indice < 2 * SUBCUBETAS) {
+            return indice;
+        }
+        int desplazamiento = indice / SUBCUBETAS - 1;
+        long base = indice % SUBCUBETAS + SUBCUBETAS;
+        return ((base + 1) << desplazamiento) - 1;
+    }
+}
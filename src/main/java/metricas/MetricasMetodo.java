@@ -0,0 +1,92 @@
+package metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class MetricasMetodo implements MetricasMetodoMXBean {
+
+    private final String dao;
+    private final String metodo;
+    private final HistogramaLatencia latencias = new HistogramaLatencia();
+    private final LongAdder errores = new LongAdder();
+    private final LongAdder filas = new LongAdder();
+
+    MetricasMetodo(String dao, String metodo) {
+        this.dao = dao;
+        this.metodo = metodo;
+    }
+
+    void registrar(long nanos, long filasDevueltas, boolean error) {
+        latencias.registrar(nanos);
+        if (error) {
+            errores.increment();
+        } else if (filasDevueltas > 0) {
+            filas.add(filasDevueltas);
+        }
+    }
+
+    public String getDao() {
+        return dao;
+    }
+
+    public String getMetodo() {
+        return metodo;
+    }
+
+    public HistogramaLatencia getLatencias() {
+        return latencias;
+    }
+
+    @Override
+    public long getLlamadas() {
+        return latencias.getCuenta();
+    }
+
+    @Override
+    public long getErrores() {
+        return errores.sum();
+    }
+
+    @Override
+    public long getFilas() {
+        return filas.sum();
+    }
+
+    @Override
+    public double getMediaMs() {
+        return latencias.getMedia() / 1_000_000.0;
+    }
+
+    @Override
+    public double getP50Ms() {
+        return latencias.percentil(50) / 1_000_000.0;
+    }
+
+    @Override
+    public double getP95Ms() {
+        return latencias.percentil(95) / 1_000_000.0;
+    }
+
+    @Override
+    public double getP99Ms() {
+        return latencias.percentil(99) / 1_000_000.0;
+    }
+
+    @Override
+    public double getMaximoMs() {
+        return latencias.getMaximo() / 1_000_000.0;
+    }
+
+    @Override
+    public void reiniciar() {
+        latencias.reiniciar();
+        errores.reset();
+        filas.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-12s %-44s %9d %7d %10d %9.3f %9.3f %9.3f %9.3f %9.3f",
+                dao, metodo, getLlamadas(), getErrores(), getFilas(),
+                getMediaMs(), getP50Ms(), getP95Ms(), getP99Ms(), getMaximoMs());
+    }
+}
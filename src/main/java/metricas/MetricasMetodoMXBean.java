@@ -0,0 +1,23 @@
+package metricas;
+
+// Vista JMX de un método de DAO (jconsole / VisualVM: libreria.dao:type="LibroDAO",name="buscarPorId(int)")
+public interface MetricasMetodoMXBean {
+
+    long getLlamadas();
+
+    long getErrores();
+
+    long getFilas();
+
+    double getMediaMs();
+
+    double getP50Ms();
+
+    double getP95Ms();
+
+    double getP99Ms();
+
+    double getMaximoMs();
+
+    void reiniciar();
+}
@@ -0,0 +1,206 @@
+package metricas;
+
+import log.Log;
+import dao.Pagina;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Métricas por método de DAO: llamadas, errores, filas devueltas y latencias.
+// instrumentar() envuelve un DAO en un proxy que mide cada llamada sin tocar su código.
+// Cada sobrecarga va por separado (buscarTodos() y buscarTodos(PeticionPagina)): una página
+// y un recorrido de la tabla entera no deben compartir histograma.
+public class RegistroMetricas implements AutoCloseable {
+
+    private static final Log LOG = Log.de(RegistroMetricas.class);
+
+    public static final String DOMINIO_JMX = "libreria.dao";
+
+    private final Map<String, MetricasMetodo> metricas = new ConcurrentHashMap<>();
+    private final List<ObjectName> registradosJmx = new ArrayList<>();
+    private boolean jmx;
+    private ScheduledExecutorService volcador;
+
+    public <T> T instrumentar(Class<T> interfaz, T dao) {
+        String nombreDao = interfaz.getSimpleName();
+        // Las métricas de cada método se resuelven una sola vez, no en cada llamada
+        Map<Method, MetricasMetodo> porMetodo = new HashMap<>();
+        for (Method metodo : interfaz.getMethods()) {
+            porMetodo.put(metodo, metricasDe(nombreDao, firma(metodo)));
+        }
+        return interfaz.cast(Proxy.newProxyInstance(interfaz.getClassLoader(),
+                new Class<?>[]{interfaz}, new Medidor(dao, porMetodo)));
+    }
+
+    // Nombre y tipos de los parámetros, p. ej. "buscarPorAutor(int,PeticionPagina)"
+    private static String firma(Method metodo) {
+        StringBuilder sb = new StringBuilder(metodo.getName()).append('(');
+        Class<?>[] tipos = metodo.getParameterTypes();
+        for (int i = 0; i < tipos.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(tipos[i].getSimpleName());
+        }
+        return sb.append(')').toString();
+    }
+
+    public MetricasMetodo metricasDe(String dao, String metodo) {
+        return metricas.computeIfAbsent(dao + "." + metodo, clave -> {
+            MetricasMetodo nuevas = new MetricasMetodo(dao, metodo);
+            synchronized (this) {
+                if (jmx) {
+                    registrarMBean(nuevas);
+                }
+            }
+            return nuevas;
+        });
+    }
+
+    public List<MetricasMetodo> getMetricas() {
+        List<MetricasMetodo> lista = new ArrayList<>(metricas.values());
+        lista.sort(Comparator.comparing(MetricasMetodo::getDao).thenComparing(MetricasMetodo::getMetodo));
+        return lista;
+    }
+
+    // Publica cada método como un MXBean en el MBeanServer de la plataforma
+    public synchronized void registrarJmx() {
+        if (jmx) {
+            return;
+        }
+        jmx = true;
+        for (MetricasMetodo m : metricas.values()) {
+            registrarMBean(m);
+        }
+    }
+
+    private void registrarMBean(MetricasMetodo m) {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName nombre = new ObjectName(DOMINIO_JMX + ":type=" + ObjectName.quote(m.getDao())
+                    + ",name=" + ObjectName.quote(m.getMetodo()));
+            if (!servidor.isRegistered(nombre)) {
+                servidor.registerMBean(m, nombre);
+                registradosJmx.add(nombre);
+            }
+        } catch (JMException e) {
+            LOG.error("Error registrando métricas en JMX: {}", e.getMessage());
+        }
+    }
+
+    // Vuelca una instantánea cada 'intervalo' segundos; los más lentos en total primero
+    public synchronized void iniciarVolcado(long intervaloSegundos, PrintStream salida) {
+        if (volcador != null || intervaloSegundos <= 0) {
+            return;
+        }
+        volcador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metricas-volcado");
+            t.setDaemon(true);
+            return t;
+        });
+        volcador.scheduleAtFixedRate(() -> volcar(salida), intervaloSegundos, intervaloSegundos, TimeUnit.SECONDS);
+    }
+
+    public void volcar(PrintStream salida) {
+        List<MetricasMetodo> activas = new ArrayList<>();
+        for (MetricasMetodo m : metricas.values()) {
+            if (m.getLlamadas() > 0) {
+                activas.add(m);
+            }
+        }
+        activas.sort(Comparator.comparingLong((MetricasMetodo m) -> m.getLatencias().getSuma()).reversed());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== Métricas DAO ").append(LocalDateTime.now().withNano(0)).append(" ===\n");
+        sb.append(String.format("%-12s %-44s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "DAO", "Método", "Llamadas", "Errores", "Filas", "Media ms", "p50 ms", "p95 ms", "p99 ms", "Máx ms"));
+        for (MetricasMetodo m : activas) {
+            sb.append(m).append('\n');
+        }
+        salida.print(sb);
+    }
+
+    public void reiniciar() {
+        for (MetricasMetodo m : metricas.values()) {
+            m.reiniciar();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (volcador != null) {
+            volcador.shutdownNow();
+            volcador = null;
+        }
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName nombre : registradosJmx) {
+            try {
+                servidor.unregisterMBean(nombre);
+            } catch (JMException e) {
+                LOG.error("Error quitando métricas de JMX: {}", e.getMessage());
+            }
+        }
+        registradosJmx.clear();
+        jmx = false;
+    }
+
+    // Filas que devuelve una llamada; los Stream no se cuentan para no consumirlos
+    private static long contarFilas(Object resultado) {
+        if (resultado instanceof Collection) {
+            return ((Collection<?>) resultado).size();
+        }
+        if (resultado instanceof Pagina) {
+            return ((Pagina<?>) resultado).getElementos().size();
+        }
+        if (resultado instanceof Boolean || resultado instanceof Number) {
+            return 0;
+        }
+        return resultado != null ? 1 : 0;
+    }
+
+    private static final class Medidor implements InvocationHandler {
+        private final Object dao;
+        private final Map<Method, MetricasMetodo> porMetodo;
+
+        Medidor(Object dao, Map<Method, MetricasMetodo> porMetodo) {
+            this.dao = dao;
+            this.porMetodo = porMetodo;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            MetricasMetodo m = porMetodo.get(method);
+            if (m == null) {
+                // equals/hashCode/toString de Object
+                return method.invoke(dao, args);
+            }
+            long inicio = System.nanoTime();
+            try {
+                Object resultado = method.invoke(dao, args);
+                m.registrar(System.nanoTime() - inicio, contarFilas(resultado), false);
+                return resultado;
+            } catch (InvocationTargetException e) {
+                m.registrar(System.nanoTime() - inicio, 0, true);
+                throw e.getCause();
+            }
+        }
+    }
+}
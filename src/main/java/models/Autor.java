@@ -24,6 +24,9 @@ public class Autor {
         this.nacionalidad = nacionalidad;
         this.fechaNacimiento = fechaNacimiento;
     }
+    public Autor(Autor otro) {
+        this(otro.id, otro.nombre, otro.apellido, otro.nacionalidad, otro.fechaNacimiento);
+    }
 
     public int getId() {
         return id;
@@ -0,0 +1,64 @@
+package models;
+
+import java.util.Collections;
+import java.util.Map;
+
+// Resumen del catálogo calculado en el servidor (conteos y promedios, sin traer filas)
+public class Estadisticas {
+    private final int totalAutores;
+    private final int totalLibros;
+    private final double promedioPaginas;
+    private final Map<String, Integer> librosPorGenero;
+    private final Map<String, Integer> autoresPorNacionalidad;
+    private final Map<Integer, Integer> librosPorDecada;
+    private final int librosSinAño;
+
+    public Estadisticas(int totalAutores, int totalLibros, double promedioPaginas,
+                        Map<String, Integer> librosPorGenero, Map<String, Integer> autoresPorNacionalidad,
+                        Map<Integer, Integer> librosPorDecada, int librosSinAño) {
+        this.totalAutores = totalAutores;
+        this.totalLibros = totalLibros;
+        this.promedioPaginas = promedioPaginas;
+        this.librosPorGenero = Collections.unmodifiableMap(librosPorGenero);
+        this.autoresPorNacionalidad = Collections.unmodifiableMap(autoresPorNacionalidad);
+        this.librosPorDecada = Collections.unmodifiableMap(librosPorDecada);
+        this.librosSinAño = librosSinAño;
+    }
+
+    public int getTotalAutores() {
+        return totalAutores;
+    }
+    public int getTotalLibros() {
+        return totalLibros;
+    }
+    public double getPromedioPaginas() {
+        return promedioPaginas;
+    }
+    // Ordenados de mayor a menor cantidad
+    public Map<String, Integer> getLibrosPorGenero() {
+        return librosPorGenero;
+    }
+    public Map<String, Integer> getAutoresPorNacionalidad() {
+        return autoresPorNacionalidad;
+    }
+    // Clave = primer año de la década (1960, 1970...), en orden ascendente
+    public Map<Integer, Integer> getLibrosPorDecada() {
+        return librosPorDecada;
+    }
+    public int getLibrosSinAño() {
+        return librosSinAño;
+    }
+
+    @Override
+    public String toString() {
+        return "Estadisticas{" +
+                "totalAutores=" + totalAutores +
+                ", totalLibros=" + totalLibros +
+                ", promedioPaginas=" + promedioPaginas +
+                ", librosPorGenero=" + librosPorGenero +
+                ", autoresPorNacionalidad=" + autoresPorNacionalidad +
+                ", librosPorDecada=" + librosPorDecada +
+                ", librosSinAño=" + librosSinAño +
+                '}';
+    }
+}
@@ -36,6 +36,10 @@ public class Libro {
         this.createdAt = createdAt;
         this.autor = autor;
     }
+    public Libro(Libro otro) {
+        this(otro.id, otro.titulo, otro.isbn, otro.genero, otro.anoPublicacion, otro.paginas, otro.createdAt,
+                otro.autor != null ? new Autor(otro.autor) : null);
+    }
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
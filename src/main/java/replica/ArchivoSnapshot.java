@@ -0,0 +1,245 @@
+package replica;
+
+import models.Autor;
+import models.Libro;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static replica.FormatoSnapshot.*;
+
+// Vista de solo lectura de un snapshot mapeado en memoria. Solo usa lecturas absolutas
+// del buffer, así que la comparten todos los hilos sin sincronizar.
+final class ArchivoSnapshot {
+
+    private final ByteBuffer datos;
+    private final int numLibros;
+    private final int numAños;
+    private final int capacidadIsbn;
+    private final long generadoEn;
+    private final int offAutores;
+    private final int offLibros;
+    private final int offIsbn;
+    private final int offPosTitulo;
+    private final int offPosGenero;
+    private final int offAños;
+    private final int offPosAño;
+    private final int offMonton;
+    // Clave del género -> {desde, cuántos}; son pocos y se leen al abrir
+    private final Map<String, int[]> generos = new HashMap<>();
+
+    private ArchivoSnapshot(ByteBuffer datos) {
+        this.datos = datos;
+        if (datos.capacity() < CABECERA) {
+            throw new IllegalArgumentException("El archivo no es un snapshot de libros");
+        }
+        byte[] magia = new byte[MAGIA.length];
+        datos.get(0, magia);
+        if (!Arrays.equals(magia, MAGIA)) {
+            throw new IllegalArgumentException("El archivo no es un snapshot de libros");
+        }
+        if (datos.getInt(C_VERSION) != VERSION) {
+            throw new IllegalArgumentException("Versión de snapshot no soportada: " + datos.getInt(C_VERSION));
+        }
+        numLibros = datos.getInt(C_LIBROS);
+        numAños = datos.getInt(C_AÑOS);
+        capacidadIsbn = datos.getInt(C_CAPACIDAD_ISBN);
+        generadoEn = datos.getLong(C_GENERADO);
+        offAutores = datos.getInt(C_OFF_AUTORES);
+        offLibros = datos.getInt(C_OFF_LIBROS);
+        offIsbn = datos.getInt(C_OFF_ISBN);
+        offPosTitulo = datos.getInt(C_OFF_POS_TITULO);
+        offPosGenero = datos.getInt(C_OFF_POS_GENERO);
+        offAños = datos.getInt(C_OFF_AÑOS);
+        offPosAño = datos.getInt(C_OFF_POS_AÑO);
+        offMonton = datos.getInt(C_OFF_MONTON);
+
+        int offGeneros = datos.getInt(C_OFF_GENEROS);
+        for (int i = 0; i < datos.getInt(C_GENEROS); i++) {
+            int entrada = offGeneros + i * ENTRADA_DIRECTORIO;
+            generos.put(texto(datos.getInt(entrada)),
+                    new int[]{datos.getInt(entrada + 4), datos.getInt(entrada + 8)});
+        }
+    }
+
+    static ArchivoSnapshot abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Snapshot demasiado grande: " + canal.size() + " bytes");
+            }
+            // El mapeo sigue siendo válido después de cerrar el canal
+            return new ArchivoSnapshot(canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+        }
+    }
+
+    int getNumLibros() {
+        return numLibros;
+    }
+
+    Instant getGeneradoEn() {
+        return Instant.ofEpochMilli(generadoEn);
+    }
+
+    // Posición del libro con ese id, o -1 (búsqueda binaria: los libros están por id)
+    int posicionPorId(int id) {
+        int bajo = 0;
+        int alto = numLibros - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            int actual = idLibro(medio);
+            if (actual < id) {
+                bajo = medio + 1;
+            } else if (actual > id) {
+                alto = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -1;
+    }
+
+    // Compara los bytes UTF-8 del montón sin construir Strings
+    int posicionPorIsbn(String isbn) {
+        byte[] buscado = isbn.getBytes(StandardCharsets.UTF_8);
+        int mascara = capacidadIsbn - 1;
+        int hueco = hashIsbn(isbn) & mascara;
+        while (true) {
+            int valor = datos.getInt(offIsbn + hueco * 4);
+            if (valor == 0) {
+                return -1;
+            }
+            if (textoIgual(datos.getInt(registroLibro(valor - 1) + 8), buscado)) {
+                return valor - 1;
+            }
+            hueco = (hueco + 1) & mascara;
+        }
+    }
+
+    int posicionPorTitulo(int i) {
+        return datos.getInt(offPosTitulo + i * 4);
+    }
+
+    // {desde, cuántos} dentro de las posiciones por género, o null
+    int[] rangoGenero(String clave) {
+        return generos.get(clave);
+    }
+
+    int posicionPorGenero(int i) {
+        return datos.getInt(offPosGenero + i * 4);
+    }
+
+    // Primera entrada del directorio de años con año >= 'año'
+    int entradaAño(int año) {
+        int bajo = 0;
+        int alto = numAños;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (datos.getInt(offAños + medio * ENTRADA_DIRECTORIO) < año) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    int desdeDeEntrada(int entrada) {
+        return datos.getInt(offAños + entrada * ENTRADA_DIRECTORIO + 4);
+    }
+
+    int cuantosDeEntrada(int entrada) {
+        return datos.getInt(offAños + entrada * ENTRADA_DIRECTORIO + 8);
+    }
+
+    int posicionPorAño(int i) {
+        return datos.getInt(offPosAño + i * 4);
+    }
+
+    int idLibro(int posicion) {
+        return datos.getInt(registroLibro(posicion));
+    }
+
+    int autorIdLibro(int posicion) {
+        int autor = datos.getInt(registroLibro(posicion) + 32);
+        return autor >= 0 ? datos.getInt(registroAutor(autor)) : -1;
+    }
+
+    int añoLibro(int posicion) {
+        return datos.getInt(registroLibro(posicion) + 16);
+    }
+
+    String tituloLibro(int posicion) {
+        return texto(datos.getInt(registroLibro(posicion) + 4));
+    }
+
+    Libro libro(int posicion) {
+        int registro = registroLibro(posicion);
+        int año = datos.getInt(registro + 16);
+        long creado = datos.getLong(registro + 24);
+        int autor = datos.getInt(registro + 32);
+        return new Libro(datos.getInt(registro),
+                texto(datos.getInt(registro + 4)),
+                texto(datos.getInt(registro + 8)),
+                texto(datos.getInt(registro + 12)),
+                año != NULO ? Year.of(año) : null,
+                datos.getInt(registro + 20),
+                creado != Long.MIN_VALUE ? LocalDateTime.ofInstant(Instant.ofEpochMilli(creado), ZoneOffset.UTC) : null,
+                autor >= 0 ? autor(autor) : null);
+    }
+
+    private Autor autor(int posicion) {
+        int registro = registroAutor(posicion);
+        int fecha = datos.getInt(registro + 16);
+        return new Autor(datos.getInt(registro),
+                texto(datos.getInt(registro + 4)),
+                texto(datos.getInt(registro + 8)),
+                texto(datos.getInt(registro + 12)),
+                fecha != NULO ? LocalDate.ofEpochDay(fecha) : null);
+    }
+
+    private int registroLibro(int posicion) {
+        return offLibros + posicion * LIBRO;
+    }
+
+    private int registroAutor(int posicion) {
+        return offAutores + posicion * AUTOR;
+    }
+
+    private String texto(int referencia) {
+        if (referencia == SIN_TEXTO) {
+            return null;
+        }
+        int inicio = offMonton + referencia;
+        byte[] utf8 = new byte[datos.getInt(inicio)];
+        datos.get(inicio + 4, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private boolean textoIgual(int referencia, byte[] buscado) {
+        if (referencia == SIN_TEXTO) {
+            return false;
+        }
+        int inicio = offMonton + referencia;
+        if (datos.getInt(inicio) != buscado.length) {
+            return false;
+        }
+        for (int i = 0; i < buscado.length; i++) {
+            if (datos.get(inicio + 4 + i) != buscado[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,310 @@
+package replica;
+
+import dao.AutorDAO;
+import dao.IndiceTexto;
+import dao.LibroDAO;
+import log.Log;
+import models.Autor;
+import models.Libro;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static replica.FormatoSnapshot.*;
+
+// Vuelca autores y libros a un archivo de snapshot (ver FormatoSnapshot) para SnapshotLibroDAO.
+// Se genera en "<destino>.tmp" y se renombra al terminar: quien tenga mapeado el anterior lo sigue
+// leyendo sin cambios hasta que llame a recargar().
+public class ConstructorSnapshot {
+
+    private static final Log LOG = Log.de(ConstructorSnapshot.class);
+
+    // Como la colación _ci de las consultas de LibroDAOImpl (sin distinguir mayúsculas ni tildes),
+    // con el id para desempatar
+    static final Comparator<Libro> POR_TITULO = Comparator
+            .comparing((Libro l) -> claveTitulo(l.getTitulo()), Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparingInt(Libro::getId);
+    // En DESC MySQL deja los años NULL al final
+    static final Comparator<Libro> POR_AÑO_DESC = Comparator
+            .comparing((Libro l) -> l.getAnoPublicacion() != null ? l.getAnoPublicacion().getValue() : null,
+                    Comparator.nullsLast(Comparator.<Integer>reverseOrder()))
+            .thenComparing(POR_TITULO);
+
+    private final AutorDAO autorDAO;
+    private final LibroDAO libroDAO;
+
+    public ConstructorSnapshot(AutorDAO autorDAO, LibroDAO libroDAO) {
+        this.autorDAO = autorDAO;
+        this.libroDAO = libroDAO;
+    }
+
+    // Devuelve el número de libros del snapshot
+    public int generar(Path destino) {
+        long inicio = System.nanoTime();
+
+        Map<Integer, Autor> autoresPorId = new TreeMap<>();
+        try (Stream<Autor> autores = autorDAO.streamTodos()) {
+            autores.forEach(autor -> autoresPorId.put(autor.getId(), autor));
+        }
+        List<Libro> libros = new ArrayList<>();
+        try (Stream<Libro> todos = libroDAO.streamTodos()) {
+            todos.forEach(libro -> {
+                libros.add(libro);
+                // Un autor dado de alta entre las dos lecturas llega solo con sus libros
+                if (libro.getAutor() != null) {
+                    autoresPorId.putIfAbsent(libro.getAutor().getId(), libro.getAutor());
+                }
+            });
+        }
+        libros.sort(Comparator.comparingInt(Libro::getId));
+        List<Autor> autores = new ArrayList<>(autoresPorId.values());
+
+        Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try {
+            long bytes = escribir(temporal, autores, libros);
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.info("Snapshot generado: {} libros, {} autores, {} bytes", libros.size(), autores.size(), bytes);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temporal);
+            } catch (IOException ignorada) {
+                // Lo importante es el error original
+            }
+            throw new RuntimeException("Error generando el snapshot", e);
+        }
+        LOG.debug("Snapshot generado en {} ms", (System.nanoTime() - inicio) / 1_000_000);
+        return libros.size();
+    }
+
+    private static long escribir(Path archivo, List<Autor> autores, List<Libro> libros) throws IOException {
+        Monton monton = new Monton();
+
+        // Autores: referencias al montón y posición por id
+        Map<Integer, Integer> posicionAutor = new HashMap<>();
+        int[][] textosAutor = new int[autores.size()][];
+        for (int i = 0; i < autores.size(); i++) {
+            Autor autor = autores.get(i);
+            posicionAutor.put(autor.getId(), i);
+            textosAutor[i] = new int[]{monton.texto(autor.getNombre()), monton.texto(autor.getApellido()),
+                    monton.compartido(autor.getNacionalidad())};
+        }
+
+        int[][] textosLibro = new int[libros.size()][];
+        // Claves de colación calculadas una vez: ordenar no normaliza en cada comparación
+        String[] clavesTitulo = new String[libros.size()];
+        Map<String, List<Integer>> porGenero = new TreeMap<>();
+        Map<Integer, List<Integer>> porAño = new TreeMap<>();
+        List<Integer> conIsbn = new ArrayList<>();
+        for (int i = 0; i < libros.size(); i++) {
+            Libro libro = libros.get(i);
+            textosLibro[i] = new int[]{monton.texto(libro.getTitulo()), monton.texto(libro.getIsbn()),
+                    monton.compartido(libro.getGenero())};
+            clavesTitulo[i] = claveTitulo(libro.getTitulo());
+            if (libro.getGenero() != null) {
+                porGenero.computeIfAbsent(claveGenero(libro.getGenero()), g -> new ArrayList<>()).add(i);
+            }
+            if (libro.getAnoPublicacion() != null) {
+                porAño.computeIfAbsent(libro.getAnoPublicacion().getValue(), a -> new ArrayList<>()).add(i);
+            }
+            if (libro.getIsbn() != null) {
+                conIsbn.add(i);
+            }
+        }
+
+        List<Integer> porTitulo = new ArrayList<>(libros.size());
+        for (int i = 0; i < libros.size(); i++) {
+            porTitulo.add(i);
+        }
+        Comparator<Integer> porClaveTitulo = (a, b) -> compararTitulos(clavesTitulo, libros, a, b);
+        porTitulo.sort(porClaveTitulo);
+
+        int[] clavesGenero = new int[porGenero.size()];
+        int totalGenero = 0;
+        int g = 0;
+        for (Map.Entry<String, List<Integer>> genero : porGenero.entrySet()) {
+            clavesGenero[g++] = monton.compartido(genero.getKey());
+            genero.getValue().sort(Comparator.comparing((Integer p) -> {
+                Year año = libros.get(p).getAnoPublicacion();
+                return año != null ? año.getValue() : null;
+            }, Comparator.nullsLast(Comparator.<Integer>reverseOrder())).thenComparing(porClaveTitulo));
+            totalGenero += genero.getValue().size();
+        }
+        int totalAño = 0;
+        for (List<Integer> delAño : porAño.values()) {
+            delAño.sort(porClaveTitulo);
+            totalAño += delAño.size();
+        }
+
+        // Tabla de ISBN al 50 % como mucho
+        int capacidad = Integer.highestOneBit(Math.max(conIsbn.size() * 2, 16) - 1) << 1;
+        int[] tablaIsbn = new int[capacidad];
+        for (int posicion : conIsbn) {
+            int hueco = hashIsbn(libros.get(posicion).getIsbn()) & (capacidad - 1);
+            while (tablaIsbn[hueco] != 0) {
+                hueco = (hueco + 1) & (capacidad - 1);
+            }
+            tablaIsbn[hueco] = posicion + 1;
+        }
+
+        long offAutores = CABECERA;
+        long offLibros = offAutores + (long) autores.size() * AUTOR;
+        long offIsbn = offLibros + (long) libros.size() * LIBRO;
+        long offPosTitulo = offIsbn + 4L * capacidad;
+        long offGeneros = offPosTitulo + 4L * libros.size();
+        long offPosGenero = offGeneros + (long) porGenero.size() * ENTRADA_DIRECTORIO;
+        long offAños = offPosGenero + 4L * totalGenero;
+        long offPosAño = offAños + (long) porAño.size() * ENTRADA_DIRECTORIO;
+        long offMonton = offPosAño + 4L * totalAño;
+        long total = offMonton + monton.tamano();
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalStateException("El snapshot ocuparía " + total + " bytes; el máximo es 2 GB");
+        }
+
+        try (DataOutputStream salida = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(archivo), 1 << 16))) {
+            salida.write(MAGIA);
+            salida.writeInt(VERSION);
+            salida.writeInt(autores.size());
+            salida.writeInt(libros.size());
+            salida.writeInt(porGenero.size());
+            salida.writeInt(porAño.size());
+            salida.writeInt(capacidad);
+            salida.writeLong(System.currentTimeMillis());
+            for (long offset : new long[]{offAutores, offLibros, offIsbn, offGeneros, offPosGenero,
+                    offAños, offPosAño, offMonton, offPosTitulo}) {
+                salida.writeInt((int) offset);
+            }
+            salida.write(new byte[CABECERA - salida.size()]);
+
+            for (int i = 0; i < autores.size(); i++) {
+                Autor autor = autores.get(i);
+                salida.writeInt(autor.getId());
+                salida.writeInt(textosAutor[i][0]);
+                salida.writeInt(textosAutor[i][1]);
+                salida.writeInt(textosAutor[i][2]);
+                salida.writeInt(autor.getFechaNacimiento() != null
+                        ? (int) autor.getFechaNacimiento().toEpochDay() : NULO);
+            }
+
+            for (int i = 0; i < libros.size(); i++) {
+                Libro libro = libros.get(i);
+                salida.writeInt(libro.getId());
+                salida.writeInt(textosLibro[i][0]);
+                salida.writeInt(textosLibro[i][1]);
+                salida.writeInt(textosLibro[i][2]);
+                salida.writeInt(libro.getAnoPublicacion() != null ? libro.getAnoPublicacion().getValue() : NULO);
+                salida.writeInt(libro.getPaginas());
+                salida.writeLong(libro.getCreatedAt() != null
+                        ? libro.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli() : Long.MIN_VALUE);
+                Integer autor = libro.getAutor() != null ? posicionAutor.get(libro.getAutor().getId()) : null;
+                salida.writeInt(autor != null ? autor : -1);
+            }
+
+            for (int valor : tablaIsbn) {
+                salida.writeInt(valor);
+            }
+            for (int posicion : porTitulo) {
+                salida.writeInt(posicion);
+            }
+
+            int desde = 0;
+            g = 0;
+            for (List<Integer> delGenero : porGenero.values()) {
+                salida.writeInt(clavesGenero[g++]);
+                salida.writeInt(desde);
+                salida.writeInt(delGenero.size());
+                desde += delGenero.size();
+            }
+            for (List<Integer> delGenero : porGenero.values()) {
+                for (int posicion : delGenero) {
+                    salida.writeInt(posicion);
+                }
+            }
+
+            desde = 0;
+            for (Map.Entry<Integer, List<Integer>> año : porAño.entrySet()) {
+                salida.writeInt(año.getKey());
+                salida.writeInt(desde);
+                salida.writeInt(año.getValue().size());
+                desde += año.getValue().size();
+            }
+            for (List<Integer> delAño : porAño.values()) {
+                for (int posicion : delAño) {
+                    salida.writeInt(posicion);
+                }
+            }
+
+            monton.volcar(salida);
+        }
+        return total;
+    }
+
+    private static int compararTitulos(String[] claves, List<Libro> libros, int a, int b) {
+        String claveA = claves[a];
+        String claveB = claves[b];
+        int comparacion = claveA == null ? (claveB == null ? 0 : -1) : (claveB == null ? 1 : claveA.compareTo(claveB));
+        return comparacion != 0 ? comparacion : Integer.compare(libros.get(a).getId(), libros.get(b).getId());
+    }
+
+    // Misma normalización que IndexadoLibroDAO y ContadoresLibroDAO: "Ficción" y "ficcion" son el mismo género
+    static String claveTitulo(String titulo) {
+        return titulo != null ? IndiceTexto.normalizar(titulo) : null;
+    }
+
+    static String claveGenero(String genero) {
+        return IndiceTexto.normalizar(genero.trim());
+    }
+
+    // Textos del snapshot; los repetidos (géneros, nacionalidades) se guardan una sola vez
+    private static final class Monton {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+        private final DataOutputStream datos = new DataOutputStream(bytes);
+        private final Map<String, Integer> compartidos = new HashMap<>();
+
+        int texto(String valor) throws IOException {
+            if (valor == null) {
+                return SIN_TEXTO;
+            }
+            int referencia = datos.size();
+            byte[] utf8 = valor.getBytes(StandardCharsets.UTF_8);
+            datos.writeInt(utf8.length);
+            datos.write(utf8);
+            return referencia;
+        }
+
+        int compartido(String valor) throws IOException {
+            if (valor == null) {
+                return SIN_TEXTO;
+            }
+            Integer referencia = compartidos.get(valor);
+            if (referencia == null) {
+                referencia = texto(valor);
+                compartidos.put(valor, referencia);
+            }
+            return referencia;
+        }
+
+        int tamano() {
+            return datos.size();
+        }
+
+        void volcar(DataOutputStream salida) throws IOException {
+            bytes.writeTo(salida);
+        }
+    }
+}
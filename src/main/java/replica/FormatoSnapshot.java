@@ -0,0 +1,59 @@
+package replica;
+
+import java.nio.charset.StandardCharsets;
+
+// Disposición del archivo de snapshot (big-endian, todo direccionable con int: máximo 2 GB)
+//
+//   cabecera   CABECERA bytes: magia, versión, contadores, fecha de generación y offset de cada sección
+//   autores    ordenados por id, AUTOR bytes cada uno:  id, nombre, apellido, nacionalidad, fecha (días)
+//   libros     ordenados por id, LIBRO bytes cada uno:  id, titulo, isbn, genero, año, paginas,
+//              created_at (ms, long), posición del autor
+//   isbn       tabla hash de direccionamiento abierto: posición del libro + 1 (0 = hueco)
+//   títulos    posiciones de todos los libros por título, id
+//   géneros    directorio (clave normalizada, desde, cuántos) + posiciones por año DESC, título, id
+//   años       directorio ordenado (año, desde, cuántos) + posiciones por título, id
+//   montón     textos: int longitud y bytes UTF-8; las referencias son offsets dentro del montón
+//
+// Nulos: referencia de texto -1, año/fecha Integer.MIN_VALUE, created_at Long.MIN_VALUE, autor -1.
+// Títulos y géneros se ordenan y agrupan por ConstructorSnapshot.claveTitulo/claveGenero (sin mayúsculas
+// ni tildes, como la colación _ci de MySQL).
+final class FormatoSnapshot {
+
+    static final byte[] MAGIA = "LIBSNAP1".getBytes(StandardCharsets.US_ASCII);
+    static final int VERSION = 1;
+
+    static final int CABECERA = 80;
+    static final int AUTOR = 20;
+    static final int LIBRO = 36;
+    static final int ENTRADA_DIRECTORIO = 12;
+
+    // Offsets dentro de la cabecera
+    static final int C_VERSION = 8;
+    static final int C_AUTORES = 12;
+    static final int C_LIBROS = 16;
+    static final int C_GENEROS = 20;
+    static final int C_AÑOS = 24;
+    static final int C_CAPACIDAD_ISBN = 28;
+    static final int C_GENERADO = 32;
+    static final int C_OFF_AUTORES = 40;
+    static final int C_OFF_LIBROS = 44;
+    static final int C_OFF_ISBN = 48;
+    static final int C_OFF_GENEROS = 52;
+    static final int C_OFF_POS_GENERO = 56;
+    static final int C_OFF_AÑOS = 60;
+    static final int C_OFF_POS_AÑO = 64;
+    static final int C_OFF_MONTON = 68;
+    static final int C_OFF_POS_TITULO = 72;
+
+    static final int NULO = Integer.MIN_VALUE;
+    static final int SIN_TEXTO = -1;
+
+    private FormatoSnapshot() {
+    }
+
+    // Dispersión de la tabla de ISBN; el lector y el constructor deben coincidir
+    static int hashIsbn(String isbn) {
+        int h = isbn.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
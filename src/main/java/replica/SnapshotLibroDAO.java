@@ -0,0 +1,434 @@
+package replica;
+
+import dao.LibroDAO;
+import dao.Pagina;
+import dao.PeticionPagina;
+import log.Log;
+import models.Autor;
+import models.Libro;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// LibroDAO de solo lectura sobre un snapshot mapeado en memoria (ver ConstructorSnapshot).
+// Por id, ISBN, género y año responde con índices del propio archivo sin tocar la base de datos;
+// título y autor recorren el archivo. Los datos son los del momento en que se generó el snapshot:
+// para réplicas de lectura que toleran algo de retraso. Las escrituras lanzan UnsupportedOperationException.
+public class SnapshotLibroDAO implements LibroDAO {
+
+    private static final Log LOG = Log.de(SnapshotLibroDAO.class);
+
+    private final Path archivo;
+    private volatile ArchivoSnapshot snapshot;
+
+    public SnapshotLibroDAO(Path archivo) {
+        this.archivo = archivo;
+        recargar();
+    }
+
+    // Vuelve a mapear el archivo tras regenerarlo; las consultas en curso terminan con el anterior
+    public void recargar() {
+        try {
+            snapshot = ArchivoSnapshot.abrir(archivo);
+        } catch (IOException e) {
+            throw new RuntimeException("Error abriendo el snapshot " + archivo, e);
+        }
+        LOG.info("Snapshot cargado: {} libros (generado {})", snapshot.getNumLibros(), snapshot.getGeneradoEn());
+    }
+
+    public Instant getGeneradoEn() {
+        return snapshot.getGeneradoEn();
+    }
+
+    @Override
+    public Libro buscarPorId(int id) {
+        ArchivoSnapshot s = snapshot;
+        int posicion = s.posicionPorId(id);
+        return posicion >= 0 ? s.libro(posicion) : null;
+    }
+
+    @Override
+    public List<Libro> buscarPorIds(Collection<Integer> ids) {
+        List<Libro> libros = new ArrayList<>();
+        if (ids == null) {
+            return libros;
+        }
+        ArchivoSnapshot s = snapshot;
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            int posicion = id != null ? s.posicionPorId(id) : -1;
+            if (posicion >= 0) {
+                libros.add(s.libro(posicion));
+            }
+        }
+        return libros;
+    }
+
+    @Override
+    public List<Libro> buscarTodos() {
+        ArchivoSnapshot s = snapshot;
+        return libros(s, porTitulo(s));
+    }
+
+    // En orden de id; no hay cursor que cerrar, pero se respeta el contrato del interfaz
+    @Override
+    public Stream<Libro> streamTodos() {
+        ArchivoSnapshot s = snapshot;
+        return IntStream.range(0, s.getNumLibros()).mapToObj(s::libro);
+    }
+
+    @Override
+    public Libro buscarPorIsbn(String isbn) {
+        if (isbn == null || isbn.trim().isEmpty()) {
+            return null;
+        }
+        ArchivoSnapshot s = snapshot;
+        int posicion = s.posicionPorIsbn(isbn.trim());
+        return posicion >= 0 ? s.libro(posicion) : null;
+    }
+
+    @Override
+    public List<Libro> buscarPorTitulo(String titulo) {
+        if (titulo == null || titulo.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        ArchivoSnapshot s = snapshot;
+        return libros(s, Orden.de(posicionesTitulo(s, titulo)));
+    }
+
+    @Override
+    public List<Libro> buscarPorGenero(String genero) {
+        if (genero == null || genero.trim().isEmpty()) {
+            return new ArrayList<>();
+        }
+        ArchivoSnapshot s = snapshot;
+        return libros(s, porGenero(s, genero));
+    }
+
+    @Override
+    public List<Libro> buscarPorAño(int año) {
+        if (año < 1000 || año > 3000) {
+            LOG.warn("Año inválido: {}", año);
+            return new ArrayList<>();
+        }
+        ArchivoSnapshot s = snapshot;
+        return libros(s, porAños(s, año, año));
+    }
+
+    @Override
+    public List<Libro> buscarPorAutor(int autorId) {
+        if (autorId <= 0) {
+            LOG.warn("ID de autor inválido: {}", autorId);
+            return new ArrayList<>();
+        }
+        ArchivoSnapshot s = snapshot;
+        return libros(s, Orden.de(posicionesAutor(s, autorId)));
+    }
+
+    @Override
+    public List<Libro> buscarPorAutor(Autor autor) {
+        if (autor == null) {
+            return new ArrayList<>();
+        }
+        return buscarPorAutor(autor.getId());
+    }
+
+    @Override
+    public boolean existe(int id) {
+        return id > 0 && snapshot.posicionPorId(id) >= 0;
+    }
+
+    @Override
+    public boolean existeIsbn(String isbn) {
+        return isbn != null && !isbn.trim().isEmpty() && snapshot.posicionPorIsbn(isbn.trim()) >= 0;
+    }
+
+    @Override
+    public Set<String> existenIsbns(Collection<String> isbns) {
+        Set<String> existentes = new HashSet<>();
+        if (isbns == null) {
+            return existentes;
+        }
+        ArchivoSnapshot s = snapshot;
+        for (String isbn : isbns) {
+            if (isbn != null && !isbn.trim().isEmpty() && s.posicionPorIsbn(isbn.trim()) >= 0) {
+                existentes.add(isbn.trim());
+            }
+        }
+        return existentes;
+    }
+
+    @Override
+    public List<Libro> buscarPorRangoAños(int añoInicio, int añoFin) {
+        if (añoInicio > añoFin || añoInicio < 1000 || añoFin > 3000) {
+            LOG.warn("Rango de años inválido: {} - {}", añoInicio, añoFin);
+            return new ArrayList<>();
+        }
+        ArchivoSnapshot s = snapshot;
+        return libros(s, porAños(s, añoInicio, añoFin));
+    }
+
+    // Directo del directorio de géneros
+    @Override
+    public int contarPorGenero(String genero) {
+        if (genero == null || genero.trim().isEmpty()) {
+            return 0;
+        }
+        int[] rango = snapshot.rangoGenero(ConstructorSnapshot.claveGenero(genero));
+        return rango != null ? rango[1] : 0;
+    }
+
+    @Override
+    public Pagina<Libro> buscarTodos(PeticionPagina peticion) {
+        ArchivoSnapshot s = snapshot;
+        return pagina(s, porTitulo(s), false, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorTitulo(String titulo, PeticionPagina peticion) {
+        if (titulo == null || titulo.trim().isEmpty()) {
+            return Pagina.vacia();
+        }
+        ArchivoSnapshot s = snapshot;
+        return pagina(s, Orden.de(posicionesTitulo(s, titulo)), false, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorGenero(String genero, PeticionPagina peticion) {
+        if (genero == null || genero.trim().isEmpty()) {
+            return Pagina.vacia();
+        }
+        ArchivoSnapshot s = snapshot;
+        return pagina(s, porGenero(s, genero), true, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorAño(int año, PeticionPagina peticion) {
+        if (año < 1000 || año > 3000) {
+            LOG.warn("Año inválido: {}", año);
+            return Pagina.vacia();
+        }
+        ArchivoSnapshot s = snapshot;
+        return pagina(s, porAños(s, año, año), false, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorAutor(int autorId, PeticionPagina peticion) {
+        if (autorId <= 0) {
+            LOG.warn("ID de autor inválido: {}", autorId);
+            return Pagina.vacia();
+        }
+        ArchivoSnapshot s = snapshot;
+        return pagina(s, Orden.de(posicionesAutor(s, autorId)), true, peticion);
+    }
+
+    @Override
+    public Pagina<Libro> buscarPorRangoAños(int añoInicio, int añoFin, PeticionPagina peticion) {
+        if (añoInicio > añoFin || añoInicio < 1000 || añoFin > 3000) {
+            LOG.warn("Rango de años inválido: {} - {}", añoInicio, añoFin);
+            return Pagina.vacia();
+        }
+        ArchivoSnapshot s = snapshot;
+        return pagina(s, porAños(s, añoInicio, añoFin), true, peticion);
+    }
+
+    @Override
+    public void insertar(Libro libro) {
+        throw soloLectura();
+    }
+
+    @Override
+    public List<Integer> insertarLote(List<Libro> libros) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void actualizar(Libro libro) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void eliminar(int id) {
+        throw soloLectura();
+    }
+
+    private static UnsupportedOperationException soloLectura() {
+        return new UnsupportedOperationException("El snapshot de libros es de solo lectura");
+    }
+
+    // Una lista ordenada de posiciones de libros. Las de título, género y año leen directamente
+    // de las regiones del archivo, sin copiarlas: una página solo lee las entradas que devuelve.
+    private interface Orden {
+        int tamano();
+
+        int posicion(int i);
+
+        static Orden de(int[] posiciones) {
+            return new Orden() {
+                public int tamano() {
+                    return posiciones.length;
+                }
+
+                public int posicion(int i) {
+                    return posiciones[i];
+                }
+            };
+        }
+    }
+
+    private static List<Libro> libros(ArchivoSnapshot s, Orden orden) {
+        List<Libro> libros = new ArrayList<>(orden.tamano());
+        for (int i = 0; i < orden.tamano(); i++) {
+            libros.add(s.libro(orden.posicion(i)));
+        }
+        return libros;
+    }
+
+    private static Orden porTitulo(ArchivoSnapshot s) {
+        int total = s.getNumLibros();
+        return new Orden() {
+            public int tamano() {
+                return total;
+            }
+
+            public int posicion(int i) {
+                return s.posicionPorTitulo(i);
+            }
+        };
+    }
+
+    // LIKE '%titulo%' sin distinguir mayúsculas ni tildes, sobre el índice por título
+    private static int[] posicionesTitulo(ArchivoSnapshot s, String titulo) {
+        String patron = ConstructorSnapshot.claveTitulo(titulo.trim());
+        return IntStream.range(0, s.getNumLibros())
+                .map(s::posicionPorTitulo)
+                .filter(p -> {
+                    String actual = s.tituloLibro(p);
+                    return actual != null && ConstructorSnapshot.claveTitulo(actual).contains(patron);
+                })
+                .toArray();
+    }
+
+    private static Orden porGenero(ArchivoSnapshot s, String genero) {
+        int[] rango = s.rangoGenero(ConstructorSnapshot.claveGenero(genero));
+        if (rango == null) {
+            return Orden.de(new int[0]);
+        }
+        int desde = rango[0];
+        int total = rango[1];
+        return new Orden() {
+            public int tamano() {
+                return total;
+            }
+
+            public int posicion(int i) {
+                return s.posicionPorGenero(desde + i);
+            }
+        };
+    }
+
+    // Un solo año: por título; un rango: año DESC y título, recorriendo el directorio hacia atrás.
+    // Solo se copia el directorio de años del rango (como mucho uno por año), no los libros.
+    private static Orden porAños(ArchivoSnapshot s, int desde, int hasta) {
+        int primera = s.entradaAño(desde);
+        int ultima = s.entradaAño(hasta + 1);
+        int entradas = Math.max(0, ultima - primera);
+        // inicios[k]: primera posición de la entrada k en el índice por año; acumulados[k]: libros antes de ella
+        int[] inicios = new int[entradas];
+        int[] acumulados = new int[entradas + 1];
+        for (int k = 0; k < entradas; k++) {
+            int e = ultima - 1 - k;
+            inicios[k] = s.desdeDeEntrada(e);
+            acumulados[k + 1] = acumulados[k] + s.cuantosDeEntrada(e);
+        }
+        return new Orden() {
+            public int tamano() {
+                return acumulados[entradas];
+            }
+
+            public int posicion(int i) {
+                // El directorio solo tiene años con libros: los acumulados son estrictamente crecientes
+                int k = Arrays.binarySearch(acumulados, i);
+                if (k < 0) {
+                    k = -k - 2;
+                }
+                return s.posicionPorAño(inicios[k] + i - acumulados[k]);
+            }
+        };
+    }
+
+    // Sin índice por autor: recorre los libros y ordena los del autor
+    private static int[] posicionesAutor(ArchivoSnapshot s, int autorId) {
+        int[] posiciones = IntStream.range(0, s.getNumLibros())
+                .filter(p -> s.autorIdLibro(p) == autorId)
+                .toArray();
+        Libro[] libros = new Libro[posiciones.length];
+        for (int i = 0; i < posiciones.length; i++) {
+            libros[i] = s.libro(posiciones[i]);
+        }
+        Integer[] orden = new Integer[posiciones.length];
+        for (int i = 0; i < orden.length; i++) {
+            orden[i] = i;
+        }
+        Arrays.sort(orden, (a, b) -> ConstructorSnapshot.POR_AÑO_DESC.compare(libros[a], libros[b]));
+        int[] ordenadas = new int[posiciones.length];
+        for (int i = 0; i < orden.length; i++) {
+            ordenadas[i] = posiciones[orden[i]];
+        }
+        return ordenadas;
+    }
+
+    // Keyset sobre posiciones ya ordenadas: búsqueda binaria de la primera después de la última vista,
+    // y de ahí solo las entradas de la página
+    private static Pagina<Libro> pagina(ArchivoSnapshot s, Orden orden, boolean porAño, PeticionPagina peticion) {
+        int total = orden.tamano();
+        int inicio = 0;
+        if (!peticion.esPrimera()) {
+            String ultimo = ConstructorSnapshot.claveTitulo(peticion.getUltimoTitulo());
+            int alto = total;
+            while (inicio < alto) {
+                int medio = (inicio + alto) >>> 1;
+                if (despuesDe(s, orden.posicion(medio), porAño, ultimo, peticion)) {
+                    alto = medio;
+                } else {
+                    inicio = medio + 1;
+                }
+            }
+        }
+
+        int fin = Math.min(total, inicio + peticion.getTamano());
+        List<Libro> libros = new ArrayList<>(Math.max(0, fin - inicio));
+        for (int i = inicio; i < fin; i++) {
+            libros.add(s.libro(orden.posicion(i)));
+        }
+        PeticionPagina siguiente = fin < total && !libros.isEmpty()
+                ? PeticionPagina.despuesDe(libros.get(libros.size() - 1), peticion.getTamano())
+                : null;
+        return new Pagina<>(libros, siguiente);
+    }
+
+    // Mismas condiciones que DESPUES_DEL_TITULO / DESPUES_DEL_AÑO de LibroDAOImpl, con la misma colación
+    private static boolean despuesDe(ArchivoSnapshot s, int posicion, boolean porAño, String ultimo, PeticionPagina peticion) {
+        String titulo = ConstructorSnapshot.claveTitulo(s.tituloLibro(posicion));
+        int comparacion = titulo == null ? (ultimo == null ? 0 : -1) : (ultimo == null ? 1 : titulo.compareTo(ultimo));
+        boolean despuesDelTitulo = comparacion > 0 || (comparacion == 0 && s.idLibro(posicion) > peticion.getUltimoId());
+        if (!porAño) {
+            return despuesDelTitulo;
+        }
+        int año = s.añoLibro(posicion);
+        Integer ultimoAño = peticion.getUltimoAno();
+        if (ultimoAño == null) {
+            return año == FormatoSnapshot.NULO && despuesDelTitulo;
+        }
+        return año == FormatoSnapshot.NULO || año < ultimoAño || (año == ultimoAño && despuesDelTitulo);
+    }
+}
@@ -0,0 +1,202 @@
+package config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestConnectionPool {
+
+    private final AtomicInteger abiertas = new AtomicInteger();
+    private final AtomicInteger cerradas = new AtomicInteger();
+    private final AtomicBoolean validas = new AtomicBoolean(true);
+    private final AtomicInteger preparadas = new AtomicInteger();
+    private ConnectionPool pool;
+
+    // Conexión JDBC falsa en memoria: solo responde a lo que usa el pool
+    private Connection conexionFalsa() {
+        abiertas.incrementAndGet();
+        AtomicBoolean cerrada = new AtomicBoolean();
+        AtomicBoolean autoCommit = new AtomicBoolean(true);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!cerrada.getAndSet(true)) {
+                                cerradas.incrementAndGet();
+                            }
+                            return null;
+                        case "isClosed":
+                            return cerrada.get();
+                        case "isValid":
+                            return validas.get();
+                        case "getAutoCommit":
+                            return autoCommit.get();
+                        case "setAutoCommit":
+                            autoCommit.set((Boolean) args[0]);
+                            return null;
+                        case "rollback":
+                            return null;
+                        case "prepareStatement":
+                            preparadas.incrementAndGet();
+                            return sentenciaFalsa();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private PreparedStatement sentenciaFalsa() {
+        return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                    if (method.getReturnType() == boolean.class) {
+                        return false;
+                    }
+                    return method.getReturnType() == int.class ? 0 : null;
+                });
+    }
+
+    private ConnectionPool crearPool(int min, int max, long timeoutMs) {
+        PoolConfig config = new PoolConfig();
+        config.setMinSize(min);
+        config.setMaxSize(max);
+        config.setBorrowTimeoutMs(timeoutMs);
+        config.setHousekeepingIntervalMs(0);
+        pool = new ConnectionPool(this::conexionFalsa, config);
+        return pool;
+    }
+
+    @AfterEach
+    public void cerrarPool() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void testReutilizaConexionDevuelta() throws SQLException {
+        crearPool(0, 2, 100);
+
+        Connection primera = pool.borrow();
+        primera.close();
+        Connection segunda = pool.borrow();
+        segunda.close();
+
+        assertEquals(1, abiertas.get());
+        assertEquals(0, cerradas.get());
+        assertTrue(primera.isClosed());
+        assertEquals(2, pool.getStats().getBorrows());
+        assertEquals(1, pool.getStats().getIdle());
+    }
+
+    @Test
+    public void testRespetaTamanoMaximo() throws SQLException {
+        crearPool(0, 1, 50);
+
+        Connection ocupada = pool.borrow();
+        assertThrows(SQLTimeoutException.class, () -> pool.borrow());
+        assertEquals(1, pool.getStats().getTimeouts());
+
+        ocupada.close();
+        pool.borrow().close();
+        assertEquals(1, abiertas.get());
+    }
+
+    @Test
+    public void testDescartaConexionInvalidaAlPrestar() throws SQLException {
+        crearPool(0, 2, 100);
+
+        pool.borrow().close();
+        validas.set(false);
+        pool.borrow().close();
+
+        assertEquals(2, abiertas.get());
+        assertEquals(1, cerradas.get());
+        assertEquals(1, pool.getStats().getValidationFailures());
+    }
+
+    @Test
+    public void testRevierteTransaccionPendienteAlDevolver() throws SQLException {
+        crearPool(0, 1, 100);
+
+        Connection conn = pool.borrow();
+        conn.setAutoCommit(false);
+        conn.close();
+
+        assertTrue(pool.borrow().getAutoCommit());
+    }
+
+    @Test
+    public void testUsarConexionDevueltaFalla() throws SQLException {
+        crearPool(0, 1, 100);
+
+        Connection conn = pool.borrow();
+        conn.close();
+        assertThrows(SQLException.class, conn::getAutoCommit);
+    }
+
+    @Test
+    public void testRellenaHastaElMinimo() {
+        crearPool(3, 5, 100);
+
+        pool.housekeep();
+
+        assertEquals(3, pool.getStats().getTotal());
+        assertEquals(3, pool.getStats().getIdle());
+    }
+
+    @Test
+    public void testReutilizaSentenciasPreparadas() throws SQLException {
+        crearPool(0, 1, 100);
+        String sql = "SELECT id FROM autores WHERE id = ?";
+
+        for (int i = 0; i < 3; i++) {
+            try (Connection conn = pool.borrow();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, i);
+            }
+        }
+
+        assertEquals(1, preparadas.get());
+        assertEquals(2, pool.getStats().getStatementHits());
+        assertEquals(1, pool.getStats().getStatementMisses());
+    }
+
+    @Test
+    public void testMismaSqlAbiertaDosVecesNoCompartePreparada() throws SQLException {
+        crearPool(0, 1, 100);
+        String sql = "SELECT id FROM autores WHERE id = ?";
+
+        try (Connection conn = pool.borrow();
+             PreparedStatement externa = conn.prepareStatement(sql);
+             PreparedStatement interna = conn.prepareStatement(sql)) {
+            assertNotSame(externa, interna);
+        }
+        assertEquals(2, preparadas.get());
+    }
+
+    @Test
+    public void testExpulsaLaSentenciaMenosUsada() throws SQLException {
+        PoolConfig config = new PoolConfig();
+        config.setMinSize(0);
+        config.setMaxSize(1);
+        config.setStatementCacheSize(1);
+        config.setHousekeepingIntervalMs(0);
+        pool = new ConnectionPool(this::conexionFalsa, config);
+
+        try (Connection conn = pool.borrow()) {
+            conn.prepareStatement("SELECT 1").close();
+            conn.prepareStatement("SELECT 2").close();
+            conn.prepareStatement("SELECT 1").close();
+        }
+        assertEquals(3, preparadas.get());
+    }
+}
@@ -0,0 +1,148 @@
+package config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestUnitOfWork {
+
+    private static final String URL = "jdbc:h2:mem:unidad;DB_CLOSE_DELAY=-1";
+
+    private final AtomicInteger abiertas = new AtomicInteger();
+
+    // Conexiones reales de H2 en memoria; se cuentan las que abre el pool
+    private Connection abrir() {
+        abiertas.incrementAndGet();
+        try {
+            return DriverManager.getConnection(URL);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @BeforeEach
+    public void usarPoolH2() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(URL);
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS filas (id INT)");
+            stmt.execute("DELETE FROM filas");
+        }
+        PoolConfig config = new PoolConfig();
+        config.setMinSize(0);
+        config.setHousekeepingIntervalMs(0);
+        DatabaseConnection.usePool(new ConnectionPool(this::abrir, config));
+    }
+
+    @AfterEach
+    public void quitarPool() {
+        DatabaseConnection.usePool(null);
+    }
+
+    private static void insertarFila(Connection c) throws SQLException {
+        try (Statement stmt = c.createStatement()) {
+            stmt.executeUpdate("INSERT INTO filas VALUES (1)");
+        }
+    }
+
+    // Lo que ve otra sesión: solo lo confirmado
+    private static int filasConfirmadas() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(URL);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM filas")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    public void testUnaConexionYUnSoloCommit() throws Exception {
+        List<String> eventos = new ArrayList<>();
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            Connection primera;
+            try (Connection c = DatabaseConnection.getConnection()) {
+                primera = c;
+                insertarFila(c);
+                c.commit();  // lo que haría un DAO: no confirma la unidad
+            }
+            assertEquals(0, filasConfirmadas());
+            try (Connection c = DatabaseConnection.getConnection()) {
+                assertSame(primera, c);
+                assertFalse(c.isClosed());
+                insertarFila(c);
+            }
+            UnitOfWork.afterCommit(() -> eventos.add("confirmada"));
+            assertTrue(eventos.isEmpty());
+            assertEquals(0, filasConfirmadas());
+            uow.commit();
+        }
+
+        assertEquals(2, filasConfirmadas());
+        assertEquals(1, abiertas.get());
+        assertEquals(List.of("confirmada"), eventos);
+        assertFalse(UnitOfWork.isActive());
+    }
+
+    // La unidad solo se abre y se cierra sin commit: el recurso no se usa dentro del try
+    @Test
+    @SuppressWarnings("try")
+    public void testSinCommitSeDeshace() throws Exception {
+        List<String> eventos = new ArrayList<>();
+        try (UnitOfWork uow = UnitOfWork.begin()) {
+            try (Connection c = DatabaseConnection.getConnection()) {
+                insertarFila(c);
+            }
+            UnitOfWork.afterCommit(() -> eventos.add("confirmada"));
+            UnitOfWork.afterCompletion(() -> eventos.add("terminada"));
+        }
+
+        assertEquals(0, filasConfirmadas());
+        assertEquals(List.of("terminada"), eventos);
+    }
+
+    @Test
+    public void testRollbackDeUnDaoImpideConfirmar() throws Exception {
+        UnitOfWork uow = UnitOfWork.begin();
+        try (Connection c = DatabaseConnection.getConnection()) {
+            insertarFila(c);
+            c.rollback();  // p. ej. insertarLote tras un fallo
+            insertarFila(c);
+        }
+        assertThrows(IllegalStateException.class, uow::commit);
+        assertEquals(0, filasConfirmadas());
+        assertFalse(UnitOfWork.isActive());
+    }
+
+    @Test
+    public void testUnidadAnidadaSeUneALaExterior() throws Exception {
+        try (UnitOfWork exterior = UnitOfWork.begin()) {
+            try (UnitOfWork interior = UnitOfWork.begin()) {
+                try (Connection c = DatabaseConnection.getConnection()) {
+                    insertarFila(c);
+                }
+                interior.commit();
+            }
+            assertTrue(UnitOfWork.isActive());
+            assertEquals(0, filasConfirmadas());
+            exterior.commit();
+        }
+        assertEquals(1, filasConfirmadas());
+    }
+
+    @Test
+    public void testSinUnidadLasAccionesSeEjecutanYa() {
+        List<String> eventos = new ArrayList<>();
+        UnitOfWork.afterCommit(() -> eventos.add("ya"));
+        assertEquals(List.of("ya"), eventos);
+    }
+}
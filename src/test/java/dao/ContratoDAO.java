@@ -0,0 +1,339 @@
+package dao;
+
+import models.Autor;
+import models.Libro;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Contrato común de AutorDAO/LibroDAO: lo pasan todas las implementaciones (ver TestInMemoryDAO y TestJdbcDAO).
+// Cada prueba crea sus propios autores y libros con un género e ISBN únicos, y filtra los resultados
+// por sus IDs, así también funciona contra una base de datos que ya tiene datos.
+public abstract class ContratoDAO {
+
+    protected AutorDAO autorDAO;
+    protected LibroDAO libroDAO;
+
+    private final long sufijo = System.nanoTime() % 1_000_000_000L;
+    private final String genero = "Contrato" + sufijo;
+    private final List<Integer> librosCreados = new ArrayList<>();
+    private final List<Integer> autoresCreados = new ArrayList<>();
+
+    private Autor borges;
+    private Autor cortazar;
+
+    protected abstract AutorDAO crearAutorDAO();
+
+    protected abstract LibroDAO crearLibroDAO(AutorDAO autorDAO);
+
+    @BeforeEach
+    public void preparar() {
+        autorDAO = crearAutorDAO();
+        libroDAO = crearLibroDAO(autorDAO);
+        borges = autor("Jorge Luis", "Borges" + sufijo, "Argentina");
+        cortazar = autor("Julio", "Cortázar" + sufijo, "Argentina");
+    }
+
+    @AfterEach
+    public void limpiar() {
+        for (int id : librosCreados) {
+            libroDAO.eliminar(id);
+        }
+        for (int id : autoresCreados) {
+            autorDAO.eliminar(id);
+        }
+    }
+
+    private Autor autor(String nombre, String apellido, String nacionalidad) {
+        Autor autor = new Autor(nombre, apellido, nacionalidad, LocalDate.of(1900, 1, 1));
+        autorDAO.insertar(autor);
+        autoresCreados.add(autor.getId());
+        return autor;
+    }
+
+    private String isbn(int i) {
+        return String.format("97%09d%02d", sufijo, i);
+    }
+
+    private Libro libro(String titulo, int i, Integer año, Autor autor) {
+        Libro libro = new Libro(titulo, isbn(i), genero, año != null ? Year.of(año) : null, 100 + i, null, autor);
+        libroDAO.insertar(libro);
+        librosCreados.add(libro.getId());
+        return libro;
+    }
+
+    private List<Integer> propios(List<Libro> libros) {
+        return libros.stream().map(Libro::getId).filter(librosCreados::contains).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testInsertarYBuscarPorIdEIsbn() {
+        Libro ficciones = libro("Ficciones", 1, 1944, borges);
+
+        assertTrue(ficciones.getId() > 0);
+        Libro leido = libroDAO.buscarPorId(ficciones.getId());
+        assertEquals("Ficciones", leido.getTitulo());
+        assertEquals(1944, leido.getAnoPublicacion().getValue());
+        assertEquals(101, leido.getPaginas());
+        assertEquals(borges.getId(), leido.getAutor().getId());
+        assertEquals(borges.getApellido(), leido.getAutor().getApellido());
+        assertNotNull(leido.getCreatedAt());
+
+        assertEquals(ficciones.getId(), libroDAO.buscarPorIsbn(" " + isbn(1) + " ").getId());
+        assertNull(libroDAO.buscarPorIsbn(isbn(99)));
+        assertTrue(libroDAO.existe(ficciones.getId()));
+        assertTrue(libroDAO.existeIsbn(isbn(1)));
+        assertFalse(libroDAO.existeIsbn(isbn(99)));
+        assertEquals(Set.of(isbn(1)), libroDAO.existenIsbns(List.of(isbn(1), isbn(99))));
+        assertEquals(List.of(ficciones.getId()),
+                propios(libroDAO.buscarPorIds(List.of(ficciones.getId(), ficciones.getId(), -1))));
+    }
+
+    @Test
+    public void testGeneroOrdenYConteo() {
+        Libro a = libro("Alfa", 1, 1950, borges);
+        Libro b = libro("Beta", 2, 1960, cortazar);
+        Libro c = libro("Gamma", 3, 1950, borges);
+        Libro sinAño = libro("Delta", 4, null, borges);
+
+        // Año DESC con los nulos al final, después título; sin distinguir mayúsculas en el género
+        assertEquals(List.of(b.getId(), a.getId(), c.getId(), sinAño.getId()),
+                propios(libroDAO.buscarPorGenero(genero.toUpperCase())));
+        assertEquals(4, libroDAO.contarPorGenero(genero));
+        assertEquals(0, libroDAO.contarPorGenero(genero + "x"));
+    }
+
+    @Test
+    public void testAñosAutorYTitulo() {
+        Libro a = libro("Rayuela", 1, 1963, cortazar);
+        Libro b = libro("Bestiario", 2, 1951, cortazar);
+        Libro c = libro("Final del juego", 3, 1956, cortazar);
+        Libro d = libro("El Aleph", 4, 1949, borges);
+
+        assertEquals(List.of(a.getId()), propios(libroDAO.buscarPorAño(1963)));
+        assertEquals(List.of(c.getId(), b.getId(), d.getId()), propios(libroDAO.buscarPorRangoAños(1949, 1956)));
+        assertEquals(List.of(a.getId(), c.getId(), b.getId()), propios(libroDAO.buscarPorAutor(cortazar.getId())));
+        assertEquals(List.of(d.getId()), propios(libroDAO.buscarPorAutor(borges)));
+        assertEquals(List.of(b.getId()), propios(libroDAO.buscarPorTitulo("stiar")));
+        assertTrue(propios(libroDAO.buscarPorAño(999)).isEmpty());
+    }
+
+    @Test
+    public void testPaginasCubrenElListadoCompleto() {
+        for (int i = 0; i < 7; i++) {
+            libro("Libro " + (char) ('A' + i), i, i % 2 == 0 ? 1990 : null, i < 4 ? borges : cortazar);
+        }
+
+        List<Integer> completo = propios(libroDAO.buscarPorGenero(genero));
+        List<Integer> paginado = new ArrayList<>();
+        PeticionPagina peticion = PeticionPagina.primera(3);
+        while (peticion != null) {
+            Pagina<Libro> pagina = libroDAO.buscarPorGenero(genero, peticion);
+            assertTrue(pagina.getElementos().size() <= 3);
+            paginado.addAll(propios(pagina.getElementos()));
+            peticion = pagina.getSiguiente();
+        }
+        assertEquals(completo, paginado);
+        assertEquals(7, paginado.size());
+    }
+
+    // Empates de título y año a caballo entre páginas: el ID desempata y ningún libro se repite ni se pierde
+    @Test
+    public void testPaginasConEmpatesEnElLimite() {
+        String mismo = "Mismo " + sufijo;
+        String otro = "Otro " + sufijo;
+        libro(mismo, 0, 1950, borges);
+        libro(mismo, 1, 1950, borges);
+        libro(mismo, 2, 1950, cortazar);
+        libro(mismo, 3, null, borges);
+        libro(otro, 4, 1950, borges);
+        libro(mismo, 5, 1960, borges);
+        libro(otro, 6, null, borges);
+
+        for (int tamano = 1; tamano <= 3; tamano++) {
+            assertEquals(propios(libroDAO.buscarPorGenero(genero)),
+                    paginado(p -> libroDAO.buscarPorGenero(genero, p), tamano));
+            assertEquals(propios(libroDAO.buscarPorAutor(borges.getId())),
+                    paginado(p -> libroDAO.buscarPorAutor(borges.getId(), p), tamano));
+            assertEquals(propios(libroDAO.buscarPorTitulo(String.valueOf(sufijo))),
+                    paginado(p -> libroDAO.buscarPorTitulo(String.valueOf(sufijo), p), tamano));
+            assertEquals(propios(libroDAO.buscarPorAño(1950)),
+                    paginado(p -> libroDAO.buscarPorAño(1950, p), tamano));
+            assertEquals(propios(libroDAO.buscarPorRangoAños(1950, 1960)),
+                    paginado(p -> libroDAO.buscarPorRangoAños(1950, 1960, p), tamano));
+        }
+        assertEquals(7, paginado(p -> libroDAO.buscarPorGenero(genero, p), 2).size());
+        assertEquals(4, paginado(p -> libroDAO.buscarPorAño(1950, p), 2).size());
+    }
+
+    private List<Integer> paginado(Function<PeticionPagina, Pagina<Libro>> consulta, int tamano) {
+        List<Integer> ids = new ArrayList<>();
+        PeticionPagina peticion = PeticionPagina.primera(tamano);
+        while (peticion != null) {
+            Pagina<Libro> pagina = consulta.apply(peticion);
+            assertTrue(pagina.getElementos().size() <= tamano);
+            ids.addAll(propios(pagina.getElementos()));
+            peticion = pagina.getSiguiente();
+        }
+        return ids;
+    }
+
+    // Los IDs vuelven en el orden del lote; un bloque con un autor inexistente no deja nada escrito
+    @Test
+    public void testLotesDevuelvenLosIdsEnOrden() {
+        List<Autor> autores = List.of(new Autor("Silvina", "Ocampo" + sufijo, "Argentina", null),
+                new Autor("Alejandra", "Pizarnik" + sufijo, "Argentina", null),
+                new Autor("Adolfo", "Bioy" + sufijo, "Argentina", null));
+        List<Integer> idsAutores = autorDAO.insertarLote(autores);
+        autoresCreados.addAll(idsAutores);
+        assertEquals(3, idsAutores.size());
+        for (int i = 0; i < autores.size(); i++) {
+            assertEquals(autores.get(i).getId(), (int) idsAutores.get(i));
+            assertEquals(autores.get(i).getApellido(), autorDAO.buscarPorId(idsAutores.get(i)).getApellido());
+        }
+
+        List<Libro> lote = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            lote.add(new Libro("Lote " + i, isbn(i), genero, Year.of(1940 + i), 10 + i, null, autores.get(i)));
+        }
+        List<Integer> ids = libroDAO.insertarLote(lote);
+        librosCreados.addAll(ids);
+        for (int i = 0; i < lote.size(); i++) {
+            assertEquals(lote.get(i).getId(), (int) ids.get(i));
+            Libro leido = libroDAO.buscarPorId(ids.get(i));
+            assertEquals("Lote " + i, leido.getTitulo());
+            assertEquals(autores.get(i).getApellido(), leido.getAutor().getApellido());
+        }
+
+        Autor inexistente = new Autor();
+        inexistente.setId(Integer.MAX_VALUE);
+        List<Libro> conHuerfano = List.of(new Libro("Bien", isbn(10), genero, null, 1, null, borges),
+                new Libro("Huérfano", isbn(11), genero, null, 1, null, inexistente));
+        assertThrows(IllegalArgumentException.class, () -> libroDAO.insertarLote(conHuerfano));
+        assertEquals(0, conHuerfano.get(0).getId());
+        assertFalse(libroDAO.existeIsbn(isbn(10)));
+        assertEquals(3, libroDAO.contarPorGenero(genero));
+
+        // Como insertar, el lote no usa el ID que traigan los libros
+        Libro conId = new Libro(Integer.MAX_VALUE - 1, "Con ID", isbn(12), genero, null, 1, null, borges);
+        Libro sinId = new Libro("Sin ID", isbn(13), genero, null, 1, null, borges);
+        List<Integer> otros = libroDAO.insertarLote(List.of(conId, sinId));
+        librosCreados.addAll(otros);
+        assertEquals(List.of(conId.getId(), sinId.getId()), otros);
+        assertNotEquals(Integer.MAX_VALUE - 1, conId.getId());
+        assertNull(libroDAO.buscarPorId(Integer.MAX_VALUE - 1));
+        assertEquals("Con ID", libroDAO.buscarPorId(conId.getId()).getTitulo());
+        assertEquals(5, libroDAO.contarPorGenero(genero));
+    }
+
+    @Test
+    public void testErroresDeValidacion() {
+        libro("Ficciones", 1, 1944, borges);
+
+        Libro repetido = new Libro("Otro", isbn(1), genero, Year.of(1950), 10, null, borges);
+        assertThrows(IllegalArgumentException.class, () -> libroDAO.insertar(repetido));
+
+        Autor inexistente = new Autor();
+        inexistente.setId(Integer.MAX_VALUE);
+        Libro huerfano = new Libro("Huérfano", isbn(2), genero, Year.of(1950), 10, null, inexistente);
+        assertThrows(IllegalArgumentException.class, () -> libroDAO.insertar(huerfano));
+
+        List<Libro> lote = List.of(new Libro("X", isbn(3), genero, null, 1, null, borges),
+                new Libro("Y", isbn(3), genero, null, 1, null, borges));
+        assertThrows(IllegalArgumentException.class, () -> libroDAO.insertarLote(lote));
+        assertFalse(libroDAO.existeIsbn(isbn(3)));
+
+        Libro fantasma = new Libro(Integer.MAX_VALUE, "Fantasma", null, genero, null, 1, null, borges);
+        assertThrows(IllegalArgumentException.class, () -> libroDAO.actualizar(fantasma));
+        assertThrows(RuntimeException.class, () -> autorDAO.eliminar(borges.getId()));
+    }
+
+    @Test
+    public void testActualizarLoteYEliminar() {
+        Libro libro = libro("Ficciones", 1, 1944, borges);
+        List<Libro> lote = List.of(new Libro("Uno", isbn(2), genero, Year.of(1980), 1, null, cortazar),
+                new Libro("Dos", isbn(3), genero, Year.of(1981), 2, null, cortazar));
+        List<Integer> ids = libroDAO.insertarLote(lote);
+        librosCreados.addAll(ids);
+        assertEquals(2, ids.size());
+        assertEquals(ids.get(0), (Integer) lote.get(0).getId());
+        assertEquals(3, libroDAO.contarPorGenero(genero));
+
+        libro.setGenero(genero + "b");
+        libro.setAnoPublicacion(Year.of(1945));
+        libro.setAutor(cortazar);
+        libroDAO.actualizar(libro);
+        assertEquals(2, libroDAO.contarPorGenero(genero));
+        Libro leido = libroDAO.buscarPorId(libro.getId());
+        assertEquals(1945, leido.getAnoPublicacion().getValue());
+        assertEquals(cortazar.getId(), leido.getAutor().getId());
+        assertEquals(List.of(ids.get(1), ids.get(0), libro.getId()), propios(libroDAO.buscarPorAutor(cortazar.getId())));
+
+        // Los datos del autor salen del JOIN: un cambio del autor se ve en sus libros
+        cortazar.setNacionalidad("Francia");
+        assertTrue(autorDAO.actualizar(cortazar));
+        // Sin cambios también cuenta como encontrado; un ID que no existe no es un error
+        assertTrue(autorDAO.actualizar(cortazar));
+        Autor inexistente = new Autor(cortazar);
+        inexistente.setId(Integer.MAX_VALUE);
+        assertFalse(autorDAO.actualizar(inexistente));
+        assertEquals("Francia", libroDAO.buscarPorId(libro.getId()).getAutor().getNacionalidad());
+        assertTrue(autorDAO.buscarPorNacionalidad("Francia").stream().anyMatch(a -> a.getId() == cortazar.getId()));
+
+        libroDAO.eliminar(libro.getId());
+        assertNull(libroDAO.buscarPorId(libro.getId()));
+        assertFalse(libroDAO.existeIsbn(isbn(1)));
+        assertEquals(0, libroDAO.contarPorGenero(genero + "b"));
+    }
+
+    // Como la colación _ci de MySQL: ni mayúsculas ni tildes cuentan al agrupar, buscar u ordenar
+    @Test
+    public void testColacionSinMayusculasNiTildes() {
+        Libro zorro = libro("Zorro", 1, 2000, borges);
+        Libro arbol = libro("árbol", 2, 2000, borges);
+        Libro banana = libro("Banana", 3, 2000, borges);
+        Libro apple = libro("apple", 4, 2000, borges);
+        assertEquals(List.of(apple.getId(), arbol.getId(), banana.getId(), zorro.getId()),
+                propios(libroDAO.buscarPorGenero(genero)));
+        assertEquals(List.of(arbol.getId()), propios(libroDAO.buscarPorTitulo("ÁRBOL")));
+        assertEquals(List.of(arbol.getId()), propios(libroDAO.buscarPorTitulo("arbol")));
+
+        Libro conTilde = new Libro("Uno", isbn(5), "Ficción" + sufijo, null, 1, null, borges);
+        Libro sinTilde = new Libro("Dos", isbn(6), "FICCION" + sufijo, null, 1, null, cortazar);
+        librosCreados.addAll(libroDAO.insertarLote(List.of(conTilde, sinTilde)));
+        assertEquals(2, libroDAO.contarPorGenero("ficcion" + sufijo));
+        assertEquals(2, propios(libroDAO.buscarPorGenero("fícción" + sufijo)).size());
+
+        assertTrue(autorDAO.buscarPorNombre("cortazar" + sufijo).stream().anyMatch(a -> a.getId() == cortazar.getId()));
+    }
+
+    // Un lote se confirma por bloques: si falla uno, los anteriores quedan guardados y con ID
+    @Test
+    public void testLoteQueFallaAMitadConservaLosBloquesAnteriores() {
+        libro("Ficciones", 1, 1944, borges);
+        List<Libro> lote = new ArrayList<>();
+        for (int i = 0; i < UtilSQL.TAMANO_BLOQUE; i++) {
+            lote.add(new Libro("Lote " + i, null, genero, null, 1, null, cortazar));
+        }
+        lote.add(new Libro("Repetido", isbn(1), genero, null, 1, null, cortazar));
+
+        try {
+            assertThrows(IllegalArgumentException.class, () -> libroDAO.insertarLote(lote));
+        } finally {
+            lote.stream().filter(l -> l.getId() > 0).forEach(l -> librosCreados.add(l.getId()));
+        }
+        assertTrue(lote.subList(0, UtilSQL.TAMANO_BLOQUE).stream().allMatch(l -> l.getId() > 0));
+        assertEquals(0, lote.get(UtilSQL.TAMANO_BLOQUE).getId());
+        assertEquals(UtilSQL.TAMANO_BLOQUE + 1, libroDAO.contarPorGenero(genero));
+    }
+}
@@ -0,0 +1,16 @@
+package dao;
+
+import models.Libro;
+
+import java.util.List;
+
+// Para pruebas de otros paquetes que necesitan libros con IDs concretos (p. ej. las de replica)
+public final class LotesConIds {
+
+    private LotesConIds() {
+    }
+
+    public static List<Integer> insertar(LibroDAO dao, List<Libro> libros) {
+        return IdsReservados.insertarLoteConIds(dao, libros);
+    }
+}
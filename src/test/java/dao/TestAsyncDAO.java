@@ -0,0 +1,81 @@
+package dao;
+
+import models.Autor;
+import models.Libro;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestAsyncDAO {
+
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final AtomicInteger maximoEnCurso = new AtomicInteger();
+    private final EjecutorDAO ejecutor = new EjecutorDAO(3);
+
+    @AfterEach
+    public void cerrar() {
+        ejecutor.close();
+    }
+
+    private final InMemoryAutorDAO autores = new InMemoryAutorDAO();
+    private final InMemoryLibroDAO libros = new InMemoryLibroDAO(autores);
+
+    public TestAsyncDAO() {
+        for (int i = 1; i <= 30; i++) {
+            autores.insertar(new Autor("Autor", "Número " + i, null, null));
+        }
+        // El autor 7 tiene un libro: eliminarlo falla
+        libros.insertar(new Libro("Ficciones", null, "Cuentos", null, 200, null, autores.buscarPorId(7)));
+    }
+
+    // Tarda un poco en cada consulta y anota cuántas corren a la vez
+    private AutorDAO daoLento() {
+        return new AutorDAODecorador(autores) {
+            @Override
+            public Autor buscarPorId(int id) {
+                int actual = enCurso.incrementAndGet();
+                maximoEnCurso.accumulateAndGet(actual, Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    enCurso.decrementAndGet();
+                }
+                return super.buscarPorId(id);
+            }
+        };
+    }
+
+    @Test
+    public void testNoSuperaElLimiteDeConcurrencia() {
+        AsyncAutorDAO dao = new AsyncAutorDAO(daoLento(), ejecutor);
+
+        List<CompletableFuture<Autor>> futuros = new ArrayList<>();
+        for (int i = 1; i <= 30; i++) {
+            futuros.add(dao.buscarPorId(i));
+        }
+        CompletableFuture.allOf(futuros.toArray(new CompletableFuture<?>[0])).join();
+
+        for (int i = 0; i < futuros.size(); i++) {
+            assertEquals(i + 1, futuros.get(i).join().getId());
+        }
+        assertTrue(maximoEnCurso.get() <= 3);
+    }
+
+    @Test
+    public void testErrorDelDAOLlegaEnElFuturo() {
+        AsyncAutorDAO dao = new AsyncAutorDAO(daoLento(), ejecutor);
+
+        CompletionException e = assertThrows(CompletionException.class, () -> dao.eliminar(7).join());
+        assertEquals("No se puede eliminar: el autor tiene libros asociados", e.getCause().getMessage());
+        assertTrue(autores.existe(7));
+    }
+}
@@ -0,0 +1,111 @@
+package dao;
+
+import models.Autor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCachingAutorDAO {
+
+    private final InMemoryAutorDAO tabla = new InMemoryAutorDAO();
+    private final AtomicInteger consultas = new AtomicInteger();
+
+    // Cuenta cada ID que se pide a la tabla, suelto o en bloque
+    private AutorDAO contador() {
+        return new AutorDAODecorador(tabla) {
+            @Override
+            public Autor buscarPorId(int id) {
+                consultas.incrementAndGet();
+                return super.buscarPorId(id);
+            }
+
+            @Override
+            public List<Autor> buscarPorIds(Collection<Integer> ids) {
+                consultas.addAndGet(ids.size());
+                return super.buscarPorIds(ids);
+            }
+        };
+    }
+
+    @Test
+    public void testSegundaLecturaNoConsultaLaBase() {
+        tabla.insertar(new Autor("Jorge Luis", "Borges", "Argentina", LocalDate.of(1899, 8, 24)));
+        CachingAutorDAO cache = new CachingAutorDAO(contador());
+
+        assertEquals("Borges", cache.buscarPorId(1).getApellido());
+        assertTrue(cache.existe(1));
+        assertEquals("Borges", cache.buscarPorId(1).getApellido());
+
+        assertEquals(1, consultas.get());
+        assertEquals(2, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+    }
+
+    @Test
+    public void testRecuerdaAutoresInexistentesHastaInsertar() {
+        CachingAutorDAO cache = new CachingAutorDAO(contador());
+
+        assertFalse(cache.existe(1));
+        assertFalse(cache.existe(1));
+        assertEquals(1, consultas.get());
+
+        cache.insertar(new Autor("Isabel", "Allende", "Chilena", null));
+        assertTrue(cache.existe(1));
+    }
+
+    @Test
+    public void testActualizarInvalida() {
+        tabla.insertar(new Autor("Jorge Luis", "Borges", "Argentina", null));
+        CachingAutorDAO cache = new CachingAutorDAO(contador());
+
+        Autor autor = cache.buscarPorId(1);
+        autor.setNacionalidad("Argentino");
+        assertEquals("Argentina", cache.buscarPorId(1).getNacionalidad());
+
+        cache.actualizar(autor);
+        assertEquals("Argentino", cache.buscarPorId(1).getNacionalidad());
+    }
+
+    @Test
+    public void testRespetaCapacidadYCaducidad() throws InterruptedException {
+        for (int id = 1; id <= 3; id++) {
+            tabla.insertar(new Autor("Autor", "Número " + id, null, null));
+        }
+        CachingAutorDAO cache = new CachingAutorDAO(contador(), 2, Duration.ofMillis(50));
+
+        cache.buscarPorId(1);
+        cache.buscarPorId(2);
+        cache.buscarPorId(3);
+        assertEquals(2, cache.getTamano());
+        assertEquals(1, cache.getExpulsiones());
+
+        Thread.sleep(60);
+        cache.buscarPorId(3);
+        assertEquals(4, consultas.get());
+    }
+
+    @Test
+    public void testBuscarPorIdsSoloPideLosFallos() {
+        tabla.insertar(new Autor("Jorge Luis", "Borges", "Argentina", LocalDate.of(1899, 8, 24)));
+        tabla.insertar(new Autor("Isabel", "Allende", "Chilena", LocalDate.of(1942, 8, 2)));
+        CachingAutorDAO cache = new CachingAutorDAO(contador());
+        cache.buscarPorId(2);
+
+        List<Autor> autores = cache.buscarPorIds(List.of(2, 9, 1, 2));
+
+        assertEquals(2, autores.size());
+        assertEquals("Allende", autores.get(0).getApellido());
+        assertEquals("Borges", autores.get(1).getApellido());
+        // buscarPorId(2) + el bloque con los fallos 9 y 1
+        assertEquals(3, consultas.get());
+
+        cache.buscarPorIds(List.of(1, 9));
+        assertEquals(3, consultas.get());
+    }
+}
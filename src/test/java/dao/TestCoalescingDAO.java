@@ -0,0 +1,157 @@
+package dao;
+
+import models.Autor;
+import models.Libro;
+import org.junit.jupiter.api.Test;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestCoalescingDAO {
+
+    private final InMemoryAutorDAO autores = new InMemoryAutorDAO();
+    private final InMemoryLibroDAO libros = new InMemoryLibroDAO(autores);
+
+    private final AtomicInteger consultasPorId = new AtomicInteger();
+    private final AtomicInteger consultasPorIds = new AtomicInteger();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+    // Solo las primeras 'retenidas' consultas por ID esperan a 'liberar'
+    private final AtomicInteger retenidas = new AtomicInteger(Integer.MAX_VALUE);
+
+    // buscarPorId lee la fila y luego espera a 'liberar', para que las llamadas se solapen
+    private final LibroDAO lento = new LibroDAODecorador(libros) {
+        @Override
+        public Libro buscarPorId(int id) {
+            consultasPorId.incrementAndGet();
+            Libro libro = super.buscarPorId(id);
+            if (retenidas.getAndDecrement() > 0) {
+                try {
+                    liberar.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return libro;
+        }
+
+        @Override
+        public List<Libro> buscarPorIds(Collection<Integer> ids) {
+            consultasPorIds.incrementAndGet();
+            return super.buscarPorIds(ids);
+        }
+    };
+
+    public TestCoalescingDAO() {
+        Autor borges = new Autor("Jorge Luis", "Borges", "Argentina", null);
+        autores.insertar(borges);
+        for (int i = 1; i <= 7; i++) {
+            libros.insertar(new Libro("Libro " + i, String.format("978%010d", i), "Cuentos", Year.of(1944), 100, null, borges));
+        }
+    }
+
+    @Test
+    public void testLlamadasIdenticasCompartenUnaConsulta() throws Exception {
+        CoalescingLibroDAO dao = new CoalescingLibroDAO(lento);
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Libro>> resultados = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                resultados.add(hilos.submit(() -> dao.buscarPorId(7)));
+            }
+            while (dao.getConsultasCompartidas() < 7) {
+                Thread.sleep(1);
+            }
+            liberar.countDown();
+
+            Libro primero = resultados.get(0).get();
+            for (Future<Libro> resultado : resultados) {
+                assertEquals(7, resultado.get().getId());
+            }
+            assertNotSame(primero, resultados.get(1).get());
+            assertEquals(1, consultasPorId.get());
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMicroLoteAgrupaIdsDistintos() throws Exception {
+        liberar.countDown();
+        ExecutorService hilos = Executors.newFixedThreadPool(4);
+        try (CoalescingLibroDAO dao = new CoalescingLibroDAO(lento, 1_000_000, 4)) {
+            List<Future<Libro>> resultados = new ArrayList<>();
+            for (int id : new int[]{1, 2, 3, 500}) {
+                resultados.add(hilos.submit(() -> dao.buscarPorId(id)));
+            }
+
+            assertEquals(1, resultados.get(0).get().getId());
+            assertEquals(3, resultados.get(2).get().getId());
+            assertNull(resultados.get(3).get());
+            assertEquals(1, consultasPorIds.get());
+            assertEquals(0, consultasPorId.get());
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLaLecturaDespuesDeUnaEscrituraNoSeUneALaDeAntes() throws Exception {
+        retenidas.set(1);
+        CoalescingLibroDAO dao = new CoalescingLibroDAO(lento);
+        ExecutorService hilos = Executors.newSingleThreadExecutor();
+        try {
+            // Esta lectura ya tiene la fila de antes y sigue en vuelo
+            Future<Libro> antes = hilos.submit(() -> dao.buscarPorId(7));
+            while (consultasPorId.get() < 1) {
+                Thread.sleep(1);
+            }
+
+            Libro cambiado = libros.buscarPorId(7);
+            cambiado.setTitulo("Cambiado");
+            dao.actualizar(cambiado);
+            assertEquals("Cambiado", dao.buscarPorId(7).getTitulo());
+
+            dao.eliminar(7);
+            assertNull(dao.buscarPorId(7));
+
+            liberar.countDown();
+            assertEquals("Libro 7", antes.get(5, TimeUnit.SECONDS).getTitulo());
+            assertEquals(3, consultasPorId.get());
+        } finally {
+            liberar.countDown();
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnLoteLlenoNoAdelantaElSiguiente() throws Exception {
+        ExecutorService hilos = Executors.newFixedThreadPool(3);
+        try (CoalescingLibroDAO dao = new CoalescingLibroDAO(lento, 400_000, 2)) {
+            Future<Libro> uno = hilos.submit(() -> dao.buscarPorId(1));
+            Future<Libro> dos = hilos.submit(() -> dao.buscarPorId(2));
+            assertEquals(1, uno.get(5, TimeUnit.SECONDS).getId());
+            assertEquals(2, dos.get(5, TimeUnit.SECONDS).getId());
+            assertEquals(1, consultasPorIds.get());
+
+            // El temporizador del primer lote sigue pendiente: no debe despachar este antes de su propia ventana
+            Thread.sleep(200);
+            long inicio = System.nanoTime();
+            Future<Libro> tres = hilos.submit(() -> dao.buscarPorId(3));
+            assertEquals(3, tres.get(5, TimeUnit.SECONDS).getId());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) >= 350);
+            assertEquals(2, consultasPorIds.get());
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+}
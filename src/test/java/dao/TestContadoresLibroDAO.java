@@ -0,0 +1,130 @@
+package dao;
+
+import models.Autor;
+import models.Libro;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestContadoresLibroDAO {
+
+    private final InMemoryAutorDAO autores = new InMemoryAutorDAO();
+    private final InMemoryLibroDAO tabla = new InMemoryLibroDAO(autores);
+    private final AtomicInteger consultasConteo = new AtomicInteger();
+    private ContadoresLibroDAO contadores;
+
+    // Cuenta las veces que contarPorGenero llega a la "base de datos"
+    private final LibroDAO contado = new LibroDAODecorador(tabla) {
+        @Override
+        public int contarPorGenero(String genero) {
+            consultasConteo.incrementAndGet();
+            return super.contarPorGenero(genero);
+        }
+    };
+
+    public TestContadoresLibroDAO() {
+        for (int i = 1; i <= 3; i++) {
+            autores.insertar(new Autor("Autor", "Número " + i, null, null));
+        }
+    }
+
+    private Libro libro(int id, String genero, int año, int autorId) {
+        return new Libro(id, "Libro " + id, null, genero, Year.of(año), 100, null, autores.buscarPorId(autorId));
+    }
+
+    @AfterEach
+    public void cerrar() {
+        if (contadores != null) {
+            contadores.close();
+        }
+    }
+
+    @Test
+    public void testSinCargarConsultaLaBaseDeDatos() {
+        tabla.insertarLote(List.of(libro(1, "Novela", 1967, 1)));
+        contadores = new ContadoresLibroDAO(contado);
+
+        assertEquals(1, contadores.contarPorGenero("Novela"));
+        assertEquals(1, consultasConteo.get());
+        assertThrows(IllegalStateException.class, contadores::getTotal);
+    }
+
+    @Test
+    public void testMantieneConteosConLasEscrituras() {
+        tabla.insertarLote(List.of(libro(1, "Novela", 1967, 1), libro(2, "Cuentos", 1944, 2)));
+        contadores = new ContadoresLibroDAO(contado);
+        contadores.cargar();
+
+        contadores.insertar(libro(0, "novela", 1982, 3));
+        contadores.actualizar(libro(2, "Novela", 1944, 2));
+        contadores.eliminar(1);
+
+        assertEquals(2, contadores.contarPorGenero("NOVELA"));
+        assertEquals(0, contadores.contarPorGenero("Cuentos"));
+        assertEquals(0, contadores.contarPorAño(1967));
+        assertEquals(1, contadores.contarPorAutor(3));
+        assertEquals(2, contadores.getTotal());
+        assertEquals(0, consultasConteo.get());
+    }
+
+    @Test
+    public void testReconciliacionRecogeCambiosExternos() {
+        tabla.insertarLote(List.of(libro(1, "Poesía", 1950, 1)));
+        contadores = new ContadoresLibroDAO(contado);
+        contadores.cargar();
+
+        // Alta hecha por fuera del DAO
+        tabla.insertarLote(List.of(libro(2, "Poesia", 1960, 1)));
+        assertEquals(1, contadores.contarPorGenero("Poesía"));
+
+        contadores.cargar();
+        assertEquals(2, contadores.contarPorGenero("poesia"));
+        assertEquals(2, contadores.contarPorAutor(1));
+    }
+
+    @Test
+    public void testActualizacionesConcurrentesDelMismoLibroQuedanEnOrden() throws Exception {
+        tabla.insertarLote(List.of(libro(1, "Novela", 1967, 1)));
+        // La primera actualización se queda parada entre escribir en la tabla y volver
+        CountDownLatch escrito = new CountDownLatch(1);
+        CountDownLatch seguir = new CountDownLatch(1);
+        LibroDAO lento = new LibroDAODecorador(tabla) {
+            @Override
+            public void actualizar(Libro libro) {
+                super.actualizar(libro);
+                if (libro.getGenero().equals("Poesía")) {
+                    escrito.countDown();
+                    try {
+                        seguir.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        contadores = new ContadoresLibroDAO(lento);
+        contadores.cargar();
+
+        Thread primera = new Thread(() -> contadores.actualizar(libro(1, "Poesía", 1967, 1)));
+        primera.start();
+        assertTrue(escrito.await(5, TimeUnit.SECONDS));
+        Thread segunda = new Thread(() -> contadores.actualizar(libro(1, "Ensayo", 1967, 1)));
+        segunda.start();
+        segunda.join(200);
+        seguir.countDown();
+        primera.join(5000);
+        segunda.join(5000);
+
+        assertEquals("Ensayo", tabla.buscarPorId(1).getGenero());
+        assertEquals(1, contadores.contarPorGenero("Ensayo"));
+        assertEquals(0, contadores.contarPorGenero("Poesía"));
+        assertEquals(1, contadores.getTotal());
+    }
+}
@@ -0,0 +1,82 @@
+package dao;
+
+import models.Autor;
+import models.Estadisticas;
+import models.Libro;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Contra la base de datos de application.properties: ./gradlew test -Pcontrato.jdbc.
+// La base puede tener datos, así que se comparan las estadísticas de antes y después de dar de alta
+// un autor y sus libros, con un género y una nacionalidad que solo usa esta prueba.
+@EnabledIfSystemProperty(named = "contrato.jdbc", matches = "true")
+public class TestEstadisticasDAO {
+
+    private final long sufijo = System.nanoTime() % 1_000_000_000L;
+    private final String genero = "Estadistica" + sufijo;
+    private final String nacionalidad = "Nac" + sufijo;
+
+    private final AutorDAO autorDAO = new AutorDAOImpl();
+    private final LibroDAO libroDAO = new LibroDAOImpl(autorDAO);
+    private final EstadisticasDAO estadisticasDAO = new EstadisticasDAOImpl();
+    private final List<Integer> librosCreados = new ArrayList<>();
+    private Autor autor;
+
+    @BeforeEach
+    public void preparar() {
+        autor = new Autor("Silvina", "Ocampo" + sufijo, nacionalidad, null);
+    }
+
+    @AfterEach
+    public void limpiar() {
+        for (int id : librosCreados) {
+            libroDAO.eliminar(id);
+        }
+        if (autor.getId() > 0) {
+            autorDAO.eliminar(autor.getId());
+        }
+    }
+
+    @Test
+    public void testAgregadosCuadranConLoInsertado() {
+        Estadisticas antes = estadisticasDAO.obtener();
+
+        autorDAO.insertar(autor);
+        librosCreados.addAll(libroDAO.insertarLote(List.of(
+                new Libro("Uno", null, genero, Year.of(1951), 100, null, autor),
+                new Libro("Dos", null, genero, Year.of(1959), 200, null, autor),
+                new Libro("Tres", null, genero, null, 600, null, autor))));
+        Estadisticas despues = estadisticasDAO.obtener();
+
+        assertEquals(antes.getTotalAutores() + 1, despues.getTotalAutores());
+        assertEquals(antes.getTotalLibros() + 3, despues.getTotalLibros());
+        assertEquals(3, despues.getLibrosPorGenero().get(genero));
+        assertNull(antes.getLibrosPorGenero().get(genero));
+        assertEquals(1, despues.getAutoresPorNacionalidad().get(nacionalidad));
+        assertEquals(antes.getLibrosPorDecada().getOrDefault(1950, 0) + 2, despues.getLibrosPorDecada().get(1950));
+        assertEquals(antes.getLibrosSinAño() + 1, despues.getLibrosSinAño());
+
+        // AVG llega redondeado a 4 decimales
+        double paginasAntes = antes.getPromedioPaginas() * antes.getTotalLibros();
+        double paginasDespues = despues.getPromedioPaginas() * despues.getTotalLibros();
+        assertEquals(paginasAntes + 900, paginasDespues, 0.001 * despues.getTotalLibros());
+
+        // Lo mismo que contaba la pantalla de estadísticas con las listas completas
+        assertEquals(autorDAO.buscarTodos().size(), despues.getTotalAutores());
+        assertEquals(libroDAO.buscarTodos().size(), despues.getTotalLibros());
+
+        // Géneros de más a menos libros
+        List<Integer> cantidades = new ArrayList<>(despues.getLibrosPorGenero().values());
+        for (int i = 1; i < cantidades.size(); i++) {
+            assertTrue(cantidades.get(i - 1) >= cantidades.get(i));
+        }
+    }
+}
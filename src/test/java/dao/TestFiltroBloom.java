@@ -0,0 +1,56 @@
+package dao;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestFiltroBloom {
+
+    private static String isbn(long n) {
+        return String.format("978%010d", n);
+    }
+
+    @Test
+    public void testNuncaDaFalsosNegativos() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (long i = 0; i < 10_000; i++) {
+            filtro.agregar(isbn(i));
+        }
+        for (long i = 0; i < 10_000; i++) {
+            assertTrue(filtro.puedeContener(isbn(i)), "Falso negativo para " + isbn(i));
+        }
+    }
+
+    @Test
+    public void testTasaDeFalsosPositivosCercaDelObjetivo() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (long i = 0; i < 10_000; i++) {
+            filtro.agregar(isbn(i));
+        }
+
+        int falsos = 0;
+        for (long i = 1_000_000; i < 1_100_000; i++) {
+            if (filtro.puedeContener(isbn(i))) {
+                falsos++;
+                filtro.registrarFalsoPositivo();
+            }
+        }
+
+        double tasa = falsos / 100_000.0;
+        assertTrue(tasa < 0.02, "Tasa de falsos positivos demasiado alta: " + tasa);
+        assertEquals(tasa, filtro.getTasaMedida(), 0.0001);
+        assertEquals(0.01, filtro.getTasaEstimada(), 0.005);
+    }
+
+    @Test
+    public void testPideReconstruccionAlSuperarCapacidad() {
+        FiltroBloom filtro = new FiltroBloom(100, 0.01);
+        for (long i = 0; i < 100; i++) {
+            filtro.agregar(isbn(i));
+        }
+        assertFalse(filtro.necesitaReconstruccion());
+
+        filtro.agregar(isbn(100));
+        assertTrue(filtro.necesitaReconstruccion());
+    }
+}
@@ -0,0 +1,77 @@
+package dao;
+
+import models.Autor;
+import models.Libro;
+import org.junit.jupiter.api.Test;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestInMemoryDAO extends ContratoDAO {
+
+    @Override
+    protected AutorDAO crearAutorDAO() {
+        return new InMemoryAutorDAO();
+    }
+
+    @Override
+    protected LibroDAO crearLibroDAO(AutorDAO autorDAO) {
+        return new InMemoryLibroDAO((InMemoryAutorDAO) autorDAO);
+    }
+
+    @Test
+    public void testLosDatosGuardadosSonCopias() {
+        Autor autor = new Autor("Jorge Luis", "Borges", "Argentina", null);
+        autorDAO.insertar(autor);
+        Libro libro = new Libro("Ficciones", "9788497592222", "Cuentos", Year.of(1944), 200, null, autor);
+        libroDAO.insertar(libro);
+
+        libro.setTitulo("Cambiado fuera del DAO");
+        libroDAO.buscarPorId(libro.getId()).getAutor().setApellido("Cambiado");
+
+        Libro leido = libroDAO.buscarPorId(libro.getId());
+        assertEquals("Ficciones", leido.getTitulo());
+        assertEquals("Borges", leido.getAutor().getApellido());
+        libroDAO.eliminar(libro.getId());
+    }
+
+    @Test
+    public void testEscriturasYLecturasConcurrentes() throws Exception {
+        Autor autor = new Autor("Jorge Luis", "Borges", "Argentina", null);
+        autorDAO.insertar(autor);
+
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < 4; h++) {
+            int hilo = h;
+            tareas.add(hilos.submit(() -> {
+                for (int i = 0; i < 250; i++) {
+                    libroDAO.insertar(new Libro("Libro " + hilo + "-" + i, String.format("%04d%09d", hilo, i),
+                            "Concurrente", Year.of(1900 + i % 100), i, null, autor));
+                }
+            }));
+            tareas.add(hilos.submit(() -> {
+                for (int i = 0; i < 250; i++) {
+                    for (Libro libro : libroDAO.buscarPorRangoAños(1900, 1999)) {
+                        assertNotNull(libro.getAutor());
+                    }
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get(30, TimeUnit.SECONDS);
+        }
+        hilos.shutdown();
+
+        assertEquals(1000, libroDAO.contarPorGenero("concurrente"));
+        assertEquals(1000, libroDAO.buscarPorAutor(autor.getId()).size());
+        assertEquals(1000, libroDAO.buscarTodos().size());
+    }
+}
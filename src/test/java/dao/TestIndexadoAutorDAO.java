@@ -0,0 +1,39 @@
+package dao;
+
+import models.Autor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestIndexadoAutorDAO {
+
+    @Test
+    public void testActualizarUnIdInexistenteNoLoIndexa() {
+        InMemoryAutorDAO autores = new InMemoryAutorDAO();
+        AtomicInteger consultasExiste = new AtomicInteger();
+        IndexadoAutorDAO dao = new IndexadoAutorDAO(new AutorDAODecorador(autores) {
+            @Override
+            public boolean existe(int id) {
+                consultasExiste.incrementAndGet();
+                return super.existe(id);
+            }
+        });
+        Autor borges = new Autor("Jorge Luis", "Borges", "Argentina", null);
+        dao.insertar(borges);
+        dao.cargarIndice();
+
+        Autor fantasma = new Autor("Pierre", "Menard", "Francia", null);
+        fantasma.setId(borges.getId() + 100);
+        assertFalse(dao.actualizar(fantasma));
+        assertTrue(dao.buscarPorNombre("Menard").isEmpty());
+
+        borges.setNombre("Jorge Francisco Isidoro Luis");
+        assertTrue(dao.actualizar(borges));
+        assertEquals(List.of(borges.getId()), dao.buscarPorNombre("isidoro").stream().map(Autor::getId).toList());
+        // El resultado del UPDATE basta: ninguna consulta más por escritura
+        assertEquals(0, consultasExiste.get());
+    }
+}
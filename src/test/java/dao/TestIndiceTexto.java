@@ -0,0 +1,52 @@
+package dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestIndiceTexto {
+
+    @Test
+    public void testIgnoraTildesYMayusculas() {
+        IndiceTexto indice = new IndiceTexto();
+        indice.indexar(1, "Cien años de soledad");
+        indice.indexar(2, "El amor en los tiempos del cólera");
+
+        assertEquals(Set.of(1), indice.buscar("CIEN AÑOS"));
+        assertEquals(Set.of(1), indice.buscar("anos"));
+        assertEquals(Set.of(2), indice.buscar("colera"));
+        assertEquals(List.of("cien", "anos", "de", "soledad"), IndiceTexto.tokenizar("Cien años de soledad"));
+    }
+
+    @Test
+    public void testBuscaPorPrefijoYCombinaConAnd() {
+        IndiceTexto indice = new IndiceTexto();
+        indice.indexar(1, "Cien años de soledad");
+        indice.indexar(2, "Crónica de una muerte anunciada");
+        indice.indexar(3, "Cien sonetos de amor");
+
+        assertEquals(Set.of(1, 3), indice.buscar("cie"));
+        assertEquals(Set.of(1), indice.buscar("cien so sol"));
+        assertEquals(Set.of(1, 2, 3), indice.buscar("de"));
+        assertTrue(indice.buscar("cien muerte").isEmpty());
+        assertTrue(indice.buscar("  ").isEmpty());
+    }
+
+    @Test
+    public void testReindexarYQuitar() {
+        IndiceTexto indice = new IndiceTexto();
+        indice.indexar(1, "Rayuela");
+        indice.indexar(1, "Ficciones");
+
+        assertTrue(indice.buscar("rayuela").isEmpty());
+        assertEquals(Set.of(1), indice.buscar("ficciones"));
+
+        indice.quitar(1);
+        assertTrue(indice.buscar("ficciones").isEmpty());
+        assertEquals(0, indice.getPalabras());
+        assertEquals(0, indice.getDocumentos());
+    }
+}
@@ -0,0 +1,18 @@
+package dao;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+// El mismo contrato contra la base de datos de application.properties: ./gradlew test -Pcontrato.jdbc
+@EnabledIfSystemProperty(named = "contrato.jdbc", matches = "true")
+public class TestJdbcDAO extends ContratoDAO {
+
+    @Override
+    protected AutorDAO crearAutorDAO() {
+        return new AutorDAOImpl();
+    }
+
+    @Override
+    protected LibroDAO crearLibroDAO(AutorDAO autorDAO) {
+        return new LibroDAOImpl(autorDAO);
+    }
+}
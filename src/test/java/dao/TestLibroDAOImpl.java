@@ -0,0 +1,211 @@
+package dao;
+
+import config.DatabaseConnection;
+import models.Autor;
+import models.Libro;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Lo que depende de MySQL y no cubre ContratoDAO (filtro de ISBN, cursores...), contra la base de datos
+// de application.properties: ./gradlew test -Pcontrato.jdbc. Como en ContratoDAO, cada prueba usa
+// su propio autor e ISBN únicos.
+@EnabledIfSystemProperty(named = "contrato.jdbc", matches = "true")
+public class TestLibroDAOImpl {
+
+    private final long sufijo = System.nanoTime() % 1_000_000_000L;
+    private final List<Integer> librosCreados = new ArrayList<>();
+
+    private AutorDAO autorDAO;
+    private LibroDAOImpl libroDAO;
+    private Autor autor;
+
+    @BeforeEach
+    public void preparar() {
+        autorDAO = new AutorDAOImpl();
+        libroDAO = new LibroDAOImpl(autorDAO);
+        autor = new Autor("Jorge Luis", "Borges" + sufijo, "Argentina", LocalDate.of(1899, 8, 24));
+        autorDAO.insertar(autor);
+    }
+
+    @AfterEach
+    public void limpiar() {
+        for (int id : librosCreados) {
+            libroDAO.eliminar(id);
+        }
+        autorDAO.eliminar(autor.getId());
+    }
+
+    private String isbn(int i) {
+        return String.format("97%09d%02d", sufijo, i);
+    }
+
+    private Libro libro(String titulo, int i) {
+        return new Libro(titulo, isbn(i), "Impl" + sufijo, Year.of(1944), 100 + i, null, autor);
+    }
+
+    private Libro insertar(Libro libro) {
+        libroDAO.insertar(libro);
+        librosCreados.add(libro.getId());
+        return libro;
+    }
+
+    @Test
+    public void testElFiltroDeIsbnRecibeLasAltasYLosCambios() {
+        libroDAO.cargarFiltroIsbn();
+        FiltroBloom filtro = libroDAO.getFiltroIsbn();
+        assertFalse(filtro.puedeContener(isbn(1)));
+
+        Libro ficciones = insertar(libro("Ficciones", 1));
+        assertTrue(filtro.puedeContener(isbn(1)));
+        assertTrue(libroDAO.existeIsbn(isbn(1)));
+
+        ficciones.setIsbn(isbn(2));
+        libroDAO.actualizar(ficciones);
+        assertTrue(filtro.puedeContener(isbn(2)));
+        assertTrue(libroDAO.existeIsbn(isbn(2)));
+    }
+
+    // Otra instancia da de alta un ISBN después de cargar el filtro: el índice único lo detecta
+    // y desde entonces el filtro también lo conoce
+    @Test
+    public void testUnRepetidoQueElFiltroNoConociaSeAñadeAlFiltro() {
+        libroDAO.cargarFiltroIsbn();
+        LibroDAOImpl otraInstancia = new LibroDAOImpl(autorDAO);
+        Libro ajeno = libro("Ficciones", 1);
+        otraInstancia.insertar(ajeno);
+        librosCreados.add(ajeno.getId());
+        Libro otroAjeno = libro("El Aleph", 2);
+        otraInstancia.insertar(otroAjeno);
+        librosCreados.add(otroAjeno.getId());
+        assertFalse(libroDAO.existeIsbn(isbn(1)));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> libroDAO.insertar(libro("Copia", 1)));
+        assertTrue(error.getMessage().contains(isbn(1)));
+        assertTrue(libroDAO.existeIsbn(isbn(1)));
+
+        // En un lote, el diagnóstico consulta la tabla sin descartar lo que el filtro no conoce
+        error = assertThrows(IllegalArgumentException.class,
+                () -> libroDAO.insertarLote(List.of(libro("Nuevo", 3), libro("Copia", 2))));
+        assertEquals("Ya existe un libro con ISBN: " + isbn(2), error.getMessage());
+        assertTrue(libroDAO.existeIsbn(isbn(2)));
+        assertFalse(libroDAO.existeIsbn(isbn(3)));
+    }
+
+    // Más filas que TAMANO_FETCH: el cursor pide varios tramos y, leído entero o cerrado a medias,
+    // devuelve la conexión al pool
+    @Test
+    public void testElCursorRecorreVariosTramosYDevuelveLaConexion() {
+        List<Libro> lote = new ArrayList<>();
+        for (int i = 0; i < UtilSQL.TAMANO_FETCH + 100; i++) {
+            lote.add(new Libro("Cursor " + i, null, "Impl" + sufijo, null, i, null, autor));
+        }
+        librosCreados.addAll(libroDAO.insertarLote(lote));
+        int activas = DatabaseConnection.getPoolStats().getActive();
+
+        List<Integer> leidos = libroDAO.streamTodos()
+                .filter(l -> l.getAutor().getId() == autor.getId())
+                .map(Libro::getId)
+                .collect(Collectors.toList());
+        assertEquals(activas, DatabaseConnection.getPoolStats().getActive());
+        assertEquals(librosCreados.stream().sorted().collect(Collectors.toList()),
+                leidos.stream().sorted().collect(Collectors.toList()));
+        assertEquals(libroDAO.buscarTodos().stream().map(Libro::getId).collect(Collectors.toList()),
+                libroDAO.streamTodos().map(Libro::getId).collect(Collectors.toList()));
+
+        try (Stream<Libro> libros = libroDAO.streamTodos()) {
+            assertTrue(libros.findFirst().isPresent());
+            assertEquals(activas + 1, DatabaseConnection.getPoolStats().getActive());
+        }
+        assertEquals(activas, DatabaseConnection.getPoolStats().getActive());
+
+        try (Stream<Autor> autores = autorDAO.streamTodos()) {
+            assertTrue(autores.anyMatch(a -> a.getId() == autor.getId()));
+        }
+        assertEquals(activas, DatabaseConnection.getPoolStats().getActive());
+    }
+
+    // Sin consultas previas: el índice único, la clave foránea y las filas afectadas dan los mismos errores
+    @Test
+    public void testLasViolacionesDeRestriccionDanLosErroresDeSiempre() {
+        Libro ficciones = insertar(libro("Ficciones", 1));
+        Libro aleph = insertar(libro("El Aleph", 2));
+        Autor inexistente = new Autor();
+        inexistente.setId(Integer.MAX_VALUE);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> libroDAO.insertar(libro("Copia", 1)));
+        assertEquals("Ya existe un libro con ISBN: " + isbn(1), error.getMessage());
+        assertInstanceOf(SQLException.class, error.getCause());
+
+        Libro huerfano = libro("Huérfano", 3);
+        huerfano.setAutor(inexistente);
+        error = assertThrows(IllegalArgumentException.class, () -> libroDAO.insertar(huerfano));
+        assertEquals("El autor con ID " + Integer.MAX_VALUE + " no existe", error.getMessage());
+        assertFalse(libroDAO.existeIsbn(isbn(3)));
+
+        aleph.setIsbn(isbn(1));
+        error = assertThrows(IllegalArgumentException.class, () -> libroDAO.actualizar(aleph));
+        assertEquals("Ya existe otro libro con ISBN: " + isbn(1), error.getMessage());
+
+        aleph.setIsbn(isbn(2));
+        aleph.setAutor(inexistente);
+        error = assertThrows(IllegalArgumentException.class, () -> libroDAO.actualizar(aleph));
+        assertEquals("No existe autor con ID: " + Integer.MAX_VALUE, error.getMessage());
+        assertEquals(autor.getId(), libroDAO.buscarPorId(aleph.getId()).getAutor().getId());
+
+        Libro fantasma = new Libro(Integer.MAX_VALUE, "Fantasma", null, "Impl" + sufijo, null, 1, null, autor);
+        error = assertThrows(IllegalArgumentException.class, () -> libroDAO.actualizar(fantasma));
+        assertEquals("No existe libro con ID: " + Integer.MAX_VALUE, error.getMessage());
+
+        // MySQL cuenta filas encontradas: guardar un libro sin cambios no es "no existe"
+        libroDAO.actualizar(ficciones);
+        libroDAO.eliminar(Integer.MAX_VALUE);
+
+        RuntimeException enUso = assertThrows(RuntimeException.class, () -> autorDAO.eliminar(autor.getId()));
+        assertEquals("No se puede eliminar: el autor tiene libros asociados", enUso.getMessage());
+        assertTrue(autorDAO.existe(autor.getId()));
+    }
+
+    // Con la escritura diferida activa, otra instancia (o la importación) sigue insertando sin ID:
+    // el AUTO_INCREMENT no debe repartir un ID ya reservado y aún en cola
+    @Test
+    public void testLasAltasSinIdNoPisanLosIdsReservados() {
+        WriteBehindLibroDAO diferido = new WriteBehindLibroDAO(libroDAO, new AsignadorHiLo("libros", 5), 100, 100, 60_000);
+        List<Libro> enCola = new ArrayList<>();
+        List<Libro> directos = new ArrayList<>();
+        try {
+            for (int i = 0; i < 12; i++) {
+                Libro libro = libro("Diferido " + i, i);
+                diferido.insertar(libro);
+                librosCreados.add(libro.getId());
+                enCola.add(libro);
+                directos.add(insertar(libro("Directo " + i, 50 + i)));
+            }
+            assertEquals(12, diferido.getPendientes());
+        } finally {
+            diferido.close();
+        }
+
+        assertEquals(12L, diferido.getEscritos());
+        assertEquals(0L, diferido.getFallidos());
+        for (Libro libro : enCola) {
+            assertEquals(libro.getTitulo(), libroDAO.buscarPorId(libro.getId()).getTitulo());
+        }
+        for (Libro libro : directos) {
+            assertEquals(libro.getTitulo(), libroDAO.buscarPorId(libro.getId()).getTitulo());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package dao;
+
+import models.Libro;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ResultSet reales de H2 en memoria (modo MySQL), como en los benchmarks
+public class TestMapeadorLibro {
+
+    private static final String SELECT = """
+            SELECT l.id, l.titulo, l.isbn, l.genero, l.ano_publicacion, l.paginas, l.created_at,
+                   a.id as autor_id, a.nombre as autor_nombre, a.apellido as autor_apellido,
+                   a.nacionalidad as autor_nacionalidad, a.fecha_nacimiento as autor_fecha_nacimiento
+            FROM libros l
+            INNER JOIN autores a ON l.autor_id = a.id
+            """;
+
+    private Connection conn;
+
+    @BeforeEach
+    public void preparar() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:h2:mem:;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE autores (id INT PRIMARY KEY, nombre VARCHAR(100), apellido VARCHAR(100), "
+                    + "nacionalidad VARCHAR(50), fecha_nacimiento DATE)");
+            stmt.execute("CREATE TABLE libros (id INT PRIMARY KEY, titulo VARCHAR(100), isbn VARCHAR(13), "
+                    + "genero VARCHAR(50), ano_publicacion SMALLINT, paginas INT, autor_id INT, created_at TIMESTAMP)");
+        }
+    }
+
+    @AfterEach
+    public void cerrar() throws SQLException {
+        conn.close();
+    }
+
+    private void autor(int id) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO autores VALUES (?, ?, ?, ?, ?)")) {
+            pstmt.setInt(1, id);
+            pstmt.setString(2, "Nombre" + id);
+            pstmt.setString(3, "Apellido" + id);
+            pstmt.setString(4, "Colombiana");
+            pstmt.setObject(5, LocalDate.of(1900, 1, 1).plusDays(id));
+            pstmt.executeUpdate();
+        }
+    }
+
+    private void libro(int id, Integer año, int autorId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO libros VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            pstmt.setInt(1, id);
+            pstmt.setString(2, "Titulo " + id);
+            pstmt.setString(3, null);
+            pstmt.setString(4, "Novela");
+            pstmt.setObject(5, año);
+            pstmt.setInt(6, 300);
+            pstmt.setInt(7, autorId);
+            pstmt.setObject(8, LocalDateTime.of(2024, 1, 1, 0, 0));
+            pstmt.executeUpdate();
+        }
+    }
+
+    private List<Libro> mapear(MapeadorLibro mapeador, String sql) throws SQLException {
+        List<Libro> libros = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                libros.add(mapeador.mapear(rs));
+            }
+        }
+        return libros;
+    }
+
+    @Test
+    public void testReutilizaAutoresYAños() throws SQLException {
+        autor(10);
+        autor(11);
+        libro(1, 1967, 10);
+        libro(2, 1967, 10);
+        libro(3, 1967, 11);
+        libro(4, null, 10);
+
+        List<Libro> libros = mapear(new MapeadorLibro(), SELECT + "ORDER BY l.id");
+
+        assertSame(libros.get(0).getAutor(), libros.get(1).getAutor());
+        assertSame(libros.get(0).getAutor(), libros.get(3).getAutor());
+        assertNotSame(libros.get(0).getAutor(), libros.get(2).getAutor());
+        assertEquals("Apellido11", libros.get(2).getAutor().getApellido());
+        assertEquals(LocalDate.of(1900, 1, 12), libros.get(2).getAutor().getFechaNacimiento());
+        assertSame(libros.get(0).getAnoPublicacion(), libros.get(2).getAnoPublicacion());
+        assertNull(libros.get(3).getAnoPublicacion());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 0, 0), libros.get(1).getCreatedAt());
+    }
+
+    @Test
+    public void testMuchosAutoresDistintos() throws SQLException {
+        for (int id = 1; id <= 1000; id++) {
+            autor(id);
+            libro(id, 2000, id);
+        }
+        libro(5000, 2000, 777);
+
+        List<Libro> libros = mapear(new MapeadorLibro(), SELECT + "ORDER BY l.id");
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i + 1, libros.get(i).getAutor().getId());
+        }
+        assertSame(libros.get(776).getAutor(), libros.get(1000).getAutor());
+    }
+
+    // Un mismo mapeador vuelve a resolver las columnas si el siguiente ResultSet las trae en otro orden
+    @Test
+    public void testOtroResultSetConOtroOrdenDeColumnas() throws SQLException {
+        autor(10);
+        libro(1, 1967, 10);
+        MapeadorLibro mapeador = new MapeadorLibro();
+
+        Libro primero = mapear(mapeador, SELECT).get(0);
+        Libro segundo = mapear(mapeador, """
+                SELECT a.fecha_nacimiento as autor_fecha_nacimiento, a.nacionalidad as autor_nacionalidad,
+                       a.apellido as autor_apellido, a.nombre as autor_nombre, a.id as autor_id,
+                       l.created_at, l.paginas, l.ano_publicacion, l.genero, l.isbn, l.titulo, l.id
+                FROM libros l
+                INNER JOIN autores a ON l.autor_id = a.id
+                """).get(0);
+
+        assertEquals(primero.getTitulo(), segundo.getTitulo());
+        assertEquals(1967, segundo.getAnoPublicacion().getValue());
+        assertEquals("Apellido10", segundo.getAutor().getApellido());
+    }
+}
@@ -0,0 +1,279 @@
+package dao;
+
+import config.ConnectionPool;
+import config.DatabaseConnection;
+import config.PoolConfig;
+import config.UnitOfWork;
+import models.Autor;
+import models.Libro;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestWriteBehindLibroDAO {
+
+    private final InMemoryAutorDAO autores = new InMemoryAutorDAO();
+    private final InMemoryLibroDAO libros = new InMemoryLibroDAO(autores);
+    private final Autor borges = new Autor("Jorge Luis", "Borges", "Argentina", LocalDate.of(1899, 8, 24));
+    private final AtomicInteger ids = new AtomicInteger(100);
+
+    // Anota el tamaño de cada lote y, mientras el cerrojo esté echado, retiene las escrituras
+    private final List<Integer> lotes = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch escribiendo = new CountDownLatch(1);
+    private volatile CountDownLatch cerrojo = new CountDownLatch(0);
+    // Simula la base de datos caída: insertarLote falla como lo haría sin conexión
+    private volatile boolean caida;
+    // Solo la consulta de ISBN falla, como con el pool agotado
+    private volatile boolean isbnCaido;
+
+    private final LibroDAO delegado = new LibroDAODecorador(libros) {
+        @Override
+        public List<Integer> insertarLote(List<Libro> lote) {
+            escribiendo.countDown();
+            if (caida) {
+                throw new RuntimeException("Error en base de datos al insertar lote de libros");
+            }
+            try {
+                cerrojo.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lotes.add(lote.size());
+            return super.insertarLote(lote);
+        }
+
+        @Override
+        public boolean existeIsbn(String isbn) {
+            if (isbnCaido) {
+                throw new RuntimeException("Error en base de datos al verificar ISBN");
+            }
+            return super.existeIsbn(isbn);
+        }
+    };
+
+    public TestWriteBehindLibroDAO() {
+        autores.insertar(borges);
+    }
+
+    private Libro libro(int i) {
+        return new Libro("Libro " + i, String.format("978%010d", i), "Cuentos", Year.of(1944), 100 + i, null, borges);
+    }
+
+    @Test
+    public void testLoAceptadoSeLeeAntesDeEscribirse() {
+        cerrojo = new CountDownLatch(1);
+        WriteBehindLibroDAO dao = new WriteBehindLibroDAO(delegado, ids::incrementAndGet, 100, 10, 1);
+        try {
+            Libro ficciones = libro(1);
+            dao.insertar(ficciones);
+
+            assertEquals(101, ficciones.getId());
+            assertNull(libros.buscarPorId(101));
+            assertEquals("Libro 1", dao.buscarPorId(101).getTitulo());
+            assertEquals(101, dao.buscarPorIsbn(" " + ficciones.getIsbn()).getId());
+            assertTrue(dao.existe(101));
+            assertTrue(dao.existeIsbn(ficciones.getIsbn()));
+            assertEquals(1, dao.buscarPorIds(List.of(101, 5)).size());
+            assertThrows(IllegalArgumentException.class, () -> dao.insertar(libro(1)));
+
+            cerrojo.countDown();
+            dao.vaciar();
+            assertEquals(0, dao.getPendientes());
+            assertEquals("Libro 1", libros.buscarPorId(101).getTitulo());
+            assertNotNull(libros.buscarPorId(101).getCreatedAt());
+        } finally {
+            cerrojo.countDown();
+            dao.close();
+        }
+    }
+
+    @Test
+    public void testLotesPorTamanoYLoQuedaSeEscribeAlCerrar() {
+        WriteBehindLibroDAO dao = new WriteBehindLibroDAO(delegado, ids::incrementAndGet, 100, 10, 10_000);
+        for (int i = 0; i < 25; i++) {
+            dao.insertar(libro(i));
+        }
+        dao.close();
+
+        assertEquals(List.of(10, 10, 5), lotes);
+        assertEquals(25L, dao.getEscritos());
+        assertEquals(25, libros.contarPorGenero("Cuentos"));
+        assertThrows(IllegalStateException.class, () -> dao.insertar(libro(99)));
+    }
+
+    @Test
+    public void testColaLlenaFrenaAQuienInserta() throws Exception {
+        cerrojo = new CountDownLatch(1);
+        WriteBehindLibroDAO dao = new WriteBehindLibroDAO(delegado, ids::incrementAndGet, 2, 1, 1);
+        try {
+            dao.insertar(libro(1));
+            assertTrue(escribiendo.await(5, TimeUnit.SECONDS));
+            // El escritor está retenido con el primero: dos más llenan la cola
+            dao.insertar(libro(2));
+            dao.insertar(libro(3));
+
+            Thread bloqueado = new Thread(() -> dao.insertar(libro(4)));
+            bloqueado.start();
+            bloqueado.join(200);
+            assertTrue(bloqueado.isAlive());
+
+            cerrojo.countDown();
+            bloqueado.join(5000);
+            assertFalse(bloqueado.isAlive());
+        } finally {
+            cerrojo.countDown();
+            dao.close();
+        }
+        assertEquals(4L, dao.getEscritos());
+        assertEquals(4, libros.contarPorGenero("Cuentos"));
+    }
+
+    @Test
+    public void testUnLibroRechazadoNoTumbaElLote() {
+        WriteBehindLibroDAO dao = new WriteBehindLibroDAO(delegado, ids::incrementAndGet, 100, 3, 10_000);
+        Autor inexistente = new Autor();
+        inexistente.setId(Integer.MAX_VALUE);
+        Libro huerfano = libro(2);
+        huerfano.setAutor(inexistente);
+
+        dao.insertar(libro(1));
+        dao.insertar(huerfano);
+        dao.insertar(libro(3));
+        dao.close();
+
+        assertEquals(2L, dao.getEscritos());
+        assertEquals(1L, dao.getFallidos());
+        assertNull(libros.buscarPorId(huerfano.getId()));
+        assertFalse(dao.existe(huerfano.getId()));
+        assertEquals(2, libros.contarPorGenero("Cuentos"));
+    }
+
+    @Test
+    public void testCerrarConLaBaseCaidaYLaColaLlenaNoSeCuelga() throws Exception {
+        caida = true;
+        WriteBehindLibroDAO dao = new WriteBehindLibroDAO(delegado, ids::incrementAndGet, 2, 1, 1);
+        dao.insertar(libro(1));
+        assertTrue(escribiendo.await(5, TimeUnit.SECONDS));
+        dao.insertar(libro(2));
+        dao.insertar(libro(3));
+
+        List<Throwable> errores = Collections.synchronizedList(new ArrayList<>());
+        Thread bloqueado = new Thread(() -> {
+            try {
+                dao.insertar(libro(4));
+            } catch (RuntimeException e) {
+                errores.add(e);
+            }
+        });
+        bloqueado.start();
+        bloqueado.join(200);
+        assertTrue(bloqueado.isAlive());
+
+        Thread cierre = new Thread(dao::close);
+        cierre.start();
+        cierre.join(10_000);
+        assertFalse(cierre.isAlive(), "close() no debe quedarse esperando a una base de datos caída");
+        bloqueado.join(5000);
+        assertFalse(bloqueado.isAlive());
+
+        // El cuarto se rechaza o, si justo quedó sitio al cerrar, se acepta y se descarta con los demás:
+        // ningún libro aceptado queda sin contar
+        assertTrue(errores.stream().allMatch(e -> e instanceof IllegalStateException));
+        assertEquals(4L, dao.getFallidos() + errores.size());
+        assertEquals(0L, dao.getEscritos());
+        assertEquals(0, dao.getPendientes());
+    }
+
+    @Test
+    public void testUnIdOcupadoPorOtroLibroNoCuentaComoEscrito() {
+        // Otro camino ya escribió un libro distinto con el ID que el asignador va a repartir
+        Libro intruso = libro(50);
+        intruso.setId(101);
+        IdsReservados.insertarLoteConIds(libros, List.of(intruso));
+
+        WriteBehindLibroDAO dao = new WriteBehindLibroDAO(delegado, ids::incrementAndGet, 100, 10, 10_000);
+        dao.insertar(libro(1));
+        dao.close();
+
+        assertEquals(0L, dao.getEscritos());
+        assertEquals(1L, dao.getFallidos());
+        assertEquals("Libro 50", libros.buscarPorId(101).getTitulo());
+    }
+
+    @Test
+    public void testUnFalloAlComprobarElIsbnSueltaLaReserva() {
+        WriteBehindLibroDAO dao = new WriteBehindLibroDAO(delegado, ids::incrementAndGet, 100, 10, 10_000);
+        try {
+            Libro ficciones = libro(1);
+            isbnCaido = true;
+            assertThrows(RuntimeException.class, () -> dao.insertar(ficciones));
+            isbnCaido = false;
+
+            assertEquals(0, ficciones.getId());
+            assertFalse(dao.existeIsbn(ficciones.getIsbn()));
+            assertNull(dao.buscarPorIsbn(ficciones.getIsbn()));
+            assertEquals(0, dao.getPendientes());
+
+            dao.insertar(ficciones);
+            assertTrue(dao.existeIsbn(ficciones.getIsbn()));
+        } finally {
+            dao.close();
+        }
+        assertEquals(1L, dao.getEscritos());
+        assertEquals(0L, dao.getFallidos());
+    }
+
+    @Test
+    public void testEnUnaUnidadSeEscribeEnElActoSinPedirIds() {
+        PoolConfig config = new PoolConfig();
+        config.setMinSize(0);
+        config.setHousekeepingIntervalMs(0);
+        DatabaseConnection.usePool(new ConnectionPool(TestWriteBehindLibroDAO::conexionSinEfecto, config));
+        cerrojo = new CountDownLatch(1);
+        WriteBehindLibroDAO dao = new WriteBehindLibroDAO(delegado, ids::incrementAndGet, 100, 10, 10_000);
+        try {
+            Libro enCola = libro(1);
+            dao.insertar(enCola);
+            try (UnitOfWork uow = UnitOfWork.begin()) {
+                Libro libro = libro(2);
+                dao.insertar(libro);
+                List<Integer> lote = dao.insertarLote(List.of(libro(3), libro(4)));
+                assertThrows(IllegalArgumentException.class, () -> dao.insertar(libro(1)));
+                uow.commit();
+
+                // Escrito ya, sin pasar por la cola, con el ID del DAO: reservar un bloque dentro
+                // de la transacción esperaría a la propia transacción
+                assertEquals(101, ids.get());
+                assertEquals("Libro 2", libros.buscarPorId(libro.getId()).getTitulo());
+                assertEquals(List.of(libro.getId() + 1, libro.getId() + 2), lote);
+                assertEquals(1, dao.getPendientes());
+            }
+        } finally {
+            cerrojo.countDown();
+            dao.close();
+            DatabaseConnection.usePool(null);
+        }
+        assertEquals("Libro 1", libros.buscarPorId(101).getTitulo());
+    }
+
+    // Basta para abrir y cerrar una UnitOfWork: el DAO de debajo es en memoria
+    private static Connection conexionSinEfecto() {
+        try {
+            return DriverManager.getConnection("jdbc:h2:mem:");
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
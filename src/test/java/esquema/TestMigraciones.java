@@ -0,0 +1,39 @@
+package esquema;
+
+import dao.ConsultasDAO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestMigraciones {
+
+    @Test
+    public void testCatalogoOrdenadoDesdeUno() {
+        List<Migracion> migraciones = Migraciones.todas();
+        assertEquals(1, migraciones.get(0).getVersion());
+        // El constructor valida el orden
+        new Migrador(migraciones);
+    }
+
+    @Test
+    public void testVersionesRepetidasSeRechazan() {
+        List<Migracion> repetidas = List.of(new Migracion(1, "a"), new Migracion(1, "b"));
+        assertThrows(IllegalArgumentException.class, () -> new Migrador(repetidas));
+    }
+
+    @Test
+    public void testIndiceGeneraCreateIndex() {
+        Migracion migracion = new Migracion(7, "prueba").indice("idx_x", "libros", "genero, titulo");
+        assertEquals(List.of("CREATE INDEX idx_x ON libros (genero, titulo)"), migracion.getSentencias());
+    }
+
+    @Test
+    public void testConsultasConTantosParametrosComoMarcadores() {
+        for (ConsultasDAO.Consulta consulta : ConsultasDAO.todas()) {
+            int marcadores = (int) consulta.getSql().chars().filter(c -> c == '?').count();
+            assertEquals(marcadores, consulta.getParametros().size(), consulta.getNombre());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package esquema;
+
+import config.DatabaseConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Contra la base de datos de application.properties, como TestJdbcDAO: ./gradlew test -Pcontrato.jdbc
+// Las migraciones reales ya están aplicadas; se añade detrás una de prueba que se deshace al terminar.
+@EnabledIfSystemProperty(named = "contrato.jdbc", matches = "true")
+public class TestMigrador {
+
+    private static final int VERSION_PRUEBA = 900_001;
+
+    // El INSERT no es idempotente: si la migración se aplica dos veces, quedan dos filas
+    private static List<Migracion> conPrueba() {
+        List<Migracion> migraciones = new ArrayList<>(Migraciones.todas());
+        migraciones.add(new Migracion(VERSION_PRUEBA, "Migración de prueba")
+                .sql("CREATE TABLE IF NOT EXISTS prueba_migrador (id INT)")
+                .indice("idx_prueba_migrador", "prueba_migrador", "id")
+                .sql("INSERT INTO prueba_migrador VALUES (1)"));
+        return migraciones;
+    }
+
+    private static void ejecutar(String sql) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private static int filasDePrueba() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM prueba_migrador")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    @AfterEach
+    public void deshacer() throws SQLException {
+        ejecutar("DROP TABLE IF EXISTS prueba_migrador");
+        ejecutar("DELETE FROM schema_version WHERE version = " + VERSION_PRUEBA);
+    }
+
+    @Test
+    public void testMigrarDosVecesNoRepiteNada() throws SQLException {
+        Migrador migrador = new Migrador(conPrueba());
+
+        assertEquals(List.of(VERSION_PRUEBA), migrador.migrar().stream().map(Migracion::getVersion).toList());
+        assertTrue(migrador.migrar().isEmpty());
+        assertTrue(migrador.getPendientes().isEmpty());
+        assertEquals(VERSION_PRUEBA, migrador.getVersionActual());
+        assertEquals(1, filasDePrueba());
+    }
+
+    @Test
+    public void testDosInstanciasALaVezAplicanCadaVersionUnaVez() throws Exception {
+        int instancias = 4;
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(instancias);
+        try {
+            List<Future<List<Migracion>>> resultados = new ArrayList<>();
+            for (int i = 0; i < instancias; i++) {
+                Callable<List<Migracion>> arranque = () -> {
+                    salida.await();
+                    return new Migrador(conPrueba()).migrar();
+                };
+                resultados.add(hilos.submit(arranque));
+            }
+            salida.countDown();
+
+            int aplicadas = 0;
+            for (Future<List<Migracion>> resultado : resultados) {
+                aplicadas += resultado.get().size();
+            }
+            assertEquals(1, aplicadas);
+            assertEquals(1, filasDePrueba());
+        } finally {
+            hilos.shutdownNow();
+        }
+    }
+
+    // Una migración que falló a medias se relanza entera: el índice que ya existe se salta
+    @Test
+    public void testRelanzarUnaMigracionSaltaLosIndicesQueYaExisten() throws SQLException {
+        Migrador migrador = new Migrador(conPrueba());
+        migrador.migrar();
+        ejecutar("DELETE FROM schema_version WHERE version = " + VERSION_PRUEBA);
+
+        assertEquals(List.of(VERSION_PRUEBA), migrador.migrar().stream().map(Migracion::getVersion).toList());
+        assertEquals(2, filasDePrueba());
+    }
+}
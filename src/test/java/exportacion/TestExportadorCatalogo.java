@@ -0,0 +1,111 @@
+package exportacion;
+
+import dao.InMemoryAutorDAO;
+import dao.InMemoryLibroDAO;
+import dao.LibroDAO;
+import dao.LibroDAODecorador;
+import models.Autor;
+import models.Libro;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestExportadorCatalogo {
+
+    private final Autor borges = new Autor(1, "Jorge Luis", "Borges", "Argentina", LocalDate.of(1899, 8, 24));
+    private final List<Libro> libros = List.of(
+            new Libro(1, "El Aleph, y \"otros\"", "9788497592239", "Cuentos", Year.of(1949), 146,
+                    LocalDateTime.of(2024, 1, 2, 3, 4, 5), borges),
+            new Libro(2, "Añoranzas", null, null, null, 0, null, null));
+
+    // Devuelve la lista tal cual, también el libro sin autor que la base de datos no dejaría guardar
+    private LibroDAO libroDAO() {
+        return new LibroDAODecorador(new InMemoryLibroDAO(new InMemoryAutorDAO())) {
+            @Override
+            public Stream<Libro> streamTodos() {
+                return libros.stream();
+            }
+        };
+    }
+
+    private Path exportar(String nombre, FormatoExportacion formato) throws Exception {
+        Path archivo = Files.createTempDirectory("exportacion").resolve(nombre);
+        assertEquals(2, (int) new ExportadorCatalogo(libroDAO()).exportar(archivo, formato));
+        assertFalse(Files.exists(archivo.resolveSibling(nombre + ".tmp")));
+        return archivo;
+    }
+
+    @Test
+    public void testCsv() throws Exception {
+        List<String> lineas = Files.readAllLines(exportar("catalogo.csv", FormatoExportacion.CSV));
+
+        assertEquals(3, lineas.size());
+        assertTrue(lineas.get(0).startsWith("id,titulo,isbn,genero,ano_publicacion"));
+        assertEquals("1,\"El Aleph, y \"\"otros\"\"\",9788497592239,Cuentos,1949,146,2024-01-02T03:04:05,"
+                + "1,Jorge Luis,Borges,Argentina,1899-08-24", lineas.get(1));
+        assertEquals("2,Añoranzas,,,,0,,,,,,", lineas.get(2));
+    }
+
+    @Test
+    public void testJsonl() throws Exception {
+        List<String> lineas = Files.readAllLines(exportar("catalogo.jsonl", FormatoExportacion.JSONL));
+
+        assertEquals(2, lineas.size());
+        assertTrue(lineas.get(0).startsWith("{\"id\":1,\"titulo\":\"El Aleph, y \\\"otros\\\"\",\"isbn\":\"9788497592239\""));
+        assertTrue(lineas.get(0).endsWith("\"autor_fecha_nacimiento\":\"1899-08-24\"}"));
+        assertTrue(lineas.get(1).contains("\"titulo\":\"Añoranzas\",\"isbn\":null"));
+        assertTrue(lineas.get(1).contains("\"ano_publicacion\":null"));
+    }
+
+    @Test
+    public void testColumnar() throws Exception {
+        Path archivo = exportar("catalogo.col", FormatoExportacion.COLUMNAR);
+
+        try (InputStream entrada = Files.newInputStream(archivo);
+             DataInputStream datos = new DataInputStream(entrada)) {
+            byte[] magia = new byte[8];
+            datos.readFully(magia);
+            assertEquals("LIBCOL01", new String(magia, StandardCharsets.US_ASCII));
+            int columnas = datos.readInt();
+            assertEquals(ExportadorCatalogo.COLUMNAS.length, columnas);
+            for (int c = 0; c < columnas; c++) {
+                datos.readInt();
+                datos.skipBytes(datos.readInt());
+            }
+
+            assertEquals(2, datos.readInt());
+            // id
+            assertEquals(1, datos.readInt());
+            assertEquals(2, datos.readInt());
+            // titulo: longitudes y bytes
+            int primero = datos.readInt();
+            int segundo = datos.readInt();
+            byte[] texto = new byte[primero + segundo];
+            datos.readFully(texto);
+            assertEquals("El Aleph, y \"otros\"Añoranzas", new String(texto, StandardCharsets.UTF_8));
+            // isbn: el segundo es nulo
+            assertEquals(13, datos.readInt());
+            assertEquals(-1, datos.readInt());
+        }
+
+        byte[] todo = Files.readAllBytes(archivo);
+        assertEquals("LIBCOL01", new String(todo, todo.length - 8, 8, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testFormatoPorExtension() {
+        assertEquals(FormatoExportacion.COLUMNAR, FormatoExportacion.deArchivo(Path.of("a.COL")));
+        assertThrows(IllegalArgumentException.class, () -> FormatoExportacion.deArchivo(Path.of("a.txt")));
+    }
+}
@@ -0,0 +1,149 @@
+package importacion;
+
+import dao.AutorDAO;
+import dao.AutorDAODecorador;
+import dao.InMemoryAutorDAO;
+import dao.InMemoryLibroDAO;
+import models.Autor;
+import models.Libro;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestImportadorCatalogo {
+
+    private final InMemoryAutorDAO autores = new InMemoryAutorDAO();
+    private final InMemoryLibroDAO libros = new InMemoryLibroDAO(autores);
+    private final Autor borges = new Autor("Jorge Luis", "Borges", "Argentina", LocalDate.of(1899, 8, 24));
+
+    public TestImportadorCatalogo() {
+        autores.insertar(borges);
+        libros.insertar(new Libro("Ficciones", "9788497592222", "Cuentos", Year.of(1944), 200, null, borges));
+    }
+
+    private ResumenImportacion importar(String contenido, Formato formato) throws Exception {
+        return importar(contenido, formato, autores);
+    }
+
+    private ResumenImportacion importar(String contenido, Formato formato, AutorDAO autorDAO) throws Exception {
+        // Bloques de 2 registros y 3 parsers para que el orden de llegada varíe
+        ImportadorCatalogo importador = new ImportadorCatalogo(libros, autorDAO, 3, 2);
+        return importador.importar(new BufferedReader(new StringReader(contenido)), formato);
+    }
+
+    @Test
+    public void testCsvConComillasDuplicadosYAutores() throws Exception {
+        String csv = """
+                autor_apellido,autor_nombre,titulo,isbn,ano_publicacion,genero
+                Borges,Jorge Luis,Ficciones,978-84-9759-222-2,1944,Cuentos
+                Borges,Jorge Luis,"El Aleph, y otros",9788497592239,1949,Cuentos
+                García Márquez,Gabriel,"Cien años
+                de soledad",9788497592208,1967,Novela
+                GARCÍA MÁRQUEZ,gabriel,Repetido,9788497592208,1967,Novela
+                Allende,Isabel,,9788497592246,1982,Novela
+                Allende,Isabel,Eva Luna,,abc,Novela
+                """;
+
+        ResumenImportacion resumen = importar(csv, Formato.CSV);
+
+        assertEquals(6, resumen.getLeidas());
+        assertEquals(2, resumen.getInsertadas());
+        assertEquals(2, resumen.getDuplicadas());  // uno ya guardado y uno repetido en el archivo
+        assertEquals(2, resumen.getInvalidas());   // sin título y año no numérico
+        assertEquals(1, resumen.getAutoresCreados());
+
+        Libro aleph = libros.buscarPorIsbn("9788497592239");
+        assertEquals("El Aleph, y otros", aleph.getTitulo());
+        assertEquals(borges.getId(), aleph.getAutor().getId());
+        assertEquals("Cien años\nde soledad", libros.buscarPorIsbn("9788497592208").getTitulo());
+    }
+
+    @Test
+    public void testJsonl() throws Exception {
+        String jsonl = """
+                {"titulo": "Ficciones \\"2\\"", "isbn": "1234567890123", "ano_publicacion": 1944, "autor_nombre": "Jorge Luis", "autor_apellido": "Borges", "paginas": 256}
+                {"titulo": "Sin autor", "isbn": null}
+                {"titulo": "Roto"
+                """;
+
+        ResumenImportacion resumen = importar(jsonl, Formato.JSONL);
+
+        assertEquals(3, resumen.getLeidas());
+        assertEquals(1, resumen.getInsertadas());
+        assertEquals(2, resumen.getInvalidas());
+        Libro libro = libros.buscarPorIsbn("1234567890123");
+        assertEquals("Ficciones \"2\"", libro.getTitulo());
+        assertEquals(256, libro.getPaginas());
+        assertEquals(1944, libro.getAnoPublicacion().getValue());
+    }
+
+    @Test
+    public void testCabeceraSinColumnasObligatorias() {
+        assertThrows(IllegalArgumentException.class, () -> importar("isbn,genero\n1,Novela\n", Formato.CSV));
+    }
+
+    @Test
+    public void testIsbnRepetidoSeQuedaLaPrimeraLinea() throws Exception {
+        StringBuilder csv = new StringBuilder("autor_apellido,autor_nombre,titulo,isbn,ano_publicacion,genero\n");
+        for (int i = 1; i <= 12; i++) {
+            csv.append("Borges,Jorge Luis,Versión ").append(i).append(",9788420633138,1975,Cuentos\n");
+        }
+        // Los bloques se parsean en paralelo, pero se escriben en el orden del archivo
+        for (int vuelta = 0; vuelta < 10; vuelta++) {
+            ResumenImportacion resumen = importar(csv.toString(), Formato.CSV);
+            assertEquals(vuelta == 0 ? 1 : 0, resumen.getInsertadas());
+            assertEquals("Versión 1", libros.buscarPorIsbn("9788420633138").getTitulo());
+            if (vuelta == 0) {
+                assertEquals(11, resumen.getDuplicadas());
+            }
+        }
+    }
+
+    @Test
+    public void testUnaComillaSinCerrarNoSeTragaElRestoDelArchivo() throws Exception {
+        StringBuilder csv = new StringBuilder("autor_apellido,autor_nombre,titulo,isbn,ano_publicacion,genero\n");
+        csv.append("Borges,Jorge Luis,\"Roto,9788420600001,1944,Cuentos\n");
+        int buenas = ImportadorCatalogo.MAX_LINEAS_REGISTRO + 10;
+        for (int i = 0; i < buenas; i++) {
+            csv.append("Borges,Jorge Luis,Libro ").append(i).append(',').append(9788420610000L + i).append(",1960,Cuentos\n");
+        }
+
+        ResumenImportacion resumen = importar(csv.toString(), Formato.CSV);
+
+        assertEquals(buenas + 1, resumen.getLeidas());
+        assertEquals(1, resumen.getInvalidas());
+        assertEquals(buenas, resumen.getInsertadas());
+        assertNull(libros.buscarPorIsbn("9788420600001"));
+    }
+
+    @Test
+    public void testLosLibrosDeAutoresQueNoSePudieronCrearSeRechazan() throws Exception {
+        // Falla a mitad del lote: el primer autor queda creado y el segundo no
+        AutorDAO fallaAMitad = new AutorDAODecorador(autores) {
+            @Override
+            public List<Integer> insertarLote(List<Autor> lote) {
+                super.insertarLote(lote.subList(0, 1));
+                throw new RuntimeException("Error en base de datos");
+            }
+        };
+        String csv = """
+                autor_apellido,autor_nombre,titulo,isbn,ano_publicacion,genero
+                Allende,Isabel,La casa de los espíritus,9788401352836,1982,Novela
+                Cortázar,Julio,Rayuela,9788437604572,1963,Novela
+                """;
+
+        ResumenImportacion resumen = importar(csv, Formato.CSV, fallaAMitad);
+
+        assertEquals(1, resumen.getInsertadas());
+        assertEquals(1, resumen.getRechazadas());
+        assertEquals(1, resumen.getAutoresCreados());
+        assertEquals("Allende", libros.buscarPorIsbn("9788401352836").getAutor().getApellido());
+        assertNull(libros.buscarPorIsbn("9788437604572"));
+    }
+}
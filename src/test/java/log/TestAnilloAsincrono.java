@@ -0,0 +1,114 @@
+package log;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestAnilloAsincrono {
+
+    private final ByteArrayOutputStream salida = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream errores = new ByteArrayOutputStream();
+    private final AnilloAsincrono anillo = new AnilloAsincrono(16,
+            new PrintStream(salida, true, StandardCharsets.UTF_8), new PrintStream(errores, true, StandardCharsets.UTF_8));
+
+    @Test
+    public void testFormateaPlantillaYSeparaPorNivel() {
+        anillo.publicar(Nivel.INFO, "LibroDAOImpl", "Encontrados {} libros de género '{}'", 3, "Novela", null, 2, null);
+        anillo.publicar(Nivel.ERROR, "AutorDAOImpl", "Error buscando autor: {}", "timeout", null, null, 1, null);
+        assertTrue(anillo.vaciar(1000));
+
+        String info = salida.toString(StandardCharsets.UTF_8);
+        String error = errores.toString(StandardCharsets.UTF_8);
+        assertTrue(info.contains("INFO  ["), info);
+        assertTrue(info.contains("LibroDAOImpl - Encontrados 3 libros de género 'Novela'"), info);
+        assertTrue(error.contains("AutorDAOImpl - Error buscando autor: timeout"), error);
+        assertFalse(info.contains("Error buscando autor"));
+    }
+
+    @Test
+    public void testSobranMarcasOArgumentos() {
+        anillo.publicar(Nivel.INFO, "X", "a={} b={}", 1, null, null, 1, null);
+        anillo.publicar(Nivel.INFO, "X", "sin marcas", 1, 2, null, 2, null);
+        assertTrue(anillo.vaciar(1000));
+
+        String info = salida.toString(StandardCharsets.UTF_8);
+        assertTrue(info.contains("X - a=1 b={}"), info);
+        assertTrue(info.contains("X - sin marcas"), info);
+    }
+
+    @Test
+    public void testNivelDesactivadoNoPublica() {
+        Nivel anterior = Log.getNivel();
+        try {
+            Log.setNivel(Nivel.WARN);
+            Log log = Log.de(TestAnilloAsincrono.class);
+            assertFalse(log.isDebug());
+            assertFalse(log.isActivo(Nivel.INFO));
+            assertTrue(log.isActivo(Nivel.ERROR));
+
+            Log.setNivel(Nivel.OFF);
+            assertFalse(log.isActivo(Nivel.ERROR));
+        } finally {
+            Log.setNivel(anterior);
+        }
+    }
+
+    @Test
+    public void testErrorConExcepcionEscribeLaTraza() {
+        RuntimeException error = new RuntimeException("Error en base de datos", new IllegalStateException("sin conexión"));
+        anillo.publicar(Nivel.ERROR, "ImportadorCatalogo", "Error importando", null, null, null, 0, error);
+        assertTrue(anillo.vaciar(1000));
+
+        String texto = errores.toString(StandardCharsets.UTF_8);
+        assertTrue(texto.contains("ImportadorCatalogo - Error importando"), texto);
+        assertTrue(texto.contains("java.lang.RuntimeException: Error en base de datos"), texto);
+        assertTrue(texto.contains("at log.TestAnilloAsincrono.testErrorConExcepcionEscribeLaTraza"), texto);
+        assertTrue(texto.contains("Caused by: java.lang.IllegalStateException: sin conexión"), texto);
+    }
+
+    @Test
+    public void testConElAnilloLlenoElErrorEsperaYNoSeDescarta() throws Exception {
+        // La consola se queda atascada con el primer evento hasta abrir el cerrojo
+        CountDownLatch cerrojo = new CountDownLatch(1);
+        CountDownLatch escribiendo = new CountDownLatch(1);
+        OutputStream lenta = new OutputStream() {
+            @Override
+            public void write(int b) {
+                escribiendo.countDown();
+                try {
+                    cerrojo.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        AnilloAsincrono lleno = new AnilloAsincrono(16, new PrintStream(lenta, true, StandardCharsets.UTF_8),
+                new PrintStream(errores, true, StandardCharsets.UTF_8));
+        lleno.publicar(Nivel.INFO, "X", "primero", null, null, null, 0, null);
+        assertTrue(escribiendo.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 15; i++) {
+            assertTrue(lleno.publicar(Nivel.INFO, "X", "relleno", null, null, null, 0, null));
+        }
+        assertFalse(lleno.publicar(Nivel.INFO, "X", "sobra", null, null, null, 0, null));
+        assertEquals(1, lleno.getDescartados());
+
+        Thread registrador = new Thread(() -> lleno.publicar(Nivel.ERROR, "X", "no se pierde", null, null, null, 0, null));
+        registrador.start();
+        registrador.join(200);
+        assertTrue(registrador.isAlive());
+
+        cerrojo.countDown();
+        registrador.join(5000);
+        assertFalse(registrador.isAlive());
+        assertTrue(lleno.vaciar(5000));
+        assertTrue(errores.toString(StandardCharsets.UTF_8).contains("X - no se pierde"));
+        assertEquals(1, lleno.getDescartados());
+    }
+}
@@ -0,0 +1,110 @@
+package metricas;
+
+import dao.AutorDAO;
+import dao.InMemoryAutorDAO;
+import dao.InMemoryLibroDAO;
+import dao.LibroDAO;
+import dao.PeticionPagina;
+import models.Autor;
+import models.Libro;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestRegistroMetricas {
+
+    private final RegistroMetricas registro = new RegistroMetricas();
+
+    @AfterEach
+    public void cerrar() {
+        registro.close();
+    }
+
+    // Dos autores en memoria; eliminar falla porque el primero tiene un libro
+    private AutorDAO autores() {
+        InMemoryAutorDAO autores = new InMemoryAutorDAO();
+        Autor borges = new Autor("Jorge Luis", "Borges", "Argentina", null);
+        autores.insertar(borges);
+        autores.insertar(new Autor("Isabel", "Allende", "Chilena", null));
+        new InMemoryLibroDAO(autores).insertar(new Libro("Ficciones", null, "Cuentos", null, 200, null, borges));
+        return autores;
+    }
+
+    @Test
+    public void testCuentaLlamadasFilasYErrores() {
+        AutorDAO dao = registro.instrumentar(AutorDAO.class, autores());
+
+        dao.buscarTodos();
+        dao.buscarTodos();
+        assertTrue(dao.existe(1));
+        assertThrows(RuntimeException.class, () -> dao.eliminar(1));
+
+        MetricasMetodo todos = registro.metricasDe("AutorDAO", "buscarTodos()");
+        assertEquals(2, todos.getLlamadas());
+        assertEquals(4, todos.getFilas());
+        assertEquals(0, todos.getErrores());
+
+        MetricasMetodo eliminar = registro.metricasDe("AutorDAO", "eliminar(int)");
+        assertEquals(1, eliminar.getLlamadas());
+        assertEquals(1, eliminar.getErrores());
+        assertEquals(0, registro.metricasDe("AutorDAO", "existe(int)").getFilas());
+    }
+
+    // La página y el listado completo llevan métricas y MBean propios
+    @Test
+    public void testLasSobrecargasSeMidenPorSeparado() throws Exception {
+        InMemoryAutorDAO autores = new InMemoryAutorDAO();
+        Autor borges = new Autor("Jorge Luis", "Borges", "Argentina", null);
+        autores.insertar(borges);
+        InMemoryLibroDAO libros = new InMemoryLibroDAO(autores);
+        for (int i = 0; i < 5; i++) {
+            libros.insertar(new Libro("Libro " + i, null, "Cuentos", null, 100, null, borges));
+        }
+        LibroDAO dao = registro.instrumentar(LibroDAO.class, libros);
+        registro.registrarJmx();
+
+        dao.buscarTodos();
+        dao.buscarTodos(PeticionPagina.primera(2));
+        dao.buscarTodos(PeticionPagina.primera(2));
+        dao.buscarPorAutor(borges);
+
+        assertEquals(1, registro.metricasDe("LibroDAO", "buscarTodos()").getLlamadas());
+        assertEquals(5, registro.metricasDe("LibroDAO", "buscarTodos()").getFilas());
+        assertEquals(2, registro.metricasDe("LibroDAO", "buscarTodos(PeticionPagina)").getLlamadas());
+        assertEquals(4, registro.metricasDe("LibroDAO", "buscarTodos(PeticionPagina)").getFilas());
+        assertEquals(1, registro.metricasDe("LibroDAO", "buscarPorAutor(Autor)").getLlamadas());
+        assertEquals(0, registro.metricasDe("LibroDAO", "buscarPorAutor(int)").getLlamadas());
+
+        ObjectName pagina = new ObjectName(RegistroMetricas.DOMINIO_JMX + ":type=" + ObjectName.quote("LibroDAO")
+                + ",name=" + ObjectName.quote("buscarTodos(PeticionPagina)"));
+        assertEquals(2L, ManagementFactory.getPlatformMBeanServer().getAttribute(pagina, "Llamadas"));
+    }
+
+    @Test
+    public void testPercentilesDentroDelErrorDelHistograma() {
+        HistogramaLatencia h = new HistogramaLatencia();
+        for (long i = 1; i <= 10_000; i++) {
+            h.registrar(i * 1_000);
+        }
+
+        assertEquals(10_000, h.getCuenta());
+        assertEquals(10_000_000, h.getMaximo());
+        assertEquals(5_000_000, h.percentil(50), 5_000_000 * 0.04);
+        assertEquals(9_900_000, h.percentil(99), 9_900_000 * 0.04);
+        assertEquals(10_000_000, h.percentil(100));
+    }
+
+    @Test
+    public void testIndicesDelHistogramaSonContiguos() {
+        for (long v = 0; v < 1_000_000; v++) {
+            int i = HistogramaLatencia.indice(v);
+            assertTrue(v <= HistogramaLatencia.limiteSuperior(i));
+            assertTrue(i == 0 || v > HistogramaLatencia.limiteSuperior(i - 1));
+        }
+        assertTrue(HistogramaLatencia.indice(Long.MAX_VALUE) >= 0);
+    }
+}
@@ -0,0 +1,181 @@
+package replica;
+
+import dao.InMemoryAutorDAO;
+import dao.InMemoryLibroDAO;
+import dao.LotesConIds;
+import dao.Pagina;
+import dao.PeticionPagina;
+import models.Autor;
+import models.Libro;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestSnapshotLibroDAO {
+
+    private final Autor borges = new Autor(1, "Jorge Luis", "Borges", "Argentina", LocalDate.of(1899, 8, 24));
+    private final Autor garcia = new Autor(2, "Gabriel", "García Márquez", "Colombia", null);
+    private final List<Libro> libros = List.of(
+            libro(30, "Ficciones", "9788497592222", "Cuentos", 1944, borges),
+            libro(10, "El Aleph", "9788497592239", "cuentos", 1949, borges),
+            libro(20, "Cien años de soledad", "9788497592208", "Novela", 1967, garcia),
+            libro(40, "Crónica de una muerte anunciada", null, "Novela", 1981, garcia),
+            libro(50, "Sin fecha", "1234567890123", "Cuentos", null, borges));
+
+    // La base de datos de origen: borges y garcia reciben los IDs 1 y 2
+    private final InMemoryAutorDAO autores = new InMemoryAutorDAO();
+    private final InMemoryLibroDAO catalogo = new InMemoryLibroDAO(autores);
+
+    public TestSnapshotLibroDAO() {
+        autores.insertar(new Autor(borges));
+        autores.insertar(new Autor(garcia));
+    }
+
+    private static Libro libro(int id, String titulo, String isbn, String genero, Integer año, Autor autor) {
+        return new Libro(id, titulo, isbn, genero, año != null ? Year.of(año) : null, 100 + id,
+                LocalDateTime.of(2024, 5, 6, 7, 8, 9), autor);
+    }
+
+    private static List<Libro> copias(List<Libro> libros) {
+        return libros.stream().map(Libro::new).toList();
+    }
+
+    private SnapshotLibroDAO snapshot() throws Exception {
+        return snapshot(libros);
+    }
+
+    private SnapshotLibroDAO snapshot(List<Libro> libros) throws Exception {
+        Path archivo = Files.createTempDirectory("replica").resolve("libros.snap");
+        LotesConIds.insertar(catalogo, copias(libros));
+        int generados = new ConstructorSnapshot(autores, catalogo).generar(archivo);
+        assertEquals(libros.size(), generados);
+        return new SnapshotLibroDAO(archivo);
+    }
+
+    private static List<Integer> ids(List<Libro> libros) {
+        return libros.stream().map(Libro::getId).toList();
+    }
+
+    // Recorre todas las páginas siguiendo el cursor
+    private static List<Integer> paginar(Function<PeticionPagina, Pagina<Libro>> consulta, int tamano) {
+        List<Integer> paginado = new ArrayList<>();
+        for (PeticionPagina p = PeticionPagina.primera(tamano); p != null; ) {
+            Pagina<Libro> pagina = consulta.apply(p);
+            paginado.addAll(ids(pagina.getElementos()));
+            p = pagina.getSiguiente();
+        }
+        return paginado;
+    }
+
+    @Test
+    public void testBusquedasIndexadas() throws Exception {
+        SnapshotLibroDAO dao = snapshot();
+
+        Libro cien = dao.buscarPorId(20);
+        assertEquals("Cien años de soledad", cien.getTitulo());
+        assertEquals("García Márquez", cien.getAutor().getApellido());
+        assertNull(cien.getAutor().getFechaNacimiento());
+        assertEquals(LocalDateTime.of(2024, 5, 6, 7, 8, 9), cien.getCreatedAt());
+        assertEquals(120, cien.getPaginas());
+        assertNull(dao.buscarPorId(25));
+
+        assertEquals(10, dao.buscarPorIsbn(" 9788497592239 ").getId());
+        assertNull(dao.buscarPorIsbn("0000000000000"));
+        assertEquals(Set.of("9788497592208"), dao.existenIsbns(List.of("9788497592208", "1")));
+
+        // Sin distinguir mayúsculas; año DESC con los nulos al final
+        List<Libro> cuentos = dao.buscarPorGenero("CUENTOS");
+        assertEquals(List.of(10, 30, 50), cuentos.stream().map(Libro::getId).toList());
+        assertEquals(3, dao.contarPorGenero("Cuentos"));
+
+        assertEquals(List.of(20), dao.buscarPorAño(1967).stream().map(Libro::getId).toList());
+        assertEquals(List.of(40, 20, 10), dao.buscarPorRangoAños(1945, 1990).stream().map(Libro::getId).toList());
+        assertEquals(List.of(40, 20), dao.buscarPorAutor(2).stream().map(Libro::getId).toList());
+        assertEquals(List.of(20), dao.buscarPorTitulo("AÑOS").stream().map(Libro::getId).toList());
+    }
+
+    @Test
+    public void testPaginasYSoloLectura() throws Exception {
+        SnapshotLibroDAO dao = snapshot();
+
+        Pagina<Libro> primera = dao.buscarPorGenero("Cuentos", PeticionPagina.primera(2));
+        assertEquals(2, primera.getElementos().size());
+        assertTrue(primera.hayMas());
+        Pagina<Libro> segunda = dao.buscarPorGenero("Cuentos", primera.getSiguiente());
+        assertEquals(50, segunda.getElementos().get(0).getId());
+        assertFalse(segunda.hayMas());
+
+        List<String> titulos = dao.buscarTodos().stream().map(Libro::getTitulo).toList();
+        assertEquals("Cien años de soledad", titulos.get(0));
+        assertEquals("Sin fecha", titulos.get(4));
+
+        assertThrows(UnsupportedOperationException.class, () -> dao.eliminar(10));
+    }
+
+    @Test
+    public void testRecargarVeLaNuevaVersion() throws Exception {
+        Path archivo = Files.createTempDirectory("replica").resolve("libros.snap");
+        LotesConIds.insertar(catalogo, copias(libros));
+        ConstructorSnapshot constructor = new ConstructorSnapshot(autores, catalogo);
+        constructor.generar(archivo);
+        SnapshotLibroDAO dao = new SnapshotLibroDAO(archivo);
+        assertFalse(dao.existe(60));
+
+        LotesConIds.insertar(catalogo, List.of(libro(60, "El libro de arena", "9788420633138", "Cuentos", 1975, borges)));
+        constructor.generar(archivo);
+        assertFalse(dao.existe(60));
+        dao.recargar();
+        assertTrue(dao.existe(60));
+        assertEquals(4, dao.contarPorGenero("cuentos"));
+    }
+
+    @Test
+    public void testOrdenYGenerosConLaColacionDeMySQL() throws Exception {
+        SnapshotLibroDAO dao = snapshot(List.of(
+                libro(1, "Zorro", null, "Ficción", 2000, borges),
+                libro(2, "árbol", null, "ficcion", 2000, borges),
+                libro(3, "Banana", null, "FICCIÓN", 1990, borges),
+                libro(4, "apple", null, "Poesía", null, borges)));
+
+        // Sin distinguir mayúsculas ni tildes: no "Banana" < "Zorro" < "apple" < "árbol" como en String.compareTo
+        assertEquals(List.of(4, 2, 3, 1), ids(dao.buscarTodos()));
+        assertEquals(List.of(4, 2, 3, 1), paginar(dao::buscarTodos, 1));
+
+        assertEquals(3, dao.contarPorGenero("Ficcion"));
+        assertEquals(List.of(2, 1, 3), ids(dao.buscarPorGenero("FICCION")));
+        assertEquals(List.of(2), ids(dao.buscarPorTitulo("ARBOL")));
+    }
+
+    @Test
+    public void testLasPaginasRecorrenLasMismasListasQueSinPaginar() throws Exception {
+        // Varios años con empates de título, algunos sin año, repartidos en dos géneros
+        List<Libro> muchos = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            Integer año = i % 7 == 0 ? null : 1950 + i % 5;
+            muchos.add(libro(i, "Título " + (i % 4), null, i % 3 == 0 ? "Poesía" : "Novela", año, borges));
+        }
+        SnapshotLibroDAO dao = snapshot(muchos);
+
+        for (int tamano : new int[]{1, 3, 7}) {
+            assertEquals(ids(dao.buscarTodos()), paginar(dao::buscarTodos, tamano));
+            assertEquals(ids(dao.buscarPorGenero("novela")), paginar(p -> dao.buscarPorGenero("novela", p), tamano));
+            assertEquals(ids(dao.buscarPorAño(1952)), paginar(p -> dao.buscarPorAño(1952, p), tamano));
+            assertEquals(ids(dao.buscarPorRangoAños(1951, 1953)),
+                    paginar(p -> dao.buscarPorRangoAños(1951, 1953, p), tamano));
+        }
+        assertEquals(40, dao.buscarTodos().size());
+        assertEquals(21, dao.buscarPorRangoAños(1951, 1953).size());
+        assertTrue(dao.buscarPorRangoAños(1990, 1995).isEmpty());
+        assertTrue(dao.buscarPorGenero("Ensayo", PeticionPagina.primera(5)).getElementos().isEmpty());
+    }
+}